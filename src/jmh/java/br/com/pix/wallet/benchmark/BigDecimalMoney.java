@@ -0,0 +1,42 @@
+package br.com.pix.wallet.benchmark;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+
+// Cópia da implementação anterior de Money (BigDecimal), mantida só como linha de base do benchmark.
+final class BigDecimalMoney {
+
+    private final BigDecimal amount;
+
+    private BigDecimalMoney(final BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    static BigDecimalMoney of(final BigDecimal value) {
+        Objects.requireNonNull(value, "'value' must not be null");
+        if (value.compareTo(BigDecimal.ZERO) < 0) {
+            throw new IllegalArgumentException("'value' must be >= 0");
+        }
+        return new BigDecimalMoney(value);
+    }
+
+    BigDecimalMoney add(final BigDecimalMoney other) {
+        return BigDecimalMoney.of(this.amount.add(other.amount));
+    }
+
+    BigDecimalMoney subtract(final BigDecimalMoney other) {
+        final var result = this.amount.subtract(other.amount);
+        if (result.compareTo(BigDecimal.ZERO) < 0) {
+            throw new IllegalArgumentException("Insufficient amount");
+        }
+        return BigDecimalMoney.of(result);
+    }
+
+    int compareTo(final BigDecimalMoney other) {
+        return this.amount.compareTo(other.amount);
+    }
+
+    BigDecimal getAmount() {
+        return amount;
+    }
+}
@@ -0,0 +1,64 @@
+package br.com.pix.wallet.benchmark;
+
+import br.com.pix.wallet.domain.common.Money;
+import br.com.pix.wallet.domain.ledger.LedgerEntry;
+import br.com.pix.wallet.domain.wallet.Wallet;
+import br.com.pix.wallet.domain.wallet.WalletID;
+import br.com.pix.wallet.domain.wallet.WalletStatus;
+import br.com.pix.wallet.infrastructure.persistence.entity.LedgerEntryEntity;
+import br.com.pix.wallet.infrastructure.persistence.entity.WalletEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// Conversão entidade <-> agregado feita a cada leitura/gravação nos gateways.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EntityMappingBenchmark {
+
+    private Wallet wallet;
+    private WalletEntity walletEntity;
+    private LedgerEntry ledgerEntry;
+    private LedgerEntryEntity ledgerEntryEntity;
+
+    @Setup
+    public void setUp() {
+        wallet = Wallet.with(WalletID.unique(), "owner-1", Money.ofCents(1_250_000), WalletStatus.ACTIVE, 0);
+        walletEntity = WalletEntity.from(wallet);
+        ledgerEntry = LedgerEntry.deposit(wallet.getId(), Money.ofCents(15_000), Money.ofCents(1_265_000));
+        ledgerEntryEntity = LedgerEntryEntity.from(ledgerEntry);
+    }
+
+    @Benchmark
+    public Wallet walletEntityToAggregate() {
+        return walletEntity.toAggregate();
+    }
+
+    @Benchmark
+    public WalletEntity walletEntityFrom() {
+        return WalletEntity.from(wallet);
+    }
+
+    @Benchmark
+    public LedgerEntryEntity ledgerEntryEntityFrom() {
+        return LedgerEntryEntity.from(ledgerEntry);
+    }
+
+    @Benchmark
+    public LedgerEntry ledgerEntryEntityToAggregate() {
+        return ledgerEntryEntity.toAggregate();
+    }
+}
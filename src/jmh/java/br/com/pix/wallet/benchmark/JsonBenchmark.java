@@ -0,0 +1,73 @@
+package br.com.pix.wallet.benchmark;
+
+import br.com.pix.wallet.application.pix.transfer.CreatePixTransferOutput;
+import br.com.pix.wallet.application.wallet.balance.GetBalanceOutput;
+import br.com.pix.wallet.application.wallet.statement.GetStatementOutput;
+import br.com.pix.wallet.application.wallet.statement.StatementEntryOutput;
+import br.com.pix.wallet.domain.common.Money;
+import br.com.pix.wallet.domain.ledger.LedgerEntry;
+import br.com.pix.wallet.domain.pix.transfer.PixTransfer;
+import br.com.pix.wallet.domain.wallet.WalletID;
+import br.com.pix.wallet.infrastructure.config.json.Json;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+// Serialização das saídas dos casos de uso com o ObjectMapper compartilhado (Json).
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonBenchmark {
+
+    private static final int STATEMENT_PAGE_SIZE = 50;
+
+    private GetBalanceOutput balanceOutput;
+    private CreatePixTransferOutput transferOutput;
+    private GetStatementOutput statementOutput;
+
+    @Setup
+    public void setUp() {
+        final var walletId = WalletID.unique();
+        balanceOutput = GetBalanceOutput.from(Money.ofCents(1_250_000).getAmount());
+        transferOutput = CreatePixTransferOutput.from(
+            PixTransfer.newTransfer(walletId, WalletID.unique(), Money.ofCents(15_000), "idem-1", "E2E-1")
+        );
+
+        final var entries = new ArrayList<StatementEntryOutput>(STATEMENT_PAGE_SIZE);
+        var balance = Money.zero();
+        for (int i = 0; i < STATEMENT_PAGE_SIZE; i++) {
+            final var amount = Money.ofCents(1_000L + i);
+            balance = balance.add(amount);
+            entries.add(StatementEntryOutput.from(LedgerEntry.deposit(walletId, amount, balance)));
+        }
+        statementOutput = GetStatementOutput.from(walletId.getValue(), entries, "cursor");
+    }
+
+    @Benchmark
+    public String balance() {
+        return Json.writeValueAsString(balanceOutput);
+    }
+
+    @Benchmark
+    public String pixTransfer() {
+        return Json.writeValueAsString(transferOutput);
+    }
+
+    @Benchmark
+    public String statementPage() {
+        return Json.writeValueAsString(statementOutput);
+    }
+}
@@ -0,0 +1,94 @@
+package br.com.pix.wallet.benchmark;
+
+import br.com.pix.wallet.domain.common.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Money em centavos (long) contra a implementação anterior em BigDecimal, no caminho de um lote de débitos/créditos.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoneyBenchmark {
+
+    @Param({"1024"})
+    private int operations;
+
+    private BigDecimal[] amounts;
+    private Money[] moneyAmounts;
+    private BigDecimalMoney[] bigDecimalAmounts;
+
+    @Setup
+    public void setUp() {
+        final var random = ThreadLocalRandom.current();
+        amounts = new BigDecimal[operations];
+        moneyAmounts = new Money[operations];
+        bigDecimalAmounts = new BigDecimalMoney[operations];
+        for (int i = 0; i < operations; i++) {
+            // maioria dos valores de Pix é pequena; alguns passam do cache de Money
+            final var cents = random.nextInt(10) == 0 ? random.nextLong(10_000, 10_000_000) : random.nextLong(1, 10_000);
+            amounts[i] = BigDecimal.valueOf(cents, 2);
+            moneyAmounts[i] = Money.ofCents(cents);
+            bigDecimalAmounts[i] = BigDecimalMoney.of(amounts[i]);
+        }
+    }
+
+    @Benchmark
+    public Money longCentsLedger() {
+        var balance = Money.zero();
+        for (final var amount : moneyAmounts) {
+            balance = balance.add(amount);
+            if (balance.compareTo(amount) >= 0) {
+                balance = balance.subtract(amount);
+            }
+            balance = balance.add(amount);
+        }
+        return balance;
+    }
+
+    @Benchmark
+    public BigDecimalMoney bigDecimalLedger() {
+        var balance = BigDecimalMoney.of(BigDecimal.ZERO);
+        for (final var amount : bigDecimalAmounts) {
+            balance = balance.add(amount);
+            if (balance.compareTo(amount) >= 0) {
+                balance = balance.subtract(amount);
+            }
+            balance = balance.add(amount);
+        }
+        return balance;
+    }
+
+    @Benchmark
+    public long longCentsFromJson() {
+        var total = 0L;
+        for (final var amount : amounts) {
+            total += Money.of(amount).getCents();
+        }
+        return total;
+    }
+
+    @Benchmark
+    public int bigDecimalFromJson() {
+        var total = 0;
+        for (final var amount : amounts) {
+            total += BigDecimalMoney.of(amount).getAmount().signum();
+        }
+        return total;
+    }
+}
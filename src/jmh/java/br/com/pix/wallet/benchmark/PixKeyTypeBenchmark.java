@@ -0,0 +1,50 @@
+package br.com.pix.wallet.benchmark;
+
+import br.com.pix.wallet.domain.pix.pixkey.PixKeyType;
+import br.com.pix.wallet.domain.validation.Error;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// Regex e dígitos verificadores do CPF executados em todo cadastro de chave Pix.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PixKeyTypeBenchmark {
+
+    @Param({"EMAIL", "PHONE", "CPF", "EVP"})
+    private PixKeyType keyType;
+
+    @Param({"true", "false"})
+    private boolean valid;
+
+    private String value;
+
+    @Setup
+    public void setUp() {
+        value = switch (keyType) {
+            case EMAIL -> valid ? "joao.silva@example.com.br" : "joao.silva@example";
+            case PHONE -> valid ? "+5511987654321" : "+551187654321";
+            case CPF -> valid ? "52998224725" : "52998224724";
+            case EVP -> valid ? "123e4567-e89b-12d3-a456-426614174000" : "123e4567-e89b-12d3";
+        };
+    }
+
+    @Benchmark
+    public Error validate() {
+        return keyType.validate(value);
+    }
+}
@@ -0,0 +1,70 @@
+package br.com.pix.wallet.benchmark;
+
+import br.com.pix.wallet.domain.common.Money;
+import br.com.pix.wallet.domain.exception.DomainException;
+import br.com.pix.wallet.domain.pix.transfer.PixTransfer;
+import br.com.pix.wallet.domain.validation.handler.Notification;
+import br.com.pix.wallet.domain.validation.handler.ThrowsValidationHandler;
+import br.com.pix.wallet.domain.wallet.WalletID;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// Notification acumula todos os erros; ThrowsValidationHandler interrompe no primeiro com DomainException (sem stack trace).
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidationBenchmark {
+
+    private PixTransfer validTransfer;
+    private PixTransfer invalidTransfer;
+
+    @Setup
+    public void setUp() {
+        final var walletId = WalletID.unique();
+        validTransfer = PixTransfer.newTransfer(walletId, WalletID.unique(), Money.ofCents(15_000), "idem-1", "E2E-1");
+        invalidTransfer = PixTransfer.newTransfer(walletId, walletId, Money.zero(), " ", "");
+    }
+
+    @Benchmark
+    public boolean notificationValid() {
+        final var notification = Notification.create();
+        validTransfer.validate(notification);
+        return notification.hasError();
+    }
+
+    @Benchmark
+    public boolean notificationInvalid() {
+        final var notification = Notification.create();
+        invalidTransfer.validate(notification);
+        return notification.hasError();
+    }
+
+    @Benchmark
+    public boolean throwsHandlerValid() {
+        validTransfer.validate(new ThrowsValidationHandler());
+        return true;
+    }
+
+    @Benchmark
+    public boolean throwsHandlerInvalid() {
+        try {
+            invalidTransfer.validate(new ThrowsValidationHandler());
+            return true;
+        } catch (final DomainException ex) {
+            return false;
+        }
+    }
+}
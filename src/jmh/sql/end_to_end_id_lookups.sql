@@ -0,0 +1,109 @@
+-- Benchmark das buscas por end_to_end_id / idempotency_key (índices da V010 e consultas EXISTS).
+-- Roda num schema próprio, sem depender das migrações, e mostra plano, tempo e buffers de cada consulta.
+--
+--   psql -h localhost -U postgres -d pix_wallet_db -v rows=100000000 -f src/jmh/sql/end_to_end_id_lookups.sql
+--
+-- rows = transferências; pix_webhook_event e ledger_entry recebem o mesmo volume.
+-- Com 100M linhas a carga leva dezenas de minutos e ocupa cerca de 70 GB.
+\if :{?rows}
+\else
+\set rows 1000000
+\endif
+
+\set ON_ERROR_STOP on
+\timing on
+
+DROP SCHEMA IF EXISTS bench CASCADE;
+CREATE SCHEMA bench;
+
+CREATE UNLOGGED TABLE bench.pix_transfer
+(
+    id              UUID           NOT NULL,
+    end_to_end_id   VARCHAR(255)   NOT NULL,
+    from_wallet_id  UUID           NOT NULL,
+    to_wallet_id    UUID           NOT NULL,
+    amount          NUMERIC(19, 2) NOT NULL,
+    status          VARCHAR(50)    NOT NULL,
+    idempotency_key VARCHAR(255)   NOT NULL,
+    created_at      TIMESTAMP      NOT NULL
+);
+
+CREATE UNLOGGED TABLE bench.pix_webhook_event
+(
+    id            UUID         NOT NULL,
+    event_id      VARCHAR(255) NOT NULL,
+    end_to_end_id VARCHAR(255) NOT NULL,
+    event_type    VARCHAR(50)  NOT NULL,
+    occurred_at   TIMESTAMP    NOT NULL,
+    processed_at  TIMESTAMP    NOT NULL
+);
+
+CREATE UNLOGGED TABLE bench.ledger_entry
+(
+    id                      UUID           NOT NULL,
+    wallet_id               UUID           NOT NULL,
+    end_to_end_id           VARCHAR(255),
+    operation_type          VARCHAR(50)    NOT NULL,
+    amount                  NUMERIC(19, 2) NOT NULL,
+    balance_after_operation NUMERIC(19, 2) NOT NULL,
+    occurred_at             TIMESTAMP      NOT NULL
+);
+
+INSERT INTO bench.pix_transfer
+SELECT gen_random_uuid(), 'E' || md5(i::text), gen_random_uuid(), gen_random_uuid(), 10.00,
+       (ARRAY ['PENDING', 'CONFIRMED', 'CONFIRMED', 'CONFIRMED', 'REFUNDED'])[1 + i % 5],
+       md5('key-' || i), now() - make_interval(secs => i)
+FROM generate_series(1, :rows) AS i;
+
+INSERT INTO bench.pix_webhook_event
+SELECT gen_random_uuid(), md5('evt-' || i), 'E' || md5(i::text), 'CREDIT_CONFIRMED', now(), now()
+FROM generate_series(1, :rows) AS i;
+
+-- Dois terços são lançamentos Pix; o restante são depósitos e saques, sem end_to_end_id
+INSERT INTO bench.ledger_entry
+SELECT gen_random_uuid(), gen_random_uuid(), CASE WHEN i % 3 = 0 THEN NULL ELSE 'E' || md5(i::text) END,
+       CASE WHEN i % 3 = 0 THEN 'DEPOSIT' ELSE 'PIX_DEBIT' END, 10.00, 100.00, now()
+FROM generate_series(1, :rows) AS i;
+
+-- Índices que já existem em pix_transfer (V003/V005)
+ALTER TABLE bench.pix_transfer ADD PRIMARY KEY (id);
+ALTER TABLE bench.pix_transfer ADD CONSTRAINT uk_bench_end_to_end_id UNIQUE (end_to_end_id);
+ALTER TABLE bench.pix_transfer ADD CONSTRAINT uk_bench_idempotency_key UNIQUE (idempotency_key);
+
+-- VACUUM preenche o mapa de visibilidade, pré-requisito para index-only scan
+VACUUM ANALYZE bench.pix_transfer, bench.pix_webhook_event, bench.ledger_entry;
+
+SELECT 'E' || md5((:rows / 2)::text) AS probe_e2e, md5('key-' || (:rows / 2)) AS probe_key \gset
+
+\echo '== pix_transfer: entidade inteira (findByEndToEndId, caminho anterior do webhook)'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF) SELECT * FROM bench.pix_transfer WHERE end_to_end_id = :'probe_e2e';
+
+\echo '== pix_transfer: EXISTS por end_to_end_id (existsByEndToEndId)'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF) SELECT EXISTS (SELECT 1 FROM bench.pix_transfer WHERE end_to_end_id = :'probe_e2e');
+
+\echo '== pix_transfer: existsBy derivado do Spring Data (seleciona o id)'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF) SELECT id FROM bench.pix_transfer WHERE idempotency_key = :'probe_key' FETCH FIRST 1 ROWS ONLY;
+
+\echo '== pix_transfer: EXISTS por idempotency_key (existsByIdempotencyKey)'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF) SELECT EXISTS (SELECT 1 FROM bench.pix_transfer WHERE idempotency_key = :'probe_key');
+
+\echo '== pix_webhook_event / ledger_entry por end_to_end_id, sem índice'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF) SELECT id FROM bench.pix_webhook_event WHERE end_to_end_id = :'probe_e2e';
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF) SELECT id FROM bench.ledger_entry WHERE end_to_end_id = :'probe_e2e';
+
+-- Mesmas definições da V010
+CREATE INDEX idx_bench_webhook_end_to_end_id ON bench.pix_webhook_event (end_to_end_id);
+CREATE INDEX idx_bench_ledger_end_to_end_id ON bench.ledger_entry (end_to_end_id) WHERE end_to_end_id IS NOT NULL;
+ANALYZE bench.pix_webhook_event, bench.ledger_entry;
+
+\echo '== pix_webhook_event / ledger_entry por end_to_end_id, com os índices da V010'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF) SELECT id FROM bench.pix_webhook_event WHERE end_to_end_id = :'probe_e2e';
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF) SELECT id FROM bench.ledger_entry WHERE end_to_end_id = :'probe_e2e';
+
+\echo '== Tamanho do índice parcial de ledger_entry contra um índice completo'
+CREATE INDEX idx_bench_ledger_end_to_end_id_full ON bench.ledger_entry (end_to_end_id);
+SELECT indexrelid::regclass AS index, pg_size_pretty(pg_relation_size(indexrelid)) AS size
+FROM pg_index
+WHERE indrelid = 'bench.ledger_entry'::regclass;
+
+DROP SCHEMA bench CASCADE;
@@ -1,21 +1,29 @@
 package br.com.pix.wallet.application.metrics;
 
+import br.com.pix.wallet.domain.common.Money;
+import br.com.pix.wallet.domain.pix.transfer.PixTransferStatus;
 import br.com.pix.wallet.domain.pix.webhook.PixWebhookEventType;
 import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
 import org.springframework.stereotype.Component;
 
-import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.function.Supplier;
 
 @Component
 public class ApplicationMetrics {
 
+    private static final double CENTS_PER_REAL = 100.0;
+
     private final MeterRegistry meterRegistry;
     private final DistributionSummary pixTransferAmountSummary;
     private final Timer pixTransferTimer;
     private final DistributionSummary depositAmountSummary;
     private final DistributionSummary withdrawAmountSummary;
+    private final Timer dbAdmissionAdmittedTimer;
+    private final Timer dbAdmissionTimedOutTimer;
 
     public ApplicationMetrics(final MeterRegistry meterRegistry) {
         this.meterRegistry = meterRegistry;
@@ -41,6 +49,9 @@ public class ApplicationMetrics {
             .baseUnit("BRL")
             .publishPercentileHistogram()
             .register(meterRegistry);
+
+        this.dbAdmissionAdmittedTimer = dbAdmissionWaitTimer("admitted");
+        this.dbAdmissionTimedOutTimer = dbAdmissionWaitTimer("timeout");
     }
 
     public void recordWalletCreation(final boolean success) {
@@ -48,19 +59,19 @@ public class ApplicationMetrics {
             .increment();
     }
 
-    public void recordDepositOperation(final boolean success, final BigDecimal amount) {
+    public void recordDepositOperation(final boolean success, final Money amount) {
         meterRegistry.counter("pix_wallet_deposit_operations_total", "status", success ? "success" : "failure")
             .increment();
         if (success && amount != null) {
-            depositAmountSummary.record(amount.doubleValue());
+            depositAmountSummary.record(inReais(amount));
         }
     }
 
-    public void recordWithdrawOperation(final boolean success, final BigDecimal amount) {
+    public void recordWithdrawOperation(final boolean success, final Money amount) {
         meterRegistry.counter("pix_wallet_withdraw_operations_total", "status", success ? "success" : "failure")
             .increment();
         if (success && amount != null) {
-            withdrawAmountSummary.record(amount.doubleValue());
+            withdrawAmountSummary.record(inReais(amount));
         }
     }
 
@@ -71,13 +82,13 @@ public class ApplicationMetrics {
     public void recordPixTransferOutcome(
         final Timer.Sample sample,
         final boolean success,
-        final BigDecimal amount
+        final Money amount
     ) {
         meterRegistry.counter("pix_wallet_pix_transfer_total", "status", success ? "success" : "failure")
             .increment();
 
         if (success && amount != null) {
-            pixTransferAmountSummary.record(amount.doubleValue());
+            pixTransferAmountSummary.record(inReais(amount));
         }
 
         if (sample != null) {
@@ -85,10 +96,122 @@ public class ApplicationMetrics {
         }
     }
 
+    public void registerDbAdmissionGauges(final Supplier<Number> queueDepth, final Supplier<Number> availablePermits) {
+        Gauge.builder("pix_wallet_db_admission_queue_depth", queueDepth)
+            .description("Requests waiting for a database permit")
+            .register(meterRegistry);
+        Gauge.builder("pix_wallet_db_admission_available_permits", availablePermits)
+            .description("Database permits currently free")
+            .register(meterRegistry);
+    }
+
+    public void recordDbAdmissionWait(final Duration wait, final boolean admitted) {
+        (admitted ? dbAdmissionAdmittedTimer : dbAdmissionTimedOutTimer).record(wait);
+    }
+
+    public void registerConcurrencyLimitGauges(
+        final String endpoint,
+        final Supplier<Number> limit,
+        final Supplier<Number> inFlight
+    ) {
+        Gauge.builder("pix_wallet_concurrency_limit", limit)
+            .description("Adaptive in-flight request limit")
+            .tag("endpoint", endpoint)
+            .register(meterRegistry);
+        Gauge.builder("pix_wallet_concurrency_in_flight", inFlight)
+            .description("Requests currently in flight under the adaptive limit")
+            .tag("endpoint", endpoint)
+            .register(meterRegistry);
+    }
+
+    public void recordConcurrencyLimitRejection(final String endpoint) {
+        meterRegistry.counter("pix_wallet_concurrency_limit_rejections_total", "endpoint", endpoint)
+            .increment();
+    }
+
+    public void recordBalanceCacheLookup(final boolean hit) {
+        meterRegistry.counter("pix_wallet_balance_cache_requests_total", "result", hit ? "hit" : "miss")
+            .increment();
+    }
+
+    public void recordBalanceRead(final boolean coalesced) {
+        meterRegistry.counter("pix_wallet_balance_reads_total", "result", coalesced ? "coalesced" : "executed")
+            .increment();
+    }
+
+    public void registerBalanceReadsInFlightGauge(final Supplier<Number> inFlight) {
+        Gauge.builder("pix_wallet_balance_reads_in_flight", inFlight)
+            .description("Distinct balance reads currently executing")
+            .register(meterRegistry);
+    }
+
     public void recordPixWebhookEvent(final PixWebhookEventType type, final String status) {
         final var safeType = type == null ? "UNKNOWN" : type.name();
         meterRegistry.counter("pix_wallet_webhook_events_total", "eventType", safeType, "status", status)
             .increment();
     }
-}
 
+    public void recordPixTransferTransitions(final PixTransferStatus target, final int applied, final int ignored) {
+        if (applied > 0) {
+            meterRegistry.counter("pix_wallet_pix_transfer_transitions_total", "status", target.name(), "result", "applied")
+                .increment(applied);
+        }
+        if (ignored > 0) {
+            meterRegistry.counter("pix_wallet_pix_transfer_transitions_total", "status", target.name(), "result", "ignored")
+                .increment(ignored);
+        }
+    }
+
+    public void registerWebhookInboxQueueDepthGauge(final Supplier<Number> queueDepth) {
+        Gauge.builder("pix_wallet_webhook_inbox_queue_depth", queueDepth)
+            .description("Accepted webhook events waiting in memory to be written to the inbox")
+            .register(meterRegistry);
+    }
+
+    public void recordWebhookInboxLag(final Duration lag) {
+        Timer.builder("pix_wallet_webhook_inbox_lag_seconds")
+            .description("Time between accepting a webhook event and promoting it to pix_webhook_event")
+            .publishPercentileHistogram()
+            .register(meterRegistry)
+            .record(lag);
+    }
+
+    public void recordOutboxEvents(final boolean published, final int count) {
+        meterRegistry.counter("pix_wallet_outbox_events_total", "result", published ? "published" : "failed")
+            .increment(count);
+    }
+
+    public void recordOutboxLag(final Duration lag) {
+        Timer.builder("pix_wallet_outbox_lag_seconds")
+            .description("Time between writing a ledger entry and publishing its outbox event")
+            .publishPercentileHistogram()
+            .register(meterRegistry)
+            .record(lag);
+    }
+
+    public void registerOutboxOldestPendingAgeGauge(final Supplier<Number> ageSeconds) {
+        Gauge.builder("pix_wallet_outbox_oldest_pending_age_seconds", ageSeconds)
+            .description("Age of the oldest outbox event not yet published")
+            .baseUnit("seconds")
+            .register(meterRegistry);
+    }
+
+    public void registerOutboxDeadLetterGauge(final Supplier<Number> count) {
+        Gauge.builder("pix_wallet_outbox_dead_letter_events", count)
+            .description("Outbox events not published after the maximum number of attempts")
+            .register(meterRegistry);
+    }
+
+    // Direto dos centavos: sem passar por BigDecimal a cada operação
+    private static double inReais(final Money amount) {
+        return amount.getCents() / CENTS_PER_REAL;
+    }
+
+    private Timer dbAdmissionWaitTimer(final String outcome) {
+        return Timer.builder("pix_wallet_db_admission_wait_seconds")
+            .description("Time spent waiting for a database permit")
+            .tag("outcome", outcome)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
+}
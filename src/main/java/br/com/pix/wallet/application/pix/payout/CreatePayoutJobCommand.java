@@ -0,0 +1,7 @@
+package br.com.pix.wallet.application.pix.payout;
+
+public record CreatePayoutJobCommand(String fromWalletId, String fileName) {
+    public static CreatePayoutJobCommand with(final String fromWalletId, final String fileName) {
+        return new CreatePayoutJobCommand(fromWalletId, fileName);
+    }
+}
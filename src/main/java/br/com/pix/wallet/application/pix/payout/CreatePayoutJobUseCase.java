@@ -0,0 +1,5 @@
+package br.com.pix.wallet.application.pix.payout;
+
+public interface CreatePayoutJobUseCase {
+    PayoutJobOutput execute(CreatePayoutJobCommand command);
+}
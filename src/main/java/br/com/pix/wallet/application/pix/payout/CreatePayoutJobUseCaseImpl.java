@@ -0,0 +1,28 @@
+package br.com.pix.wallet.application.pix.payout;
+
+import br.com.pix.wallet.domain.payout.PayoutJob;
+import br.com.pix.wallet.domain.payout.PayoutJobGateway;
+import br.com.pix.wallet.domain.wallet.WalletGateway;
+import br.com.pix.wallet.domain.wallet.WalletID;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+public class CreatePayoutJobUseCaseImpl implements CreatePayoutJobUseCase {
+
+    private final WalletGateway walletGateway;
+    private final PayoutJobGateway payoutJobGateway;
+
+    public CreatePayoutJobUseCaseImpl(final WalletGateway walletGateway, final PayoutJobGateway payoutJobGateway) {
+        this.walletGateway = walletGateway;
+        this.payoutJobGateway = payoutJobGateway;
+    }
+
+    @Override
+    @Transactional
+    public PayoutJobOutput execute(final CreatePayoutJobCommand command) {
+        final var wallet = walletGateway.findById(WalletID.from(command.fromWalletId()));
+        final var job = payoutJobGateway.create(PayoutJob.newJob(wallet.getId(), command.fileName()));
+        return PayoutJobOutput.from(job);
+    }
+}
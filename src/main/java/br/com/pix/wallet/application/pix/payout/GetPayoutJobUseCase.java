@@ -0,0 +1,7 @@
+package br.com.pix.wallet.application.pix.payout;
+
+import java.util.UUID;
+
+public interface GetPayoutJobUseCase {
+    PayoutJobOutput execute(UUID jobId);
+}
@@ -0,0 +1,25 @@
+package br.com.pix.wallet.application.pix.payout;
+
+import br.com.pix.wallet.domain.exception.NotFoundException;
+import br.com.pix.wallet.domain.payout.PayoutJob;
+import br.com.pix.wallet.domain.payout.PayoutJobGateway;
+import org.springframework.stereotype.Service;
+
+import java.util.UUID;
+
+@Service
+public class GetPayoutJobUseCaseImpl implements GetPayoutJobUseCase {
+
+    private final PayoutJobGateway payoutJobGateway;
+
+    public GetPayoutJobUseCaseImpl(final PayoutJobGateway payoutJobGateway) {
+        this.payoutJobGateway = payoutJobGateway;
+    }
+
+    @Override
+    public PayoutJobOutput execute(final UUID jobId) {
+        return payoutJobGateway.findById(jobId)
+            .map(PayoutJobOutput::from)
+            .orElseThrow(() -> NotFoundException.with(PayoutJob.class, jobId));
+    }
+}
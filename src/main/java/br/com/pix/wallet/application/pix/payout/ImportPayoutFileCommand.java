@@ -0,0 +1,11 @@
+package br.com.pix.wallet.application.pix.payout;
+
+import java.util.Iterator;
+import java.util.UUID;
+
+// As linhas são consumidas sob demanda: o arquivo nunca fica inteiro em memória
+public record ImportPayoutFileCommand(UUID jobId, Iterator<PayoutFileLine> lines) {
+    public static ImportPayoutFileCommand with(final UUID jobId, final Iterator<PayoutFileLine> lines) {
+        return new ImportPayoutFileCommand(jobId, lines);
+    }
+}
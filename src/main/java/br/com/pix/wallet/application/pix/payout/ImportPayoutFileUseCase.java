@@ -0,0 +1,5 @@
+package br.com.pix.wallet.application.pix.payout;
+
+public interface ImportPayoutFileUseCase {
+    PayoutJobOutput execute(ImportPayoutFileCommand command);
+}
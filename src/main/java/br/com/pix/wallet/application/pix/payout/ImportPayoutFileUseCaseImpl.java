@@ -0,0 +1,284 @@
+package br.com.pix.wallet.application.pix.payout;
+
+import br.com.pix.wallet.application.pix.transfer.CreatePixTransferBatchCommand;
+import br.com.pix.wallet.application.pix.transfer.CreatePixTransferBatchOutput.Outcome;
+import br.com.pix.wallet.application.pix.transfer.CreatePixTransferBatchUseCase;
+import br.com.pix.wallet.application.pix.transfer.PixTransferBatchFailureMode;
+import br.com.pix.wallet.domain.common.Money;
+import br.com.pix.wallet.domain.exception.DomainException;
+import br.com.pix.wallet.domain.exception.NotFoundException;
+import br.com.pix.wallet.domain.payout.PayoutJob;
+import br.com.pix.wallet.domain.payout.PayoutJobGateway;
+import br.com.pix.wallet.domain.payout.PayoutJobStatus;
+import br.com.pix.wallet.domain.payout.PayoutRejection;
+import br.com.pix.wallet.domain.pix.pixkey.PixKey;
+import br.com.pix.wallet.domain.pix.pixkey.PixKeyGateway;
+import br.com.pix.wallet.domain.pix.pixkey.PixKeyType;
+import br.com.pix.wallet.domain.validation.Error;
+import br.com.pix.wallet.domain.validation.handler.Notification;
+import br.com.pix.wallet.domain.wallet.WalletEngine;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Arquivo de payout em blocos de chunk-size linhas, em pipeline: enquanto a requisição lê o próximo bloco,
+// os anteriores são validados em paralelo e aplicados em ordem, cada um na sua transação junto com o
+// avanço do cursor do job. No máximo pipeline-depth blocos ficam em memória, qualquer que seja o tamanho do arquivo.
+// Com write-mode=partitioned as transferências não entram na transação do cursor, então a importação é recusada.
+@Service
+public class ImportPayoutFileUseCaseImpl implements ImportPayoutFileUseCase {
+
+    private final PayoutJobGateway payoutJobGateway;
+    private final PixKeyGateway pixKeyGateway;
+    private final CreatePixTransferBatchUseCase createPixTransferBatchUseCase;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectProvider<WalletEngine> walletEngine;
+    private final Executor executor;
+    private final int chunkSize;
+    private final int pipelineDepth;
+
+    public ImportPayoutFileUseCaseImpl(
+        final PayoutJobGateway payoutJobGateway,
+        final PixKeyGateway pixKeyGateway,
+        final CreatePixTransferBatchUseCase createPixTransferBatchUseCase,
+        final PlatformTransactionManager transactionManager,
+        final ObjectProvider<WalletEngine> walletEngine,
+        @Qualifier("payoutImportExecutor") final Executor executor,
+        @Value("${pix-wallet.payout-import.chunk-size:1000}") final int chunkSize,
+        @Value("${pix-wallet.payout-import.pipeline-depth:4}") final int pipelineDepth
+    ) {
+        this.payoutJobGateway = payoutJobGateway;
+        this.pixKeyGateway = pixKeyGateway;
+        this.createPixTransferBatchUseCase = createPixTransferBatchUseCase;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.walletEngine = walletEngine;
+        this.executor = executor;
+        this.chunkSize = chunkSize;
+        this.pipelineDepth = pipelineDepth;
+    }
+
+    @Override
+    public PayoutJobOutput execute(final ImportPayoutFileCommand command) {
+        // O WalletEngine só existe como bean com write-mode=partitioned
+        if (walletEngine.getIfAvailable() != null) {
+            throw DomainException.with(Error.of("Payout file import is not supported with write-mode=partitioned"));
+        }
+
+        final var job = payoutJobGateway.findById(command.jobId())
+            .orElseThrow(() -> NotFoundException.with(PayoutJob.class, command.jobId()));
+        if (job.status() == PayoutJobStatus.COMPLETED) {
+            throw DomainException.with(Error.of("Payout job %s is already completed".formatted(job.id())));
+        }
+
+        payoutJobGateway.updateStatus(job.id(), PayoutJobStatus.RUNNING, null);
+        try {
+            // Retomada: as linhas até o cursor já foram aplicadas e são só lidas
+            skip(command.lines(), job.processedLines());
+            run(job, command.lines());
+            payoutJobGateway.updateStatus(job.id(), PayoutJobStatus.COMPLETED, null);
+        } catch (ConcurrentUploadException ex) {
+            throw DomainException.with(Error.of("Payout job %s was advanced by another upload".formatted(job.id())));
+        } catch (DomainException ex) {
+            // Arquivo malformado: o job fica FAILED com o cursor na última linha aplicada e o upload responde com o erro
+            payoutJobGateway.updateStatus(job.id(), PayoutJobStatus.FAILED, messageOf(ex));
+            throw ex;
+        } catch (RuntimeException ex) {
+            payoutJobGateway.updateStatus(job.id(), PayoutJobStatus.FAILED, String.valueOf(ex.getMessage()));
+            throw ex;
+        }
+
+        return payoutJobGateway.findById(job.id())
+            .map(PayoutJobOutput::from)
+            .orElseThrow(() -> NotFoundException.with(PayoutJob.class, job.id()));
+    }
+
+    private void run(final PayoutJob job, final Iterator<PayoutFileLine> lines) {
+        final var permits = new Semaphore(pipelineDepth);
+        CompletableFuture<Long> applied = CompletableFuture.completedFuture(job.processedLines());
+        try {
+            while (!applied.isCompletedExceptionally() && lines.hasNext()) {
+                final var chunk = nextChunk(lines);
+                permits.acquireUninterruptibly();
+                final var validated = CompletableFuture.supplyAsync(() -> validate(chunk), executor);
+                applied = applied
+                    .thenCombineAsync(validated, (cursor, validChunk) -> apply(job, cursor, validChunk), executor)
+                    .whenComplete((cursor, error) -> permits.release());
+            }
+        } catch (RuntimeException readError) {
+            // Erro de leitura: os blocos já lidos terminam antes de o job ser marcado como FAILED
+            applied.exceptionally(error -> null).join();
+            throw readError;
+        }
+
+        try {
+            applied.join();
+        } catch (CompletionException ex) {
+            throw ex.getCause() instanceof RuntimeException cause ? cause : ex;
+        }
+    }
+
+    private List<PayoutFileLine> nextChunk(final Iterator<PayoutFileLine> lines) {
+        final var chunk = new ArrayList<PayoutFileLine>(chunkSize);
+        while (chunk.size() < chunkSize && lines.hasNext()) {
+            chunk.add(lines.next());
+        }
+        return chunk;
+    }
+
+    private static void skip(final Iterator<PayoutFileLine> lines, final long count) {
+        for (long skipped = 0; skipped < count && lines.hasNext(); skipped++) {
+            lines.next();
+        }
+    }
+
+    // Só CPU, sem banco: roda em paralelo para vários blocos
+    private static ValidatedChunk validate(final List<PayoutFileLine> chunk) {
+        final var valid = new ArrayList<ValidLine>(chunk.size());
+        final var rejections = new ArrayList<PayoutRejection>();
+
+        for (final var line : chunk) {
+            final var notification = Notification.create();
+            final var keyType = keyTypeOf(line, notification);
+            final var amount = amountOf(line, notification);
+
+            if (notification.hasError()) {
+                rejections.add(rejection(line.lineNumber(), line.idempotencyKey(), notification.getErrors()));
+            } else {
+                valid.add(new ValidLine(line.lineNumber(), keyType, line.keyValue(), amount, line.idempotencyKey(), line.endToEndId()));
+            }
+        }
+        return new ValidatedChunk(valid, rejections, chunk.get(chunk.size() - 1).lineNumber());
+    }
+
+    private static PixKeyType keyTypeOf(final PayoutFileLine line, final Notification notification) {
+        if (line.keyType() == null || line.keyType().isBlank()) {
+            notification.append(Error.of("'keyType' must not be blank"));
+            return null;
+        }
+        try {
+            final var keyType = PixKeyType.from(line.keyType().trim());
+            final var error = keyType.validate(line.keyValue());
+            if (error != null) {
+                notification.append(error);
+            }
+            return keyType;
+        } catch (DomainException ex) {
+            ex.getErrors().forEach(notification::append);
+            return null;
+        }
+    }
+
+    private static Money amountOf(final PayoutFileLine line, final Notification notification) {
+        if (line.amount() == null || line.amount().isBlank()) {
+            notification.append(Error.of("'amount' must not be blank"));
+            return null;
+        }
+        try {
+            final var amount = Money.of(new BigDecimal(line.amount().trim()));
+            if (!amount.isPositive()) {
+                notification.append(Error.of("'amount' must be greater than zero"));
+            }
+            return amount;
+        } catch (NumberFormatException ex) {
+            notification.append(Error.of("'amount' is not a valid number"));
+        } catch (IllegalArgumentException ex) {
+            notification.append(Error.of(ex.getMessage().replace("'value'", "'amount'")));
+        }
+        return null;
+    }
+
+    // Chaves resolvidas numa consulta por bloco; as transferências passam pelo lote PARTIAL, que trava a origem uma vez
+    private long apply(final PayoutJob job, final long cursor, final ValidatedChunk chunk) {
+        return transactionTemplate.execute(status -> {
+            final var rejections = new ArrayList<>(chunk.rejections());
+            final var keys = pixKeyGateway.findAllByKeyValues(chunk.lines().stream().map(ValidLine::keyValue).toList())
+                .stream()
+                .collect(Collectors.toMap(PixKey::getKeyValue, Function.identity()));
+
+            final var items = new ArrayList<CreatePixTransferBatchCommand.Item>(chunk.lines().size());
+            final var lineNumbers = new ArrayList<Long>(chunk.lines().size());
+            for (final var line : chunk.lines()) {
+                final var key = keys.get(line.keyValue());
+                if (key == null || key.getKeyType() != line.keyType()) {
+                    rejections.add(PayoutRejection.of(line.lineNumber(), line.idempotencyKey(), "Pix key not found"));
+                    continue;
+                }
+                items.add(CreatePixTransferBatchCommand.Item.with(
+                    key.getWalletId().getValue().toString(),
+                    line.amount().getAmount(),
+                    line.idempotencyKey(),
+                    line.endToEndId()
+                ));
+                lineNumbers.add(line.lineNumber());
+            }
+
+            var created = 0;
+            if (!items.isEmpty()) {
+                final var output = createPixTransferBatchUseCase.execute(CreatePixTransferBatchCommand.with(
+                    job.fromWalletId().getValue().toString(),
+                    PixTransferBatchFailureMode.PARTIAL.name(),
+                    items
+                ));
+                created = output.created();
+                for (int i = 0; i < output.transfers().size(); i++) {
+                    final var item = output.transfers().get(i);
+                    if (item.outcome() != Outcome.CREATED) {
+                        rejections.add(rejection(lineNumbers.get(i), item.idempotencyKey(), item.errors()));
+                    }
+                }
+            }
+
+            if (!payoutJobGateway.advance(job.id(), cursor, chunk.lastLineNumber(), created, rejections.size(), rejections)) {
+                throw new ConcurrentUploadException();
+            }
+            return chunk.lastLineNumber();
+        });
+    }
+
+    private static PayoutRejection rejection(final long lineNumber, final String idempotencyKey, final List<Error> errors) {
+        return PayoutRejection.of(
+            lineNumber,
+            idempotencyKey,
+            errors.stream().map(Error::message).collect(Collectors.joining("; "))
+        );
+    }
+
+    private static String messageOf(final DomainException ex) {
+        return ex.getErrors().stream().map(Error::message).collect(Collectors.joining("; "));
+    }
+
+    private record ValidLine(
+        long lineNumber,
+        PixKeyType keyType,
+        String keyValue,
+        Money amount,
+        String idempotencyKey,
+        String endToEndId
+    ) {
+    }
+
+    private record ValidatedChunk(List<ValidLine> lines, List<PayoutRejection> rejections, long lastLineNumber) {
+    }
+
+    // O cursor do job não estava onde este upload o deixou: outro upload do mesmo job está em andamento
+    private static final class ConcurrentUploadException extends RuntimeException {
+
+        private ConcurrentUploadException() {
+            super(null, null, false, false);
+        }
+    }
+}
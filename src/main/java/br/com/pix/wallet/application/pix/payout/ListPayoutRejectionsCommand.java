@@ -0,0 +1,9 @@
+package br.com.pix.wallet.application.pix.payout;
+
+import java.util.UUID;
+
+public record ListPayoutRejectionsCommand(UUID jobId, Long afterLine, Integer limit) {
+    public static ListPayoutRejectionsCommand with(final UUID jobId, final Long afterLine, final Integer limit) {
+        return new ListPayoutRejectionsCommand(jobId, afterLine, limit);
+    }
+}
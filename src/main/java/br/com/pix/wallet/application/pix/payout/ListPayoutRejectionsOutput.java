@@ -0,0 +1,17 @@
+package br.com.pix.wallet.application.pix.payout;
+
+import br.com.pix.wallet.domain.payout.PayoutRejection;
+
+import java.util.List;
+import java.util.UUID;
+
+// nextAfterLine nulo = última página
+public record ListPayoutRejectionsOutput(UUID jobId, List<PayoutRejection> rejections, Long nextAfterLine) {
+    public static ListPayoutRejectionsOutput from(
+        final UUID jobId,
+        final List<PayoutRejection> rejections,
+        final Long nextAfterLine
+    ) {
+        return new ListPayoutRejectionsOutput(jobId, rejections, nextAfterLine);
+    }
+}
@@ -0,0 +1,44 @@
+package br.com.pix.wallet.application.pix.payout;
+
+import br.com.pix.wallet.domain.exception.DomainException;
+import br.com.pix.wallet.domain.exception.NotFoundException;
+import br.com.pix.wallet.domain.payout.PayoutJob;
+import br.com.pix.wallet.domain.payout.PayoutJobGateway;
+import br.com.pix.wallet.domain.validation.Error;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+public class ListPayoutRejectionsUseCaseImpl implements ListPayoutRejectionsUseCase {
+
+    static final int DEFAULT_LIMIT = 100;
+    static final int MAX_LIMIT = 1000;
+
+    private final PayoutJobGateway payoutJobGateway;
+
+    public ListPayoutRejectionsUseCaseImpl(final PayoutJobGateway payoutJobGateway) {
+        this.payoutJobGateway = payoutJobGateway;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ListPayoutRejectionsOutput execute(final ListPayoutRejectionsCommand command) {
+        final var limit = command.limit() != null ? command.limit() : DEFAULT_LIMIT;
+        final var afterLine = command.afterLine() != null ? command.afterLine() : 0L;
+
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw DomainException.with(Error.of("'limit' must be between 1 and " + MAX_LIMIT));
+        }
+
+        final var job = payoutJobGateway.findById(command.jobId())
+            .orElseThrow(() -> NotFoundException.with(PayoutJob.class, command.jobId()));
+
+        // Busca um a mais para saber se há próxima página sem precisar de COUNT
+        final var page = payoutJobGateway.findRejections(job.id(), afterLine, limit + 1);
+        final var hasNext = page.size() > limit;
+        final var rejections = hasNext ? page.subList(0, limit) : page;
+        final var nextAfterLine = hasNext ? rejections.get(limit - 1).lineNumber() : null;
+
+        return ListPayoutRejectionsOutput.from(job.id(), rejections, nextAfterLine);
+    }
+}
@@ -0,0 +1,12 @@
+package br.com.pix.wallet.application.pix.payout;
+
+// Linha de dados do arquivo como veio, sem validação; lineNumber começa em 1 e não conta o cabeçalho
+public record PayoutFileLine(
+    long lineNumber,
+    String keyType,
+    String keyValue,
+    String amount,
+    String idempotencyKey,
+    String endToEndId
+) {
+}
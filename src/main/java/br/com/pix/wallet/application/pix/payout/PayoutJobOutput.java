@@ -0,0 +1,35 @@
+package br.com.pix.wallet.application.pix.payout;
+
+import br.com.pix.wallet.domain.payout.PayoutJob;
+import br.com.pix.wallet.domain.payout.PayoutJobStatus;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record PayoutJobOutput(
+    UUID jobId,
+    String fromWalletId,
+    String fileName,
+    PayoutJobStatus status,
+    long processedLines,
+    long createdTransfers,
+    long rejectedLines,
+    String lastError,
+    Instant createdAt,
+    Instant updatedAt
+) {
+    public static PayoutJobOutput from(final PayoutJob job) {
+        return new PayoutJobOutput(
+            job.id(),
+            job.fromWalletId().getValue().toString(),
+            job.fileName(),
+            job.status(),
+            job.processedLines(),
+            job.createdTransfers(),
+            job.rejectedLines(),
+            job.lastError(),
+            job.createdAt(),
+            job.updatedAt()
+        );
+    }
+}
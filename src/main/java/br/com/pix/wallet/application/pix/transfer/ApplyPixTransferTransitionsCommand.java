@@ -0,0 +1,12 @@
+package br.com.pix.wallet.application.pix.transfer;
+
+import br.com.pix.wallet.domain.pix.webhook.PixWebhookEvent;
+
+import java.util.List;
+
+public record ApplyPixTransferTransitionsCommand(List<PixWebhookEvent> events) {
+
+    public static ApplyPixTransferTransitionsCommand with(final List<PixWebhookEvent> events) {
+        return new ApplyPixTransferTransitionsCommand(events);
+    }
+}
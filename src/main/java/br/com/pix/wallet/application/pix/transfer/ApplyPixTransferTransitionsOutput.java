@@ -0,0 +1,24 @@
+package br.com.pix.wallet.application.pix.transfer;
+
+import br.com.pix.wallet.domain.pix.webhook.PixWebhookEvent;
+import br.com.pix.wallet.domain.pix.webhook.PixWebhookEventType;
+
+import java.util.List;
+
+// deferred: endToEndIds cujo estorno não pôde ser aplicado agora; os eventos deles não devem ser marcados como processados
+public record ApplyPixTransferTransitionsOutput(int confirmed, int refunded, int ignored, List<String> deferred) {
+
+    public static ApplyPixTransferTransitionsOutput of(
+        final int confirmed,
+        final int refunded,
+        final int ignored,
+        final List<String> deferred
+    ) {
+        return new ApplyPixTransferTransitionsOutput(confirmed, refunded, ignored, List.copyOf(deferred));
+    }
+
+    // Só o evento de estorno fica pendente; confirmações da mesma transferência seguem normalmente
+    public boolean isDeferred(final PixWebhookEvent event) {
+        return event.getType() == PixWebhookEventType.REFUND_PROCESSED && deferred.contains(event.getEndToEndId());
+    }
+}
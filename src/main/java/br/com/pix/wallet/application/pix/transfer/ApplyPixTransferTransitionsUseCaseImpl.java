@@ -0,0 +1,196 @@
+package br.com.pix.wallet.application.pix.transfer;
+
+import br.com.pix.wallet.application.metrics.ApplicationMetrics;
+import br.com.pix.wallet.domain.exception.DomainException;
+import br.com.pix.wallet.domain.ledger.LedgerEntry;
+import br.com.pix.wallet.domain.ledger.LedgerGateway;
+import br.com.pix.wallet.domain.outbox.OutboxGateway;
+import br.com.pix.wallet.domain.pix.transfer.PixTransfer;
+import br.com.pix.wallet.domain.pix.transfer.PixTransferGateway;
+import br.com.pix.wallet.domain.pix.transfer.PixTransferStatus;
+import br.com.pix.wallet.domain.pix.webhook.PixWebhookEvent;
+import br.com.pix.wallet.domain.wallet.Wallet;
+import br.com.pix.wallet.domain.wallet.WalletEngine;
+import br.com.pix.wallet.domain.wallet.WalletGateway;
+import br.com.pix.wallet.domain.wallet.WalletID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// Aplica em lote as transições de status pedidas pelos webhooks. Confirmações viram um único UPDATE por lote;
+// estornos travam as transferências e as carteiras envolvidas e gravam os lançamentos na mesma transação.
+// No modo particionado os saldos pertencem às partições em memória, então os estornos passam pelo WalletEngine.
+// Um estorno que não pode ser aplicado agora volta em deferred para o chamador deixar o evento pendente.
+@Service
+public class ApplyPixTransferTransitionsUseCaseImpl implements ApplyPixTransferTransitionsUseCase {
+
+    private static final Logger log = LoggerFactory.getLogger(ApplyPixTransferTransitionsUseCaseImpl.class);
+
+    private final PixTransferGateway pixTransferGateway;
+    private final WalletGateway walletGateway;
+    private final LedgerGateway ledgerGateway;
+    private final OutboxGateway outboxGateway;
+    private final ApplicationMetrics applicationMetrics;
+    private final ObjectProvider<WalletEngine> walletEngine;
+
+    public ApplyPixTransferTransitionsUseCaseImpl(
+        final PixTransferGateway pixTransferGateway,
+        final WalletGateway walletGateway,
+        final LedgerGateway ledgerGateway,
+        final OutboxGateway outboxGateway,
+        final ApplicationMetrics applicationMetrics,
+        final ObjectProvider<WalletEngine> walletEngine
+    ) {
+        this.pixTransferGateway = pixTransferGateway;
+        this.walletGateway = walletGateway;
+        this.ledgerGateway = ledgerGateway;
+        this.outboxGateway = outboxGateway;
+        this.applicationMetrics = applicationMetrics;
+        this.walletEngine = walletEngine;
+    }
+
+    @Override
+    @Transactional
+    public ApplyPixTransferTransitionsOutput execute(final ApplyPixTransferTransitionsCommand command) {
+        final var targets = targetsByEndToEndId(command.events());
+
+        final var toConfirm = endToEndIdsWith(targets, PixTransferStatus.CONFIRMED);
+        final var confirmed = toConfirm.isEmpty() ? 0 : pixTransferGateway.updateStatus(
+            toConfirm,
+            PixTransferStatus.CONFIRMED.allowedSources(),
+            PixTransferStatus.CONFIRMED
+        );
+
+        final var toRefund = endToEndIdsWith(targets, PixTransferStatus.REFUNDED);
+        final var deferred = new ArrayList<String>();
+        final var engine = walletEngine.getIfAvailable();
+        final var refunded = engine == null ? refund(toRefund, deferred) : refundThroughEngine(engine, toRefund, deferred);
+
+        final var ignored = targets.size() - confirmed - refunded - deferred.size();
+        applicationMetrics.recordPixTransferTransitions(PixTransferStatus.CONFIRMED, confirmed, toConfirm.size() - confirmed);
+        applicationMetrics.recordPixTransferTransitions(
+            PixTransferStatus.REFUNDED,
+            refunded,
+            toRefund.size() - refunded - deferred.size()
+        );
+        return ApplyPixTransferTransitionsOutput.of(confirmed, refunded, ignored, deferred);
+    }
+
+    private int refund(final List<String> endToEndIds, final List<String> deferred) {
+        if (endToEndIds.isEmpty()) {
+            return 0;
+        }
+
+        final var transfers = pixTransferGateway.lockByEndToEndIds(
+            endToEndIds,
+            PixTransferStatus.REFUNDED.allowedSources()
+        );
+        if (transfers.isEmpty()) {
+            return 0;
+        }
+
+        final var wallets = walletsOf(transfers);
+        final var entries = new ArrayList<LedgerEntry>();
+        final var refunded = new ArrayList<String>();
+        final var changed = new LinkedHashSet<UUID>();
+
+        for (final var transfer : transfers) {
+            final var payer = wallets.get(transfer.getFromWalletId().getValue());
+            final var payee = wallets.get(transfer.getToWalletId().getValue());
+            final var amount = transfer.getAmount();
+
+            // O estorno devolve o valor já creditado ao recebedor; sem saldo, fica para uma nova tentativa
+            walletGateway.coverDebit(payee, amount);
+            if (payee.getCurrentBalance().compareTo(amount) < 0) {
+                log.warn("Refund of {} deferred: insufficient balance in wallet {}", transfer.getEndToEndId(), payee.getId().getValue());
+                deferred.add(transfer.getEndToEndId());
+                continue;
+            }
+
+            payee.withdraw(amount);
+            payer.deposit(amount);
+            changed.add(payee.getId().getValue());
+            changed.add(payer.getId().getValue());
+            refunded.add(transfer.getEndToEndId());
+
+            entries.add(LedgerEntry.debitPix(payee.getId(), transfer.getEndToEndId(), amount, payee.getCurrentBalance()));
+            entries.add(LedgerEntry.refund(payer.getId(), transfer.getEndToEndId(), amount, payer.getCurrentBalance()));
+        }
+
+        if (refunded.isEmpty()) {
+            return 0;
+        }
+
+        changed.forEach(id -> walletGateway.save(wallets.get(id)));
+        ledgerGateway.saveAll(entries);
+        outboxGateway.appendAll(entries);
+        return pixTransferGateway.updateStatus(
+            refunded,
+            PixTransferStatus.REFUNDED.allowedSources(),
+            PixTransferStatus.REFUNDED
+        );
+    }
+
+    // Sem travar a transferência: quem grava o status é a transação do motor, e um lock aqui a bloquearia.
+    // Qualquer falha do motor (saldo, fila cheia, confirmação fora do prazo) adia o estorno; na nova tentativa
+    // a guarda de status descarta o que já tiver sido gravado.
+    private int refundThroughEngine(final WalletEngine engine, final List<String> endToEndIds, final List<String> deferred) {
+        var refunded = 0;
+        for (final var endToEndId : endToEndIds) {
+            final var transfer = pixTransferGateway.findByEndToEndId(endToEndId)
+                .filter(candidate -> candidate.getStatus().canTransitionTo(PixTransferStatus.REFUNDED));
+            if (transfer.isEmpty()) {
+                continue;
+            }
+            try {
+                engine.refund(transfer.get());
+                refunded++;
+            } catch (DomainException ex) {
+                log.warn("Refund of {} deferred: {}", endToEndId, ex.getMessage());
+                deferred.add(endToEndId);
+            }
+        }
+        return refunded;
+    }
+
+    private Map<UUID, Wallet> walletsOf(final List<PixTransfer> transfers) {
+        final var ids = transfers.stream()
+            .flatMap(transfer -> Stream.of(transfer.getFromWalletId(), transfer.getToWalletId()))
+            .map(WalletID::getValue)
+            .distinct()
+            .map(WalletID::from)
+            .toList();
+        return walletGateway.lockAll(ids).stream()
+            .collect(Collectors.toMap(wallet -> wallet.getId().getValue(), Function.identity(), (a, b) -> a, HashMap::new));
+    }
+
+    // Vários eventos da mesma transferência no lote: vale o estado mais avançado (estorno vence confirmação)
+    private static Map<String, PixTransferStatus> targetsByEndToEndId(final List<PixWebhookEvent> events) {
+        final var targets = new LinkedHashMap<String, PixTransferStatus>();
+        for (final var event : events) {
+            final var target = event.getType().targetStatus();
+            targets.merge(event.getEndToEndId(), target, (current, next) -> current.canTransitionTo(next) ? next : current);
+        }
+        return targets;
+    }
+
+    private static List<String> endToEndIdsWith(final Map<String, PixTransferStatus> targets, final PixTransferStatus status) {
+        return targets.entrySet().stream()
+            .filter(entry -> entry.getValue() == status)
+            .map(Map.Entry::getKey)
+            .toList();
+    }
+}
@@ -0,0 +1,128 @@
+package br.com.pix.wallet.application.pix.transfer;
+
+import br.com.pix.wallet.application.metrics.ApplicationMetrics;
+import br.com.pix.wallet.domain.common.Money;
+import br.com.pix.wallet.domain.exception.DomainException;
+import br.com.pix.wallet.domain.exception.NotFoundException;
+import br.com.pix.wallet.domain.ledger.LedgerEntry;
+import br.com.pix.wallet.domain.ledger.LedgerGateway;
+import br.com.pix.wallet.domain.outbox.OutboxGateway;
+import br.com.pix.wallet.domain.pix.transfer.PixTransfer;
+import br.com.pix.wallet.domain.pix.transfer.PixTransferGateway;
+import br.com.pix.wallet.domain.validation.Error;
+import br.com.pix.wallet.domain.validation.handler.Notification;
+import br.com.pix.wallet.domain.wallet.Wallet;
+import br.com.pix.wallet.domain.wallet.WalletGateway;
+import br.com.pix.wallet.domain.wallet.WalletID;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Service
+@ConditionalOnProperty(name = "pix-wallet.write-mode", havingValue = "conditional-update")
+public class ConditionalUpdateCreatePixTransferUseCaseImpl implements CreatePixTransferUseCase {
+
+    private final WalletGateway walletGateway;
+    private final LedgerGateway ledgerGateway;
+    private final OutboxGateway outboxGateway;
+    private final PixTransferGateway pixTransferGateway;
+    private final ApplicationMetrics applicationMetrics;
+
+    public ConditionalUpdateCreatePixTransferUseCaseImpl(
+        final WalletGateway walletGateway,
+        final LedgerGateway ledgerGateway,
+        final OutboxGateway outboxGateway,
+        final PixTransferGateway pixTransferGateway,
+        final ApplicationMetrics applicationMetrics
+    ) {
+        this.walletGateway = walletGateway;
+        this.ledgerGateway = ledgerGateway;
+        this.outboxGateway = outboxGateway;
+        this.pixTransferGateway = pixTransferGateway;
+        this.applicationMetrics = applicationMetrics;
+    }
+
+    @Override
+    @Transactional
+    public CreatePixTransferOutput execute(final CreatePixTransferCommand command) {
+        final Timer.Sample sample = applicationMetrics.startPixTransferTimer();
+        Money recordedAmount = null;
+
+        try {
+            final var notification = Notification.create();
+
+            final var fromId = WalletID.from(command.fromWalletId());
+            final var toId = WalletID.from(command.toWalletId());
+            final var amount = Money.of(command.amount());
+
+            if (pixTransferGateway.existsByIdempotencyKey(command.idempotencyKey())) {
+                notification.append(Error.of("Transfer already processed for this idempotency key"));
+                throw DomainException.with(notification.getErrors());
+            }
+
+            // Atualiza as carteiras na mesma ordem de lockAll/lockExisting, que travam pelo uuid do PostgreSQL:
+            // assim não há deadlock com transferências opostas nem com lotes, estornos e payouts.
+            final var creditFirst = WalletID.LOCK_ORDER.compare(toId.getValue(), fromId.getValue()) < 0;
+
+            Money toBalance = null;
+            if (creditFirst) {
+                toBalance = credit(toId, amount);
+            }
+
+            final var fromBalance = walletGateway.debitIfSufficient(fromId, amount)
+                .orElseThrow(() -> debitRejected(fromId));
+
+            if (!creditFirst) {
+                toBalance = credit(toId, amount);
+            }
+
+            final var debitEntry = LedgerEntry.debitPix(fromId, command.endToEndId(), amount, fromBalance);
+            final var creditEntry = LedgerEntry.creditPix(toId, command.endToEndId(), amount, toBalance);
+
+            debitEntry.validate(notification);
+            creditEntry.validate(notification);
+
+            if (notification.hasError()) {
+                throw DomainException.with(notification.getErrors());
+            }
+
+            final var transfer = PixTransfer.newTransfer(
+                fromId,
+                toId,
+                amount,
+                command.idempotencyKey(),
+                command.endToEndId()
+            );
+
+            transfer.validate(notification);
+
+            if (notification.hasError()) {
+                throw DomainException.with(notification.getErrors());
+            }
+
+            final var entries = List.of(debitEntry, creditEntry);
+            ledgerGateway.saveAll(entries);
+            outboxGateway.appendAll(entries);
+
+            final var savedTransfer = pixTransferGateway.create(transfer);
+            recordedAmount = savedTransfer.getAmount();
+            return CreatePixTransferOutput.from(savedTransfer);
+        } finally {
+            applicationMetrics.recordPixTransferOutcome(sample, recordedAmount != null, recordedAmount);
+        }
+    }
+
+    private Money credit(final WalletID id, final Money amount) {
+        return walletGateway.credit(id, amount)
+            .orElseThrow(() -> NotFoundException.with(Wallet.class, id));
+    }
+
+    private RuntimeException debitRejected(final WalletID id) {
+        // Nenhuma linha atualizada: ou a carteira não existe (findById lança NotFound) ou falta saldo.
+        walletGateway.findById(id);
+        return DomainException.with(Error.of("Insufficient balance in source wallet"));
+    }
+}
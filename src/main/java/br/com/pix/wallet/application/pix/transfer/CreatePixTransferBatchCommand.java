@@ -0,0 +1,36 @@
+package br.com.pix.wallet.application.pix.transfer;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public record CreatePixTransferBatchCommand(
+    String fromWalletId,
+    String failureMode,
+    List<Item> transfers
+) {
+
+    public static CreatePixTransferBatchCommand with(
+        final String fromWalletId,
+        final String failureMode,
+        final List<Item> transfers
+    ) {
+        return new CreatePixTransferBatchCommand(fromWalletId, failureMode, transfers);
+    }
+
+    public record Item(
+        String toWalletId,
+        BigDecimal amount,
+        String idempotencyKey,
+        String endToEndId
+    ) {
+
+        public static Item with(
+            final String toWalletId,
+            final BigDecimal amount,
+            final String idempotencyKey,
+            final String endToEndId
+        ) {
+            return new Item(toWalletId, amount, idempotencyKey, endToEndId);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package br.com.pix.wallet.application.pix.transfer;
+
+import br.com.pix.wallet.domain.pix.transfer.PixTransfer;
+import br.com.pix.wallet.domain.validation.Error;
+
+import java.util.List;
+
+// Um resultado por transferência, na mesma ordem do lote recebido
+public record CreatePixTransferBatchOutput(
+    String fromWalletId,
+    PixTransferBatchFailureMode failureMode,
+    int created,
+    int rejected,
+    int skipped,
+    List<Item> transfers
+) {
+
+    public static CreatePixTransferBatchOutput of(
+        final String fromWalletId,
+        final PixTransferBatchFailureMode failureMode,
+        final List<Item> transfers
+    ) {
+        return new CreatePixTransferBatchOutput(
+            fromWalletId,
+            failureMode,
+            count(transfers, Outcome.CREATED),
+            count(transfers, Outcome.REJECTED),
+            count(transfers, Outcome.SKIPPED),
+            transfers
+        );
+    }
+
+    private static int count(final List<Item> transfers, final Outcome outcome) {
+        return (int) transfers.stream().filter(item -> item.outcome() == outcome).count();
+    }
+
+    public enum Outcome {
+        CREATED,
+        REJECTED,
+        // Válida, mas não gravada porque outra transferência do lote foi rejeitada (ALL_OR_NOTHING)
+        SKIPPED
+    }
+
+    public record Item(
+        String idempotencyKey,
+        String endToEndId,
+        Outcome outcome,
+        CreatePixTransferOutput transfer,
+        List<Error> errors
+    ) {
+
+        public static Item created(final PixTransfer transfer) {
+            return created(transfer.getIdempotencyKey(), CreatePixTransferOutput.from(transfer));
+        }
+
+        public static Item created(final String idempotencyKey, final CreatePixTransferOutput transfer) {
+            return new Item(idempotencyKey, transfer.endToEndId(), Outcome.CREATED, transfer, List.of());
+        }
+
+        public static Item rejected(final String idempotencyKey, final String endToEndId, final List<Error> errors) {
+            return new Item(idempotencyKey, endToEndId, Outcome.REJECTED, null, errors);
+        }
+
+        public static Item skipped(final PixTransfer transfer) {
+            return new Item(
+                transfer.getIdempotencyKey(),
+                transfer.getEndToEndId(),
+                Outcome.SKIPPED,
+                null,
+                List.of(Error.of("Batch not applied because another transfer was rejected"))
+            );
+        }
+    }
+}
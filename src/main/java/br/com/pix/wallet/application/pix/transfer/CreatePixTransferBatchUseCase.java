@@ -0,0 +1,5 @@
+package br.com.pix.wallet.application.pix.transfer;
+
+public interface CreatePixTransferBatchUseCase {
+    CreatePixTransferBatchOutput execute(CreatePixTransferBatchCommand command);
+}
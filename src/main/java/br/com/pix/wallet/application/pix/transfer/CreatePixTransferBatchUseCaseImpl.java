@@ -0,0 +1,290 @@
+package br.com.pix.wallet.application.pix.transfer;
+
+import br.com.pix.wallet.application.metrics.ApplicationMetrics;
+import br.com.pix.wallet.application.pix.transfer.CreatePixTransferBatchOutput.Item;
+import br.com.pix.wallet.application.pix.transfer.CreatePixTransferBatchOutput.Outcome;
+import br.com.pix.wallet.domain.common.Money;
+import br.com.pix.wallet.domain.exception.DomainException;
+import br.com.pix.wallet.domain.exception.NotFoundException;
+import br.com.pix.wallet.domain.ledger.LedgerEntry;
+import br.com.pix.wallet.domain.ledger.LedgerGateway;
+import br.com.pix.wallet.domain.outbox.OutboxGateway;
+import br.com.pix.wallet.domain.pix.transfer.PixTransfer;
+import br.com.pix.wallet.domain.pix.transfer.PixTransferGateway;
+import br.com.pix.wallet.domain.validation.Error;
+import br.com.pix.wallet.domain.validation.handler.Notification;
+import br.com.pix.wallet.domain.wallet.Wallet;
+import br.com.pix.wallet.domain.wallet.WalletGateway;
+import br.com.pix.wallet.domain.wallet.WalletID;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// Lote de transferências a partir de uma mesma carteira: a linha da origem é travada uma vez por lote, e não uma
+// vez por transferência. Validação em memória, uma consulta por tipo de chave, travas em ordem de id
+// e INSERTs de ledger, outbox e transferências em batch, tudo numa única transação.
+@Service
+@ConditionalOnExpression("'${pix-wallet.write-mode:locking}' != 'partitioned'")
+public class CreatePixTransferBatchUseCaseImpl implements CreatePixTransferBatchUseCase {
+
+    private final WalletGateway walletGateway;
+    private final LedgerGateway ledgerGateway;
+    private final OutboxGateway outboxGateway;
+    private final PixTransferGateway pixTransferGateway;
+    private final ApplicationMetrics applicationMetrics;
+    private final PixTransferBatchFailureMode defaultFailureMode;
+
+    public CreatePixTransferBatchUseCaseImpl(
+        final WalletGateway walletGateway,
+        final LedgerGateway ledgerGateway,
+        final OutboxGateway outboxGateway,
+        final PixTransferGateway pixTransferGateway,
+        final ApplicationMetrics applicationMetrics,
+        @Value("${pix-wallet.transfer-batch.failure-mode:ALL_OR_NOTHING}") final String defaultFailureMode
+    ) {
+        this.walletGateway = walletGateway;
+        this.ledgerGateway = ledgerGateway;
+        this.outboxGateway = outboxGateway;
+        this.pixTransferGateway = pixTransferGateway;
+        this.applicationMetrics = applicationMetrics;
+        this.defaultFailureMode = PixTransferBatchFailureMode.from(defaultFailureMode);
+    }
+
+    @Override
+    @Transactional
+    public CreatePixTransferBatchOutput execute(final CreatePixTransferBatchCommand command) {
+        final var failureMode = command.failureMode() == null
+            ? defaultFailureMode
+            : PixTransferBatchFailureMode.from(command.failureMode());
+        final var fromId = WalletID.from(command.fromWalletId());
+        final var requests = command.transfers();
+        final var items = new Item[requests.size()];
+
+        final var candidates = validate(fromId, requests, items);
+        rejectExisting(candidates, items);
+
+        // Nada a gravar: nem chega a travar as carteiras
+        if (failureMode == PixTransferBatchFailureMode.ALL_OR_NOTHING && candidates.size() < requests.size()) {
+            return skipAll(command, failureMode, candidates, items);
+        }
+
+        final var wallets = lock(fromId, candidates);
+        final var source = wallets.get(fromId.getValue());
+        if (source == null) {
+            throw NotFoundException.with(Wallet.class, fromId);
+        }
+
+        candidates.removeIf(candidate -> {
+            final var toId = candidate.transfer().getToWalletId().getValue();
+            if (wallets.containsKey(toId)) {
+                return false;
+            }
+            items[candidate.index()] = rejected(candidate.transfer(), Error.of("Wallet with ID %s was not found".formatted(toId)));
+            return true;
+        });
+
+        if (failureMode == PixTransferBatchFailureMode.ALL_OR_NOTHING) {
+            if (candidates.size() < requests.size()) {
+                return skipAll(command, failureMode, candidates, items);
+            }
+            final var total = candidates.stream()
+                .map(candidate -> candidate.transfer().getAmount())
+                .reduce(Money.zero(), Money::add);
+            walletGateway.coverDebit(source, total);
+            if (source.getCurrentBalance().compareTo(total) < 0) {
+                candidates.forEach(candidate -> items[candidate.index()] = rejected(
+                    candidate.transfer(),
+                    Error.of("Insufficient balance in source wallet for the whole batch")
+                ));
+                return finish(command, failureMode, items);
+            }
+        }
+
+        apply(source, wallets, candidates, items);
+        return finish(command, failureMode, items);
+    }
+
+    private List<Candidate> validate(
+        final WalletID fromId,
+        final List<CreatePixTransferBatchCommand.Item> requests,
+        final Item[] items
+    ) {
+        final var candidates = new ArrayList<Candidate>(requests.size());
+        final var idempotencyKeys = new HashSet<String>();
+        final var endToEndIds = new HashSet<String>();
+
+        for (int i = 0; i < requests.size(); i++) {
+            final var request = requests.get(i);
+            final var notification = Notification.create();
+            final var transfer = toTransfer(fromId, request, notification);
+
+            if (notification.hasError()) {
+                items[i] = Item.rejected(request.idempotencyKey(), request.endToEndId(), notification.getErrors());
+            } else if (!idempotencyKeys.add(transfer.getIdempotencyKey())) {
+                items[i] = rejected(transfer, Error.of("Duplicated idempotencyKey in batch"));
+            } else if (!endToEndIds.add(transfer.getEndToEndId())) {
+                items[i] = rejected(transfer, Error.of("Duplicated endToEndId in batch"));
+            } else {
+                candidates.add(new Candidate(i, transfer));
+            }
+        }
+        return candidates;
+    }
+
+    private static PixTransfer toTransfer(
+        final WalletID fromId,
+        final CreatePixTransferBatchCommand.Item request,
+        final Notification notification
+    ) {
+        final WalletID toId;
+        try {
+            toId = WalletID.from(request.toWalletId());
+        } catch (DomainException ex) {
+            ex.getErrors().forEach(notification::append);
+            return null;
+        }
+
+        if (request.amount() == null) {
+            notification.append(Error.of("'amount' must not be null"));
+            return null;
+        }
+
+        final Money amount;
+        try {
+            amount = Money.of(request.amount());
+        } catch (IllegalArgumentException ex) {
+            notification.append(Error.of(ex.getMessage().replace("'value'", "'amount'")));
+            return null;
+        }
+
+        if (fromId.getValue().equals(toId.getValue())) {
+            notification.append(Error.of("'fromWalletId' and 'toWalletId' must be different"));
+        }
+
+        final var transfer = PixTransfer.newTransfer(fromId, toId, amount, request.idempotencyKey(), request.endToEndId());
+        transfer.validate(notification);
+        return transfer;
+    }
+
+    private void rejectExisting(final List<Candidate> candidates, final Item[] items) {
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        final var processedKeys = pixTransferGateway.findExistingIdempotencyKeys(
+            candidates.stream().map(candidate -> candidate.transfer().getIdempotencyKey()).toList()
+        );
+        final var existingEndToEndIds = pixTransferGateway.findExistingEndToEndIds(
+            candidates.stream().map(candidate -> candidate.transfer().getEndToEndId()).toList()
+        );
+
+        candidates.removeIf(candidate -> {
+            final var transfer = candidate.transfer();
+            if (processedKeys.contains(transfer.getIdempotencyKey())) {
+                items[candidate.index()] = rejected(transfer, Error.of("Transfer already processed for this idempotency key"));
+                return true;
+            }
+            if (existingEndToEndIds.contains(transfer.getEndToEndId())) {
+                items[candidate.index()] = rejected(transfer, Error.of("Transfer already exists for this endToEndId"));
+                return true;
+            }
+            return false;
+        });
+    }
+
+    private Map<UUID, Wallet> lock(final WalletID fromId, final List<Candidate> candidates) {
+        final var ids = Stream.concat(
+            Stream.of(fromId),
+            candidates.stream().map(candidate -> candidate.transfer().getToWalletId())
+        ).toList();
+
+        return walletGateway.lockExisting(ids).stream()
+            .collect(Collectors.toMap(wallet -> wallet.getId().getValue(), Function.identity()));
+    }
+
+    // Débitos e créditos em memória, na ordem do lote; cada carteira é gravada uma única vez no final
+    private void apply(
+        final Wallet source,
+        final Map<UUID, Wallet> wallets,
+        final List<Candidate> candidates,
+        final Item[] items
+    ) {
+        final var touched = new LinkedHashMap<UUID, Wallet>();
+        final var entries = new ArrayList<LedgerEntry>(candidates.size() * 2);
+        final var transfers = new ArrayList<PixTransfer>(candidates.size());
+
+        for (final var candidate : candidates) {
+            final var transfer = candidate.transfer();
+            final var amount = transfer.getAmount();
+            walletGateway.coverDebit(source, amount);
+            if (source.getCurrentBalance().compareTo(amount) < 0) {
+                items[candidate.index()] = rejected(transfer, Error.of("Insufficient balance in source wallet"));
+                continue;
+            }
+
+            final var target = wallets.get(transfer.getToWalletId().getValue());
+            source.withdraw(amount);
+            target.deposit(amount);
+            touched.put(target.getId().getValue(), target);
+
+            entries.add(LedgerEntry.debitPix(source.getId(), transfer.getEndToEndId(), amount, source.getCurrentBalance()));
+            entries.add(LedgerEntry.creditPix(target.getId(), transfer.getEndToEndId(), amount, target.getCurrentBalance()));
+            transfers.add(transfer);
+            items[candidate.index()] = Item.created(transfer);
+        }
+
+        if (transfers.isEmpty()) {
+            return;
+        }
+
+        walletGateway.save(source);
+        touched.values().forEach(walletGateway::save);
+        ledgerGateway.saveAll(entries);
+        outboxGateway.appendAll(entries);
+        pixTransferGateway.createAll(transfers);
+        transfers.forEach(transfer -> applicationMetrics.recordPixTransferOutcome(null, true, transfer.getAmount()));
+    }
+
+    private CreatePixTransferBatchOutput skipAll(
+        final CreatePixTransferBatchCommand command,
+        final PixTransferBatchFailureMode failureMode,
+        final List<Candidate> candidates,
+        final Item[] items
+    ) {
+        candidates.forEach(candidate -> items[candidate.index()] = Item.skipped(candidate.transfer()));
+        return finish(command, failureMode, items);
+    }
+
+    private CreatePixTransferBatchOutput finish(
+        final CreatePixTransferBatchCommand command,
+        final PixTransferBatchFailureMode failureMode,
+        final Item[] items
+    ) {
+        // As criadas já foram registradas em apply, com o valor em Money
+        for (final var item : items) {
+            if (item.outcome() == Outcome.REJECTED) {
+                applicationMetrics.recordPixTransferOutcome(null, false, null);
+            }
+        }
+        return CreatePixTransferBatchOutput.of(command.fromWalletId(), failureMode, Arrays.asList(items));
+    }
+
+    private static Item rejected(final PixTransfer transfer, final Error error) {
+        return Item.rejected(transfer.getIdempotencyKey(), transfer.getEndToEndId(), List.of(error));
+    }
+
+    private record Candidate(int index, PixTransfer transfer) {
+    }
+}
@@ -3,34 +3,44 @@ package br.com.pix.wallet.application.pix.transfer;
 import br.com.pix.wallet.application.metrics.ApplicationMetrics;
 import br.com.pix.wallet.domain.common.Money;
 import br.com.pix.wallet.domain.exception.DomainException;
+import br.com.pix.wallet.domain.exception.NotFoundException;
 import br.com.pix.wallet.domain.ledger.LedgerEntry;
 import br.com.pix.wallet.domain.ledger.LedgerGateway;
+import br.com.pix.wallet.domain.outbox.OutboxGateway;
 import br.com.pix.wallet.domain.pix.transfer.PixTransfer;
 import br.com.pix.wallet.domain.pix.transfer.PixTransferGateway;
 import br.com.pix.wallet.domain.validation.Error;
 import br.com.pix.wallet.domain.validation.handler.Notification;
+import br.com.pix.wallet.domain.wallet.Wallet;
 import br.com.pix.wallet.domain.wallet.WalletGateway;
 import br.com.pix.wallet.domain.wallet.WalletID;
 import io.micrometer.core.instrument.Timer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
 @Service
+@ConditionalOnProperty(name = "pix-wallet.write-mode", havingValue = "locking", matchIfMissing = true)
 public class CreatePixTransferUseCaseImpl implements CreatePixTransferUseCase {
 
     private final WalletGateway walletGateway;
     private final LedgerGateway ledgerGateway;
+    private final OutboxGateway outboxGateway;
     private final PixTransferGateway pixTransferGateway;
     private final ApplicationMetrics applicationMetrics;
 
     public CreatePixTransferUseCaseImpl(
         final WalletGateway walletGateway,
         final LedgerGateway ledgerGateway,
+        final OutboxGateway outboxGateway,
         final PixTransferGateway pixTransferGateway,
         final ApplicationMetrics applicationMetrics
     ) {
         this.walletGateway = walletGateway;
         this.ledgerGateway = ledgerGateway;
+        this.outboxGateway = outboxGateway;
         this.pixTransferGateway = pixTransferGateway;
         this.applicationMetrics = applicationMetrics;
     }
@@ -39,7 +49,7 @@ public class CreatePixTransferUseCaseImpl implements CreatePixTransferUseCase {
     @Transactional
     public CreatePixTransferOutput execute(final CreatePixTransferCommand command) {
         final Timer.Sample sample = applicationMetrics.startPixTransferTimer();
-        var success = false;
+        Money recordedAmount = null;
 
         try {
             final var notification = Notification.create();
@@ -53,9 +63,11 @@ public class CreatePixTransferUseCaseImpl implements CreatePixTransferUseCase {
                 throw DomainException.with(notification.getErrors());
             }
 
-            final var fromWallet = walletGateway.findByIdWithLock(fromId);
-            final var toWallet = walletGateway.findByIdWithLock(toId);
+            final var wallets = walletGateway.lockAll(List.of(fromId, toId));
+            final var fromWallet = select(wallets, fromId);
+            final var toWallet = select(wallets, toId);
 
+            walletGateway.coverDebit(fromWallet, amount);
             if (fromWallet.getCurrentBalance().compareTo(amount) < 0) {
                 notification.append(Error.of("Insufficient balance in source wallet"));
                 throw DomainException.with(notification.getErrors());
@@ -88,8 +100,9 @@ public class CreatePixTransferUseCaseImpl implements CreatePixTransferUseCase {
                 throw DomainException.with(notification.getErrors());
             }
 
-            ledgerGateway.save(debitEntry);
-            ledgerGateway.save(creditEntry);
+            final var entries = List.of(debitEntry, creditEntry);
+            ledgerGateway.saveAll(entries);
+            outboxGateway.appendAll(entries);
 
             final var transfer = PixTransfer.newTransfer(
                 updatedFromWallet.getId(),
@@ -105,11 +118,18 @@ public class CreatePixTransferUseCaseImpl implements CreatePixTransferUseCase {
                 throw DomainException.with(notification.getErrors());
             }
 
-            final var savedTransfer = pixTransferGateway.save(transfer);
-            success = true;
+            final var savedTransfer = pixTransferGateway.create(transfer);
+            recordedAmount = savedTransfer.getAmount();
             return CreatePixTransferOutput.from(savedTransfer);
         } finally {
-            applicationMetrics.recordPixTransferOutcome(sample, success, command.amount());
+            applicationMetrics.recordPixTransferOutcome(sample, recordedAmount != null, recordedAmount);
         }
     }
+
+    private static Wallet select(final List<Wallet> wallets, final WalletID id) {
+        return wallets.stream()
+            .filter(wallet -> wallet.getId().getValue().equals(id.getValue()))
+            .findFirst()
+            .orElseThrow(() -> NotFoundException.with(Wallet.class, id));
+    }
 }
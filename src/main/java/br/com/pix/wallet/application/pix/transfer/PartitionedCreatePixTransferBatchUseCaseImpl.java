@@ -0,0 +1,55 @@
+package br.com.pix.wallet.application.pix.transfer;
+
+import br.com.pix.wallet.application.pix.transfer.CreatePixTransferBatchOutput.Item;
+import br.com.pix.wallet.domain.exception.DomainException;
+import br.com.pix.wallet.domain.validation.Error;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// No modo particionado os saldos pertencem às partições em memória, que já agrupam as gravações (group commit).
+// Cada transferência segue o caminho unitário; sem transação comum, só PARTIAL é suportado.
+@Service
+@ConditionalOnProperty(name = "pix-wallet.write-mode", havingValue = "partitioned")
+public class PartitionedCreatePixTransferBatchUseCaseImpl implements CreatePixTransferBatchUseCase {
+
+    private final CreatePixTransferUseCase createPixTransferUseCase;
+
+    public PartitionedCreatePixTransferBatchUseCaseImpl(final CreatePixTransferUseCase createPixTransferUseCase) {
+        this.createPixTransferUseCase = createPixTransferUseCase;
+    }
+
+    @Override
+    public CreatePixTransferBatchOutput execute(final CreatePixTransferBatchCommand command) {
+        if (command.failureMode() != null
+            && PixTransferBatchFailureMode.from(command.failureMode()) != PixTransferBatchFailureMode.PARTIAL) {
+            throw DomainException.with(Error.of("Only PARTIAL transfer batches are supported with write-mode=partitioned"));
+        }
+
+        final var items = new ArrayList<Item>(command.transfers().size());
+        for (final var request : command.transfers()) {
+            items.add(execute(command.fromWalletId(), request));
+        }
+        return CreatePixTransferBatchOutput.of(command.fromWalletId(), PixTransferBatchFailureMode.PARTIAL, items);
+    }
+
+    private Item execute(final String fromWalletId, final CreatePixTransferBatchCommand.Item request) {
+        try {
+            final var output = createPixTransferUseCase.execute(CreatePixTransferCommand.with(
+                fromWalletId,
+                request.toWalletId(),
+                request.amount(),
+                request.idempotencyKey(),
+                request.endToEndId()
+            ));
+            return Item.created(request.idempotencyKey(), output);
+        } catch (DomainException ex) {
+            final var errors = ex.getErrors().isEmpty() ? List.of(Error.of(ex.getMessage())) : ex.getErrors();
+            return Item.rejected(request.idempotencyKey(), request.endToEndId(), errors);
+        } catch (IllegalArgumentException | NullPointerException ex) {
+            return Item.rejected(request.idempotencyKey(), request.endToEndId(), List.of(Error.of(String.valueOf(ex.getMessage()))));
+        }
+    }
+}
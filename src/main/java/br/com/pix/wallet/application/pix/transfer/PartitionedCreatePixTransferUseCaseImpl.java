@@ -0,0 +1,68 @@
+package br.com.pix.wallet.application.pix.transfer;
+
+import br.com.pix.wallet.application.metrics.ApplicationMetrics;
+import br.com.pix.wallet.domain.common.Money;
+import br.com.pix.wallet.domain.exception.DomainException;
+import br.com.pix.wallet.domain.pix.transfer.PixTransfer;
+import br.com.pix.wallet.domain.pix.transfer.PixTransferGateway;
+import br.com.pix.wallet.domain.validation.Error;
+import br.com.pix.wallet.domain.validation.handler.Notification;
+import br.com.pix.wallet.domain.wallet.WalletEngine;
+import br.com.pix.wallet.domain.wallet.WalletID;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+@Service
+@ConditionalOnProperty(name = "pix-wallet.write-mode", havingValue = "partitioned")
+public class PartitionedCreatePixTransferUseCaseImpl implements CreatePixTransferUseCase {
+
+    private final WalletEngine walletEngine;
+    private final PixTransferGateway pixTransferGateway;
+    private final ApplicationMetrics applicationMetrics;
+
+    public PartitionedCreatePixTransferUseCaseImpl(
+        final WalletEngine walletEngine,
+        final PixTransferGateway pixTransferGateway,
+        final ApplicationMetrics applicationMetrics
+    ) {
+        this.walletEngine = walletEngine;
+        this.pixTransferGateway = pixTransferGateway;
+        this.applicationMetrics = applicationMetrics;
+    }
+
+    @Override
+    public CreatePixTransferOutput execute(final CreatePixTransferCommand command) {
+        final Timer.Sample sample = applicationMetrics.startPixTransferTimer();
+        Money recordedAmount = null;
+
+        try {
+            final var notification = Notification.create();
+
+            if (pixTransferGateway.existsByIdempotencyKey(command.idempotencyKey())) {
+                notification.append(Error.of("Transfer already processed for this idempotency key"));
+                throw DomainException.with(notification.getErrors());
+            }
+
+            final var transfer = PixTransfer.newTransfer(
+                WalletID.from(command.fromWalletId()),
+                WalletID.from(command.toWalletId()),
+                Money.of(command.amount()),
+                command.idempotencyKey(),
+                command.endToEndId()
+            );
+
+            transfer.validate(notification);
+
+            if (notification.hasError()) {
+                throw DomainException.with(notification.getErrors());
+            }
+
+            final var savedTransfer = walletEngine.transfer(transfer);
+            recordedAmount = savedTransfer.getAmount();
+            return CreatePixTransferOutput.from(savedTransfer);
+        } finally {
+            applicationMetrics.recordPixTransferOutcome(sample, recordedAmount != null, recordedAmount);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package br.com.pix.wallet.application.pix.transfer;
+
+import br.com.pix.wallet.domain.exception.DomainException;
+import br.com.pix.wallet.domain.validation.Error;
+
+import java.util.Arrays;
+
+public enum PixTransferBatchFailureMode {
+    // Uma transferência rejeitada cancela o lote inteiro
+    ALL_OR_NOTHING,
+    // As válidas são gravadas; as rejeitadas voltam com os erros
+    PARTIAL;
+
+    public static PixTransferBatchFailureMode from(final String value) {
+        return Arrays.stream(values())
+            .filter(mode -> mode.name().equalsIgnoreCase(value))
+            .findFirst()
+            .orElseThrow(() -> DomainException.with(Error.of(
+                "'failureMode' must be one of %s".formatted(Arrays.toString(values()))
+            )));
+    }
+}
@@ -0,0 +1,58 @@
+package br.com.pix.wallet.application.pix.webhook;
+
+import br.com.pix.wallet.application.metrics.ApplicationMetrics;
+import br.com.pix.wallet.domain.exception.DomainException;
+import br.com.pix.wallet.domain.pix.webhook.PixWebhookEvent;
+import br.com.pix.wallet.domain.pix.webhook.PixWebhookEventType;
+import br.com.pix.wallet.domain.pix.webhook.PixWebhookInbox;
+import br.com.pix.wallet.domain.validation.handler.Notification;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+// Valida, enfileira e responde depois do commit em lote no inbox; deduplicação e vínculo com a transferência
+// ficam para o worker do inbox
+@Service
+@ConditionalOnProperty(name = "pix-wallet.webhook-ingest.mode", havingValue = "async")
+public class AsyncHandlePixWebhookUseCaseImpl implements HandlePixWebhookUseCase {
+
+    private final PixWebhookInbox pixWebhookInbox;
+    private final ApplicationMetrics applicationMetrics;
+
+    public AsyncHandlePixWebhookUseCaseImpl(
+        final PixWebhookInbox pixWebhookInbox,
+        final ApplicationMetrics applicationMetrics
+    ) {
+        this.pixWebhookInbox = pixWebhookInbox;
+        this.applicationMetrics = applicationMetrics;
+    }
+
+    @Override
+    public HandlePixWebhookOutput execute(final HandlePixWebhookCommand command) {
+        try {
+            final var type = PixWebhookEventType.from(command.eventType());
+
+            final var webhookEvent = PixWebhookEvent.newEvent(
+                type,
+                command.eventId(),
+                command.endToEndId(),
+                command.occurredAt()
+            );
+
+            final var notification = Notification.create();
+
+            webhookEvent.validate(notification);
+
+            if (notification.hasError()) {
+                throw DomainException.with(notification.getErrors());
+            }
+
+            PixWebhookInboxAck.await(pixWebhookInbox.enqueue(webhookEvent));
+            applicationMetrics.recordPixWebhookEvent(type, "accepted");
+
+            return HandlePixWebhookOutput.accepted(webhookEvent);
+        } catch (DomainException ex) {
+            applicationMetrics.recordPixWebhookEvent(null, "error");
+            throw ex;
+        }
+    }
+}
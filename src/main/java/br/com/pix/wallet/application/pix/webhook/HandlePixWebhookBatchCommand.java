@@ -0,0 +1,10 @@
+package br.com.pix.wallet.application.pix.webhook;
+
+import java.util.List;
+
+public record HandlePixWebhookBatchCommand(List<HandlePixWebhookCommand> events) {
+
+    public static HandlePixWebhookBatchCommand with(final List<HandlePixWebhookCommand> events) {
+        return new HandlePixWebhookBatchCommand(events);
+    }
+}
@@ -0,0 +1,45 @@
+package br.com.pix.wallet.application.pix.webhook;
+
+import br.com.pix.wallet.domain.pix.webhook.PixWebhookEvent;
+import br.com.pix.wallet.domain.validation.Error;
+
+import java.util.List;
+
+// Um resultado por evento, na mesma ordem do array recebido
+public record HandlePixWebhookBatchOutput(List<Item> events) {
+
+    public static HandlePixWebhookBatchOutput of(final List<Item> events) {
+        return new HandlePixWebhookBatchOutput(events);
+    }
+
+    public enum Outcome {
+        STORED,
+        ACCEPTED,
+        DUPLICATE,
+        REJECTED
+    }
+
+    public record Item(
+        String eventId,
+        Outcome outcome,
+        String webhookEventId,
+        List<Error> errors
+    ) {
+
+        public static Item stored(final PixWebhookEvent event) {
+            return new Item(event.getEventId(), Outcome.STORED, event.getId().getValue().toString(), List.of());
+        }
+
+        public static Item accepted(final PixWebhookEvent event) {
+            return new Item(event.getEventId(), Outcome.ACCEPTED, event.getId().getValue().toString(), List.of());
+        }
+
+        public static Item duplicate(final String eventId) {
+            return new Item(eventId, Outcome.DUPLICATE, null, List.of());
+        }
+
+        public static Item rejected(final String eventId, final List<Error> errors) {
+            return new Item(eventId, Outcome.REJECTED, null, errors);
+        }
+    }
+}
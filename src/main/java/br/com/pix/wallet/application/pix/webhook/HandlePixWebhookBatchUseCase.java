@@ -0,0 +1,5 @@
+package br.com.pix.wallet.application.pix.webhook;
+
+public interface HandlePixWebhookBatchUseCase {
+    HandlePixWebhookBatchOutput execute(HandlePixWebhookBatchCommand command);
+}
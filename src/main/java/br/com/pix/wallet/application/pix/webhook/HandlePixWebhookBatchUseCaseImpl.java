@@ -0,0 +1,206 @@
+package br.com.pix.wallet.application.pix.webhook;
+
+import br.com.pix.wallet.application.metrics.ApplicationMetrics;
+import br.com.pix.wallet.application.pix.transfer.ApplyPixTransferTransitionsCommand;
+import br.com.pix.wallet.application.pix.transfer.ApplyPixTransferTransitionsUseCase;
+import br.com.pix.wallet.application.pix.webhook.HandlePixWebhookBatchOutput.Item;
+import br.com.pix.wallet.domain.exception.DomainException;
+import br.com.pix.wallet.domain.pix.transfer.PixTransferGateway;
+import br.com.pix.wallet.domain.pix.webhook.PixWebhookEvent;
+import br.com.pix.wallet.domain.pix.webhook.PixWebhookEventGateway;
+import br.com.pix.wallet.domain.pix.webhook.PixWebhookEventType;
+import br.com.pix.wallet.domain.pix.webhook.PixWebhookInbox;
+import br.com.pix.wallet.domain.validation.Error;
+import br.com.pix.wallet.domain.validation.handler.Notification;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+// Lote de webhooks: valida tudo em memória, depois uma consulta de duplicados, uma de transferências
+// e um único batch de inserção. Um evento inválido é rejeitado sozinho, sem derrubar o lote.
+@Service
+public class HandlePixWebhookBatchUseCaseImpl implements HandlePixWebhookBatchUseCase {
+
+    private final PixWebhookEventGateway pixWebhookEventGateway;
+    private final PixTransferGateway pixTransferGateway;
+    private final ApplyPixTransferTransitionsUseCase applyPixTransferTransitionsUseCase;
+    private final ObjectProvider<PixWebhookInbox> pixWebhookInbox;
+    private final ApplicationMetrics applicationMetrics;
+    private final TransactionTemplate transactionTemplate;
+
+    public HandlePixWebhookBatchUseCaseImpl(
+        final PixWebhookEventGateway pixWebhookEventGateway,
+        final PixTransferGateway pixTransferGateway,
+        final ApplyPixTransferTransitionsUseCase applyPixTransferTransitionsUseCase,
+        final ObjectProvider<PixWebhookInbox> pixWebhookInbox,
+        final ApplicationMetrics applicationMetrics,
+        final PlatformTransactionManager transactionManager
+    ) {
+        this.pixWebhookEventGateway = pixWebhookEventGateway;
+        this.pixTransferGateway = pixTransferGateway;
+        this.applyPixTransferTransitionsUseCase = applyPixTransferTransitionsUseCase;
+        this.pixWebhookInbox = pixWebhookInbox;
+        this.applicationMetrics = applicationMetrics;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public HandlePixWebhookBatchOutput execute(final HandlePixWebhookBatchCommand command) {
+        final var commands = command.events();
+        final var items = new Item[commands.size()];
+        final var candidates = new ArrayList<Candidate>();
+        final var seen = new HashSet<String>();
+
+        for (int i = 0; i < commands.size(); i++) {
+            final var eventCommand = commands.get(i);
+            try {
+                final var event = toEvent(eventCommand);
+                if (seen.add(event.getEventId())) {
+                    candidates.add(new Candidate(i, event));
+                } else {
+                    items[i] = duplicate(event);
+                }
+            } catch (DomainException ex) {
+                items[i] = rejected(eventCommand.eventId(), null, ex.getErrors());
+            }
+        }
+
+        final var inbox = pixWebhookInbox.getIfAvailable();
+        if (inbox != null) {
+            enqueue(inbox, candidates, items);
+        } else {
+            transactionTemplate.executeWithoutResult(status -> store(candidates, items));
+        }
+
+        return HandlePixWebhookBatchOutput.of(Arrays.asList(items));
+    }
+
+    // Modo assíncrono: todos os eventos entram no buffer antes de esperar, então o lote segue para o inbox
+    // de uma vez. Só é aceito o evento já commitado; os demais (inbox cheio, sem commit no prazo) são
+    // rejeitados e o chamador reenvia só eles.
+    private void enqueue(final PixWebhookInbox inbox, final List<Candidate> candidates, final Item[] items) {
+        final var enqueued = new ArrayList<Candidate>(candidates.size());
+        final var stored = new ArrayList<CompletableFuture<Void>>(candidates.size());
+        for (final var candidate : candidates) {
+            final var event = candidate.event();
+            try {
+                stored.add(inbox.enqueue(event));
+                enqueued.add(candidate);
+            } catch (DomainException ex) {
+                items[candidate.index()] = rejected(event.getEventId(), event.getType(), ex.getErrors());
+            }
+        }
+
+        for (int i = 0; i < enqueued.size(); i++) {
+            final var candidate = enqueued.get(i);
+            final var event = candidate.event();
+            try {
+                PixWebhookInboxAck.await(stored.get(i));
+                applicationMetrics.recordPixWebhookEvent(event.getType(), "accepted");
+                items[candidate.index()] = Item.accepted(event);
+            } catch (DomainException ex) {
+                items[candidate.index()] = rejected(event.getEventId(), event.getType(), ex.getErrors());
+            }
+        }
+    }
+
+    private void store(final List<Candidate> candidates, final Item[] items) {
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        final var existing = pixWebhookEventGateway.findExistingEventIds(
+            candidates.stream().map(candidate -> candidate.event().getEventId()).toList()
+        );
+        final var fresh = candidates.stream()
+            .filter(candidate -> {
+                if (existing.contains(candidate.event().getEventId())) {
+                    items[candidate.index()] = duplicate(candidate.event());
+                    return false;
+                }
+                return true;
+            })
+            .toList();
+
+        final var known = pixTransferGateway.findExistingEndToEndIds(
+            fresh.stream().map(candidate -> candidate.event().getEndToEndId()).collect(Collectors.toSet())
+        );
+        final var matched = new ArrayList<Candidate>();
+        for (final var candidate : fresh) {
+            final var event = candidate.event();
+            if (known.contains(event.getEndToEndId())) {
+                matched.add(candidate);
+            } else {
+                items[candidate.index()] = rejected(event.getEventId(), event.getType(), List.of(
+                    Error.of("No Pix transfer found for endToEndId '%s'".formatted(event.getEndToEndId()))
+                ));
+            }
+        }
+
+        if (matched.isEmpty()) {
+            return;
+        }
+
+        // Transições antes da gravação: o evento de um estorno adiado não é gravado e o chamador o reenvia
+        final var transitions = applyPixTransferTransitionsUseCase.execute(
+            ApplyPixTransferTransitionsCommand.with(matched.stream().map(Candidate::event).toList())
+        );
+        final var stored = new ArrayList<PixWebhookEvent>(matched.size());
+        for (final var candidate : matched) {
+            final var event = candidate.event();
+            if (transitions.isDeferred(event)) {
+                items[candidate.index()] = rejected(event.getEventId(), event.getType(), List.of(
+                    Error.of("Refund for endToEndId '%s' could not be applied yet, retry later".formatted(event.getEndToEndId()))
+                ));
+            } else {
+                stored.add(event);
+                items[candidate.index()] = Item.stored(event);
+            }
+        }
+
+        pixWebhookEventGateway.saveAllIgnoringDuplicates(stored);
+        stored.forEach(event -> applicationMetrics.recordPixWebhookEvent(event.getType(), "stored"));
+    }
+
+    private static PixWebhookEvent toEvent(final HandlePixWebhookCommand command) {
+        final var type = PixWebhookEventType.from(command.eventType());
+
+        final var webhookEvent = PixWebhookEvent.newEvent(
+            type,
+            command.eventId(),
+            command.endToEndId(),
+            command.occurredAt()
+        );
+
+        final var notification = Notification.create();
+
+        webhookEvent.validate(notification);
+
+        if (notification.hasError()) {
+            throw DomainException.with(notification.getErrors());
+        }
+
+        return webhookEvent;
+    }
+
+    private Item duplicate(final PixWebhookEvent event) {
+        applicationMetrics.recordPixWebhookEvent(event.getType(), "duplicate");
+        return Item.duplicate(event.getEventId());
+    }
+
+    private Item rejected(final String eventId, final PixWebhookEventType type, final List<Error> errors) {
+        applicationMetrics.recordPixWebhookEvent(type, "error");
+        return Item.rejected(eventId, errors);
+    }
+
+    private record Candidate(int index, PixWebhookEvent event) {
+    }
+}
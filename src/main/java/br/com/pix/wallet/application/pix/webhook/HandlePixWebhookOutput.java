@@ -23,4 +23,16 @@ public record HandlePixWebhookOutput(
             event.getProcessedAt()
         );
     }
+
+    // Aceito no modo assíncrono: ainda não promovido, por isso sem processedAt
+    public static HandlePixWebhookOutput accepted(final PixWebhookEvent event) {
+        return new HandlePixWebhookOutput(
+            event.getId().getValue().toString(),
+            event.getEventId(),
+            event.getEndToEndId(),
+            event.getType().name(),
+            event.getOccurredAt(),
+            null
+        );
+    }
 }
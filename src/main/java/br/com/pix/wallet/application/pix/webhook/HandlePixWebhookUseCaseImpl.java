@@ -1,30 +1,40 @@
 package br.com.pix.wallet.application.pix.webhook;
 
 import br.com.pix.wallet.application.metrics.ApplicationMetrics;
+import br.com.pix.wallet.application.pix.transfer.ApplyPixTransferTransitionsCommand;
+import br.com.pix.wallet.application.pix.transfer.ApplyPixTransferTransitionsUseCase;
 import br.com.pix.wallet.domain.pix.transfer.PixTransferGateway;
 import br.com.pix.wallet.domain.pix.webhook.PixWebhookEventGateway;
 import br.com.pix.wallet.domain.exception.DomainException;
+import br.com.pix.wallet.domain.exception.ServiceUnavailableException;
 import br.com.pix.wallet.domain.pix.webhook.PixWebhookEvent;
 import br.com.pix.wallet.domain.pix.webhook.PixWebhookEventType;
 import br.com.pix.wallet.domain.validation.Error;
 import br.com.pix.wallet.domain.validation.handler.Notification;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
 @Service
+@ConditionalOnProperty(name = "pix-wallet.webhook-ingest.mode", havingValue = "sync", matchIfMissing = true)
 public class HandlePixWebhookUseCaseImpl implements HandlePixWebhookUseCase {
 
     private final PixWebhookEventGateway pixWebhookEventGateway;
     private final PixTransferGateway pixTransferGateway;
+    private final ApplyPixTransferTransitionsUseCase applyPixTransferTransitionsUseCase;
     private final ApplicationMetrics applicationMetrics;
 
     public HandlePixWebhookUseCaseImpl(
         final PixWebhookEventGateway pixWebhookEventGateway,
         final PixTransferGateway pixTransferGateway,
+        final ApplyPixTransferTransitionsUseCase applyPixTransferTransitionsUseCase,
         final ApplicationMetrics applicationMetrics
     ) {
         this.pixWebhookEventGateway = pixWebhookEventGateway;
         this.pixTransferGateway = pixTransferGateway;
+        this.applyPixTransferTransitionsUseCase = applyPixTransferTransitionsUseCase;
         this.applicationMetrics = applicationMetrics;
     }
 
@@ -45,8 +55,9 @@ public class HandlePixWebhookUseCaseImpl implements HandlePixWebhookUseCase {
     }
 
     private HandlePixWebhookOutput handleNewEvent(final HandlePixWebhookCommand command) {
-        pixTransferGateway.findByEndToEndId(command.endToEndId())
-            .orElseThrow(() -> DomainException.with(Error.of("No Pix transfer found for endToEndId '%s'".formatted(command.endToEndId()))));
+        if (!pixTransferGateway.existsByEndToEndId(command.endToEndId())) {
+            throw DomainException.with(Error.of("No Pix transfer found for endToEndId '%s'".formatted(command.endToEndId())));
+        }
 
         final var type = PixWebhookEventType.from(command.eventType());
 
@@ -66,6 +77,13 @@ public class HandlePixWebhookUseCaseImpl implements HandlePixWebhookUseCase {
         }
 
         final var saved = pixWebhookEventGateway.save(webhookEvent);
+        final var transitions = applyPixTransferTransitionsUseCase.execute(ApplyPixTransferTransitionsCommand.with(List.of(saved)));
+        // O rollback desfaz a gravação do evento: o PSP reenvia e o estorno é tentado de novo
+        if (transitions.isDeferred(saved)) {
+            throw ServiceUnavailableException.with(
+                "Refund for endToEndId '%s' could not be applied yet, retry later".formatted(saved.getEndToEndId())
+            );
+        }
         applicationMetrics.recordPixWebhookEvent(type, "stored");
 
         return HandlePixWebhookOutput.from(saved);
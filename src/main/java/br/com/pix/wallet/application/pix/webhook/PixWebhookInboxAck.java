@@ -0,0 +1,28 @@
+package br.com.pix.wallet.application.pix.webhook;
+
+import br.com.pix.wallet.domain.exception.ServiceUnavailableException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
+
+// O ack ao PSP só sai depois do commit do evento no inbox; sem ele no prazo a resposta é 503 e o PSP reenvia
+final class PixWebhookInboxAck {
+
+    private PixWebhookInboxAck() {
+    }
+
+    static void await(final CompletableFuture<Void> stored) {
+        try {
+            stored.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof TimeoutException) {
+                throw ServiceUnavailableException.with("Webhook inbox did not confirm the event in time, retry later");
+            }
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+}
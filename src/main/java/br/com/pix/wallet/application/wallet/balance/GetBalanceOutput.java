@@ -1,9 +1,16 @@
 package br.com.pix.wallet.application.wallet.balance;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import java.math.BigDecimal;
 
-public record GetBalanceOutput(BigDecimal currentBalance) {
+// version acompanha o saldo só para virar ETag; fica fora do corpo da resposta
+public record GetBalanceOutput(BigDecimal currentBalance, @JsonIgnore Long version) {
     public static GetBalanceOutput from(BigDecimal currentBalance) {
-        return new GetBalanceOutput(currentBalance);
+        return new GetBalanceOutput(currentBalance, null);
+    }
+
+    public static GetBalanceOutput from(BigDecimal currentBalance, Long version) {
+        return new GetBalanceOutput(currentBalance, version);
     }
 }
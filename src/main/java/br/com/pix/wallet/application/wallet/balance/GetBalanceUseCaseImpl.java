@@ -1,38 +1,80 @@
 package br.com.pix.wallet.application.wallet.balance;
 
+import br.com.pix.wallet.application.metrics.ApplicationMetrics;
+import br.com.pix.wallet.domain.common.Money;
+import br.com.pix.wallet.domain.ledger.BalanceCheckpoint;
+import br.com.pix.wallet.domain.ledger.BalanceCheckpointGateway;
 import br.com.pix.wallet.domain.ledger.LedgerGateway;
+import br.com.pix.wallet.domain.wallet.BalanceCache;
+import br.com.pix.wallet.domain.wallet.BalanceSnapshot;
 import br.com.pix.wallet.domain.wallet.WalletGateway;
 import br.com.pix.wallet.domain.wallet.WalletID;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.UUID;
+import java.util.function.Supplier;
 
 @Service
 public class GetBalanceUseCaseImpl implements GetBalanceUseCase {
 
     private final WalletGateway walletGateway;
     private final LedgerGateway ledgerGateway;
+    private final BalanceCheckpointGateway balanceCheckpointGateway;
+    private final BalanceCache balanceCache;
+    private final TransactionTemplate readOnlyTransaction;
+    private final SingleFlight<BalanceRead, BalanceSnapshot> singleFlight;
 
-    public GetBalanceUseCaseImpl(final WalletGateway walletGateway, final LedgerGateway ledgerGateway) {
+    public GetBalanceUseCaseImpl(
+        final WalletGateway walletGateway,
+        final LedgerGateway ledgerGateway,
+        final BalanceCheckpointGateway balanceCheckpointGateway,
+        final BalanceCache balanceCache,
+        final PlatformTransactionManager transactionManager,
+        final ApplicationMetrics applicationMetrics
+    ) {
         this.walletGateway = walletGateway;
         this.ledgerGateway = ledgerGateway;
+        this.balanceCheckpointGateway = balanceCheckpointGateway;
+        this.balanceCache = balanceCache;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.singleFlight = new SingleFlight<>(applicationMetrics::recordBalanceRead);
+        applicationMetrics.registerBalanceReadsInFlightGauge(singleFlight::inFlightCount);
     }
 
+    // Sem transação declarativa: no acerto do cache a leitura não abre transação nem pega conexão do Hikari
     @Override
-    @Transactional(readOnly = true)
     public GetBalanceOutput execute(final UUID walletId, final Instant at) {
-        final var wallet = walletGateway.findById(WalletID.from(walletId));
+        final var id = WalletID.from(walletId);
 
-        if (at == null) {
-            return GetBalanceOutput.from(wallet.getCurrentBalance().getAmount());
-        }
+        // Leituras simultâneas da mesma carteira (e do mesmo instante) dividem uma consulta ao banco iniciada depois de
+        // todas elas chegarem, então nenhuma recebe um saldo anterior ao próprio commit.
+        // O cache fica dentro do voo: só quem executa a consulta pode preenchê-lo.
+        final var snapshot = singleFlight.execute(new BalanceRead(walletId, at), () -> at == null
+            ? balanceCache.getOrLoad(id, () -> walletGateway.findBalanceSnapshot(id))
+            : BalanceSnapshot.unversioned(inReadOnlyTransaction(() -> balanceAt(id, at))));
 
-        final var lastEntry = ledgerGateway.findLastEntryBefore(wallet.getId(), at);
+        return GetBalanceOutput.from(snapshot.balance().getAmount(), snapshot.version());
+    }
+
+    private Money inReadOnlyTransaction(final Supplier<Money> query) {
+        return readOnlyTransaction.execute(status -> query.get());
+    }
+
+    private Money balanceAt(final WalletID id, final Instant at) {
+        final var wallet = walletGateway.findById(id);
+
+        // Parte do checkpoint mais próximo e soma só os lançamentos posteriores a ele (cauda limitada)
+        final var checkpoint = balanceCheckpointGateway.findLastAtOrBefore(wallet.getId(), at)
+            .orElseGet(() -> BalanceCheckpoint.genesis(wallet.getId()));
+        final var tail = ledgerGateway.sumBalanceDeltaBetween(wallet.getId(), checkpoint.getCheckpointAt(), at);
+
+        return Money.ofCents(Math.addExact(checkpoint.getBalance().getCents(), tail));
+    }
 
-        return lastEntry.map(ledgerEntry -> GetBalanceOutput.from(ledgerEntry.getBalanceAfterOperation().getAmount()))
-            .orElseGet(() -> GetBalanceOutput.from(BigDecimal.ZERO));
+    private record BalanceRead(UUID walletId, Instant at) {
     }
 }
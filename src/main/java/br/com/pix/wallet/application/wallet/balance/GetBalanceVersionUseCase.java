@@ -0,0 +1,8 @@
+package br.com.pix.wallet.application.wallet.balance;
+
+import java.util.Optional;
+import java.util.UUID;
+
+public interface GetBalanceVersionUseCase {
+    Optional<Long> execute(final UUID walletId);
+}
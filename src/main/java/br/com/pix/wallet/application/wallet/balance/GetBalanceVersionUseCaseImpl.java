@@ -0,0 +1,33 @@
+package br.com.pix.wallet.application.wallet.balance;
+
+import br.com.pix.wallet.domain.wallet.BalanceCache;
+import br.com.pix.wallet.domain.wallet.BalanceSnapshot;
+import br.com.pix.wallet.domain.wallet.WalletGateway;
+import br.com.pix.wallet.domain.wallet.WalletID;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@Service
+public class GetBalanceVersionUseCaseImpl implements GetBalanceVersionUseCase {
+
+    private final WalletGateway walletGateway;
+    private final BalanceCache balanceCache;
+
+    public GetBalanceVersionUseCaseImpl(final WalletGateway walletGateway, final BalanceCache balanceCache) {
+        this.walletGateway = walletGateway;
+        this.balanceCache = balanceCache;
+    }
+
+    // Vazio quando a carteira não existe ou não tem versão confiável (striping): o chamador segue pela leitura completa
+    @Override
+    public Optional<Long> execute(final UUID walletId) {
+        final var id = WalletID.from(walletId);
+        final var cached = balanceCache.getIfPresent(id);
+        if (cached.isPresent()) {
+            return cached.map(BalanceSnapshot::version);
+        }
+        return walletGateway.findBalanceVersion(id);
+    }
+}
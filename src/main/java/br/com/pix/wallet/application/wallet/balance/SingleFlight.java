@@ -0,0 +1,88 @@
+package br.com.pix.wallet.application.wallet.balance;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+// Leituras idênticas e simultâneas compartilham uma única execução. Quem chega com uma execução já em andamento
+// não aproveita o resultado dela, que pode ter começado antes do commit de quem chegou: aguarda a próxima,
+// dividida por todos que chegaram durante a atual. Cada chamada vê tudo o que foi commitado antes dela,
+// e uma rajada custa no máximo duas execuções. Nada fica guardado depois que a execução termina.
+class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, Flight<V>> inFlight = new ConcurrentHashMap<>();
+    private final Consumer<Boolean> onCall;
+
+    SingleFlight(final Consumer<Boolean> onCall) {
+        this.onCall = onCall;
+    }
+
+    V execute(final K key, final Supplier<V> supplier) {
+        final var flight = new Flight<V>();
+        final var running = inFlight.putIfAbsent(key, flight);
+        if (running == null) {
+            onCall.accept(false);
+            return run(key, flight, supplier);
+        }
+
+        final var next = running.followedBy(flight);
+        if (next != flight) {
+            onCall.accept(true);
+            return await(next.result);
+        }
+
+        // Esta chamada abre a próxima execução: começa só depois que a atual terminar
+        onCall.accept(false);
+        running.result.handle((value, ex) -> null).join();
+        if (!inFlight.replace(key, running, flight)) {
+            inFlight.putIfAbsent(key, flight);
+        }
+        return run(key, flight, supplier);
+    }
+
+    int inFlightCount() {
+        return inFlight.size();
+    }
+
+    private V run(final K key, final Flight<V> flight, final Supplier<V> supplier) {
+        try {
+            final var value = supplier.get();
+            flight.result.complete(value);
+            return value;
+        } catch (RuntimeException | Error ex) {
+            flight.result.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    private static <V> V await(final CompletableFuture<V> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (ex.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    private static final class Flight<V> {
+
+        private final CompletableFuture<V> result = new CompletableFuture<>();
+        private final AtomicReference<Flight<V>> next = new AtomicReference<>();
+
+        // Devolve a execução seguinte a esta: a recebida, se for a primeira a pedir, ou a já criada
+        private Flight<V> followedBy(final Flight<V> candidate) {
+            final var existing = next.compareAndExchange(null, candidate);
+            return existing == null ? candidate : existing;
+        }
+    }
+}
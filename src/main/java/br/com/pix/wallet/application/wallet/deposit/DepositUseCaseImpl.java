@@ -2,6 +2,7 @@ package br.com.pix.wallet.application.wallet.deposit;
 
 import br.com.pix.wallet.application.metrics.ApplicationMetrics;
 import br.com.pix.wallet.domain.ledger.LedgerGateway;
+import br.com.pix.wallet.domain.outbox.OutboxGateway;
 import br.com.pix.wallet.domain.wallet.WalletGateway;
 import br.com.pix.wallet.domain.exception.DomainException;
 import br.com.pix.wallet.domain.ledger.LedgerEntry;
@@ -9,25 +10,31 @@ import br.com.pix.wallet.domain.validation.Error;
 import br.com.pix.wallet.domain.validation.handler.Notification;
 import br.com.pix.wallet.domain.common.Money;
 import br.com.pix.wallet.domain.wallet.WalletID;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 @Service
+@ConditionalOnExpression("'${pix-wallet.write-mode:locking}' != 'partitioned'")
 public class DepositUseCaseImpl implements DepositUseCase {
 
     private final WalletGateway walletGateway;
     private final LedgerGateway ledgerGateway;
+    private final OutboxGateway outboxGateway;
     private final ApplicationMetrics applicationMetrics;
 
     public DepositUseCaseImpl(
         final WalletGateway walletGateway,
         final LedgerGateway ledgerGateway,
+        final OutboxGateway outboxGateway,
         final ApplicationMetrics applicationMetrics
     ) {
         this.walletGateway = walletGateway;
         this.ledgerGateway = ledgerGateway;
+        this.outboxGateway = outboxGateway;
         this.applicationMetrics = applicationMetrics;
     }
 
@@ -68,14 +75,15 @@ public class DepositUseCaseImpl implements DepositUseCase {
             }
 
             ledgerGateway.save(ledger);
-            applicationMetrics.recordDepositOperation(true, command.amount());
+            outboxGateway.appendAll(List.of(ledger));
+            applicationMetrics.recordDepositOperation(true, amount);
 
             return DepositOutput.from(
                 saved.getId().getValue(),
                 saved.getCurrentBalance().getAmount()
             );
         } catch (DomainException ex) {
-            applicationMetrics.recordDepositOperation(false, command.amount());
+            applicationMetrics.recordDepositOperation(false, null);
             throw ex;
         }
     }
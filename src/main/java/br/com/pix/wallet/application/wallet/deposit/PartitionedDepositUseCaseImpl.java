@@ -0,0 +1,55 @@
+package br.com.pix.wallet.application.wallet.deposit;
+
+import br.com.pix.wallet.application.metrics.ApplicationMetrics;
+import br.com.pix.wallet.domain.common.Money;
+import br.com.pix.wallet.domain.exception.DomainException;
+import br.com.pix.wallet.domain.validation.Error;
+import br.com.pix.wallet.domain.validation.handler.Notification;
+import br.com.pix.wallet.domain.wallet.WalletEngine;
+import br.com.pix.wallet.domain.wallet.WalletID;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+
+@Service
+@ConditionalOnProperty(name = "pix-wallet.write-mode", havingValue = "partitioned")
+public class PartitionedDepositUseCaseImpl implements DepositUseCase {
+
+    private final WalletEngine walletEngine;
+    private final ApplicationMetrics applicationMetrics;
+
+    public PartitionedDepositUseCaseImpl(
+        final WalletEngine walletEngine,
+        final ApplicationMetrics applicationMetrics
+    ) {
+        this.walletEngine = walletEngine;
+        this.applicationMetrics = applicationMetrics;
+    }
+
+    @Override
+    public DepositOutput execute(final DepositCommand command) {
+        try {
+            final var notification = Notification.create();
+
+            if (command.amount() == null || command.amount().compareTo(BigDecimal.ZERO) <= 0) {
+                notification.append(Error.of("'amount' must be greater than zero"));
+            }
+
+            if (notification.hasError()) {
+                throw DomainException.with(notification.getErrors());
+            }
+
+            final var walletId = WalletID.from(command.walletId());
+            final var amount = Money.of(command.amount());
+            final var newBalance = walletEngine.deposit(walletId, amount);
+
+            applicationMetrics.recordDepositOperation(true, amount);
+
+            return DepositOutput.from(walletId.getValue(), newBalance.getAmount());
+        } catch (DomainException ex) {
+            applicationMetrics.recordDepositOperation(false, null);
+            throw ex;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package br.com.pix.wallet.application.wallet.statement;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record GetStatementCommand(UUID walletId, Instant from, Instant to, String cursor, Integer limit) {
+    public static GetStatementCommand with(
+        final UUID walletId,
+        final Instant from,
+        final Instant to,
+        final String cursor,
+        final Integer limit
+    ) {
+        return new GetStatementCommand(walletId, from, to, cursor, limit);
+    }
+}
@@ -0,0 +1,14 @@
+package br.com.pix.wallet.application.wallet.statement;
+
+import java.util.List;
+import java.util.UUID;
+
+public record GetStatementOutput(UUID walletId, List<StatementEntryOutput> entries, String nextCursor) {
+    public static GetStatementOutput from(
+        final UUID walletId,
+        final List<StatementEntryOutput> entries,
+        final String nextCursor
+    ) {
+        return new GetStatementOutput(walletId, entries, nextCursor);
+    }
+}
@@ -0,0 +1,5 @@
+package br.com.pix.wallet.application.wallet.statement;
+
+public interface GetStatementUseCase {
+    GetStatementOutput execute(final GetStatementCommand command);
+}
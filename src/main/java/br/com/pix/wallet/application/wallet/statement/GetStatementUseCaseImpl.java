@@ -0,0 +1,64 @@
+package br.com.pix.wallet.application.wallet.statement;
+
+import br.com.pix.wallet.domain.exception.DomainException;
+import br.com.pix.wallet.domain.ledger.LedgerCursor;
+import br.com.pix.wallet.domain.ledger.LedgerGateway;
+import br.com.pix.wallet.domain.validation.Error;
+import br.com.pix.wallet.domain.validation.handler.Notification;
+import br.com.pix.wallet.domain.wallet.WalletGateway;
+import br.com.pix.wallet.domain.wallet.WalletID;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+@Service
+public class GetStatementUseCaseImpl implements GetStatementUseCase {
+
+    static final int DEFAULT_LIMIT = 50;
+    static final int MAX_LIMIT = 500;
+
+    private final WalletGateway walletGateway;
+    private final LedgerGateway ledgerGateway;
+
+    public GetStatementUseCaseImpl(final WalletGateway walletGateway, final LedgerGateway ledgerGateway) {
+        this.walletGateway = walletGateway;
+        this.ledgerGateway = ledgerGateway;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public GetStatementOutput execute(final GetStatementCommand command) {
+        final var notification = Notification.create();
+        final var from = command.from() != null ? command.from() : Instant.EPOCH;
+        final var to = command.to() != null ? command.to() : Instant.now();
+        final var limit = command.limit() != null ? command.limit() : DEFAULT_LIMIT;
+
+        if (limit < 1 || limit > MAX_LIMIT) {
+            notification.append(Error.of("'limit' must be between 1 and " + MAX_LIMIT));
+        }
+        if (from.isAfter(to)) {
+            notification.append(Error.of("'from' must not be after 'to'"));
+        }
+        if (notification.hasError()) {
+            throw DomainException.with(notification.getErrors());
+        }
+
+        final var wallet = walletGateway.findById(WalletID.from(command.walletId()));
+        final var after = command.cursor() != null
+            ? StatementCursor.decode(command.cursor())
+            : LedgerCursor.startingAt(from);
+
+        // Busca um a mais para saber se há próxima página sem precisar de COUNT
+        final var page = ledgerGateway.findPageAfter(wallet.getId(), after, to, limit + 1);
+        final var hasNext = page.size() > limit;
+        final var entries = hasNext ? page.subList(0, limit) : page;
+        final var nextCursor = hasNext ? StatementCursor.encode(LedgerCursor.after(entries.get(limit - 1))) : null;
+
+        return GetStatementOutput.from(
+            wallet.getId().getValue(),
+            entries.stream().map(StatementEntryOutput::from).toList(),
+            nextCursor
+        );
+    }
+}
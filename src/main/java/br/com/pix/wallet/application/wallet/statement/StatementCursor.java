@@ -0,0 +1,35 @@
+package br.com.pix.wallet.application.wallet.statement;
+
+import br.com.pix.wallet.domain.exception.DomainException;
+import br.com.pix.wallet.domain.ledger.LedgerCursor;
+import br.com.pix.wallet.domain.ledger.LedgerEntryID;
+import br.com.pix.wallet.domain.validation.Error;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+// Token opaco para o cliente: "<epochSecond>.<nano>.<entryId>" em base64url
+final class StatementCursor {
+
+    private StatementCursor() {
+    }
+
+    static String encode(final LedgerCursor cursor) {
+        final var occurredAt = cursor.getOccurredAt();
+        final var raw = occurredAt.getEpochSecond() + "." + occurredAt.getNano() + "." + cursor.getEntryId().getValue();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static LedgerCursor decode(final String token) {
+        try {
+            final var raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            final var parts = raw.split("\\.", 3);
+            final var occurredAt = Instant.ofEpochSecond(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+            return LedgerCursor.of(occurredAt, LedgerEntryID.from(UUID.fromString(parts[2])));
+        } catch (final RuntimeException e) {
+            throw DomainException.with(Error.of("'cursor' is invalid"));
+        }
+    }
+}
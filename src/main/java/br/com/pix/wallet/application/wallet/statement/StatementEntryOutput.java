@@ -0,0 +1,27 @@
+package br.com.pix.wallet.application.wallet.statement;
+
+import br.com.pix.wallet.domain.ledger.LedgerEntry;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+public record StatementEntryOutput(
+    UUID entryId,
+    String operationType,
+    BigDecimal amount,
+    BigDecimal balanceAfterOperation,
+    String endToEndId,
+    Instant occurredAt
+) {
+    public static StatementEntryOutput from(final LedgerEntry entry) {
+        return new StatementEntryOutput(
+            entry.getId().getValue(),
+            entry.getOperationType().name(),
+            entry.getAmount().getAmount(),
+            entry.getBalanceAfterOperation().getAmount(),
+            entry.getEndToEndId(),
+            entry.getOccurredAt()
+        );
+    }
+}
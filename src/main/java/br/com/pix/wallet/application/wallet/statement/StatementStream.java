@@ -0,0 +1,8 @@
+package br.com.pix.wallet.application.wallet.statement;
+
+import java.util.function.Consumer;
+
+@FunctionalInterface
+public interface StatementStream {
+    void forEach(Consumer<StatementEntryOutput> consumer);
+}
@@ -0,0 +1,10 @@
+package br.com.pix.wallet.application.wallet.statement;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record StreamStatementCommand(UUID walletId, Instant from, Instant to) {
+    public static StreamStatementCommand with(final UUID walletId, final Instant from, final Instant to) {
+        return new StreamStatementCommand(walletId, from, to);
+    }
+}
@@ -0,0 +1,5 @@
+package br.com.pix.wallet.application.wallet.statement;
+
+public interface StreamStatementUseCase {
+    StatementStream execute(final StreamStatementCommand command);
+}
@@ -0,0 +1,57 @@
+package br.com.pix.wallet.application.wallet.statement;
+
+import br.com.pix.wallet.domain.exception.DomainException;
+import br.com.pix.wallet.domain.ledger.LedgerCursor;
+import br.com.pix.wallet.domain.ledger.LedgerGateway;
+import br.com.pix.wallet.domain.validation.Error;
+import br.com.pix.wallet.domain.wallet.WalletGateway;
+import br.com.pix.wallet.domain.wallet.WalletID;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+
+@Service
+public class StreamStatementUseCaseImpl implements StreamStatementUseCase {
+
+    private final WalletGateway walletGateway;
+    private final LedgerGateway ledgerGateway;
+    private final int pageSize;
+
+    public StreamStatementUseCaseImpl(
+        final WalletGateway walletGateway,
+        final LedgerGateway ledgerGateway,
+        @Value("${pix-wallet.statement-export.page-size:1000}") final int pageSize
+    ) {
+        this.walletGateway = walletGateway;
+        this.ledgerGateway = ledgerGateway;
+        this.pageSize = pageSize;
+    }
+
+    @Override
+    public StatementStream execute(final StreamStatementCommand command) {
+        final var from = command.from() != null ? command.from() : Instant.EPOCH;
+        final var to = command.to() != null ? command.to() : Instant.now();
+
+        if (from.isAfter(to)) {
+            throw DomainException.with(Error.of("'from' must not be after 'to'"));
+        }
+
+        // A carteira é validada já aqui, antes de a resposta começar a ser escrita
+        final var walletId = walletGateway.findById(WalletID.from(command.walletId())).getId();
+
+        // Uma consulta keyset por página, cada uma na própria transação: um cliente lento segura
+        // o socket, mas não uma conexão do pool nem uma transação aberta durante todo o download
+        return consumer -> {
+            var cursor = LedgerCursor.startingAt(from);
+            while (true) {
+                final var page = ledgerGateway.findPageAfter(walletId, cursor, to, pageSize);
+                page.forEach(entry -> consumer.accept(StatementEntryOutput.from(entry)));
+                if (page.size() < pageSize) {
+                    return;
+                }
+                cursor = LedgerCursor.after(page.get(page.size() - 1));
+            }
+        };
+    }
+}
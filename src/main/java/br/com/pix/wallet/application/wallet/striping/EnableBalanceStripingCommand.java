@@ -0,0 +1,9 @@
+package br.com.pix.wallet.application.wallet.striping;
+
+import java.util.UUID;
+
+public record EnableBalanceStripingCommand(UUID walletId, int slots) {
+    public static EnableBalanceStripingCommand with(final UUID walletId, final int slots) {
+        return new EnableBalanceStripingCommand(walletId, slots);
+    }
+}
@@ -0,0 +1,9 @@
+package br.com.pix.wallet.application.wallet.striping;
+
+import java.util.UUID;
+
+public record EnableBalanceStripingOutput(UUID walletId, int balanceSlots) {
+    public static EnableBalanceStripingOutput from(UUID walletId, int balanceSlots) {
+        return new EnableBalanceStripingOutput(walletId, balanceSlots);
+    }
+}
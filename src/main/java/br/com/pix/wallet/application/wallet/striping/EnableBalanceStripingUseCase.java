@@ -0,0 +1,5 @@
+package br.com.pix.wallet.application.wallet.striping;
+
+public interface EnableBalanceStripingUseCase {
+    EnableBalanceStripingOutput execute(EnableBalanceStripingCommand command);
+}
@@ -0,0 +1,44 @@
+package br.com.pix.wallet.application.wallet.striping;
+
+import br.com.pix.wallet.domain.exception.DomainException;
+import br.com.pix.wallet.domain.validation.Error;
+import br.com.pix.wallet.domain.validation.handler.Notification;
+import br.com.pix.wallet.domain.wallet.WalletGateway;
+import br.com.pix.wallet.domain.wallet.WalletID;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+public class EnableBalanceStripingUseCaseImpl implements EnableBalanceStripingUseCase {
+
+    private final WalletGateway walletGateway;
+
+    public EnableBalanceStripingUseCaseImpl(final WalletGateway walletGateway) {
+        this.walletGateway = walletGateway;
+    }
+
+    @Override
+    @Transactional
+    public EnableBalanceStripingOutput execute(final EnableBalanceStripingCommand command) {
+        final var notification = Notification.create();
+
+        final var wallet = walletGateway.findByIdWithLock(WalletID.from(command.walletId()));
+
+        // Slots existentes nunca são removidos, então só é permitido aumentar a quantidade.
+        if (command.slots() < wallet.getBalanceSlots()) {
+            notification.append(Error.of("'balanceSlots' cannot be decreased"));
+            throw DomainException.with(notification.getErrors());
+        }
+
+        wallet.enableBalanceStriping(command.slots());
+        wallet.validate(notification);
+
+        if (notification.hasError()) {
+            throw DomainException.with(notification.getErrors());
+        }
+
+        final var saved = walletGateway.save(wallet);
+
+        return EnableBalanceStripingOutput.from(saved.getId().getValue(), saved.getBalanceSlots());
+    }
+}
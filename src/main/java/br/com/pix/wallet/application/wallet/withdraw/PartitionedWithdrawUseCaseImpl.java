@@ -0,0 +1,55 @@
+package br.com.pix.wallet.application.wallet.withdraw;
+
+import br.com.pix.wallet.application.metrics.ApplicationMetrics;
+import br.com.pix.wallet.domain.common.Money;
+import br.com.pix.wallet.domain.exception.DomainException;
+import br.com.pix.wallet.domain.validation.Error;
+import br.com.pix.wallet.domain.validation.handler.Notification;
+import br.com.pix.wallet.domain.wallet.WalletEngine;
+import br.com.pix.wallet.domain.wallet.WalletID;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+
+@Service
+@ConditionalOnProperty(name = "pix-wallet.write-mode", havingValue = "partitioned")
+public class PartitionedWithdrawUseCaseImpl implements WithdrawUseCase {
+
+    private final WalletEngine walletEngine;
+    private final ApplicationMetrics applicationMetrics;
+
+    public PartitionedWithdrawUseCaseImpl(
+        final WalletEngine walletEngine,
+        final ApplicationMetrics applicationMetrics
+    ) {
+        this.walletEngine = walletEngine;
+        this.applicationMetrics = applicationMetrics;
+    }
+
+    @Override
+    public WithdrawOutput execute(final WithdrawCommand command) {
+        try {
+            final var notification = Notification.create();
+
+            if (command.amount() == null || command.amount().compareTo(BigDecimal.ZERO) <= 0) {
+                notification.append(Error.of("'amount' must be greater than zero"));
+            }
+
+            if (notification.hasError()) {
+                throw DomainException.with(notification.getErrors());
+            }
+
+            final var walletId = WalletID.from(command.walletId());
+            final var amount = Money.of(command.amount());
+            final var newBalance = walletEngine.withdraw(walletId, amount);
+
+            applicationMetrics.recordWithdrawOperation(true, amount);
+
+            return WithdrawOutput.from(walletId.getValue(), newBalance.getAmount());
+        } catch (DomainException ex) {
+            applicationMetrics.recordWithdrawOperation(false, null);
+            throw ex;
+        }
+    }
+}
@@ -2,6 +2,7 @@ package br.com.pix.wallet.application.wallet.withdraw;
 
 import br.com.pix.wallet.application.metrics.ApplicationMetrics;
 import br.com.pix.wallet.domain.ledger.LedgerGateway;
+import br.com.pix.wallet.domain.outbox.OutboxGateway;
 import br.com.pix.wallet.domain.wallet.WalletGateway;
 import br.com.pix.wallet.domain.exception.DomainException;
 import br.com.pix.wallet.domain.ledger.LedgerEntry;
@@ -9,25 +10,31 @@ import br.com.pix.wallet.domain.validation.Error;
 import br.com.pix.wallet.domain.validation.handler.Notification;
 import br.com.pix.wallet.domain.common.Money;
 import br.com.pix.wallet.domain.wallet.WalletID;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 @Service
+@ConditionalOnExpression("'${pix-wallet.write-mode:locking}' != 'partitioned'")
 public class WithdrawUseCaseImpl implements WithdrawUseCase {
 
     private final WalletGateway walletGateway;
     private final LedgerGateway ledgerGateway;
+    private final OutboxGateway outboxGateway;
     private final ApplicationMetrics applicationMetrics;
 
     public WithdrawUseCaseImpl(
         final WalletGateway walletGateway,
         final LedgerGateway ledgerGateway,
+        final OutboxGateway outboxGateway,
         final ApplicationMetrics applicationMetrics
     ) {
         this.walletGateway = walletGateway;
         this.ledgerGateway = ledgerGateway;
+        this.outboxGateway = outboxGateway;
         this.applicationMetrics = applicationMetrics;
     }
 
@@ -49,6 +56,7 @@ public class WithdrawUseCaseImpl implements WithdrawUseCase {
             final var wallet = walletGateway.findByIdWithLock(walletId);
 
             final var amount = Money.of(command.amount());
+            walletGateway.coverDebit(wallet, amount);
 
             try {
                 wallet.withdraw(amount);
@@ -74,14 +82,15 @@ public class WithdrawUseCaseImpl implements WithdrawUseCase {
             }
 
             ledgerGateway.save(ledger);
-            applicationMetrics.recordWithdrawOperation(true, command.amount());
+            outboxGateway.appendAll(List.of(ledger));
+            applicationMetrics.recordWithdrawOperation(true, amount);
 
             return WithdrawOutput.from(
                 saved.getId().getValue(),
                 saved.getCurrentBalance().getAmount()
             );
         } catch (DomainException ex) {
-            applicationMetrics.recordWithdrawOperation(false, command.amount());
+            applicationMetrics.recordWithdrawOperation(false, null);
             throw ex;
         }
     }
@@ -3,62 +3,111 @@ package br.com.pix.wallet.domain.common;
 import br.com.pix.wallet.domain.core.ValueObject;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.util.Objects;
 
+// Valor em centavos. BigDecimal só aparece na conversão de/para JSON e JDBC (of/getAmount).
 public final class Money extends ValueObject {
 
-    private final BigDecimal amount;
+    private static final int SCALE = 2;
 
-    private Money(final BigDecimal amount) {
-        this.amount = amount;
+    // Valores até R$ 99,99 são compartilhados, como o cache de Integer.valueOf
+    private static final Money[] CACHE = new Money[10_000];
+
+    static {
+        for (int cents = 0; cents < CACHE.length; cents++) {
+            CACHE[cents] = new Money(cents);
+        }
+    }
+
+    private final long cents;
+
+    private Money(final long cents) {
+        this.cents = cents;
     }
 
     public static Money of(final BigDecimal value) {
         Objects.requireNonNull(value, "'value' must not be null");
-        if (value.compareTo(BigDecimal.ZERO) < 0) {
+        if (value.signum() < 0) {
+            throw new IllegalArgumentException("'value' must be >= 0");
+        }
+        final BigDecimal scaled;
+        try {
+            // sem cópia quando o valor já vem com escala 2, que é o caso do JSON e do NUMERIC(19, 2)
+            scaled = value.setScale(SCALE, RoundingMode.UNNECESSARY);
+        } catch (final ArithmeticException e) {
+            throw new IllegalArgumentException("'value' must have at most 2 decimal places");
+        }
+        final var unscaled = scaled.unscaledValue();
+        if (unscaled.bitLength() > Long.SIZE - 1) {
+            throw new IllegalArgumentException("'value' is too large");
+        }
+        return ofCents(unscaled.longValue());
+    }
+
+    public static Money ofCents(final long cents) {
+        if (cents < 0) {
             throw new IllegalArgumentException("'value' must be >= 0");
         }
-        return new Money(value);
+        return cents < CACHE.length ? CACHE[(int) cents] : new Money(cents);
     }
 
     public static Money zero() {
-        return new Money(BigDecimal.ZERO);
+        return CACHE[0];
     }
 
     public Money add(final Money other) {
-        return Money.of(this.amount.add(other.amount));
+        return ofCents(Math.addExact(this.cents, other.cents));
     }
 
     public Money subtract(final Money other) {
-        final var result = this.amount.subtract(other.amount);
-        if (result.compareTo(BigDecimal.ZERO) < 0) {
+        final var result = this.cents - other.cents;
+        if (result < 0) {
             throw new IllegalArgumentException("Insufficient amount");
         }
-        return Money.of(result);
+        return ofCents(result);
     }
 
     public int compareTo(final Money other) {
-        return this.amount.compareTo(other.amount);
+        return Long.compare(this.cents, other.cents);
+    }
+
+    public long getCents() {
+        return cents;
     }
 
     public BigDecimal getAmount() {
-        return amount;
+        return BigDecimal.valueOf(cents, SCALE);
     }
 
     public boolean isZero() {
-        return this.amount.compareTo(BigDecimal.ZERO) == 0;
+        return this.cents == 0;
     }
 
     public boolean isNegative() {
-        return this.amount.compareTo(BigDecimal.ZERO) < 0;
+        return this.cents < 0;
     }
 
     public boolean isZeroOrNegative() {
-        return isZero() || isNegative();
+        return this.cents <= 0;
     }
 
     public boolean isPositive() {
-        return this.amount.compareTo(BigDecimal.ZERO) > 0;
+        return this.cents > 0;
     }
 
+    @Override
+    public boolean equals(final Object o) {
+        return o instanceof Money other && this.cents == other.cents;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(cents);
+    }
+
+    @Override
+    public String toString() {
+        return getAmount().toPlainString();
+    }
 }
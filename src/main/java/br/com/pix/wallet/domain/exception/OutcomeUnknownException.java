@@ -0,0 +1,17 @@
+package br.com.pix.wallet.domain.exception;
+
+import br.com.pix.wallet.domain.validation.Error;
+
+import java.util.List;
+
+// A operação foi aceita mas a confirmação não chegou: ela ainda pode ser gravada, então não é seguro repeti-la
+public class OutcomeUnknownException extends DomainException {
+
+    protected OutcomeUnknownException(final String aMessage, final List<Error> anErrors) {
+        super(aMessage, anErrors);
+    }
+
+    public static OutcomeUnknownException with(final String aMessage) {
+        return new OutcomeUnknownException(aMessage, List.of(Error.of(aMessage)));
+    }
+}
@@ -0,0 +1,16 @@
+package br.com.pix.wallet.domain.exception;
+
+import br.com.pix.wallet.domain.validation.Error;
+
+import java.util.List;
+
+public class ServiceUnavailableException extends DomainException {
+
+    protected ServiceUnavailableException(final String aMessage, final List<Error> anErrors) {
+        super(aMessage, anErrors);
+    }
+
+    public static ServiceUnavailableException with(final String aMessage) {
+        return new ServiceUnavailableException(aMessage, List.of(Error.of(aMessage)));
+    }
+}
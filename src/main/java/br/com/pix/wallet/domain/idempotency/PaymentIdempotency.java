@@ -4,12 +4,16 @@ import br.com.pix.wallet.domain.core.AggregateRoot;
 import br.com.pix.wallet.domain.validation.ValidationHandler;
 
 import java.time.Instant;
+import java.util.UUID;
 
 public class PaymentIdempotency extends AggregateRoot<PaymentIdempotencyID> {
 
     private final String key;
     private PaymentIdempotencyStatus status;
+    private Integer responseStatus;
     private String responsePayload;
+    private final String ownerToken;
+    private final String requestHash;
     private final Instant createdAt;
     private Instant updatedAt;
 
@@ -17,24 +21,38 @@ public class PaymentIdempotency extends AggregateRoot<PaymentIdempotencyID> {
         final PaymentIdempotencyID id,
         final String key,
         final PaymentIdempotencyStatus status,
+        final Integer responseStatus,
         final String responsePayload,
+        final String ownerToken,
+        final String requestHash,
         final Instant createdAt,
         final Instant updatedAt
     ) {
         super(id);
         this.key = key;
         this.status = status;
+        this.responseStatus = responseStatus;
         this.responsePayload = responsePayload;
+        this.ownerToken = ownerToken;
+        this.requestHash = requestHash;
         this.createdAt = createdAt;
         this.updatedAt = updatedAt;
     }
 
     public static PaymentIdempotency start(final String key) {
+        return start(key, null);
+    }
+
+    // Cada reserva tem seu próprio token de dono: só quem detém a reserva pode concluí-la ou liberá-la
+    public static PaymentIdempotency start(final String key, final String requestHash) {
         return new PaymentIdempotency(
             null,
             key,
             PaymentIdempotencyStatus.IN_PROGRESS,
             null,
+            null,
+            UUID.randomUUID().toString(),
+            requestHash,
             Instant.now(),
             Instant.now()
         );
@@ -47,12 +65,41 @@ public class PaymentIdempotency extends AggregateRoot<PaymentIdempotencyID> {
         final String responsePayload,
         final Instant createdAt,
         final Instant updatedAt
+    ) {
+        return with(id, key, status, null, responsePayload, createdAt, updatedAt);
+    }
+
+    public static PaymentIdempotency with(
+        final PaymentIdempotencyID id,
+        final String key,
+        final PaymentIdempotencyStatus status,
+        final Integer responseStatus,
+        final String responsePayload,
+        final Instant createdAt,
+        final Instant updatedAt
+    ) {
+        return with(id, key, status, responseStatus, responsePayload, null, null, createdAt, updatedAt);
+    }
+
+    public static PaymentIdempotency with(
+        final PaymentIdempotencyID id,
+        final String key,
+        final PaymentIdempotencyStatus status,
+        final Integer responseStatus,
+        final String responsePayload,
+        final String ownerToken,
+        final String requestHash,
+        final Instant createdAt,
+        final Instant updatedAt
     ) {
         return new PaymentIdempotency(
             id,
             key,
             status,
+            responseStatus,
             responsePayload,
+            ownerToken,
+            requestHash,
             createdAt,
             updatedAt
         );
@@ -64,6 +111,29 @@ public class PaymentIdempotency extends AggregateRoot<PaymentIdempotencyID> {
         this.updatedAt = Instant.now();
     }
 
+    public void complete(final int responseStatus, final String responsePayload) {
+        complete(responsePayload);
+        this.responseStatus = responseStatus;
+    }
+
+    public void markUnknown() {
+        this.status = PaymentIdempotencyStatus.UNKNOWN;
+        this.updatedAt = Instant.now();
+    }
+
+    public boolean isCompleted() {
+        return status == PaymentIdempotencyStatus.COMPLETED;
+    }
+
+    public boolean isUnknown() {
+        return status == PaymentIdempotencyStatus.UNKNOWN;
+    }
+
+    // Registros anteriores ao hash do corpo não têm com o que comparar e são aceitos
+    public boolean matchesRequest(final String requestHash) {
+        return this.requestHash == null || requestHash == null || this.requestHash.equals(requestHash);
+    }
+
     @Override
     public void validate(final ValidationHandler handler) {
         new PaymentIdempotencyValidator(this, handler).validate();
@@ -77,10 +147,22 @@ public class PaymentIdempotency extends AggregateRoot<PaymentIdempotencyID> {
         return status;
     }
 
+    public Integer getResponseStatus() {
+        return responseStatus;
+    }
+
     public String getResponsePayload() {
         return responsePayload;
     }
 
+    public String getOwnerToken() {
+        return ownerToken;
+    }
+
+    public String getRequestHash() {
+        return requestHash;
+    }
+
     public Instant getCreatedAt() {
         return createdAt;
     }
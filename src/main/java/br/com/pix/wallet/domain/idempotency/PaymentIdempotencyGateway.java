@@ -1,10 +1,17 @@
 package br.com.pix.wallet.domain.idempotency;
 
+import java.time.Instant;
 import java.util.Optional;
 
 public interface PaymentIdempotencyGateway {
 
     Optional<PaymentIdempotency> findByKeyAndScope(String key, String scope);
 
-    PaymentIdempotency save(PaymentIdempotency paymentIdempotency);
+    boolean reserve(String scope, PaymentIdempotency paymentIdempotency, Instant staleBefore);
+
+    boolean complete(String scope, PaymentIdempotency paymentIdempotency);
+
+    void markUnknown(String scope, PaymentIdempotency paymentIdempotency);
+
+    void release(String scope, PaymentIdempotency paymentIdempotency);
 }
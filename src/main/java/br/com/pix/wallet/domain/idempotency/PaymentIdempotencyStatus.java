@@ -2,5 +2,7 @@ package br.com.pix.wallet.domain.idempotency;
 
 public enum PaymentIdempotencyStatus {
     IN_PROGRESS,
-    COMPLETED
+    COMPLETED,
+    // A requisição pode ter sido gravada sem que a resposta fosse registrada: a chave nunca é liberada
+    UNKNOWN
 }
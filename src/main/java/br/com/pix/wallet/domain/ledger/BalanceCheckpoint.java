@@ -0,0 +1,67 @@
+package br.com.pix.wallet.domain.ledger;
+
+import br.com.pix.wallet.domain.common.Money;
+import br.com.pix.wallet.domain.core.ValueObject;
+import br.com.pix.wallet.domain.wallet.WalletID;
+
+import java.time.Instant;
+import java.util.Objects;
+
+public final class BalanceCheckpoint extends ValueObject {
+
+    private final WalletID walletId;
+    private final Instant checkpointAt;
+    private final Money balance;
+    private final long entryCount;
+
+    private BalanceCheckpoint(
+        final WalletID walletId,
+        final Instant checkpointAt,
+        final Money balance,
+        final long entryCount
+    ) {
+        this.walletId = Objects.requireNonNull(walletId, "'walletId' must not be null");
+        this.checkpointAt = Objects.requireNonNull(checkpointAt, "'checkpointAt' must not be null");
+        this.balance = Objects.requireNonNull(balance, "'balance' must not be null");
+        this.entryCount = entryCount;
+    }
+
+    public static BalanceCheckpoint of(
+        final WalletID walletId,
+        final Instant checkpointAt,
+        final Money balance,
+        final long entryCount
+    ) {
+        return new BalanceCheckpoint(walletId, checkpointAt, balance, entryCount);
+    }
+
+    // Carteira sem checkpoint: equivale a saldo zero antes do primeiro lançamento
+    public static BalanceCheckpoint genesis(final WalletID walletId) {
+        return new BalanceCheckpoint(walletId, Instant.EPOCH, Money.zero(), 0);
+    }
+
+    public BalanceCheckpoint next(final Instant checkpointAt, final long deltaCents, final long entries) {
+        return new BalanceCheckpoint(
+            walletId,
+            checkpointAt,
+            Money.ofCents(Math.addExact(balance.getCents(), deltaCents)),
+            entryCount + entries
+        );
+    }
+
+    public WalletID getWalletId() {
+        return walletId;
+    }
+
+    public Instant getCheckpointAt() {
+        return checkpointAt;
+    }
+
+    public Money getBalance() {
+        return balance;
+    }
+
+    public long getEntryCount() {
+        return entryCount;
+    }
+}
@@ -0,0 +1,15 @@
+package br.com.pix.wallet.domain.ledger;
+
+import br.com.pix.wallet.domain.wallet.WalletID;
+
+import java.time.Instant;
+import java.util.Optional;
+
+public interface BalanceCheckpointGateway {
+
+    BalanceCheckpoint save(BalanceCheckpoint checkpoint);
+
+    Optional<BalanceCheckpoint> findLastAtOrBefore(WalletID walletId, Instant at);
+
+    Optional<Instant> findLatestCheckpointAt();
+}
@@ -0,0 +1,42 @@
+package br.com.pix.wallet.domain.ledger;
+
+import br.com.pix.wallet.domain.core.ValueObject;
+
+import java.time.Instant;
+import java.util.Objects;
+import java.util.UUID;
+
+// Posição no extrato: a ordem é (occurredAt, id), então o par desempata lançamentos no mesmo instante
+public final class LedgerCursor extends ValueObject {
+
+    private static final LedgerEntryID LOWEST_ID = LedgerEntryID.from(new UUID(0L, 0L));
+
+    private final Instant occurredAt;
+    private final LedgerEntryID entryId;
+
+    private LedgerCursor(final Instant occurredAt, final LedgerEntryID entryId) {
+        this.occurredAt = Objects.requireNonNull(occurredAt, "'occurredAt' must not be null");
+        this.entryId = Objects.requireNonNull(entryId, "'entryId' must not be null");
+    }
+
+    public static LedgerCursor of(final Instant occurredAt, final LedgerEntryID entryId) {
+        return new LedgerCursor(occurredAt, entryId);
+    }
+
+    // Antes de qualquer lançamento ocorrido em 'from' (inclusive)
+    public static LedgerCursor startingAt(final Instant from) {
+        return new LedgerCursor(from, LOWEST_ID);
+    }
+
+    public static LedgerCursor after(final LedgerEntry entry) {
+        return new LedgerCursor(entry.getOccurredAt(), entry.getId());
+    }
+
+    public Instant getOccurredAt() {
+        return occurredAt;
+    }
+
+    public LedgerEntryID getEntryId() {
+        return entryId;
+    }
+}
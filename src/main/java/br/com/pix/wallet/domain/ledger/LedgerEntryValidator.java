@@ -28,7 +28,7 @@ public class LedgerEntryValidator extends Validator {
         final Money amount = entry.getAmount();
         if (amount == null) {
             validationHandler().append(Error.of("'amount' must not be null"));
-        } else if (amount.getAmount() == null || amount.getAmount().signum() <= 0) {
+        } else if (!amount.isPositive()) {
             validationHandler().append(Error.of("'amount' must be greater than zero"));
         }
 
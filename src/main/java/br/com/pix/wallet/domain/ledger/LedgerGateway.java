@@ -9,9 +9,15 @@ import java.util.Optional;
 public interface LedgerGateway {
     LedgerEntry save(LedgerEntry entry);
 
-    List<LedgerEntry> findByWalletId(WalletID walletId);
-
-    List<LedgerEntry> findByWalletIdAndOccurredAtBefore(WalletID walletId, Instant at);
+    List<LedgerEntry> saveAll(List<LedgerEntry> entries);
 
     Optional<LedgerEntry> findLastEntryBefore(WalletID walletID, Instant before);
+
+    long sumBalanceDeltaBetween(WalletID walletId, Instant fromExclusive, Instant toInclusive);
+
+    long countBetween(WalletID walletId, Instant fromExclusive, Instant toInclusive);
+
+    List<WalletID> findWalletIdsWithEntriesBetween(Instant fromExclusive, Instant toInclusive);
+
+    List<LedgerEntry> findPageAfter(WalletID walletId, LedgerCursor after, Instant toInclusive, int limit);
 }
\ No newline at end of file
@@ -0,0 +1,26 @@
+package br.com.pix.wallet.domain.outbox;
+
+import br.com.pix.wallet.domain.ledger.LedgerEntry;
+import br.com.pix.wallet.domain.ledger.LedgerEntryID;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+// Deve ser chamado na mesma transação que grava os lançamentos: o evento existe se, e somente se, o lançamento existe
+public interface OutboxGateway {
+    void appendAll(List<LedgerEntry> entries);
+
+    List<LedgerEntry> lockPending(int maxAttempts, int limit);
+
+    void markPublished(Collection<LedgerEntryID> ids, Instant publishedAt);
+
+    void markFailed(Collection<LedgerEntryID> ids, String error);
+
+    int deletePublishedBefore(Instant publishedBefore);
+
+    Optional<Instant> findOldestPendingOccurredAt(int maxAttempts);
+
+    long countDeadLettered(int maxAttempts);
+}
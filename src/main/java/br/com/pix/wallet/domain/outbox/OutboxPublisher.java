@@ -0,0 +1,10 @@
+package br.com.pix.wallet.domain.outbox;
+
+import br.com.pix.wallet.domain.ledger.LedgerEntry;
+
+import java.util.List;
+
+// Entrega ao menos uma vez: só retorna depois que o destino confirmou o lote inteiro; em caso de falha, lança
+public interface OutboxPublisher {
+    void publish(List<LedgerEntry> entries);
+}
@@ -0,0 +1,26 @@
+package br.com.pix.wallet.domain.payout;
+
+import br.com.pix.wallet.domain.wallet.WalletID;
+
+import java.time.Instant;
+import java.util.UUID;
+
+// processedLines é o cursor: quantas linhas de dados do arquivo já foram aplicadas (criadas ou rejeitadas)
+public record PayoutJob(
+    UUID id,
+    WalletID fromWalletId,
+    String fileName,
+    PayoutJobStatus status,
+    long processedLines,
+    long createdTransfers,
+    long rejectedLines,
+    String lastError,
+    Instant createdAt,
+    Instant updatedAt
+) {
+
+    public static PayoutJob newJob(final WalletID fromWalletId, final String fileName) {
+        final var now = Instant.now();
+        return new PayoutJob(UUID.randomUUID(), fromWalletId, fileName, PayoutJobStatus.RUNNING, 0, 0, 0, null, now, now);
+    }
+}
@@ -0,0 +1,25 @@
+package br.com.pix.wallet.domain.payout;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface PayoutJobGateway {
+    PayoutJob create(PayoutJob job);
+
+    Optional<PayoutJob> findById(UUID id);
+
+    // Avança o cursor só se ele ainda estiver em expectedProcessedLines; false = outro upload avançou antes
+    boolean advance(
+        UUID id,
+        long expectedProcessedLines,
+        long processedLines,
+        long createdTransfers,
+        long rejectedLines,
+        List<PayoutRejection> rejections
+    );
+
+    void updateStatus(UUID id, PayoutJobStatus status, String lastError);
+
+    List<PayoutRejection> findRejections(UUID id, long afterLine, int limit);
+}
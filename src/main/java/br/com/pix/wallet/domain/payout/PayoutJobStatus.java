@@ -0,0 +1,8 @@
+package br.com.pix.wallet.domain.payout;
+
+public enum PayoutJobStatus {
+    RUNNING,
+    COMPLETED,
+    // Interrompido no meio do arquivo; pode ser retomado a partir de processedLines
+    FAILED
+}
@@ -0,0 +1,8 @@
+package br.com.pix.wallet.domain.payout;
+
+public record PayoutRejection(long lineNumber, String idempotencyKey, String message) {
+
+    public static PayoutRejection of(final long lineNumber, final String idempotencyKey, final String message) {
+        return new PayoutRejection(lineNumber, idempotencyKey, message);
+    }
+}
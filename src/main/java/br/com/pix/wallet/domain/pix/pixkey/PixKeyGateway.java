@@ -1,7 +1,12 @@
 package br.com.pix.wallet.domain.pix.pixkey;
 
+import java.util.Collection;
+import java.util.List;
+
 public interface PixKeyGateway {
     PixKey save(PixKey pixKey);
 
     boolean existsByKeyValue(String keyValue);
-}
\ No newline at end of file
+
+    List<PixKey> findAllByKeyValues(Collection<String> keyValues);
+}
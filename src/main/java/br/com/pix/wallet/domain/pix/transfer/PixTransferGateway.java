@@ -1,11 +1,28 @@
 package br.com.pix.wallet.domain.pix.transfer;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 public interface PixTransferGateway {
     PixTransfer save(PixTransfer transfer);
 
+    PixTransfer create(PixTransfer transfer);
+
+    List<PixTransfer> createAll(List<PixTransfer> transfers);
+
     Optional<PixTransfer> findByEndToEndId(String endToEndId);
 
+    boolean existsByEndToEndId(String endToEndId);
+
+    Set<String> findExistingEndToEndIds(Collection<String> endToEndIds);
+
     boolean existsByIdempotencyKey(String idempotencyKey);
-}
\ No newline at end of file
+
+    Set<String> findExistingIdempotencyKeys(Collection<String> idempotencyKeys);
+
+    List<PixTransfer> lockByEndToEndIds(Collection<String> endToEndIds, Collection<PixTransferStatus> statuses);
+
+    int updateStatus(Collection<String> endToEndIds, Collection<PixTransferStatus> from, PixTransferStatus to);
+}
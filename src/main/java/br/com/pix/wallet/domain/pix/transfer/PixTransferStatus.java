@@ -1,8 +1,23 @@
 package br.com.pix.wallet.domain.pix.transfer;
 
+import java.util.Set;
+
 public enum PixTransferStatus {
     PENDING,
     CONFIRMED,
     FAILED,
-    REFUNDED
+    REFUNDED;
+
+    // Estados a partir dos quais a transferência pode chegar a este; FAILED e REFUNDED são finais
+    public Set<PixTransferStatus> allowedSources() {
+        return switch (this) {
+            case PENDING -> Set.of();
+            case CONFIRMED, FAILED -> Set.of(PENDING);
+            case REFUNDED -> Set.of(PENDING, CONFIRMED);
+        };
+    }
+
+    public boolean canTransitionTo(final PixTransferStatus target) {
+        return target.allowedSources().contains(this);
+    }
 }
@@ -1,6 +1,9 @@
 package br.com.pix.wallet.domain.pix.webhook;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 public interface PixWebhookEventGateway {
     PixWebhookEvent save(PixWebhookEvent event);
@@ -8,4 +11,9 @@ public interface PixWebhookEventGateway {
     Optional<PixWebhookEvent> findByEventId(String eventId);
 
     boolean existsByEventId(String eventId);
+
+    Set<String> findExistingEventIds(Collection<String> eventIds);
+
+    // Eventos já gravados (mesmo event_id) são ignorados
+    void saveAllIgnoringDuplicates(List<PixWebhookEvent> events);
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package br.com.pix.wallet.domain.pix.webhook;
 
 import br.com.pix.wallet.domain.exception.DomainException;
+import br.com.pix.wallet.domain.pix.transfer.PixTransferStatus;
 import br.com.pix.wallet.domain.validation.Error;
 
 public enum PixWebhookEventType {
@@ -8,6 +9,10 @@ public enum PixWebhookEventType {
     DEBIT_CONFIRMED,
     REFUND_PROCESSED;
 
+    public PixTransferStatus targetStatus() {
+        return this == REFUND_PROCESSED ? PixTransferStatus.REFUNDED : PixTransferStatus.CONFIRMED;
+    }
+
     public static PixWebhookEventType from(final String value) {
         try {
             return PixWebhookEventType.valueOf(value.toUpperCase());
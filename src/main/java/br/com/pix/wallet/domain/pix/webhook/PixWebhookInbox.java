@@ -0,0 +1,9 @@
+package br.com.pix.wallet.domain.pix.webhook;
+
+import java.util.concurrent.CompletableFuture;
+
+// Fila de ingestão dos webhooks: a persistência acontece em lote, e o futuro devolvido só é concluído
+// depois que o lote com o evento foi commitado no inbox; o ack ao PSP espera por ele.
+public interface PixWebhookInbox {
+    CompletableFuture<Void> enqueue(PixWebhookEvent event);
+}
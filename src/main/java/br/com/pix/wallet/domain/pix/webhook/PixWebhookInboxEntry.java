@@ -0,0 +1,22 @@
+package br.com.pix.wallet.domain.pix.webhook;
+
+import java.time.Instant;
+
+public record PixWebhookInboxEntry(PixWebhookEvent event, Instant receivedAt) {
+
+    public static PixWebhookInboxEntry of(final PixWebhookEvent event, final Instant receivedAt) {
+        return new PixWebhookInboxEntry(event, receivedAt);
+    }
+
+    // O evento definitivo leva o instante em que foi promovido para pix_webhook_event
+    public PixWebhookEvent processedAt(final Instant processedAt) {
+        return PixWebhookEvent.with(
+            event.getId(),
+            event.getEventId(),
+            event.getEndToEndId(),
+            event.getType(),
+            event.getOccurredAt(),
+            processedAt
+        );
+    }
+}
@@ -0,0 +1,17 @@
+package br.com.pix.wallet.domain.pix.webhook;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+public interface PixWebhookInboxGateway {
+    void appendAll(List<PixWebhookInboxEntry> entries);
+
+    List<PixWebhookInboxEntry> lockPending(Instant receivedBefore, int maxAttempts, int limit);
+
+    void markProcessed(Collection<String> eventIds, Instant processedAt);
+
+    void markFailed(Collection<String> eventIds, String error);
+
+    int deleteProcessedBefore(Instant processedBefore);
+}
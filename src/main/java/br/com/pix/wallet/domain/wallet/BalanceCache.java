@@ -0,0 +1,17 @@
+package br.com.pix.wallet.domain.wallet;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+public interface BalanceCache {
+
+    BalanceSnapshot getOrLoad(WalletID id, Supplier<BalanceSnapshot> loader);
+
+    Optional<BalanceSnapshot> getIfPresent(WalletID id);
+
+    // Aplicados somente depois do commit da transação corrente; o snapshot é lido no afterCommit,
+    // quando o flush já incrementou a versão da entidade
+    void update(WalletID id, Supplier<BalanceSnapshot> snapshot);
+
+    void invalidate(WalletID id);
+}
@@ -0,0 +1,16 @@
+package br.com.pix.wallet.domain.wallet;
+
+import br.com.pix.wallet.domain.common.Money;
+
+// Saldo atual junto com a versão da linha de wallet que o produziu. Em carteiras com striping os créditos
+// nos slots não incrementam a versão, então o snapshot fica sem versão (version nula).
+public record BalanceSnapshot(Money balance, Long version) {
+
+    public static BalanceSnapshot of(final Money balance, final long version) {
+        return new BalanceSnapshot(balance, version);
+    }
+
+    public static BalanceSnapshot unversioned(final Money balance) {
+        return new BalanceSnapshot(balance, null);
+    }
+}
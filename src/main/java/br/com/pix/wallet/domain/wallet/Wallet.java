@@ -6,20 +6,26 @@ import br.com.pix.wallet.domain.validation.ValidationHandler;
 
 public class Wallet extends AggregateRoot<WalletID> {
 
+    public static final int MIN_BALANCE_SLOTS = 2;
+    public static final int MAX_BALANCE_SLOTS = 64;
+
     private String ownerId;
     private Money currentBalance;
     private WalletStatus status;
+    private int balanceSlots;
 
     private Wallet(
         final WalletID id,
         final String ownerId,
         final Money currentBalance,
-        final WalletStatus status
+        final WalletStatus status,
+        final int balanceSlots
     ) {
         super(id);
         this.ownerId = ownerId;
         this.currentBalance = currentBalance;
         this.status = status;
+        this.balanceSlots = balanceSlots;
     }
 
     public static Wallet newWallet(final String ownerId) {
@@ -27,7 +33,8 @@ public class Wallet extends AggregateRoot<WalletID> {
             WalletID.unique(),
             ownerId,
             Money.zero(),
-            WalletStatus.ACTIVE
+            WalletStatus.ACTIVE,
+            0
         );
     }
 
@@ -37,7 +44,17 @@ public class Wallet extends AggregateRoot<WalletID> {
         final Money currentBalance,
         final WalletStatus status
     ) {
-        return new Wallet(id, ownerId, currentBalance, status);
+        return new Wallet(id, ownerId, currentBalance, status, 0);
+    }
+
+    public static Wallet with(
+        final WalletID id,
+        final String ownerId,
+        final Money currentBalance,
+        final WalletStatus status,
+        final int balanceSlots
+    ) {
+        return new Wallet(id, ownerId, currentBalance, status, balanceSlots);
     }
 
     @Override
@@ -56,6 +73,19 @@ public class Wallet extends AggregateRoot<WalletID> {
         this.currentBalance = this.currentBalance.subtract(amount);
     }
 
+    // Créditos que estavam pendentes nos slots passam a fazer parte do saldo consolidado
+    public void settlePendingCredits(final Money settled) {
+        this.currentBalance = this.currentBalance.add(settled);
+    }
+
+    public void enableBalanceStriping(final int slots) {
+        this.balanceSlots = slots;
+    }
+
+    public boolean isStriped() {
+        return this.balanceSlots > 0;
+    }
+
     public WalletID getId() {
         return id;
     }
@@ -71,4 +101,8 @@ public class Wallet extends AggregateRoot<WalletID> {
     public WalletStatus getStatus() {
         return status;
     }
+
+    public int getBalanceSlots() {
+        return balanceSlots;
+    }
 }
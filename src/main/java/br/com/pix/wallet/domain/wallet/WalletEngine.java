@@ -0,0 +1,15 @@
+package br.com.pix.wallet.domain.wallet;
+
+import br.com.pix.wallet.domain.common.Money;
+import br.com.pix.wallet.domain.pix.transfer.PixTransfer;
+
+public interface WalletEngine {
+    Money deposit(WalletID walletId, Money amount);
+
+    Money withdraw(WalletID walletId, Money amount);
+
+    PixTransfer transfer(PixTransfer transfer);
+
+    // Devolve o valor do recebedor ao pagador e marca a transferência como REFUNDED na mesma transação
+    void refund(PixTransfer transfer);
+}
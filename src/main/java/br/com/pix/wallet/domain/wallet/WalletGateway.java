@@ -1,11 +1,39 @@
 package br.com.pix.wallet.domain.wallet;
 
+import br.com.pix.wallet.domain.common.Money;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 public interface WalletGateway {
     Wallet findById(WalletID id);
 
     Wallet findByIdWithLock(WalletID id);
 
+    List<Wallet> lockAll(Collection<WalletID> ids);
+
+    List<Wallet> lockExisting(Collection<WalletID> ids);
+
     Wallet save(Wallet wallet);
 
     boolean existsByOwnerId(String ownerId);
-}
\ No newline at end of file
+
+    Optional<Money> debitIfSufficient(WalletID id, Money amount);
+
+    Optional<Money> credit(WalletID id, Money amount);
+
+    Optional<BalanceSnapshot> applyBalanceDelta(WalletID id, long deltaCents);
+
+    Money pendingSlotBalance(WalletID id);
+
+    void coverDebit(Wallet lockedWallet, Money amount);
+
+    void foldBalanceSlots(WalletID id);
+
+    BalanceSnapshot findBalanceSnapshot(WalletID id);
+
+    Optional<Long> findBalanceVersion(WalletID id);
+
+    List<WalletID> findStripedWalletIds();
+}
@@ -4,10 +4,17 @@ import br.com.pix.wallet.domain.core.Identifier;
 import br.com.pix.wallet.domain.exception.DomainException;
 import br.com.pix.wallet.domain.validation.Error;
 
+import java.util.Comparator;
 import java.util.UUID;
 
 public class WalletID extends Identifier<UUID> {
 
+    // Ordem do uuid no PostgreSQL (bytes sem sinal), a mesma do ORDER BY id ... FOR UPDATE.
+    // Todo caminho que trava ou atualiza mais de uma carteira segue esta ordem, senão dois caminhos se travam.
+    public static final Comparator<UUID> LOCK_ORDER = Comparator
+        .comparing(UUID::getMostSignificantBits, Long::compareUnsigned)
+        .thenComparing(UUID::getLeastSignificantBits, Long::compareUnsigned);
+
     private final UUID value;
 
     private WalletID(final UUID value) {
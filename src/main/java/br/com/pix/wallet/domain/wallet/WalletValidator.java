@@ -26,5 +26,11 @@ public class WalletValidator extends Validator {
         if (wallet.getStatus() == null) {
             validationHandler().append(Error.of("'status' cannot be null"));
         }
+
+        final var slots = wallet.getBalanceSlots();
+        if (slots != 0 && (slots < Wallet.MIN_BALANCE_SLOTS || slots > Wallet.MAX_BALANCE_SLOTS)) {
+            validationHandler().append(Error.of("'balanceSlots' must be between %d and %d"
+                .formatted(Wallet.MIN_BALANCE_SLOTS, Wallet.MAX_BALANCE_SLOTS)));
+        }
     }
 }
@@ -0,0 +1,147 @@
+package br.com.pix.wallet.infrastructure.cache;
+
+import br.com.pix.wallet.application.metrics.ApplicationMetrics;
+import br.com.pix.wallet.domain.wallet.BalanceCache;
+import br.com.pix.wallet.domain.wallet.BalanceSnapshot;
+import br.com.pix.wallet.domain.wallet.WalletID;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// Cache de saldo atual por carteira. Toda entrada carrega duas marcas de um relógio lógico:
+// - lockOrder: tomada no beforeCommit, ainda com a linha da carteira travada, ordena escritas concorrentes
+//   mesmo que os afterCommit rodem fora de ordem;
+// - committedAt: tomada no afterCommit; uma leitura iniciada antes dela pode ter visto o saldo anterior.
+@Component
+public class CaffeineBalanceCache implements BalanceCache {
+
+    private final boolean enabled;
+    private final Cache<UUID, CachedBalance> cache;
+    private final AtomicLong clock = new AtomicLong();
+    private final ObjectProvider<PostgresBalanceInvalidationChannel> invalidationChannel;
+    private final ApplicationMetrics applicationMetrics;
+
+    public CaffeineBalanceCache(
+        @Value("${pix-wallet.balance-cache.enabled:false}") final boolean enabled,
+        @Value("${pix-wallet.balance-cache.maximum-size:100000}") final long maximumSize,
+        @Value("${pix-wallet.balance-cache.expire-after-write-ms:10000}") final long expireAfterWriteMillis,
+        final ObjectProvider<PostgresBalanceInvalidationChannel> invalidationChannel,
+        final ApplicationMetrics applicationMetrics
+    ) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(Duration.ofMillis(expireAfterWriteMillis))
+            .build();
+        this.invalidationChannel = invalidationChannel;
+        this.applicationMetrics = applicationMetrics;
+    }
+
+    @Override
+    public BalanceSnapshot getOrLoad(final WalletID id, final Supplier<BalanceSnapshot> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+
+        final var cached = lookup(id);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+
+        final var readStartedAt = clock.get();
+        final var snapshot = loader.get();
+        cache.asMap().compute(id.getValue(), (key, current) -> {
+            if (current == null) {
+                return CachedBalance.read(snapshot);
+            }
+            // Tombstone só é substituída por leitura que começou depois do commit que a gerou
+            return current.snapshot() == null && current.committedAt() <= readStartedAt
+                ? CachedBalance.read(snapshot)
+                : current;
+        });
+        return snapshot;
+    }
+
+    @Override
+    public Optional<BalanceSnapshot> getIfPresent(final WalletID id) {
+        return enabled ? lookup(id) : Optional.empty();
+    }
+
+    @Override
+    public void update(final WalletID id, final Supplier<BalanceSnapshot> snapshot) {
+        afterCommit(id.getValue(), snapshot);
+    }
+
+    @Override
+    public void invalidate(final WalletID id) {
+        afterCommit(id.getValue(), () -> null);
+    }
+
+    void invalidateRemote(final UUID id) {
+        write(id, null, clock.incrementAndGet());
+    }
+
+    void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    private Optional<BalanceSnapshot> lookup(final WalletID id) {
+        final var cached = cache.getIfPresent(id.getValue());
+        final var hit = cached != null && cached.snapshot() != null;
+        applicationMetrics.recordBalanceCacheLookup(hit);
+        return hit ? Optional.of(cached.snapshot()) : Optional.empty();
+    }
+
+    private void afterCommit(final UUID id, final Supplier<BalanceSnapshot> snapshot) {
+        if (!enabled) {
+            return;
+        }
+
+        invalidationChannel.ifAvailable(channel -> channel.publish(id));
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            write(id, snapshot.get(), clock.incrementAndGet());
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+            private long lockOrder;
+
+            @Override
+            public void beforeCommit(final boolean readOnly) {
+                lockOrder = clock.incrementAndGet();
+            }
+
+            @Override
+            public void afterCommit() {
+                write(id, snapshot.get(), lockOrder);
+            }
+        });
+    }
+
+    private void write(final UUID id, final BalanceSnapshot snapshot, final long lockOrder) {
+        final var written = new CachedBalance(snapshot, lockOrder, clock.incrementAndGet());
+        cache.asMap().merge(id, written, (current, candidate) ->
+            candidate.lockOrder() > current.lockOrder() ? candidate : current
+        );
+    }
+
+    // snapshot nulo = tombstone: o saldo mudou, mas o valor exato não é conhecido (carteira com striping)
+    private record CachedBalance(BalanceSnapshot snapshot, long lockOrder, long committedAt) {
+
+        private static CachedBalance read(final BalanceSnapshot snapshot) {
+            return new CachedBalance(snapshot, 0L, 0L);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package br.com.pix.wallet.infrastructure.cache;
+
+import org.postgresql.PGConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.UUID;
+
+// Invalidação entre instâncias: o NOTIFY é emitido dentro da transação da escrita e o PostgreSQL só o entrega
+// depois do commit. Cada instância escuta em uma conexão própria, fora do Hikari.
+@Component
+@ConditionalOnProperty(name = "pix-wallet.balance-cache.notify.enabled", havingValue = "true")
+public class PostgresBalanceInvalidationChannel implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(PostgresBalanceInvalidationChannel.class);
+    private static final int POLL_TIMEOUT_MS = 1000;
+    private static final long RECONNECT_DELAY_MS = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CaffeineBalanceCache balanceCache;
+    private final String channel;
+    private final String url;
+    private final String username;
+    private final String password;
+    private final String nodeId = UUID.randomUUID().toString();
+    private volatile boolean running;
+    private Thread listener;
+
+    public PostgresBalanceInvalidationChannel(
+        final JdbcTemplate jdbcTemplate,
+        final CaffeineBalanceCache balanceCache,
+        @Value("${pix-wallet.balance-cache.notify.channel:wallet_balance}") final String channel,
+        @Value("${spring.datasource.url}") final String url,
+        @Value("${spring.datasource.username}") final String username,
+        @Value("${spring.datasource.password}") final String password
+    ) {
+        if (!channel.matches("[a-z_][a-z0-9_]*")) {
+            throw new IllegalArgumentException("'channel' must be a lowercase SQL identifier");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.balanceCache = balanceCache;
+        this.channel = channel;
+        this.url = url;
+        this.username = username;
+        this.password = password;
+    }
+
+    void publish(final UUID walletId) {
+        jdbcTemplate.query(
+            "SELECT pg_notify(?, ?)",
+            (ResultSetExtractor<Void>) rs -> null,
+            channel,
+            nodeId + ":" + walletId
+        );
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        running = true;
+        listener = Thread.ofPlatform()
+            .name("balance-cache-listener")
+            .daemon()
+            .start(this::listen);
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        running = false;
+        if (listener != null) {
+            listener.interrupt();
+            listener.join(POLL_TIMEOUT_MS * 2L);
+        }
+    }
+
+    private void listen() {
+        while (running) {
+            try (final var connection = DriverManager.getConnection(url, username, password)) {
+                subscribe(connection);
+                // Notificações perdidas enquanto não estávamos escutando não podem ser recuperadas
+                balanceCache.invalidateAll();
+                poll(connection.unwrap(PGConnection.class));
+            } catch (SQLException ex) {
+                if (running) {
+                    log.warn("Balance cache listener disconnected, retrying in {} ms", RECONNECT_DELAY_MS, ex);
+                    balanceCache.invalidateAll();
+                    sleep();
+                }
+            }
+        }
+    }
+
+    private void subscribe(final Connection connection) throws SQLException {
+        connection.setAutoCommit(true);
+        try (final var statement = connection.createStatement()) {
+            statement.execute("LISTEN " + channel);
+        }
+    }
+
+    private void poll(final PGConnection connection) throws SQLException {
+        while (running) {
+            final var notifications = connection.getNotifications(POLL_TIMEOUT_MS);
+            if (notifications == null) {
+                continue;
+            }
+            for (final var notification : notifications) {
+                final var payload = notification.getParameter();
+                final var separator = payload.indexOf(':');
+                // a própria instância já atualizou o cache no afterCommit
+                if (separator > 0 && !payload.startsWith(nodeId + ":")) {
+                    balanceCache.invalidateRemote(UUID.fromString(payload.substring(separator + 1)));
+                }
+            }
+        }
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(RECONNECT_DELAY_MS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package br.com.pix.wallet.infrastructure.config;
+
+import br.com.pix.wallet.application.metrics.ApplicationMetrics;
+import br.com.pix.wallet.presentation.rest.filter.AdaptiveConcurrencyLimitFilter;
+import br.com.pix.wallet.presentation.rest.filter.AdaptiveConcurrencyLimiter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+@ConditionalOnProperty(prefix = "pix-wallet.concurrency-limit", name = "enabled", havingValue = "true")
+public class ConcurrencyLimitConfig {
+
+    @Bean
+    FilterRegistrationBean<AdaptiveConcurrencyLimitFilter> adaptiveConcurrencyLimitFilter(
+        final ApplicationMetrics applicationMetrics,
+        @Value("${pix-wallet.concurrency-limit.initial-limit:20}") final int initialLimit,
+        @Value("${pix-wallet.concurrency-limit.min-limit:4}") final int minLimit,
+        @Value("${pix-wallet.concurrency-limit.max-limit:200}") final int maxLimit,
+        @Value("${pix-wallet.concurrency-limit.smoothing:0.2}") final double smoothing,
+        @Value("${pix-wallet.concurrency-limit.rtt-tolerance:1.5}") final double rttTolerance,
+        @Value("${pix-wallet.concurrency-limit.backoff-ratio:0.9}") final double backoffRatio,
+        @Value("${pix-wallet.concurrency-limit.long-window:600}") final int longWindow
+    ) {
+        final var filter = new AdaptiveConcurrencyLimitFilter(
+            () -> new AdaptiveConcurrencyLimiter(
+                initialLimit, minLimit, maxLimit, smoothing, rttTolerance, backoffRatio, longWindow
+            ),
+            applicationMetrics
+        );
+        final var registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/pix/*", "/wallets", "/wallets/*");
+        // descarta o excesso antes da fila de admissão do banco e do IdempotencyKeyFilter
+        registration.setOrder(Ordered.LOWEST_PRECEDENCE - 200);
+        return registration;
+    }
+}
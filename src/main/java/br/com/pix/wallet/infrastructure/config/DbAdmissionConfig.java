@@ -0,0 +1,35 @@
+package br.com.pix.wallet.infrastructure.config;
+
+import br.com.pix.wallet.application.metrics.ApplicationMetrics;
+import br.com.pix.wallet.presentation.rest.filter.DbAdmissionFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnProperty(prefix = "pix-wallet.virtual-threads", name = "enabled", havingValue = "true")
+public class DbAdmissionConfig {
+
+    @Bean
+    FilterRegistrationBean<DbAdmissionFilter> dbAdmissionFilter(
+        final ApplicationMetrics applicationMetrics,
+        @Value("${spring.datasource.hikari.maximum-pool-size:10}") final int maximumPoolSize,
+        @Value("${pix-wallet.virtual-threads.db-permits:0}") final int dbPermits,
+        @Value("${pix-wallet.virtual-threads.reserved-connections:2}") final int reservedConnections,
+        @Value("${pix-wallet.virtual-threads.admission-timeout-ms:10000}") final long admissionTimeoutMillis
+    ) {
+        // Conexões reservadas ficam para os jobs agendados e para o motor particionado, que não passam pelo filtro
+        final var permits = dbPermits > 0 ? dbPermits : Math.max(1, maximumPoolSize - reservedConnections);
+        final var filter = new DbAdmissionFilter(permits, Duration.ofMillis(admissionTimeoutMillis), applicationMetrics);
+        final var registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/pix/*", "/wallets", "/wallets/*");
+        // antes do IdempotencyKeyFilter, que também consulta o banco
+        registration.setOrder(Ordered.LOWEST_PRECEDENCE - 100);
+        return registration;
+    }
+}
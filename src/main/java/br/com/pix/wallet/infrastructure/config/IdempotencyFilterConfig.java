@@ -0,0 +1,34 @@
+package br.com.pix.wallet.infrastructure.config;
+
+import br.com.pix.wallet.domain.idempotency.PaymentIdempotencyGateway;
+import br.com.pix.wallet.presentation.rest.filter.IdempotencyKeyFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class IdempotencyFilterConfig {
+
+    @Bean
+    FilterRegistrationBean<IdempotencyKeyFilter> idempotencyKeyFilter(
+        final PaymentIdempotencyGateway paymentIdempotencyGateway,
+        @Value("${pix-wallet.idempotency.response-cache-size:10000}") final long responseCacheSize,
+        @Value("${pix-wallet.idempotency.response-cache-ttl-minutes:1440}") final long responseCacheTtlMinutes,
+        @Value("${pix-wallet.idempotency.in-flight-wait-ms:5000}") final long inFlightWaitMillis,
+        @Value("${pix-wallet.idempotency.reservation-stale-after-ms:120000}") final long staleAfterMillis
+    ) {
+        final var filter = new IdempotencyKeyFilter(
+            paymentIdempotencyGateway,
+            responseCacheSize,
+            Duration.ofMinutes(responseCacheTtlMinutes),
+            Duration.ofMillis(inFlightWaitMillis),
+            Duration.ofMillis(staleAfterMillis)
+        );
+        final var registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/pix/transfers", "/pix/transfers/", "/wallets/*");
+        return registration;
+    }
+}
@@ -0,0 +1,18 @@
+package br.com.pix.wallet.infrastructure.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Configuration
+public class PayoutImportConfig {
+
+    // Valida e aplica os blocos dos arquivos de payout; a thread da requisição só lê o corpo
+    @Bean(destroyMethod = "shutdownNow")
+    ExecutorService payoutImportExecutor(@Value("${pix-wallet.payout-import.workers:4}") final int workers) {
+        return Executors.newFixedThreadPool(workers, Thread.ofPlatform().name("payout-import-", 0).daemon(true).factory());
+    }
+}
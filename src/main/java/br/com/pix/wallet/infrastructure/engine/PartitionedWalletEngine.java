@@ -0,0 +1,328 @@
+package br.com.pix.wallet.infrastructure.engine;
+
+import br.com.pix.wallet.domain.common.Money;
+import br.com.pix.wallet.domain.exception.DomainException;
+import br.com.pix.wallet.domain.exception.OutcomeUnknownException;
+import br.com.pix.wallet.domain.ledger.LedgerEntry;
+import br.com.pix.wallet.domain.ledger.LedgerGateway;
+import br.com.pix.wallet.domain.outbox.OutboxGateway;
+import br.com.pix.wallet.domain.pix.transfer.PixTransfer;
+import br.com.pix.wallet.domain.pix.transfer.PixTransferGateway;
+import br.com.pix.wallet.domain.pix.transfer.PixTransferStatus;
+import br.com.pix.wallet.domain.validation.Error;
+import br.com.pix.wallet.domain.wallet.WalletEngine;
+import br.com.pix.wallet.domain.wallet.WalletGateway;
+import br.com.pix.wallet.domain.wallet.WalletID;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+@Component
+@ConditionalOnProperty(name = "pix-wallet.write-mode", havingValue = "partitioned")
+public class PartitionedWalletEngine implements WalletEngine, DisposableBean {
+
+    private final WalletPartition[] partitions;
+    private final PixTransferGateway pixTransferGateway;
+    private final long confirmTimeoutMillis;
+
+    public PartitionedWalletEngine(
+        final WalletGateway walletGateway,
+        final LedgerGateway ledgerGateway,
+        final OutboxGateway outboxGateway,
+        final PixTransferGateway pixTransferGateway,
+        final PlatformTransactionManager transactionManager,
+        @Value("${pix-wallet.engine.partitions:8}") final int partitionCount,
+        @Value("${pix-wallet.engine.group-commit-window-ms:2}") final long groupCommitWindowMillis,
+        @Value("${pix-wallet.engine.max-batch-size:256}") final int maxBatchSize,
+        @Value("${pix-wallet.engine.queue-capacity:10000}") final int queueCapacity,
+        @Value("${pix-wallet.engine.confirm-timeout-ms:5000}") final long confirmTimeoutMillis,
+        @Value("${pix-wallet.engine.max-cached-wallets:100000}") final int maxCachedWallets
+    ) {
+        final var writer = new WalletBatchWriter(
+            walletGateway,
+            ledgerGateway,
+            outboxGateway,
+            new TransactionTemplate(transactionManager)
+        );
+
+        this.pixTransferGateway = pixTransferGateway;
+        this.confirmTimeoutMillis = confirmTimeoutMillis;
+        this.partitions = new WalletPartition[partitionCount];
+        for (int i = 0; i < partitionCount; i++) {
+            partitions[i] = new WalletPartition(
+                i,
+                walletGateway,
+                writer,
+                Duration.ofMillis(groupCommitWindowMillis),
+                maxBatchSize,
+                queueCapacity,
+                Math.max(1, maxCachedWallets / partitionCount)
+            );
+            partitions[i].start();
+        }
+    }
+
+    @Override
+    public Money deposit(final WalletID walletId, final Money amount) {
+        final var id = walletId.getValue();
+        final var partition = partitionOf(id);
+        final var future = new CompletableFuture<Money>();
+
+        partition.submit(() -> {
+            try {
+                final var planned = partition.available(id).add(amount);
+                partition.reserve(id, amount.getCents());
+
+                partition.enqueue(new WalletMutation(
+                    deltas(id, amount.getCents()),
+                    List.of(LedgerEntry.deposit(walletId, amount, planned)),
+                    null,
+                    commit -> {
+                        partition.settle(id, amount.getCents(), commit.balanceOf(id));
+                        future.complete(commit.balanceAfter(0));
+                    },
+                    ex -> {
+                        partition.settle(id, amount.getCents(), null);
+                        future.completeExceptionally(ex);
+                    }
+                ));
+            } catch (RuntimeException ex) {
+                future.completeExceptionally(ex);
+            }
+        });
+
+        return await(future);
+    }
+
+    @Override
+    public Money withdraw(final WalletID walletId, final Money amount) {
+        final var id = walletId.getValue();
+        final var partition = partitionOf(id);
+        final var future = new CompletableFuture<Money>();
+
+        partition.submit(() -> {
+            try {
+                final var available = partition.available(id, amount);
+                if (available.compareTo(amount) < 0) {
+                    future.completeExceptionally(DomainException.with(Error.of("Insufficient balance")));
+                    return;
+                }
+
+                partition.reserve(id, -amount.getCents());
+
+                partition.enqueue(new WalletMutation(
+                    deltas(id, -amount.getCents()),
+                    List.of(LedgerEntry.withdraw(walletId, amount, available.subtract(amount))),
+                    null,
+                    commit -> {
+                        partition.settle(id, -amount.getCents(), commit.balanceOf(id));
+                        future.complete(commit.balanceAfter(0));
+                    },
+                    ex -> {
+                        partition.settle(id, -amount.getCents(), null);
+                        future.completeExceptionally(ex);
+                    }
+                ));
+            } catch (RuntimeException ex) {
+                future.completeExceptionally(ex);
+            }
+        });
+
+        return await(future);
+    }
+
+    @Override
+    public PixTransfer transfer(final PixTransfer transfer) {
+        move(
+            transfer,
+            transfer.getFromWalletId(),
+            transfer.getToWalletId(),
+            "Insufficient balance in source wallet",
+            LedgerEntry::creditPix,
+            () -> pixTransferGateway.create(transfer)
+        );
+        return transfer;
+    }
+
+    // Mesmo caminho da transferência no sentido inverso. A guarda de status do UPDATE torna reentregas do
+    // webhook idempotentes: uma transferência já estornada falha a mutação e nenhum saldo é alterado.
+    @Override
+    public void refund(final PixTransfer transfer) {
+        move(
+            transfer,
+            transfer.getToWalletId(),
+            transfer.getFromWalletId(),
+            "Insufficient balance in payee wallet to refund",
+            LedgerEntry::refund,
+            () -> markRefunded(transfer)
+        );
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        for (final var partition : partitions) {
+            partition.stop();
+        }
+    }
+
+    // A partição de origem reserva o débito em memória; a de destino credita e grava a operação inteira.
+    // O resultado da gravação volta para a origem pela fila dela, que é a única a mexer no estado da carteira.
+    private void move(
+        final PixTransfer transfer,
+        final WalletID debitedId,
+        final WalletID creditedId,
+        final String insufficientBalanceMessage,
+        final CreditEntryFactory creditEntryFactory,
+        final Runnable transferWrite
+    ) {
+        final var fromId = debitedId.getValue();
+        final var amount = transfer.getAmount();
+        final var source = partitionOf(fromId);
+        final var target = partitionOf(creditedId.getValue());
+        final var future = new CompletableFuture<Void>();
+
+        source.submit(() -> {
+            try {
+                final var available = source.available(fromId, amount);
+                if (available.compareTo(amount) < 0) {
+                    future.completeExceptionally(DomainException.with(Error.of(insufficientBalanceMessage)));
+                    return;
+                }
+
+                source.reserve(fromId, -amount.getCents());
+
+                final var debitEntry = LedgerEntry.debitPix(
+                    debitedId,
+                    transfer.getEndToEndId(),
+                    amount,
+                    available.subtract(amount)
+                );
+
+                try {
+                    target.submit(() -> credit(transfer, debitEntry, creditedId, creditEntryFactory, transferWrite, source, target, future));
+                } catch (RuntimeException ex) {
+                    source.settle(fromId, -amount.getCents(), null);
+                    throw ex;
+                }
+            } catch (RuntimeException ex) {
+                future.completeExceptionally(ex);
+            }
+        });
+
+        await(future);
+    }
+
+    private void credit(
+        final PixTransfer transfer,
+        final LedgerEntry debitEntry,
+        final WalletID creditedId,
+        final CreditEntryFactory creditEntryFactory,
+        final Runnable transferWrite,
+        final WalletPartition source,
+        final WalletPartition target,
+        final CompletableFuture<Void> future
+    ) {
+        final var fromId = debitEntry.getWalletId().getValue();
+        final var toId = creditedId.getValue();
+        final var amount = transfer.getAmount();
+
+        try {
+            final var creditEntry = creditEntryFactory.create(
+                creditedId,
+                transfer.getEndToEndId(),
+                amount,
+                target.available(toId).add(amount)
+            );
+            target.reserve(toId, amount.getCents());
+
+            final var deltas = deltas(fromId, -amount.getCents());
+            deltas.merge(toId, amount.getCents(), Math::addExact);
+
+            target.enqueue(new WalletMutation(
+                deltas,
+                List.of(debitEntry, creditEntry),
+                transferWrite,
+                commit -> {
+                    target.settle(toId, amount.getCents(), commit.balanceOf(toId));
+                    source.deliver(() -> source.settle(fromId, -amount.getCents(), commit.balanceOf(fromId)));
+                    future.complete(null);
+                },
+                ex -> {
+                    target.settle(toId, amount.getCents(), null);
+                    releaseThenFail(source, fromId, amount, future, ex);
+                }
+            ));
+        } catch (RuntimeException ex) {
+            releaseThenFail(source, fromId, amount, future, ex);
+        }
+    }
+
+    private void markRefunded(final PixTransfer transfer) {
+        final var updated = pixTransferGateway.updateStatus(
+            List.of(transfer.getEndToEndId()),
+            PixTransferStatus.REFUNDED.allowedSources(),
+            PixTransferStatus.REFUNDED
+        );
+        if (updated == 0) {
+            throw DomainException.with(Error.of("Pix transfer %s can no longer be refunded".formatted(transfer.getEndToEndId())));
+        }
+    }
+
+    // A falha só é devolvida ao chamador depois que o saldo reservado voltou para a origem.
+    private static void releaseThenFail(
+        final WalletPartition source,
+        final UUID fromId,
+        final Money amount,
+        final CompletableFuture<Void> future,
+        final RuntimeException ex
+    ) {
+        source.deliver(() -> {
+            source.settle(fromId, -amount.getCents(), null);
+            future.completeExceptionally(ex);
+        });
+    }
+
+    private WalletPartition partitionOf(final UUID walletId) {
+        return partitions[Math.floorMod(walletId.hashCode(), partitions.length)];
+    }
+
+    private static LinkedHashMap<UUID, Long> deltas(final UUID walletId, final long deltaCents) {
+        final var deltas = new LinkedHashMap<UUID, Long>();
+        deltas.put(walletId, deltaCents);
+        return deltas;
+    }
+
+    // Sem confirmação dentro do prazo a mutação ainda pode estar na fila ou no lote em gravação
+    private <T> T await(final CompletableFuture<T> future) {
+        try {
+            return future.get(confirmTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(ex.getCause());
+        } catch (TimeoutException ex) {
+            throw OutcomeUnknownException.with("Wallet engine did not confirm the operation in time, its outcome is unknown");
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw OutcomeUnknownException.with("Interrupted while waiting for the wallet engine, the operation outcome is unknown");
+        }
+    }
+
+    @FunctionalInterface
+    private interface CreditEntryFactory {
+        LedgerEntry create(WalletID walletId, String endToEndId, Money amount, Money newBalance);
+    }
+}
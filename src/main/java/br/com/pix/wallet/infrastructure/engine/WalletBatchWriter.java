@@ -0,0 +1,116 @@
+package br.com.pix.wallet.infrastructure.engine;
+
+import br.com.pix.wallet.domain.common.Money;
+import br.com.pix.wallet.domain.exception.DomainException;
+import br.com.pix.wallet.domain.ledger.LedgerEntry;
+import br.com.pix.wallet.domain.ledger.LedgerGateway;
+import br.com.pix.wallet.domain.outbox.OutboxGateway;
+import br.com.pix.wallet.domain.validation.Error;
+import br.com.pix.wallet.domain.wallet.BalanceSnapshot;
+import br.com.pix.wallet.domain.wallet.WalletGateway;
+import br.com.pix.wallet.domain.wallet.WalletID;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.UUID;
+
+class WalletBatchWriter {
+
+    private final WalletGateway walletGateway;
+    private final LedgerGateway ledgerGateway;
+    private final OutboxGateway outboxGateway;
+    private final TransactionTemplate transactionTemplate;
+
+    WalletBatchWriter(
+        final WalletGateway walletGateway,
+        final LedgerGateway ledgerGateway,
+        final OutboxGateway outboxGateway,
+        final TransactionTemplate transactionTemplate
+    ) {
+        this.walletGateway = walletGateway;
+        this.ledgerGateway = ledgerGateway;
+        this.outboxGateway = outboxGateway;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    Result write(final List<WalletMutation> batch) {
+        return transactionTemplate.execute(status -> {
+            // Um UPDATE por carteira no lote, na ordem de uuid do PostgreSQL usada pelos demais escritores,
+            // para não haver deadlock entre partições nem com lotes, estornos e payouts.
+            // Carteiras com delta líquido zero também são travadas: o saldo delas entra nos lançamentos.
+            final var deltas = new TreeMap<UUID, Long>(WalletID.LOCK_ORDER);
+            batch.forEach(mutation -> mutation.deltas().forEach((id, delta) -> deltas.merge(id, delta, Math::addExact)));
+
+            final var balances = new HashMap<UUID, BalanceSnapshot>();
+            deltas.forEach((id, delta) -> balances.put(id, walletGateway.applyBalanceDelta(WalletID.from(id), delta)
+                .orElseThrow(() -> DomainException.with(Error.of("Insufficient balance")))));
+
+            final var ledgerEntries = withBalanceAfterOperation(batch, balances);
+            final var entries = ledgerEntries.stream()
+                .flatMap(List::stream)
+                .toList();
+            ledgerGateway.saveAll(entries);
+            outboxGateway.appendAll(entries);
+
+            batch.stream()
+                .map(WalletMutation::transferWrite)
+                .filter(Objects::nonNull)
+                .forEach(Runnable::run);
+
+            return new Result(ledgerEntries, Map.copyOf(balances));
+        });
+    }
+
+    // O saldo de cada lançamento vem da linha travada, e não do que a partição tinha em memória ao planejar:
+    // parte do saldo final lido após o UPDATE e desfaz os lançamentos do lote, do último para o primeiro.
+    private static List<List<LedgerEntry>> withBalanceAfterOperation(
+        final List<WalletMutation> batch,
+        final Map<UUID, BalanceSnapshot> balances
+    ) {
+        final var running = new HashMap<UUID, Long>();
+        balances.forEach((id, snapshot) -> running.put(id, snapshot.balance().getCents()));
+
+        final var result = new ArrayList<List<LedgerEntry>>(batch.size());
+        for (int i = batch.size() - 1; i >= 0; i--) {
+            final var planned = batch.get(i).ledgerEntries();
+            final var exact = new ArrayList<LedgerEntry>(planned.size());
+            for (int j = planned.size() - 1; j >= 0; j--) {
+                final var entry = planned.get(j);
+                final var walletId = entry.getWalletId().getValue();
+                final long balanceAfter = running.get(walletId);
+
+                exact.add(LedgerEntry.with(
+                    entry.getId(),
+                    entry.getWalletId(),
+                    entry.getEndToEndId(),
+                    entry.getOperationType(),
+                    entry.getAmount(),
+                    Money.ofCents(balanceAfter),
+                    entry.getOccurredAt()
+                ));
+                running.put(walletId, Math.subtractExact(balanceAfter, signedCents(entry)));
+            }
+            Collections.reverse(exact);
+            result.add(exact);
+        }
+        Collections.reverse(result);
+        return result;
+    }
+
+    private static long signedCents(final LedgerEntry entry) {
+        final var cents = entry.getAmount().getCents();
+        return switch (entry.getOperationType()) {
+            case DEPOSIT, PIX_CREDIT, REFUND -> cents;
+            case WITHDRAW, PIX_DEBIT -> -cents;
+        };
+    }
+
+    record Result(List<List<LedgerEntry>> ledgerEntries, Map<UUID, BalanceSnapshot> balances) {
+    }
+}
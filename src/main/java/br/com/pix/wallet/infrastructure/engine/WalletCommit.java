@@ -0,0 +1,21 @@
+package br.com.pix.wallet.infrastructure.engine;
+
+import br.com.pix.wallet.domain.common.Money;
+import br.com.pix.wallet.domain.ledger.LedgerEntry;
+import br.com.pix.wallet.domain.wallet.BalanceSnapshot;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+// Lançamentos gravados de uma mutação, já com o saldo exato, e o estado das carteiras no fim do lote
+record WalletCommit(List<LedgerEntry> ledgerEntries, Map<UUID, BalanceSnapshot> balances) {
+
+    Money balanceAfter(final int entry) {
+        return ledgerEntries.get(entry).getBalanceAfterOperation();
+    }
+
+    BalanceSnapshot balanceOf(final UUID walletId) {
+        return balances.get(walletId);
+    }
+}
@@ -0,0 +1,18 @@
+package br.com.pix.wallet.infrastructure.engine;
+
+import br.com.pix.wallet.domain.ledger.LedgerEntry;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+record WalletMutation(
+    Map<UUID, Long> deltas,
+    List<LedgerEntry> ledgerEntries,
+    // Gravação da transferência (criação ou estorno) na mesma transação dos saldos; null quando não há
+    Runnable transferWrite,
+    Consumer<WalletCommit> onCommit,
+    Consumer<RuntimeException> onFailure
+) {
+}
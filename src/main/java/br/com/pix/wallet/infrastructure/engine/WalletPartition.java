@@ -0,0 +1,294 @@
+package br.com.pix.wallet.infrastructure.engine;
+
+import br.com.pix.wallet.domain.common.Money;
+import br.com.pix.wallet.domain.exception.ServiceUnavailableException;
+import br.com.pix.wallet.domain.wallet.BalanceSnapshot;
+import br.com.pix.wallet.domain.wallet.WalletGateway;
+import br.com.pix.wallet.domain.wallet.WalletID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+class WalletPartition implements Runnable {
+
+    private static final Logger log = LoggerFactory.getLogger(WalletPartition.class);
+
+    private static final long UNKNOWN_VERSION = -1;
+
+    private final int index;
+    private final WalletGateway walletGateway;
+    private final WalletBatchWriter writer;
+    private final long groupCommitWindowNanos;
+    private final int maxBatchSize;
+    private final int maxWallets;
+
+    private final BlockingQueue<Runnable> commands;
+    private final Queue<Runnable> callbacks = new ConcurrentLinkedQueue<>();
+    // Ordem de acesso: quando o limite é atingido saem primeiro as carteiras ociosas usadas há mais tempo
+    private final LinkedHashMap<UUID, WalletState> wallets = new LinkedHashMap<>(16, 0.75f, true);
+    private final List<WalletMutation> pending = new ArrayList<>();
+    private final Thread thread;
+
+    private volatile boolean running = true;
+
+    WalletPartition(
+        final int index,
+        final WalletGateway walletGateway,
+        final WalletBatchWriter writer,
+        final Duration groupCommitWindow,
+        final int maxBatchSize,
+        final int queueCapacity,
+        final int maxWallets
+    ) {
+        this.index = index;
+        this.walletGateway = walletGateway;
+        this.writer = writer;
+        this.groupCommitWindowNanos = groupCommitWindow.toNanos();
+        this.maxBatchSize = maxBatchSize;
+        this.maxWallets = maxWallets;
+        this.commands = new ArrayBlockingQueue<>(queueCapacity);
+        this.thread = Thread.ofPlatform().name("wallet-engine-" + index).unstarted(this);
+    }
+
+    void start() {
+        thread.start();
+    }
+
+    void stop() throws InterruptedException {
+        running = false;
+        thread.join();
+    }
+
+    void submit(final Runnable command) {
+        if (!commands.offer(command)) {
+            throw ServiceUnavailableException.with("Wallet engine partition %d is saturated, retry later".formatted(index));
+        }
+    }
+
+    // Retornos de outras partições (confirmação ou estorno de uma reserva) nunca podem ser descartados por fila cheia.
+    void deliver(final Runnable callback) {
+        callbacks.add(callback);
+        // acorda a partição ociosa; se a fila estiver cheia ela já está ativa
+        commands.offer(() -> { });
+    }
+
+    Money available(final UUID walletId) {
+        return Money.ofCents(stateOf(walletId).available());
+    }
+
+    // O saldo em memória só é conferido com a linha quando ele recusaria a operação: um crédito feito fora
+    // do motor (estorno de webhook, slots de carteira com striping, outra instância) ainda não foi visto.
+    Money available(final UUID walletId, final Money required) {
+        final var available = available(walletId);
+        if (available.compareTo(required) >= 0) {
+            return available;
+        }
+        final var state = wallets.get(walletId);
+        if (state.inFlight > 0 || isCurrent(walletId, state)) {
+            return available;
+        }
+        return Money.ofCents(reload(walletId).available());
+    }
+
+    // Reserva o efeito de uma operação planejada; ele só passa a compor o saldo confirmado em settle.
+    // Chamado logo depois de available no mesmo comando, então o estado já foi validado.
+    void reserve(final UUID walletId, final long deltaCents) {
+        final var cached = wallets.get(walletId);
+        final var state = cached != null ? cached : stateOf(walletId);
+        state.pendingCents = Math.addExact(state.pendingCents, deltaCents);
+        state.inFlight++;
+    }
+
+    void settle(final UUID walletId, final long deltaCents, final BalanceSnapshot committed) {
+        final var state = wallets.get(walletId);
+        if (state == null) {
+            return;
+        }
+
+        state.pendingCents = Math.subtractExact(state.pendingCents, deltaCents);
+        state.inFlight--;
+        if (committed == null) {
+            // A guarda do UPDATE pode ter recusado um saldo em memória mais alto que o da linha
+            state.verify = true;
+        } else {
+            state.committedCents = Math.addExact(state.committedCents, deltaCents);
+            if (committed.version() != null && committed.version() > state.latest.version()) {
+                state.latest = committed;
+            }
+        }
+
+        // Sem nada em voo o saldo passa a ser o da linha na maior versão observada, que já inclui
+        // escritas feitas fora do motor (estornos de webhook, outras instâncias) antes dela.
+        if (state.inFlight == 0 && state.latest.version() > state.version) {
+            state.committedCents = state.latest.balance().getCents();
+            state.version = state.latest.version();
+        }
+    }
+
+    void enqueue(final WalletMutation mutation) {
+        pending.add(mutation);
+    }
+
+    @Override
+    public void run() {
+        while (running || !commands.isEmpty()) {
+            try {
+                drainCallbacks();
+
+                final var first = commands.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                execute(first);
+
+                // Group commit: acumula comandos até a janela expirar ou o lote encher.
+                final var deadline = System.nanoTime() + groupCommitWindowNanos;
+                while (pending.size() < maxBatchSize) {
+                    final var remaining = deadline - System.nanoTime();
+                    final var next = remaining > 0 ? commands.poll(remaining, TimeUnit.NANOSECONDS) : commands.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    execute(next);
+                }
+
+                flush();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                running = false;
+            }
+        }
+        flush();
+    }
+
+    // O estado fica em cache sem consultar a versão a cada comando: escritas externas chegam pela versão
+    // devolvida nas gravações do motor (settle), e a linha só é conferida depois de uma gravação recusada
+    // ou quando o saldo em memória não cobre um débito. A guarda do UPDATE impede saldo negativo.
+    private WalletState stateOf(final UUID walletId) {
+        final var state = wallets.get(walletId);
+        if (state == null) {
+            return reload(walletId);
+        }
+        if (state.verify && state.inFlight == 0) {
+            if (!isCurrent(walletId, state)) {
+                return reload(walletId);
+            }
+            state.verify = false;
+        }
+        return state;
+    }
+
+    private WalletState reload(final UUID walletId) {
+        final var state = load(walletId);
+        wallets.put(walletId, state);
+        evictIdle(walletId);
+        return state;
+    }
+
+    private boolean isCurrent(final UUID walletId, final WalletState state) {
+        return walletGateway.findBalanceVersion(WalletID.from(walletId))
+            .filter(version -> version == state.version)
+            .isPresent();
+    }
+
+    private WalletState load(final UUID walletId) {
+        final var id = WalletID.from(walletId);
+        // O UPDATE do motor só enxerga a linha: créditos pendentes em slots são consolidados antes.
+        if (walletGateway.findById(id).isStriped()) {
+            walletGateway.foldBalanceSlots(id);
+        }
+        final var snapshot = walletGateway.findBalanceSnapshot(id);
+        final var version = snapshot.version() == null ? UNKNOWN_VERSION : snapshot.version();
+        return new WalletState(snapshot.balance().getCents(), version);
+    }
+
+    private void evictIdle(final UUID loaded) {
+        if (wallets.size() <= maxWallets) {
+            return;
+        }
+        final var iterator = wallets.entrySet().iterator();
+        while (wallets.size() > maxWallets && iterator.hasNext()) {
+            final Map.Entry<UUID, WalletState> eldest = iterator.next();
+            if (eldest.getValue().inFlight == 0 && !eldest.getKey().equals(loaded)) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private void drainCallbacks() {
+        Runnable callback;
+        while ((callback = callbacks.poll()) != null) {
+            execute(callback);
+        }
+    }
+
+    private void execute(final Runnable command) {
+        try {
+            command.run();
+        } catch (RuntimeException ex) {
+            log.error("Unexpected failure in wallet engine partition {}", index, ex);
+        }
+    }
+
+    private void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        final var batch = List.copyOf(pending);
+        pending.clear();
+
+        try {
+            commit(batch, writer.write(batch));
+        } catch (RuntimeException batchFailure) {
+            // Um comando inválido não derruba o lote inteiro: regrava um a um e só falha o culpado.
+            // O writer recalcula o saldo de cada lançamento a partir da linha travada, então as mutações
+            // seguintes não herdam o efeito da que falhou.
+            log.debug("Wallet engine partition {} rewriting a batch of {} one by one", index, batch.size(), batchFailure);
+            for (final var mutation : batch) {
+                try {
+                    commit(List.of(mutation), writer.write(List.of(mutation)));
+                } catch (RuntimeException ex) {
+                    mutation.onFailure().accept(ex);
+                }
+            }
+        }
+    }
+
+    private static void commit(final List<WalletMutation> batch, final WalletBatchWriter.Result result) {
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).onCommit().accept(new WalletCommit(result.ledgerEntries().get(i), result.balances()));
+        }
+    }
+
+    private static final class WalletState {
+
+        private long committedCents;
+        private long version;
+        private long pendingCents;
+        private int inFlight;
+        private boolean verify;
+        private BalanceSnapshot latest;
+
+        private WalletState(final long committedCents, final long version) {
+            this.committedCents = committedCents;
+            this.version = version;
+            this.latest = BalanceSnapshot.of(Money.ofCents(committedCents), version);
+        }
+
+        private long available() {
+            return Math.addExact(committedCents, pendingCents);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package br.com.pix.wallet.infrastructure.idempotency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.time.Instant;
+
+// O filtro é dividido em duas gerações de uma janela cada: a cada janela a anterior é descartada.
+// Assim a memória acompanha o tráfego da janela, e não o histórico inteiro, e toda chave gravada
+// na última janela continua coberta. Chaves mais antigas ficam a cargo do índice único, como no aquecimento.
+public class IdempotencyKeyIndex {
+
+    private final long expectedKeys;
+    private final double falsePositiveRate;
+    private final Duration window;
+    private final Cache<String, Boolean> recentKeys;
+    private volatile Generation current;
+    private volatile Generation previous;
+    private volatile boolean warmedUp;
+
+    public IdempotencyKeyIndex(
+        final long expectedKeys,
+        final double falsePositiveRate,
+        final long recentKeysSize,
+        final Duration window
+    ) {
+        if (window.isZero() || window.isNegative()) {
+            throw new IllegalArgumentException("'window' must be positive");
+        }
+        this.expectedKeys = expectedKeys;
+        // As duas gerações são consultadas: cada uma fica com metade da taxa de falso positivo
+        this.falsePositiveRate = falsePositiveRate / 2;
+        this.window = window;
+        this.current = newGeneration(Instant.now());
+        this.previous = null;
+        this.recentKeys = Caffeine.newBuilder()
+            .maximumSize(recentKeysSize)
+            .build();
+    }
+
+    public boolean isKnown(final String key) {
+        return recentKeys.getIfPresent(key) != null;
+    }
+
+    // Enquanto o filtro não estiver aquecido não é possível afirmar que a chave não existe
+    public boolean isDefinitelyAbsent(final String key) {
+        if (!warmedUp) {
+            return false;
+        }
+        rotateIfDue(Instant.now());
+        final var older = previous;
+        return !current.filter().mightContain(key) && (older == null || !older.filter().mightContain(key));
+    }
+
+    public void register(final String key) {
+        rotateIfDue(Instant.now());
+        current.filter().put(key);
+    }
+
+    public void remember(final String key) {
+        register(key);
+        recentKeys.put(key, Boolean.TRUE);
+    }
+
+    public void markWarmedUp() {
+        this.warmedUp = true;
+    }
+
+    public boolean isWarmedUp() {
+        return warmedUp;
+    }
+
+    // Um put concorrente pode cair na geração que acabou de virar a anterior; ela continua consultada por mais uma janela
+    void rotateIfDue(final Instant now) {
+        if (now.isBefore(current.startedAt().plus(window))) {
+            return;
+        }
+        synchronized (this) {
+            final var latest = current;
+            if (now.isBefore(latest.startedAt().plus(window))) {
+                return;
+            }
+            // Depois de mais de uma janela parada, a geração atual também já passou da janela
+            previous = now.isBefore(latest.startedAt().plus(window.multipliedBy(2))) ? latest : null;
+            current = newGeneration(now);
+        }
+    }
+
+    int generationCount() {
+        return previous == null ? 1 : 2;
+    }
+
+    private Generation newGeneration(final Instant startedAt) {
+        return new Generation(new ScalableBloomFilter(expectedKeys, falsePositiveRate), startedAt);
+    }
+
+    private record Generation(ScalableBloomFilter filter, Instant startedAt) {
+    }
+}
@@ -0,0 +1,125 @@
+package br.com.pix.wallet.infrastructure.idempotency;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+public final class ScalableBloomFilter {
+
+    private static final int GROWTH_FACTOR = 2;
+    private static final double TIGHTENING_RATIO = 0.5;
+    private static final double LN2 = Math.log(2);
+
+    private final List<Layer> layers = new CopyOnWriteArrayList<>();
+
+    public ScalableBloomFilter(final long initialCapacity, final double falsePositiveRate) {
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("'initialCapacity' must be positive");
+        }
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("'falsePositiveRate' must be between 0 and 1");
+        }
+        // Cada nova camada aperta a taxa de erro para que a soma fique abaixo de falsePositiveRate
+        this.layers.add(new Layer(initialCapacity, falsePositiveRate * (1 - TIGHTENING_RATIO)));
+    }
+
+    public boolean mightContain(final String key) {
+        final long hash = hash(key);
+        for (final Layer layer : layers) {
+            if (layer.mightContain(hash)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public void put(final String key) {
+        current().put(hash(key));
+    }
+
+    public int layerCount() {
+        return layers.size();
+    }
+
+    private Layer current() {
+        final Layer last = layers.get(layers.size() - 1);
+        if (!last.isFull()) {
+            return last;
+        }
+        synchronized (layers) {
+            final Layer latest = layers.get(layers.size() - 1);
+            if (!latest.isFull()) {
+                return latest;
+            }
+            final Layer next = new Layer(
+                latest.capacity * GROWTH_FACTOR,
+                latest.falsePositiveRate * TIGHTENING_RATIO
+            );
+            layers.add(next);
+            return next;
+        }
+    }
+
+    private static long hash(final String key) {
+        // FNV-1a 64 bits seguido do finalizador do MurmurHash3
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+
+    private static final class Layer {
+
+        private final long capacity;
+        private final double falsePositiveRate;
+        private final AtomicLongArray words;
+        private final long bitCount;
+        private final int hashCount;
+        private final AtomicLong insertions = new AtomicLong();
+
+        private Layer(final long capacity, final double falsePositiveRate) {
+            final long requiredBits = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (LN2 * LN2));
+            this.capacity = capacity;
+            this.falsePositiveRate = falsePositiveRate;
+            this.words = new AtomicLongArray(Math.toIntExact(Math.max(1, (requiredBits + 63) >>> 6)));
+            this.bitCount = (long) words.length() * Long.SIZE;
+            this.hashCount = Math.max(1, (int) Math.round((double) bitCount / capacity * LN2));
+        }
+
+        private boolean isFull() {
+            return insertions.get() >= capacity;
+        }
+
+        private boolean mightContain(final long hash) {
+            final long secondary = mix(hash) | 1;
+            for (int i = 0; i < hashCount; i++) {
+                final long index = Math.floorMod(hash + i * secondary, bitCount);
+                if ((words.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void put(final long hash) {
+            final long secondary = mix(hash) | 1;
+            for (int i = 0; i < hashCount; i++) {
+                final long index = Math.floorMod(hash + i * secondary, bitCount);
+                words.getAndAccumulate((int) (index >>> 6), 1L << index, (current, mask) -> current | mask);
+            }
+            insertions.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package br.com.pix.wallet.infrastructure.outbox;
+
+import br.com.pix.wallet.domain.ledger.LedgerEntry;
+import br.com.pix.wallet.domain.outbox.OutboxPublisher;
+import br.com.pix.wallet.infrastructure.config.json.Json;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+// Um evento JSON por linha. O lote só é confirmado depois do fsync
+@Component
+@ConditionalOnProperty(name = "pix-wallet.outbox.publisher", havingValue = "file")
+public class FileOutboxPublisher implements OutboxPublisher {
+
+    private final Path path;
+
+    public FileOutboxPublisher(@Value("${pix-wallet.outbox.file-path:outbox-events.jsonl}") final String path) {
+        this.path = Path.of(path);
+    }
+
+    @Override
+    public synchronized void publish(final List<LedgerEntry> entries) {
+        final var lines = new StringBuilder();
+        entries.forEach(entry -> lines.append(Json.writeValueAsString(OutboxMessage.from(entry))).append('\n'));
+
+        try {
+            final var parent = path.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            try (var channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                final var buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(false);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package br.com.pix.wallet.infrastructure.outbox;
+
+import br.com.pix.wallet.domain.ledger.LedgerEntry;
+import br.com.pix.wallet.domain.outbox.OutboxPublisher;
+import br.com.pix.wallet.infrastructure.config.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@ConditionalOnProperty(name = "pix-wallet.outbox.publisher", havingValue = "log", matchIfMissing = true)
+public class LogOutboxPublisher implements OutboxPublisher {
+
+    private static final Logger log = LoggerFactory.getLogger(LogOutboxPublisher.class);
+
+    @Override
+    public void publish(final List<LedgerEntry> entries) {
+        entries.forEach(entry -> log.info("Outbox event {}", Json.writeValueAsString(OutboxMessage.from(entry))));
+    }
+}
@@ -0,0 +1,31 @@
+package br.com.pix.wallet.infrastructure.outbox;
+
+import br.com.pix.wallet.domain.ledger.LedgerEntry;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+// eventId = id do lançamento: consumidores deduplicam reentregas por ele
+public record OutboxMessage(
+    UUID eventId,
+    UUID walletId,
+    String endToEndId,
+    String operationType,
+    BigDecimal amount,
+    BigDecimal balanceAfterOperation,
+    Instant occurredAt
+) {
+
+    public static OutboxMessage from(final LedgerEntry entry) {
+        return new OutboxMessage(
+            entry.getId().getValue(),
+            entry.getWalletId().getValue(),
+            entry.getEndToEndId(),
+            entry.getOperationType().name(),
+            entry.getAmount().getAmount(),
+            entry.getBalanceAfterOperation().getAmount(),
+            entry.getOccurredAt()
+        );
+    }
+}
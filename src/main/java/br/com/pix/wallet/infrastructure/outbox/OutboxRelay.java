@@ -0,0 +1,186 @@
+package br.com.pix.wallet.infrastructure.outbox;
+
+import br.com.pix.wallet.application.metrics.ApplicationMetrics;
+import br.com.pix.wallet.domain.ledger.LedgerEntry;
+import br.com.pix.wallet.domain.ledger.LedgerEntryID;
+import br.com.pix.wallet.domain.outbox.OutboxGateway;
+import br.com.pix.wallet.domain.outbox.OutboxPublisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+// Cada worker reivindica um lote com FOR UPDATE SKIP LOCKED, publica e marca como publicado na mesma transação:
+// workers e instâncias diferentes nunca pegam o mesmo evento ao mesmo tempo. Se o processo cair depois de publicar
+// e antes do commit, o lote volta a ficar pendente e é reenviado (entrega ao menos uma vez).
+// Não há ordem global entre workers; dentro de um lote os eventos seguem occurred_at.
+// Um evento que falha max-attempts vezes sai da fila (dead letter) e passa a contar no gauge do OutboxMaintenance.
+@Component
+@ConditionalOnProperty(name = "pix-wallet.outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final OutboxGateway outboxGateway;
+    private final OutboxPublisher publisher;
+    private final ApplicationMetrics applicationMetrics;
+    private final TransactionTemplate transactionTemplate;
+    private final int workers;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long pollIntervalMillis;
+    private final long maxBackoffMillis;
+    private final List<Thread> threads = new ArrayList<>();
+
+    private volatile boolean running;
+
+    public OutboxRelay(
+        final OutboxGateway outboxGateway,
+        final OutboxPublisher publisher,
+        final ApplicationMetrics applicationMetrics,
+        final PlatformTransactionManager transactionManager,
+        @Value("${pix-wallet.outbox.relay.workers:2}") final int workers,
+        @Value("${pix-wallet.outbox.relay.batch-size:500}") final int batchSize,
+        @Value("${pix-wallet.outbox.relay.max-attempts:20}") final int maxAttempts,
+        @Value("${pix-wallet.outbox.relay.poll-interval-ms:200}") final long pollIntervalMillis,
+        @Value("${pix-wallet.outbox.relay.max-backoff-ms:30000}") final long maxBackoffMillis
+    ) {
+        this.outboxGateway = outboxGateway;
+        this.publisher = publisher;
+        this.applicationMetrics = applicationMetrics;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.workers = workers;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.pollIntervalMillis = pollIntervalMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        final var factory = Thread.ofPlatform().name("outbox-relay-", 0).factory();
+        for (int i = 0; i < workers; i++) {
+            final var thread = factory.newThread(this::work);
+            threads.add(thread);
+            thread.start();
+        }
+    }
+
+    @Override
+    public synchronized void destroy() throws InterruptedException {
+        running = false;
+        // unpark em vez de interrupt: não derruba uma chamada JDBC em andamento
+        threads.forEach(LockSupport::unpark);
+        for (final var thread : threads) {
+            thread.join();
+        }
+        threads.clear();
+    }
+
+    // Publica um lote; devolve quantos eventos saíram
+    public int relayBatch() {
+        final var result = transactionTemplate.execute(status -> {
+            final var pending = outboxGateway.lockPending(maxAttempts, batchSize);
+            if (pending.isEmpty()) {
+                return BatchResult.published(pending);
+            }
+
+            try {
+                publisher.publish(pending);
+            } catch (RuntimeException ex) {
+                // Registra a falha sem desfazer a transação; os eventos continuam pendentes
+                return pending.size() == 1 ? failed(pending, ex) : publishOneByOne(pending, ex);
+            }
+            outboxGateway.markPublished(ids(pending), Instant.now());
+            return BatchResult.published(pending);
+        });
+
+        if (result == null) {
+            return 0;
+        }
+        if (result.failed() > 0) {
+            applicationMetrics.recordOutboxEvents(false, result.failed());
+        }
+        if (result.published().isEmpty() && result.failure() != null) {
+            throw result.failure();
+        }
+
+        final var now = Instant.now();
+        applicationMetrics.recordOutboxEvents(true, result.published().size());
+        result.published().forEach(entry -> applicationMetrics.recordOutboxLag(Duration.between(entry.getOccurredAt(), now)));
+        return result.published().size();
+    }
+
+    // Um evento problemático não pode gastar as tentativas dos outros do lote e levá-los junto ao dead letter
+    private BatchResult publishOneByOne(final List<LedgerEntry> pending, final RuntimeException batchFailure) {
+        final var published = new ArrayList<LedgerEntry>(pending.size());
+        var failed = 0;
+        for (final var entry : pending) {
+            try {
+                publisher.publish(List.of(entry));
+                published.add(entry);
+            } catch (RuntimeException ex) {
+                outboxGateway.markFailed(List.of(entry.getId()), String.valueOf(ex.getMessage()));
+                failed++;
+            }
+        }
+        outboxGateway.markPublished(ids(published), Instant.now());
+        return new BatchResult(published, failed, batchFailure);
+    }
+
+    private BatchResult failed(final List<LedgerEntry> pending, final RuntimeException failure) {
+        outboxGateway.markFailed(ids(pending), String.valueOf(failure.getMessage()));
+        return new BatchResult(List.of(), pending.size(), failure);
+    }
+
+    private static List<LedgerEntryID> ids(final List<LedgerEntry> entries) {
+        return entries.stream().map(LedgerEntry::getId).toList();
+    }
+
+    private void work() {
+        var backoff = pollIntervalMillis;
+        while (running) {
+            try {
+                // Lote cheio: provavelmente há mais pendentes, segue sem esperar
+                if (relayBatch() < batchSize) {
+                    pause(pollIntervalMillis);
+                }
+                backoff = pollIntervalMillis;
+            } catch (RuntimeException ex) {
+                backoff = Math.min(Math.max(backoff, 1) * 2, maxBackoffMillis);
+                log.warn("Failed to relay outbox events, retrying in {} ms", backoff, ex);
+                pause(backoff);
+            }
+        }
+    }
+
+    private void pause(final long millis) {
+        if (running) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(millis));
+        }
+    }
+
+    private record BatchResult(List<LedgerEntry> published, int failed, RuntimeException failure) {
+
+        private static BatchResult published(final List<LedgerEntry> entries) {
+            return new BatchResult(entries, 0, null);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package br.com.pix.wallet.infrastructure.persistence.converter;
+
+import br.com.pix.wallet.domain.common.Money;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.math.BigDecimal;
+
+// Colunas NUMERIC(19, 2): o BigDecimal existe só na fronteira com o JDBC.
+@Converter
+public class MoneyConverter implements AttributeConverter<Money, BigDecimal> {
+
+    @Override
+    public BigDecimal convertToDatabaseColumn(final Money money) {
+        return money == null ? null : money.getAmount();
+    }
+
+    @Override
+    public Money convertToEntityAttribute(final BigDecimal value) {
+        return value == null ? null : Money.of(value);
+    }
+}
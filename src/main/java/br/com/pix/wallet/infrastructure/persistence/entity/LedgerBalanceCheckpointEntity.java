@@ -0,0 +1,111 @@
+package br.com.pix.wallet.infrastructure.persistence.entity;
+
+import br.com.pix.wallet.domain.common.Money;
+import br.com.pix.wallet.domain.ledger.BalanceCheckpoint;
+import br.com.pix.wallet.domain.wallet.WalletID;
+import br.com.pix.wallet.infrastructure.persistence.converter.MoneyConverter;
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.UUID;
+
+@Entity
+@Table(name = "ledger_balance_checkpoint")
+@IdClass(LedgerBalanceCheckpointEntity.Key.class)
+public class LedgerBalanceCheckpointEntity implements Persistable<LedgerBalanceCheckpointEntity.Key> {
+
+    @Id
+    @Column(name = "wallet_id", columnDefinition = "uuid")
+    private UUID walletId;
+
+    @Id
+    @Column(name = "checkpoint_at")
+    private Instant checkpointAt;
+
+    @Convert(converter = MoneyConverter.class)
+    @Column(name = "balance", nullable = false)
+    private Money balance;
+
+    @Column(name = "entry_count", nullable = false)
+    private long entryCount;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    // Checkpoints são imutáveis: evita o SELECT do merge antes do INSERT.
+    @Transient
+    private boolean isNew = true;
+
+    protected LedgerBalanceCheckpointEntity() {
+    }
+
+    public static LedgerBalanceCheckpointEntity from(final BalanceCheckpoint checkpoint) {
+        final var entity = new LedgerBalanceCheckpointEntity();
+        entity.walletId = checkpoint.getWalletId().getValue();
+        entity.checkpointAt = checkpoint.getCheckpointAt();
+        entity.balance = checkpoint.getBalance();
+        entity.entryCount = checkpoint.getEntryCount();
+        entity.createdAt = Instant.now();
+        return entity;
+    }
+
+    public BalanceCheckpoint toAggregate() {
+        return BalanceCheckpoint.of(
+            WalletID.from(walletId),
+            checkpointAt,
+            balance,
+            entryCount
+        );
+    }
+
+    @Override
+    public Key getId() {
+        return new Key(walletId, checkpointAt);
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
+    public UUID getWalletId() {
+        return walletId;
+    }
+
+    public Instant getCheckpointAt() {
+        return checkpointAt;
+    }
+
+    public Money getBalance() {
+        return balance;
+    }
+
+    public long getEntryCount() {
+        return entryCount;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        final LedgerBalanceCheckpointEntity that = (LedgerBalanceCheckpointEntity) o;
+        return Objects.equals(walletId, that.walletId) && Objects.equals(checkpointAt, that.checkpointAt);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(walletId, checkpointAt);
+    }
+
+    public record Key(UUID walletId, Instant checkpointAt) implements Serializable {
+    }
+}
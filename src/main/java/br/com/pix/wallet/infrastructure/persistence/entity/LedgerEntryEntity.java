@@ -5,16 +5,17 @@ import br.com.pix.wallet.domain.ledger.LedgerEntryID;
 import br.com.pix.wallet.domain.ledger.LedgerOperationType;
 import br.com.pix.wallet.domain.common.Money;
 import br.com.pix.wallet.domain.wallet.WalletID;
+import br.com.pix.wallet.infrastructure.persistence.converter.MoneyConverter;
 import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
 
-import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.Objects;
 import java.util.UUID;
 
 @Entity
 @Table(name = "ledger_entry")
-public class LedgerEntryEntity {
+public class LedgerEntryEntity implements Persistable<UUID> {
 
     @Id
     @Column(name = "id", columnDefinition = "uuid")
@@ -30,18 +31,25 @@ public class LedgerEntryEntity {
     @Column(name = "operation_type", nullable = false)
     private LedgerOperationType operationType;
 
+    @Convert(converter = MoneyConverter.class)
     @Column(name = "amount", nullable = false)
-    private BigDecimal amount;
+    private Money amount;
 
+    @Convert(converter = MoneyConverter.class)
     @Column(name = "balance_after_operation", nullable = false)
-    private BigDecimal balanceAfterOperation;
+    private Money balanceAfterOperation;
 
     @Column(name = "occurred_at", nullable = false)
     private Instant occurredAt;
 
+    // Lançamentos são imutáveis: evita o SELECT do merge antes de cada INSERT.
+    @Transient
+    private boolean isNew = true;
+
     protected LedgerEntryEntity() {
     }
 
+    @Override
     public UUID getId() {
         return id;
     }
@@ -74,19 +82,19 @@ public class LedgerEntryEntity {
         this.operationType = operationType;
     }
 
-    public BigDecimal getAmount() {
+    public Money getAmount() {
         return amount;
     }
 
-    public void setAmount(BigDecimal amount) {
+    public void setAmount(Money amount) {
         this.amount = amount;
     }
 
-    public BigDecimal getBalanceAfterOperation() {
+    public Money getBalanceAfterOperation() {
         return balanceAfterOperation;
     }
 
-    public void setBalanceAfterOperation(BigDecimal balanceAfterOperation) {
+    public void setBalanceAfterOperation(Money balanceAfterOperation) {
         this.balanceAfterOperation = balanceAfterOperation;
     }
 
@@ -98,6 +106,17 @@ public class LedgerEntryEntity {
         this.occurredAt = occurredAt;
     }
 
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
     @Override
     public boolean equals(final Object o) {
         if (this == o) return true;
@@ -121,8 +140,8 @@ public class LedgerEntryEntity {
         entity.walletId = entry.getWalletId().getValue();
         entity.endToEndId = entry.getEndToEndId();
         entity.operationType = entry.getOperationType();
-        entity.amount = entry.getAmount().getAmount();
-        entity.balanceAfterOperation = entry.getBalanceAfterOperation().getAmount();
+        entity.amount = entry.getAmount();
+        entity.balanceAfterOperation = entry.getBalanceAfterOperation();
         entity.occurredAt = entry.getOccurredAt();
         return entity;
     }
@@ -133,8 +152,8 @@ public class LedgerEntryEntity {
             WalletID.from(this.walletId),
             this.endToEndId,
             this.operationType,
-            Money.of(this.amount),
-            Money.of(this.balanceAfterOperation),
+            this.amount,
+            this.balanceAfterOperation,
             this.occurredAt
         );
     }
@@ -0,0 +1,96 @@
+package br.com.pix.wallet.infrastructure.persistence.entity;
+
+import br.com.pix.wallet.domain.common.Money;
+import br.com.pix.wallet.domain.ledger.LedgerEntry;
+import br.com.pix.wallet.domain.ledger.LedgerEntryID;
+import br.com.pix.wallet.domain.ledger.LedgerOperationType;
+import br.com.pix.wallet.domain.wallet.WalletID;
+import br.com.pix.wallet.infrastructure.persistence.converter.MoneyConverter;
+import jakarta.persistence.*;
+
+import java.time.Instant;
+import java.util.Objects;
+import java.util.UUID;
+
+@Entity
+@Table(name = "outbox_event")
+public class OutboxEventEntity {
+
+    @Id
+    @Column(name = "id", columnDefinition = "uuid")
+    private UUID id;
+
+    @Column(name = "wallet_id", nullable = false, columnDefinition = "uuid")
+    private UUID walletId;
+
+    @Column(name = "end_to_end_id")
+    private String endToEndId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "operation_type", nullable = false)
+    private LedgerOperationType operationType;
+
+    @Convert(converter = MoneyConverter.class)
+    @Column(name = "amount", nullable = false)
+    private Money amount;
+
+    @Convert(converter = MoneyConverter.class)
+    @Column(name = "balance_after_operation", nullable = false)
+    private Money balanceAfterOperation;
+
+    @Column(name = "occurred_at", nullable = false)
+    private Instant occurredAt;
+
+    @Column(name = "published_at")
+    private Instant publishedAt;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "last_error")
+    private String lastError;
+
+    protected OutboxEventEntity() {
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public Instant getPublishedAt() {
+        return publishedAt;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        final OutboxEventEntity that = (OutboxEventEntity) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    public LedgerEntry toAggregate() {
+        return LedgerEntry.with(
+            LedgerEntryID.from(this.id),
+            WalletID.from(this.walletId),
+            this.endToEndId,
+            this.operationType,
+            this.amount,
+            this.balanceAfterOperation,
+            this.occurredAt
+        );
+    }
+}
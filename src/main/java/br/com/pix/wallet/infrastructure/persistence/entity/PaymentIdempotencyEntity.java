@@ -1,5 +1,8 @@
 package br.com.pix.wallet.infrastructure.persistence.entity;
 
+import br.com.pix.wallet.domain.idempotency.PaymentIdempotency;
+import br.com.pix.wallet.domain.idempotency.PaymentIdempotencyID;
+import br.com.pix.wallet.domain.idempotency.PaymentIdempotencyStatus;
 import jakarta.persistence.*;
 
 import java.time.Instant;
@@ -7,10 +10,10 @@ import java.util.Objects;
 
 @Entity
 @Table(
-    name = "payment_idempotency",
+    name = "idempotency_record",
     uniqueConstraints = {
         @UniqueConstraint(
-            name = "uk_payment_idempotency_scope_key",
+            name = "uk_idempotency_scope_key",
             columnNames = {"scope", "idempotency_key"}
         )
     }
@@ -27,15 +30,45 @@ public class PaymentIdempotencyEntity {
     @Column(name = "idempotency_key", nullable = false)
     private String idempotencyKey;
 
-    @Column(name = "response_payload", nullable = false, length = 4000)
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private PaymentIdempotencyStatus status;
+
+    @Column(name = "response_status")
+    private Integer responseStatus;
+
+    @Column(name = "response_payload")
     private String responsePayload;
 
-    @Column(name = "created_at", nullable = false)
+    @Column(name = "owner_token")
+    private String ownerToken;
+
+    @Column(name = "request_hash")
+    private String requestHash;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
     private Instant createdAt;
 
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
     protected PaymentIdempotencyEntity() {
     }
 
+    public PaymentIdempotency toAggregate() {
+        return PaymentIdempotency.with(
+            PaymentIdempotencyID.from(id),
+            idempotencyKey,
+            status,
+            responseStatus,
+            responsePayload,
+            ownerToken,
+            requestHash,
+            createdAt,
+            updatedAt
+        );
+    }
+
     public Long getId() {
         return id;
     }
@@ -60,6 +93,22 @@ public class PaymentIdempotencyEntity {
         this.idempotencyKey = idempotencyKey;
     }
 
+    public PaymentIdempotencyStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(PaymentIdempotencyStatus status) {
+        this.status = status;
+    }
+
+    public Integer getResponseStatus() {
+        return responseStatus;
+    }
+
+    public void setResponseStatus(Integer responseStatus) {
+        this.responseStatus = responseStatus;
+    }
+
     public String getResponsePayload() {
         return responsePayload;
     }
@@ -68,6 +117,22 @@ public class PaymentIdempotencyEntity {
         this.responsePayload = responsePayload;
     }
 
+    public String getOwnerToken() {
+        return ownerToken;
+    }
+
+    public void setOwnerToken(String ownerToken) {
+        this.ownerToken = ownerToken;
+    }
+
+    public String getRequestHash() {
+        return requestHash;
+    }
+
+    public void setRequestHash(String requestHash) {
+        this.requestHash = requestHash;
+    }
+
     public Instant getCreatedAt() {
         return createdAt;
     }
@@ -76,9 +141,12 @@ public class PaymentIdempotencyEntity {
         this.createdAt = createdAt;
     }
 
-    @PrePersist
-    public void prePersist() {
-        this.createdAt = Instant.now();
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
     }
 
     @Override
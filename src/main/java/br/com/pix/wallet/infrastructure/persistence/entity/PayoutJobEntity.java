@@ -0,0 +1,97 @@
+package br.com.pix.wallet.infrastructure.persistence.entity;
+
+import br.com.pix.wallet.domain.payout.PayoutJob;
+import br.com.pix.wallet.domain.payout.PayoutJobStatus;
+import br.com.pix.wallet.domain.wallet.WalletID;
+import jakarta.persistence.*;
+
+import java.time.Instant;
+import java.util.Objects;
+import java.util.UUID;
+
+@Entity
+@Table(name = "payout_job")
+public class PayoutJobEntity {
+
+    @Id
+    @Column(name = "id", columnDefinition = "uuid")
+    private UUID id;
+
+    @Column(name = "from_wallet_id", nullable = false, columnDefinition = "uuid")
+    private UUID fromWalletId;
+
+    @Column(name = "file_name")
+    private String fileName;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private PayoutJobStatus status;
+
+    @Column(name = "processed_lines", nullable = false)
+    private long processedLines;
+
+    @Column(name = "created_transfers", nullable = false)
+    private long createdTransfers;
+
+    @Column(name = "rejected_lines", nullable = false)
+    private long rejectedLines;
+
+    @Column(name = "last_error")
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    protected PayoutJobEntity() {
+    }
+
+    public static PayoutJobEntity from(final PayoutJob job) {
+        final var entity = new PayoutJobEntity();
+        entity.id = job.id();
+        entity.fromWalletId = job.fromWalletId().getValue();
+        entity.fileName = job.fileName();
+        entity.status = job.status();
+        entity.processedLines = job.processedLines();
+        entity.createdTransfers = job.createdTransfers();
+        entity.rejectedLines = job.rejectedLines();
+        entity.lastError = job.lastError();
+        entity.createdAt = job.createdAt();
+        entity.updatedAt = job.updatedAt();
+        return entity;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        final PayoutJobEntity that = (PayoutJobEntity) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    public PayoutJob toAggregate() {
+        return new PayoutJob(
+            this.id,
+            WalletID.from(this.fromWalletId),
+            this.fileName,
+            this.status,
+            this.processedLines,
+            this.createdTransfers,
+            this.rejectedLines,
+            this.lastError,
+            this.createdAt,
+            this.updatedAt
+        );
+    }
+}
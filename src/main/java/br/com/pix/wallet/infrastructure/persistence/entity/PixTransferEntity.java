@@ -5,16 +5,17 @@ import br.com.pix.wallet.domain.pix.transfer.PixTransferID;
 import br.com.pix.wallet.domain.pix.transfer.PixTransferStatus;
 import br.com.pix.wallet.domain.common.Money;
 import br.com.pix.wallet.domain.wallet.WalletID;
+import br.com.pix.wallet.infrastructure.persistence.converter.MoneyConverter;
 import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
 
-import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.Objects;
 import java.util.UUID;
 
 @Entity
 @Table(name = "pix_transfer")
-public class PixTransferEntity {
+public class PixTransferEntity implements Persistable<UUID> {
 
     @Id
     @Column(name = "id", columnDefinition = "uuid")
@@ -29,23 +30,27 @@ public class PixTransferEntity {
     @Column(name = "to_wallet_id", nullable = false, columnDefinition = "uuid")
     private UUID toWalletId;
 
+    @Convert(converter = MoneyConverter.class)
     @Column(name = "amount", nullable = false)
-    private BigDecimal amount;
+    private Money amount;
 
     @Enumerated(EnumType.STRING)
     @Column(name = "status", nullable = false)
     private PixTransferStatus status;
 
-    @Column(name = "idempotency_key", nullable = false)
+    @Column(name = "idempotency_key", nullable = false, unique = true)
     private String idempotencyKey;
 
     @Column(name = "created_at", nullable = false, updatable = false)
     private Instant createdAt;
 
+    @Transient
+    private boolean isNew;
+
     protected PixTransferEntity() {
     }
 
-
+    @Override
     public UUID getId() {
         return id;
     }
@@ -78,11 +83,11 @@ public class PixTransferEntity {
         this.toWalletId = toWalletId;
     }
 
-    public BigDecimal getAmount() {
+    public Money getAmount() {
         return amount;
     }
 
-    public void setAmount(BigDecimal amount) {
+    public void setAmount(Money amount) {
         this.amount = amount;
     }
 
@@ -110,6 +115,17 @@ public class PixTransferEntity {
         this.createdAt = createdAt;
     }
 
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
     @Override
     public boolean equals(final Object o) {
         if (this == o) return true;
@@ -134,19 +150,25 @@ public class PixTransferEntity {
         entity.endToEndId = transfer.getEndToEndId();
         entity.fromWalletId = transfer.getFromWalletId().getValue();
         entity.toWalletId = transfer.getToWalletId().getValue();
-        entity.amount = transfer.getAmount().getAmount();
+        entity.amount = transfer.getAmount();
         entity.status = transfer.getStatus();
         entity.idempotencyKey = transfer.getIdempotencyKey();
         entity.createdAt = transfer.getCreatedAt();
         return entity;
     }
 
+    public static PixTransferEntity newEntity(final PixTransfer transfer) {
+        final var entity = from(transfer);
+        entity.isNew = true;
+        return entity;
+    }
+
     public PixTransfer toAggregate() {
         return PixTransfer.with(
             PixTransferID.from(this.id),
             WalletID.from(this.fromWalletId),
             WalletID.from(this.toWalletId),
-            Money.of(this.amount),
+            this.amount,
             this.status,
             this.endToEndId,
             this.idempotencyKey,
@@ -0,0 +1,93 @@
+package br.com.pix.wallet.infrastructure.persistence.entity;
+
+import br.com.pix.wallet.domain.pix.webhook.PixWebhookEvent;
+import br.com.pix.wallet.domain.pix.webhook.PixWebhookEventID;
+import br.com.pix.wallet.domain.pix.webhook.PixWebhookEventType;
+import br.com.pix.wallet.domain.pix.webhook.PixWebhookInboxEntry;
+import jakarta.persistence.*;
+
+import java.time.Instant;
+import java.util.Objects;
+import java.util.UUID;
+
+@Entity
+@Table(name = "webhook_inbox")
+public class PixWebhookInboxEntity {
+
+    @Id
+    @Column(name = "event_id")
+    private String eventId;
+
+    @Column(name = "webhook_event_id", columnDefinition = "uuid", nullable = false)
+    private UUID webhookEventId;
+
+    @Column(name = "end_to_end_id", nullable = false)
+    private String endToEndId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false)
+    private PixWebhookEventType eventType;
+
+    @Column(name = "occurred_at", nullable = false)
+    private Instant occurredAt;
+
+    @Column(name = "received_at", nullable = false)
+    private Instant receivedAt;
+
+    @Column(name = "processed_at")
+    private Instant processedAt;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "last_error")
+    private String lastError;
+
+    protected PixWebhookInboxEntity() {
+    }
+
+    public String getEventId() {
+        return eventId;
+    }
+
+    public Instant getReceivedAt() {
+        return receivedAt;
+    }
+
+    public Instant getProcessedAt() {
+        return processedAt;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        final PixWebhookInboxEntity that = (PixWebhookInboxEntity) o;
+        return Objects.equals(eventId, that.eventId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(eventId);
+    }
+
+    public PixWebhookInboxEntry toEntry() {
+        final var event = PixWebhookEvent.with(
+            PixWebhookEventID.from(this.webhookEventId),
+            this.eventId,
+            this.endToEndId,
+            this.eventType,
+            this.occurredAt,
+            this.receivedAt
+        );
+        return PixWebhookInboxEntry.of(event, this.receivedAt);
+    }
+}
@@ -0,0 +1,70 @@
+package br.com.pix.wallet.infrastructure.persistence.entity;
+
+import br.com.pix.wallet.domain.common.Money;
+import br.com.pix.wallet.infrastructure.persistence.converter.MoneyConverter;
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.UUID;
+
+@Entity
+@Table(name = "wallet_balance_slot")
+@IdClass(WalletBalanceSlotEntity.Key.class)
+public class WalletBalanceSlotEntity {
+
+    @Id
+    @Column(name = "wallet_id", columnDefinition = "uuid")
+    private UUID walletId;
+
+    @Id
+    @Column(name = "slot")
+    private Integer slot;
+
+    @Convert(converter = MoneyConverter.class)
+    @Column(name = "balance", nullable = false)
+    private Money balance;
+
+    protected WalletBalanceSlotEntity() {
+    }
+
+    public static WalletBalanceSlotEntity empty(final UUID walletId, final int slot) {
+        final var entity = new WalletBalanceSlotEntity();
+        entity.walletId = walletId;
+        entity.slot = slot;
+        entity.balance = Money.zero();
+        return entity;
+    }
+
+    public UUID getWalletId() {
+        return walletId;
+    }
+
+    public Integer getSlot() {
+        return slot;
+    }
+
+    public Money getBalance() {
+        return balance;
+    }
+
+    public void setBalance(final Money balance) {
+        this.balance = balance;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        final WalletBalanceSlotEntity that = (WalletBalanceSlotEntity) o;
+        return Objects.equals(walletId, that.walletId) && Objects.equals(slot, that.slot);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(walletId, slot);
+    }
+
+    public record Key(UUID walletId, Integer slot) implements Serializable {
+    }
+}
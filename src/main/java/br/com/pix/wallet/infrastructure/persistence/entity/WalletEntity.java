@@ -4,9 +4,9 @@ import br.com.pix.wallet.domain.common.Money;
 import br.com.pix.wallet.domain.wallet.Wallet;
 import br.com.pix.wallet.domain.wallet.WalletID;
 import br.com.pix.wallet.domain.wallet.WalletStatus;
+import br.com.pix.wallet.infrastructure.persistence.converter.MoneyConverter;
 import jakarta.persistence.*;
 
-import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.Objects;
 import java.util.UUID;
@@ -22,13 +22,17 @@ public class WalletEntity {
     @Column(name = "owner_id", nullable = false, unique = true)
     private String ownerId;
 
+    @Convert(converter = MoneyConverter.class)
     @Column(name = "current_balance", nullable = false)
-    private BigDecimal currentBalance;
+    private Money currentBalance;
 
     @Enumerated(EnumType.STRING)
     @Column(name = "status", nullable = false)
     private WalletStatus status;
 
+    @Column(name = "balance_slots", nullable = false)
+    private int balanceSlots;
+
     @Version
     private Long version;
 
@@ -57,11 +61,11 @@ public class WalletEntity {
         this.ownerId = ownerId;
     }
 
-    public BigDecimal getCurrentBalance() {
+    public Money getCurrentBalance() {
         return currentBalance;
     }
 
-    public void setCurrentBalance(final BigDecimal currentBalance) {
+    public void setCurrentBalance(final Money currentBalance) {
         this.currentBalance = currentBalance;
     }
 
@@ -73,6 +77,10 @@ public class WalletEntity {
         this.status = status;
     }
 
+    public int getBalanceSlots() {
+        return balanceSlots;
+    }
+
     public Long getVersion() {
         return version;
     }
@@ -103,7 +111,7 @@ public class WalletEntity {
         this.createdAt = Instant.now();
         this.updatedAt = Instant.now();
         if (this.currentBalance == null) {
-            this.currentBalance = BigDecimal.ZERO;
+            this.currentBalance = Money.zero();
         }
         if (this.status == null) {
             this.status = WalletStatus.ACTIVE;
@@ -121,8 +129,9 @@ public class WalletEntity {
             entity.id = wallet.getId().getValue();
         }
         entity.ownerId = wallet.getOwnerId();
-        entity.currentBalance = wallet.getCurrentBalance().getAmount();
+        entity.currentBalance = wallet.getCurrentBalance();
         entity.status = wallet.getStatus();
+        entity.balanceSlots = wallet.getBalanceSlots();
         return entity;
     }
 
@@ -130,15 +139,17 @@ public class WalletEntity {
         return Wallet.with(
             WalletID.from(this.id),
             this.ownerId,
-            Money.of(this.currentBalance),
-            this.status
+            this.currentBalance,
+            this.status,
+            this.balanceSlots
         );
     }
 
     public WalletEntity updateFrom(final Wallet wallet) {
         this.ownerId = wallet.getOwnerId();
-        this.currentBalance = wallet.getCurrentBalance().getAmount();
+        this.currentBalance = wallet.getCurrentBalance();
         this.status = wallet.getStatus();
+        this.balanceSlots = wallet.getBalanceSlots();
         return this;
     }
 }
@@ -0,0 +1,42 @@
+package br.com.pix.wallet.infrastructure.persistence.gateway;
+
+import br.com.pix.wallet.domain.ledger.BalanceCheckpoint;
+import br.com.pix.wallet.domain.ledger.BalanceCheckpointGateway;
+import br.com.pix.wallet.domain.wallet.WalletID;
+import br.com.pix.wallet.infrastructure.persistence.entity.LedgerBalanceCheckpointEntity;
+import br.com.pix.wallet.infrastructure.persistence.repository.LedgerBalanceCheckpointJpaRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Optional;
+
+@Component
+public class BalanceCheckpointGatewayImpl implements BalanceCheckpointGateway {
+
+    private final LedgerBalanceCheckpointJpaRepository ledgerBalanceCheckpointJpaRepository;
+
+    public BalanceCheckpointGatewayImpl(final LedgerBalanceCheckpointJpaRepository ledgerBalanceCheckpointJpaRepository) {
+        this.ledgerBalanceCheckpointJpaRepository = ledgerBalanceCheckpointJpaRepository;
+    }
+
+    @Override
+    @Transactional
+    public BalanceCheckpoint save(final BalanceCheckpoint checkpoint) {
+        ledgerBalanceCheckpointJpaRepository.save(LedgerBalanceCheckpointEntity.from(checkpoint));
+        return checkpoint;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<BalanceCheckpoint> findLastAtOrBefore(final WalletID walletId, final Instant at) {
+        return ledgerBalanceCheckpointJpaRepository.findLastAtOrBefore(walletId.getValue(), at)
+            .map(LedgerBalanceCheckpointEntity::toAggregate);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Instant> findLatestCheckpointAt() {
+        return ledgerBalanceCheckpointJpaRepository.findLatestCheckpointAt();
+    }
+}
@@ -1,20 +1,30 @@
 package br.com.pix.wallet.infrastructure.persistence.gateway;
 
+import br.com.pix.wallet.domain.ledger.LedgerCursor;
 import br.com.pix.wallet.domain.ledger.LedgerGateway;
 import br.com.pix.wallet.domain.ledger.LedgerEntry;
+import br.com.pix.wallet.domain.ledger.LedgerOperationType;
 import br.com.pix.wallet.domain.wallet.WalletID;
 import br.com.pix.wallet.infrastructure.persistence.entity.LedgerEntryEntity;
 import br.com.pix.wallet.infrastructure.persistence.repository.LedgerEntryJpaRepository;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Component
 public class LedgerGatewayImpl implements LedgerGateway {
 
+    private static final List<String> CREDITS = Stream.of(
+        LedgerOperationType.DEPOSIT,
+        LedgerOperationType.PIX_CREDIT,
+        LedgerOperationType.REFUND
+    ).map(Enum::name).toList();
+
     private final LedgerEntryJpaRepository ledgerEntryJpaRepository;
 
     public LedgerGatewayImpl(final LedgerEntryJpaRepository ledgerEntryJpaRepository) {
@@ -29,28 +39,61 @@ public class LedgerGatewayImpl implements LedgerGateway {
         return saved.toAggregate();
     }
 
+    @Override
+    @Transactional
+    public List<LedgerEntry> saveAll(final List<LedgerEntry> entries) {
+        // Os INSERTs saem agrupados no flush (hibernate.jdbc.batch_size + order_inserts).
+        ledgerEntryJpaRepository.saveAll(entries.stream().map(LedgerEntryEntity::from).toList());
+        return entries;
+    }
+
     @Override
     @Transactional(readOnly = true)
-    public List<LedgerEntry> findByWalletId(final WalletID walletId) {
-        return ledgerEntryJpaRepository.findAllByWallet(walletId.getValue())
-            .stream()
-            .map(LedgerEntryEntity::toAggregate)
-            .toList();
+    public Optional<LedgerEntry> findLastEntryBefore(final WalletID walletID, final Instant before) {
+        return ledgerEntryJpaRepository.findLastBefore(walletID.getValue(), before)
+            .map(LedgerEntryEntity::toAggregate);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long sumBalanceDeltaBetween(final WalletID walletId, final Instant fromExclusive, final Instant toInclusive) {
+        return ledgerEntryJpaRepository.sumBalanceDeltaBetween(walletId.getValue(), fromExclusive, toInclusive, CREDITS)
+            .movePointRight(2)
+            .longValueExact();
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<LedgerEntry> findByWalletIdAndOccurredAtBefore(final WalletID walletId, final Instant at) {
-        return ledgerEntryJpaRepository.findAllBefore(walletId.getValue(), at)
+    public long countBetween(final WalletID walletId, final Instant fromExclusive, final Instant toInclusive) {
+        return ledgerEntryJpaRepository.countBetween(walletId.getValue(), fromExclusive, toInclusive);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<WalletID> findWalletIdsWithEntriesBetween(final Instant fromExclusive, final Instant toInclusive) {
+        return ledgerEntryJpaRepository.findWalletIdsBetween(fromExclusive, toInclusive)
             .stream()
-            .map(LedgerEntryEntity::toAggregate)
+            .map(WalletID::from)
             .toList();
     }
 
     @Override
     @Transactional(readOnly = true)
-    public Optional<LedgerEntry> findLastEntryBefore(final WalletID walletID, final Instant before) {
-        return ledgerEntryJpaRepository.findLastBefore(walletID.getValue(), before)
-            .map(LedgerEntryEntity::toAggregate);
+    public List<LedgerEntry> findPageAfter(
+        final WalletID walletId,
+        final LedgerCursor after,
+        final Instant toInclusive,
+        final int limit
+    ) {
+        return ledgerEntryJpaRepository.findPageAfter(
+                walletId.getValue(),
+                after.getOccurredAt(),
+                after.getEntryId().getValue(),
+                toInclusive,
+                Limit.of(limit)
+            )
+            .stream()
+            .map(LedgerEntryEntity::toAggregate)
+            .toList();
     }
 }
@@ -0,0 +1,99 @@
+package br.com.pix.wallet.infrastructure.persistence.gateway;
+
+import br.com.pix.wallet.domain.ledger.LedgerEntry;
+import br.com.pix.wallet.domain.ledger.LedgerEntryID;
+import br.com.pix.wallet.domain.outbox.OutboxGateway;
+import br.com.pix.wallet.infrastructure.persistence.entity.OutboxEventEntity;
+import br.com.pix.wallet.infrastructure.persistence.repository.OutboxEventJpaRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Component
+public class OutboxGatewayImpl implements OutboxGateway {
+
+    private static final String APPEND = """
+        INSERT INTO outbox_event (id, wallet_id, end_to_end_id, operation_type, amount, balance_after_operation, occurred_at)
+        VALUES (?, ?, ?, ?, ?, ?, ?)
+        """;
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final OutboxEventJpaRepository repository;
+    private final JdbcTemplate jdbcTemplate;
+
+    public OutboxGatewayImpl(
+        final OutboxEventJpaRepository repository,
+        final JdbcTemplate jdbcTemplate
+    ) {
+        this.repository = repository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // MANDATORY: fora da transação do ledger o outbox deixaria de ser atômico com os lançamentos
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void appendAll(final List<LedgerEntry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(APPEND, entries, entries.size(), (ps, entry) -> {
+            ps.setObject(1, entry.getId().getValue());
+            ps.setObject(2, entry.getWalletId().getValue());
+            ps.setString(3, entry.getEndToEndId());
+            ps.setString(4, entry.getOperationType().name());
+            ps.setBigDecimal(5, entry.getAmount().getAmount());
+            ps.setBigDecimal(6, entry.getBalanceAfterOperation().getAmount());
+            ps.setTimestamp(7, Timestamp.from(entry.getOccurredAt()));
+        });
+    }
+
+    @Override
+    @Transactional
+    public List<LedgerEntry> lockPending(final int maxAttempts, final int limit) {
+        return repository.lockPending(maxAttempts, limit).stream()
+            .map(OutboxEventEntity::toAggregate)
+            .toList();
+    }
+
+    @Override
+    @Transactional
+    public void markPublished(final Collection<LedgerEntryID> ids, final Instant publishedAt) {
+        if (!ids.isEmpty()) {
+            repository.markPublished(ids.stream().map(LedgerEntryID::getValue).toList(), publishedAt);
+        }
+    }
+
+    @Override
+    @Transactional
+    public void markFailed(final Collection<LedgerEntryID> ids, final String error) {
+        if (!ids.isEmpty()) {
+            final var message = error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+            repository.markFailed(ids.stream().map(LedgerEntryID::getValue).toList(), message);
+        }
+    }
+
+    @Override
+    @Transactional
+    public int deletePublishedBefore(final Instant publishedBefore) {
+        return repository.deletePublishedBefore(publishedBefore);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Instant> findOldestPendingOccurredAt(final int maxAttempts) {
+        return repository.findOldestPendingOccurredAt(maxAttempts);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long countDeadLettered(final int maxAttempts) {
+        return repository.countDeadLettered(maxAttempts);
+    }
+}
@@ -0,0 +1,90 @@
+package br.com.pix.wallet.infrastructure.persistence.gateway;
+
+import br.com.pix.wallet.domain.idempotency.PaymentIdempotency;
+import br.com.pix.wallet.domain.idempotency.PaymentIdempotencyGateway;
+import br.com.pix.wallet.domain.idempotency.PaymentIdempotencyStatus;
+import br.com.pix.wallet.infrastructure.persistence.entity.PaymentIdempotencyEntity;
+import br.com.pix.wallet.infrastructure.persistence.repository.IdempotencyJpaRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Optional;
+
+@Component
+public class PaymentIdempotencyGatewayImpl implements PaymentIdempotencyGateway {
+
+    private final IdempotencyJpaRepository idempotencyJpaRepository;
+
+    public PaymentIdempotencyGatewayImpl(final IdempotencyJpaRepository idempotencyJpaRepository) {
+        this.idempotencyJpaRepository = idempotencyJpaRepository;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<PaymentIdempotency> findByKeyAndScope(final String key, final String scope) {
+        return idempotencyJpaRepository.findByScopeAndIdempotencyKey(scope, key)
+            .map(PaymentIdempotencyEntity::toAggregate);
+    }
+
+    @Override
+    @Transactional
+    public boolean reserve(final String scope, final PaymentIdempotency paymentIdempotency, final Instant staleBefore) {
+        final var key = paymentIdempotency.getKey();
+        final var now = paymentIdempotency.getCreatedAt();
+        final var ownerToken = paymentIdempotency.getOwnerToken();
+        final var requestHash = paymentIdempotency.getRequestHash();
+        if (idempotencyJpaRepository.insertIfAbsent(scope, key, ownerToken, requestHash, now) == 1) {
+            return true;
+        }
+        return idempotencyJpaRepository.takeOverStale(
+            scope,
+            key,
+            PaymentIdempotencyStatus.IN_PROGRESS,
+            staleBefore,
+            ownerToken,
+            requestHash,
+            now
+        ) == 1;
+    }
+
+    // Falso quando a reserva foi retomada por outra requisição: a resposta desta não é registrada
+    @Override
+    @Transactional
+    public boolean complete(final String scope, final PaymentIdempotency paymentIdempotency) {
+        return idempotencyJpaRepository.complete(
+            scope,
+            paymentIdempotency.getKey(),
+            paymentIdempotency.getOwnerToken(),
+            paymentIdempotency.getStatus(),
+            paymentIdempotency.getResponseStatus(),
+            paymentIdempotency.getResponsePayload(),
+            paymentIdempotency.getUpdatedAt()
+        ) == 1;
+    }
+
+    // Só a reserva em andamento muda: uma resposta já registrada continua valendo
+    @Override
+    @Transactional
+    public void markUnknown(final String scope, final PaymentIdempotency paymentIdempotency) {
+        idempotencyJpaRepository.markUnknown(
+            scope,
+            paymentIdempotency.getKey(),
+            paymentIdempotency.getOwnerToken(),
+            PaymentIdempotencyStatus.IN_PROGRESS,
+            PaymentIdempotencyStatus.UNKNOWN,
+            paymentIdempotency.getUpdatedAt()
+        );
+    }
+
+    @Override
+    @Transactional
+    public void release(final String scope, final PaymentIdempotency paymentIdempotency) {
+        idempotencyJpaRepository.deleteByScopeAndIdempotencyKeyAndStatusAndOwnerToken(
+            scope,
+            paymentIdempotency.getKey(),
+            PaymentIdempotencyStatus.IN_PROGRESS,
+            paymentIdempotency.getOwnerToken()
+        );
+    }
+}
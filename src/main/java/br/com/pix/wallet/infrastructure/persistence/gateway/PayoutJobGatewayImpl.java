@@ -0,0 +1,109 @@
+package br.com.pix.wallet.infrastructure.persistence.gateway;
+
+import br.com.pix.wallet.domain.payout.PayoutJob;
+import br.com.pix.wallet.domain.payout.PayoutJobGateway;
+import br.com.pix.wallet.domain.payout.PayoutJobStatus;
+import br.com.pix.wallet.domain.payout.PayoutRejection;
+import br.com.pix.wallet.infrastructure.persistence.entity.PayoutJobEntity;
+import br.com.pix.wallet.infrastructure.persistence.repository.PayoutJobJpaRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Component
+public class PayoutJobGatewayImpl implements PayoutJobGateway {
+
+    private static final String APPEND_REJECTION = """
+        INSERT INTO payout_job_rejection (job_id, line_number, idempotency_key, message)
+        VALUES (?, ?, ?, ?)
+        """;
+    private static final String FIND_REJECTIONS = """
+        SELECT line_number, idempotency_key, message FROM payout_job_rejection
+        WHERE job_id = ? AND line_number > ?
+        ORDER BY line_number
+        LIMIT ?
+        """;
+    private static final int MAX_MESSAGE_LENGTH = 500;
+
+    private final PayoutJobJpaRepository repository;
+    private final JdbcTemplate jdbcTemplate;
+
+    public PayoutJobGatewayImpl(
+        final PayoutJobJpaRepository repository,
+        final JdbcTemplate jdbcTemplate
+    ) {
+        this.repository = repository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    @Transactional
+    public PayoutJob create(final PayoutJob job) {
+        return repository.save(PayoutJobEntity.from(job)).toAggregate();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<PayoutJob> findById(final UUID id) {
+        return repository.findById(id).map(PayoutJobEntity::toAggregate);
+    }
+
+    @Override
+    @Transactional
+    public boolean advance(
+        final UUID id,
+        final long expectedProcessedLines,
+        final long processedLines,
+        final long createdTransfers,
+        final long rejectedLines,
+        final List<PayoutRejection> rejections
+    ) {
+        final var updated = repository.advance(
+            id,
+            expectedProcessedLines,
+            processedLines,
+            createdTransfers,
+            rejectedLines,
+            Instant.now()
+        );
+        if (updated == 0) {
+            return false;
+        }
+        if (!rejections.isEmpty()) {
+            jdbcTemplate.batchUpdate(APPEND_REJECTION, rejections, rejections.size(), (ps, rejection) -> {
+                ps.setObject(1, id);
+                ps.setLong(2, rejection.lineNumber());
+                ps.setString(3, rejection.idempotencyKey());
+                ps.setString(4, truncate(rejection.message()));
+            });
+        }
+        return true;
+    }
+
+    @Override
+    @Transactional
+    public void updateStatus(final UUID id, final PayoutJobStatus status, final String lastError) {
+        repository.updateStatus(id, status, lastError == null ? null : truncate(lastError), Instant.now());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<PayoutRejection> findRejections(final UUID id, final long afterLine, final int limit) {
+        return jdbcTemplate.query(
+            FIND_REJECTIONS,
+            (rs, rowNum) -> PayoutRejection.of(rs.getLong(1), rs.getString(2), rs.getString(3)),
+            id,
+            afterLine,
+            limit
+        );
+    }
+
+    private static String truncate(final String message) {
+        return message.length() > MAX_MESSAGE_LENGTH ? message.substring(0, MAX_MESSAGE_LENGTH) : message;
+    }
+}
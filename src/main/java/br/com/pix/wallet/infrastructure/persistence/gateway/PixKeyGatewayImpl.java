@@ -7,9 +7,16 @@ import br.com.pix.wallet.infrastructure.persistence.repository.PixKeyJpaReposito
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+
 @Component
 public class PixKeyGatewayImpl implements PixKeyGateway {
 
+    private static final int IN_CLAUSE_CHUNK_SIZE = 1000;
+
     private final PixKeyJpaRepository pixKeyJpaRepository;
 
     public PixKeyGatewayImpl(final PixKeyJpaRepository pixKeyJpaRepository) {
@@ -29,4 +36,16 @@ public class PixKeyGatewayImpl implements PixKeyGateway {
     public boolean existsByKeyValue(final String keyValue) {
         return pixKeyJpaRepository.existsByKeyValue(keyValue);
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<PixKey> findAllByKeyValues(final Collection<String> keyValues) {
+        final var distinct = List.copyOf(new LinkedHashSet<>(keyValues));
+        final var keys = new ArrayList<PixKey>(distinct.size());
+        for (int from = 0; from < distinct.size(); from += IN_CLAUSE_CHUNK_SIZE) {
+            pixKeyJpaRepository.findAllByKeyValueIn(distinct.subList(from, Math.min(from + IN_CLAUSE_CHUNK_SIZE, distinct.size())))
+                .forEach(entity -> keys.add(entity.toAggregate()));
+        }
+        return keys;
+    }
 }
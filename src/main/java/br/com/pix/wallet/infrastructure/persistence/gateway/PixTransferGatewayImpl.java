@@ -2,20 +2,52 @@ package br.com.pix.wallet.infrastructure.persistence.gateway;
 
 import br.com.pix.wallet.domain.pix.transfer.PixTransferGateway;
 import br.com.pix.wallet.domain.pix.transfer.PixTransfer;
+import br.com.pix.wallet.domain.pix.transfer.PixTransferStatus;
+import br.com.pix.wallet.infrastructure.idempotency.IdempotencyKeyIndex;
 import br.com.pix.wallet.infrastructure.persistence.entity.PixTransferEntity;
 import br.com.pix.wallet.infrastructure.persistence.repository.PixTransferJpaRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 
 @Component
 public class PixTransferGatewayImpl implements PixTransferGateway {
 
+    private static final Logger log = LoggerFactory.getLogger(PixTransferGatewayImpl.class);
+    // Mantém cada IN bem abaixo do limite de 32767 parâmetros do protocolo do PostgreSQL
+    private static final int IN_CLAUSE_CHUNK_SIZE = 1000;
+
     private final PixTransferJpaRepository pixTransferJpaRepository;
+    private final IdempotencyKeyIndex idempotencyKeyIndex;
+    private final Duration warmUpWindow;
 
-    public PixTransferGatewayImpl(final PixTransferJpaRepository pixTransferJpaRepository) {
+    public PixTransferGatewayImpl(
+        final PixTransferJpaRepository pixTransferJpaRepository,
+        @Value("${pix-wallet.idempotency.expected-keys:1000000}") final long expectedKeys,
+        @Value("${pix-wallet.idempotency.false-positive-rate:0.01}") final double falsePositiveRate,
+        @Value("${pix-wallet.idempotency.recent-keys-size:100000}") final long recentKeysSize,
+        @Value("${pix-wallet.idempotency.warm-up-window-hours:168}") final long warmUpWindowHours
+    ) {
         this.pixTransferJpaRepository = pixTransferJpaRepository;
+        this.warmUpWindow = Duration.ofHours(warmUpWindowHours);
+        this.idempotencyKeyIndex = new IdempotencyKeyIndex(expectedKeys, falsePositiveRate, recentKeysSize, warmUpWindow);
     }
 
     @Override
@@ -23,9 +55,27 @@ public class PixTransferGatewayImpl implements PixTransferGateway {
     public PixTransfer save(final PixTransfer transfer) {
         final var entity = PixTransferEntity.from(transfer);
         final var saved = pixTransferJpaRepository.save(entity);
+        registerIdempotencyKey(saved.getIdempotencyKey());
         return saved.toAggregate();
     }
 
+    @Override
+    @Transactional
+    public PixTransfer create(final PixTransfer transfer) {
+        pixTransferJpaRepository.save(PixTransferEntity.newEntity(transfer));
+        registerIdempotencyKey(transfer.getIdempotencyKey());
+        return transfer;
+    }
+
+    @Override
+    @Transactional
+    public List<PixTransfer> createAll(final List<PixTransfer> transfers) {
+        // Os INSERTs saem agrupados no flush (hibernate.jdbc.batch_size + order_inserts).
+        pixTransferJpaRepository.saveAll(transfers.stream().map(PixTransferEntity::newEntity).toList());
+        transfers.forEach(transfer -> registerIdempotencyKey(transfer.getIdempotencyKey()));
+        return transfers;
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Optional<PixTransfer> findByEndToEndId(final String endToEndId) {
@@ -33,9 +83,126 @@ public class PixTransferGatewayImpl implements PixTransferGateway {
                 .map(PixTransferEntity::toAggregate);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public boolean existsByEndToEndId(final String endToEndId) {
+        return pixTransferJpaRepository.existsByEndToEndId(endToEndId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Set<String> findExistingEndToEndIds(final Collection<String> endToEndIds) {
+        return findExisting(endToEndIds, pixTransferJpaRepository::findExistingEndToEndIds);
+    }
+
+    @Override
+    @Transactional
+    public List<PixTransfer> lockByEndToEndIds(
+        final Collection<String> endToEndIds,
+        final Collection<PixTransferStatus> statuses
+    ) {
+        if (endToEndIds.isEmpty() || statuses.isEmpty()) {
+            return List.of();
+        }
+        return pixTransferJpaRepository.findAllByEndToEndIdForUpdate(
+                endToEndIds,
+                statuses.stream().map(Enum::name).toList()
+            ).stream()
+            .map(PixTransferEntity::toAggregate)
+            .toList();
+    }
+
+    @Override
+    @Transactional
+    public int updateStatus(
+        final Collection<String> endToEndIds,
+        final Collection<PixTransferStatus> from,
+        final PixTransferStatus to
+    ) {
+        if (endToEndIds.isEmpty() || from.isEmpty()) {
+            return 0;
+        }
+        return pixTransferJpaRepository.updateStatus(endToEndIds, from, to);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public boolean existsByIdempotencyKey(final String idempotencyKey) {
-        return pixTransferJpaRepository.existsByIdempotencyKey(idempotencyKey);
+        if (idempotencyKeyIndex.isKnown(idempotencyKey)) {
+            return true;
+        }
+        if (idempotencyKeyIndex.isDefinitelyAbsent(idempotencyKey)) {
+            return false;
+        }
+        final boolean exists = pixTransferJpaRepository.existsByIdempotencyKey(idempotencyKey);
+        if (exists) {
+            idempotencyKeyIndex.remember(idempotencyKey);
+        }
+        return exists;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Set<String> findExistingIdempotencyKeys(final Collection<String> idempotencyKeys) {
+        final var existing = new HashSet<String>();
+        final var unknown = new ArrayList<String>();
+        for (final var key : idempotencyKeys) {
+            if (idempotencyKeyIndex.isKnown(key)) {
+                existing.add(key);
+            } else {
+                unknown.add(key);
+            }
+        }
+
+        // O filtro não vê chaves gravadas por outras instâncias nem anteriores ao aquecimento. Um falso
+        // negativo aqui derrubaria o lote inteiro na unique constraint, então o lote sempre consulta o banco.
+        final var found = findExisting(unknown, pixTransferJpaRepository::findExistingIdempotencyKeys);
+        found.forEach(idempotencyKeyIndex::remember);
+        existing.addAll(found);
+        return existing;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void warmUpIdempotencyKeys() {
+        final var since = Instant.now().minus(warmUpWindow);
+        try (final var keys = pixTransferJpaRepository.streamIdempotencyKeysCreatedSince(since)) {
+            keys.forEach(idempotencyKeyIndex::register);
+        }
+        idempotencyKeyIndex.markWarmedUp();
+        log.info("Idempotency key filter warmed up with keys created since {}", since);
+    }
+
+    private static Set<String> findExisting(
+        final Collection<String> values,
+        final Function<Collection<String>, Set<String>> query
+    ) {
+        if (values.isEmpty()) {
+            return Set.of();
+        }
+        final var distinct = List.copyOf(new LinkedHashSet<>(values));
+        if (distinct.size() <= IN_CLAUSE_CHUNK_SIZE) {
+            return query.apply(distinct);
+        }
+        final var existing = new HashSet<String>();
+        for (int from = 0; from < distinct.size(); from += IN_CLAUSE_CHUNK_SIZE) {
+            existing.addAll(query.apply(distinct.subList(from, Math.min(from + IN_CLAUSE_CHUNK_SIZE, distinct.size()))));
+        }
+        return existing;
+    }
+
+    // O filtro recebe a chave de imediato; o cache de positivos só após o commit
+    private void registerIdempotencyKey(final String idempotencyKey) {
+        idempotencyKeyIndex.register(idempotencyKey);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            idempotencyKeyIndex.remember(idempotencyKey);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                idempotencyKeyIndex.remember(idempotencyKey);
+            }
+        });
     }
 }
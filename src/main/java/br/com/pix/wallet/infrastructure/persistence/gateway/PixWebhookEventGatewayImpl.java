@@ -4,18 +4,39 @@ import br.com.pix.wallet.domain.pix.webhook.PixWebhookEventGateway;
 import br.com.pix.wallet.domain.pix.webhook.PixWebhookEvent;
 import br.com.pix.wallet.infrastructure.persistence.entity.PixWebhookEventEntity;
 import br.com.pix.wallet.infrastructure.persistence.repository.PixWebhookEventJpaRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Component
 public class PixWebhookEventGatewayImpl implements PixWebhookEventGateway {
 
+    // Sem alvo no ON CONFLICT para rodar também no H2 em modo PostgreSQL; o id é aleatório, então só o event_id conflita
+    private static final String INSERT_IGNORING_DUPLICATES = """
+        INSERT INTO pix_webhook_event (id, event_id, end_to_end_id, event_type, occurred_at, processed_at)
+        VALUES (?, ?, ?, ?, ?, ?)
+        ON CONFLICT DO NOTHING
+        """;
+
+    // Um único parâmetro (array) em vez de um IN com N placeholders: o mesmo statement serve para qualquer tamanho de lote
+    private static final String FIND_EXISTING_EVENT_IDS = "SELECT event_id FROM pix_webhook_event WHERE event_id = ANY(?)";
+
     private final PixWebhookEventJpaRepository repository;
+    private final JdbcTemplate jdbcTemplate;
 
-    public PixWebhookEventGatewayImpl(final PixWebhookEventJpaRepository repository) {
+    public PixWebhookEventGatewayImpl(
+        final PixWebhookEventJpaRepository repository,
+        final JdbcTemplate jdbcTemplate
+    ) {
         this.repository = repository;
+        this.jdbcTemplate = jdbcTemplate;
     }
 
     @Override
@@ -38,4 +59,37 @@ public class PixWebhookEventGatewayImpl implements PixWebhookEventGateway {
     public boolean existsByEventId(final String eventId) {
         return repository.existsByEventId(eventId);
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Set<String> findExistingEventIds(final Collection<String> eventIds) {
+        if (eventIds.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(jdbcTemplate.query(
+            connection -> {
+                final var statement = connection.prepareStatement(FIND_EXISTING_EVENT_IDS);
+                statement.setArray(1, connection.createArrayOf("varchar", eventIds.toArray()));
+                return statement;
+            },
+            (rs, rowNum) -> rs.getString(1)
+        ));
+    }
+
+    // Um único batch JDBC; com reWriteBatchedInserts o driver envia um INSERT multi-valores
+    @Override
+    @Transactional
+    public void saveAllIgnoringDuplicates(final List<PixWebhookEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_IGNORING_DUPLICATES, events, events.size(), (ps, event) -> {
+            ps.setObject(1, event.getId().getValue());
+            ps.setString(2, event.getEventId());
+            ps.setString(3, event.getEndToEndId());
+            ps.setString(4, event.getType().name());
+            ps.setTimestamp(5, Timestamp.from(event.getOccurredAt()));
+            ps.setTimestamp(6, Timestamp.from(event.getProcessedAt()));
+        });
+    }
 }
@@ -0,0 +1,86 @@
+package br.com.pix.wallet.infrastructure.persistence.gateway;
+
+import br.com.pix.wallet.domain.pix.webhook.PixWebhookInboxEntry;
+import br.com.pix.wallet.domain.pix.webhook.PixWebhookInboxGateway;
+import br.com.pix.wallet.infrastructure.persistence.entity.PixWebhookInboxEntity;
+import br.com.pix.wallet.infrastructure.persistence.repository.PixWebhookInboxJpaRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+@Component
+public class PixWebhookInboxGatewayImpl implements PixWebhookInboxGateway {
+
+    // event_id é a chave da tabela: o ON CONFLICT sem alvo (aceito pelo H2 em modo PostgreSQL) equivale a ON CONFLICT (event_id)
+    private static final String APPEND = """
+        INSERT INTO webhook_inbox (event_id, webhook_event_id, end_to_end_id, event_type, occurred_at, received_at)
+        VALUES (?, ?, ?, ?, ?, ?)
+        ON CONFLICT DO NOTHING
+        """;
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final PixWebhookInboxJpaRepository repository;
+    private final JdbcTemplate jdbcTemplate;
+
+    public PixWebhookInboxGatewayImpl(
+        final PixWebhookInboxJpaRepository repository,
+        final JdbcTemplate jdbcTemplate
+    ) {
+        this.repository = repository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Um único batch JDBC; com reWriteBatchedInserts o driver envia um INSERT multi-valores
+    @Override
+    @Transactional
+    public void appendAll(final List<PixWebhookInboxEntry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(APPEND, entries, entries.size(), (ps, entry) -> {
+            final var event = entry.event();
+            ps.setString(1, event.getEventId());
+            ps.setObject(2, event.getId().getValue());
+            ps.setString(3, event.getEndToEndId());
+            ps.setString(4, event.getType().name());
+            ps.setTimestamp(5, Timestamp.from(event.getOccurredAt()));
+            ps.setTimestamp(6, Timestamp.from(entry.receivedAt()));
+        });
+    }
+
+    @Override
+    @Transactional
+    public List<PixWebhookInboxEntry> lockPending(final Instant receivedBefore, final int maxAttempts, final int limit) {
+        return repository.lockPending(receivedBefore, maxAttempts, limit).stream()
+            .map(PixWebhookInboxEntity::toEntry)
+            .toList();
+    }
+
+    @Override
+    @Transactional
+    public void markProcessed(final Collection<String> eventIds, final Instant processedAt) {
+        if (!eventIds.isEmpty()) {
+            repository.markProcessed(eventIds, processedAt);
+        }
+    }
+
+    @Override
+    @Transactional
+    public void markFailed(final Collection<String> eventIds, final String error) {
+        if (!eventIds.isEmpty()) {
+            final var message = error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+            repository.markFailed(eventIds, message);
+        }
+    }
+
+    @Override
+    @Transactional
+    public int deleteProcessedBefore(final Instant processedBefore) {
+        return repository.deleteProcessedBefore(processedBefore);
+    }
+}
@@ -1,21 +1,46 @@
 package br.com.pix.wallet.infrastructure.persistence.gateway;
 
+import br.com.pix.wallet.domain.common.Money;
+import br.com.pix.wallet.domain.wallet.BalanceCache;
+import br.com.pix.wallet.domain.wallet.BalanceSnapshot;
 import br.com.pix.wallet.domain.wallet.WalletGateway;
 import br.com.pix.wallet.domain.exception.NotFoundException;
 import br.com.pix.wallet.domain.wallet.Wallet;
 import br.com.pix.wallet.domain.wallet.WalletID;
+import br.com.pix.wallet.infrastructure.persistence.entity.WalletBalanceSlotEntity;
 import br.com.pix.wallet.infrastructure.persistence.entity.WalletEntity;
+import br.com.pix.wallet.infrastructure.persistence.repository.WalletBalanceSlotJpaRepository;
 import br.com.pix.wallet.infrastructure.persistence.repository.WalletJpaRepository;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
 @Component
 public class WalletGatewayImpl implements WalletGateway {
 
+    private static final int LOCK_CHUNK_SIZE = 1000;
+
     private final WalletJpaRepository walletJpaRepository;
+    private final WalletBalanceSlotJpaRepository walletBalanceSlotJpaRepository;
+    private final BalanceCache balanceCache;
 
-    public WalletGatewayImpl(final WalletJpaRepository walletJpaRepository) {
+    public WalletGatewayImpl(
+        final WalletJpaRepository walletJpaRepository,
+        final WalletBalanceSlotJpaRepository walletBalanceSlotJpaRepository,
+        final BalanceCache balanceCache
+    ) {
         this.walletJpaRepository = walletJpaRepository;
+        this.walletBalanceSlotJpaRepository = walletBalanceSlotJpaRepository;
+        this.balanceCache = balanceCache;
     }
 
     @Override
@@ -34,6 +59,52 @@ public class WalletGatewayImpl implements WalletGateway {
             .orElseThrow(() -> NotFoundException.with(Wallet.class, id.getValue()));
     }
 
+    @Override
+    @Transactional
+    public List<Wallet> lockAll(final Collection<WalletID> ids) {
+        final var distinctIds = ids.stream()
+            .map(WalletID::getValue)
+            .collect(Collectors.toCollection(LinkedHashSet::new));
+
+        final var wallets = lockExisting(ids);
+
+        if (wallets.size() != distinctIds.size()) {
+            final var found = wallets.stream()
+                .map(wallet -> wallet.getId().getValue())
+                .collect(Collectors.toSet());
+            distinctIds.stream()
+                .filter(id -> !found.contains(id))
+                .findFirst()
+                .ifPresent(id -> {
+                    throw NotFoundException.with(Wallet.class, id);
+                });
+        }
+
+        return wallets;
+    }
+
+    // Lotes grandes são travados em blocos, todos na ordem de uuid do PostgreSQL (bytes sem sinal):
+    // a ordem global continua a mesma do ORDER BY id de lockAll, então não há deadlock com transferências avulsas.
+    // Só a linha da carteira é travada; os slots ficam livres para créditos concorrentes (ver coverDebit)
+    @Override
+    @Transactional
+    public List<Wallet> lockExisting(final Collection<WalletID> ids) {
+        final var sortedIds = ids.stream()
+            .map(WalletID::getValue)
+            .distinct()
+            .sorted(WalletID.LOCK_ORDER)
+            .toList();
+
+        final var wallets = new ArrayList<Wallet>(sortedIds.size());
+        for (int from = 0; from < sortedIds.size(); from += LOCK_CHUNK_SIZE) {
+            walletJpaRepository.findAllByIdForUpdate(sortedIds.subList(from, Math.min(from + LOCK_CHUNK_SIZE, sortedIds.size())))
+                .stream()
+                .map(WalletEntity::toAggregate)
+                .forEach(wallets::add);
+        }
+        return wallets;
+    }
+
     @Override
     @Transactional
     public Wallet save(final Wallet wallet) {
@@ -41,7 +112,10 @@ public class WalletGatewayImpl implements WalletGateway {
             .findById(wallet.getId().getValue())
             .map(e -> e.updateFrom(wallet))
             .orElseGet(() -> WalletEntity.from(wallet));  // cria a entidade e deixa o Hibernate persistir
-        return walletJpaRepository.save(entity).toAggregate();
+        final var saved = walletJpaRepository.save(entity);
+        createMissingBalanceSlots(saved);
+        cacheBalance(wallet.getId(), saved.getBalanceSlots(), () -> snapshotOf(saved));
+        return saved.toAggregate();
     }
 
     @Override
@@ -49,4 +123,180 @@ public class WalletGatewayImpl implements WalletGateway {
     public boolean existsByOwnerId(final String ownerId) {
         return walletJpaRepository.existsByOwnerId(ownerId);
     }
+
+    @Override
+    @Transactional
+    public Optional<Money> debitIfSufficient(final WalletID id, final Money amount) {
+        final var debited = walletJpaRepository.debitIfSufficient(id.getValue(), amount.getAmount());
+        if (debited.isPresent()) {
+            final var update = debited.get();
+            final var balance = Money.of(update.getCurrentBalance());
+            cacheBalance(id, update.getBalanceSlots(), () -> BalanceSnapshot.of(balance, update.getVersion()));
+            return Optional.of(balance);
+        }
+
+        final var striped = walletJpaRepository.findBalanceSlotsById(id.getValue())
+            .filter(slots -> slots > 0)
+            .isPresent();
+
+        return striped ? debitSweepingSlots(id, amount) : Optional.empty();
+    }
+
+    @Override
+    @Transactional
+    public Optional<Money> credit(final WalletID id, final Money amount) {
+        final var credited = walletJpaRepository.credit(id.getValue(), amount.getAmount());
+        if (credited.isPresent()) {
+            final var update = credited.get();
+            final var balance = Money.of(update.getCurrentBalance());
+            balanceCache.update(id, () -> BalanceSnapshot.of(balance, update.getVersion()));
+            return Optional.of(balance);
+        }
+
+        // Carteira com striping: o crédito vai para um slot aleatório e não disputa a linha de wallet.
+        // FOR SHARE só conflita com débitos e consolidações (FOR UPDATE); créditos em outros slots seguem em paralelo.
+        // O saldo devolvido é a linha consolidada mais o slot creditado, ambos estáveis sob as travas desta transação:
+        // somar os demais slots seria ler créditos concorrentes sem ordem entre eles.
+        return walletJpaRepository.findBalanceByIdForShare(id.getValue())
+            .filter(settled -> settled.getBalanceSlots() > 0)
+            .map(settled -> {
+                final var slot = ThreadLocalRandom.current().nextInt(settled.getBalanceSlots());
+                final var slotBalance = walletBalanceSlotJpaRepository.credit(id.getValue(), slot, amount.getAmount())
+                    .orElseThrow(() -> new IllegalStateException("Balance slot %d not found for wallet %s".formatted(slot, id.getValue())));
+                balanceCache.invalidate(id);
+                return Money.of(settled.getCurrentBalance()).add(Money.of(slotBalance));
+            });
+    }
+
+    @Override
+    @Transactional
+    public Optional<BalanceSnapshot> applyBalanceDelta(final WalletID id, final long deltaCents) {
+        if (walletJpaRepository.applyBalanceDelta(id.getValue(), BigDecimal.valueOf(deltaCents, 2)) == 0) {
+            return Optional.empty();
+        }
+
+        final var update = walletJpaRepository.findBalanceById(id.getValue()).orElseThrow();
+        final var snapshot = BalanceSnapshot.of(Money.of(update.getCurrentBalance()), update.getVersion());
+        cacheBalance(id, update.getBalanceSlots(), () -> snapshot);
+        return Optional.of(snapshot);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Money pendingSlotBalance(final WalletID id) {
+        return Money.of(walletBalanceSlotJpaRepository.sumBalance(id.getValue()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BalanceSnapshot findBalanceSnapshot(final WalletID id) {
+        return walletJpaRepository.findById(id.getValue())
+            .map(entity -> entity.getBalanceSlots() > 0
+                ? BalanceSnapshot.unversioned(entity.getCurrentBalance()
+                    .add(Money.of(walletBalanceSlotJpaRepository.sumBalance(entity.getId()))))
+                : snapshotOf(entity))
+            .orElseThrow(() -> NotFoundException.with(Wallet.class, id.getValue()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Long> findBalanceVersion(final WalletID id) {
+        return walletJpaRepository.findVersionById(id.getValue());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<WalletID> findStripedWalletIds() {
+        return walletJpaRepository.findStripedIds().stream()
+            .map(WalletID::from)
+            .toList();
+    }
+
+    // Só um débito que a linha consolidada não cobre paga o custo de travar os slots da carteira
+    @Override
+    @Transactional
+    public void coverDebit(final Wallet wallet, final Money amount) {
+        if (!wallet.isStriped() || wallet.getCurrentBalance().compareTo(amount) >= 0) {
+            return;
+        }
+
+        final var entity = walletJpaRepository.findById(wallet.getId().getValue())
+            .orElseThrow(() -> NotFoundException.with(Wallet.class, wallet.getId().getValue()));
+        final var moved = sweepSlots(entity, amount.getCents() - wallet.getCurrentBalance().getCents());
+        if (moved.isPositive()) {
+            wallet.settlePendingCredits(moved);
+            balanceCache.invalidate(wallet.getId());
+        }
+    }
+
+    @Override
+    @Transactional
+    public void foldBalanceSlots(final WalletID id) {
+        final var entity = walletJpaRepository.findByIdForUpdate(id.getValue())
+            .orElseThrow(() -> NotFoundException.with(Wallet.class, id.getValue()));
+        if (entity.getBalanceSlots() > 0 && sweepSlots(entity, Long.MAX_VALUE).isPositive()) {
+            balanceCache.invalidate(id);
+        }
+    }
+
+    private Optional<Money> debitSweepingSlots(final WalletID id, final Money amount) {
+        final var entity = walletJpaRepository.findByIdForUpdate(id.getValue())
+            .orElseThrow(() -> NotFoundException.with(Wallet.class, id.getValue()));
+
+        sweepSlots(entity, amount.getCents() - entity.getCurrentBalance().getCents());
+
+        if (entity.getCurrentBalance().compareTo(amount) < 0) {
+            return Optional.empty();
+        }
+
+        entity.setCurrentBalance(entity.getCurrentBalance().subtract(amount));
+        balanceCache.invalidate(id);
+        return Optional.of(entity.getCurrentBalance()
+            .add(Money.of(walletBalanceSlotJpaRepository.sumBalance(id.getValue()))));
+    }
+
+    // Varre os slots só até cobrir a diferença; o restante continua distribuído.
+    // Todos os slots ficam travados até o commit, então a soma lida depois disso é estável.
+    private Money sweepSlots(final WalletEntity entity, final long shortfallCents) {
+        var moved = Money.zero();
+        for (final var slot : walletBalanceSlotJpaRepository.findAllByWalletIdForUpdate(entity.getId())) {
+            if (moved.getCents() >= shortfallCents) {
+                break;
+            }
+            moved = moved.add(slot.getBalance());
+            moveToWallet(slot, entity);
+        }
+        return moved;
+    }
+
+    // Com slots o total depende de créditos concorrentes em outros slots: invalida em vez de gravar um valor
+    private void cacheBalance(final WalletID id, final int balanceSlots, final Supplier<BalanceSnapshot> snapshot) {
+        if (balanceSlots == 0) {
+            balanceCache.update(id, snapshot);
+        } else {
+            balanceCache.invalidate(id);
+        }
+    }
+
+    private static BalanceSnapshot snapshotOf(final WalletEntity entity) {
+        return BalanceSnapshot.of(entity.getCurrentBalance(), entity.getVersion());
+    }
+
+    private void createMissingBalanceSlots(final WalletEntity entity) {
+        if (entity.getBalanceSlots() == 0) {
+            return;
+        }
+        final var existing = (int) walletBalanceSlotJpaRepository.countByWalletId(entity.getId());
+        for (int slot = existing; slot < entity.getBalanceSlots(); slot++) {
+            walletBalanceSlotJpaRepository.save(WalletBalanceSlotEntity.empty(entity.getId(), slot));
+        }
+    }
+
+    private static void moveToWallet(final WalletBalanceSlotEntity slot, final WalletEntity entity) {
+        if (slot.getBalance().isZero()) {
+            return;
+        }
+        entity.setCurrentBalance(entity.getCurrentBalance().add(slot.getBalance()));
+        slot.setBalance(Money.zero());
+    }
 }
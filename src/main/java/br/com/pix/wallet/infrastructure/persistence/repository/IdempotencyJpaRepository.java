@@ -1,11 +1,109 @@
 package br.com.pix.wallet.infrastructure.persistence.repository;
 
+import br.com.pix.wallet.domain.idempotency.PaymentIdempotencyStatus;
 import br.com.pix.wallet.infrastructure.persistence.entity.PaymentIdempotencyEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
 import java.util.Optional;
 
 public interface IdempotencyJpaRepository extends JpaRepository<PaymentIdempotencyEntity, Long> {
 
     Optional<PaymentIdempotencyEntity> findByScopeAndIdempotencyKey(String scope, String idempotencyKey);
-}
\ No newline at end of file
+
+    @Modifying
+    @Query(value = """
+        INSERT INTO idempotency_record (scope, idempotency_key, status, owner_token, request_hash, created_at, updated_at)
+        VALUES (:scope, :idempotencyKey, 'IN_PROGRESS', :ownerToken, :requestHash, :now, :now)
+        ON CONFLICT DO NOTHING
+        """, nativeQuery = true)
+    int insertIfAbsent(
+        @Param("scope") String scope,
+        @Param("idempotencyKey") String idempotencyKey,
+        @Param("ownerToken") String ownerToken,
+        @Param("requestHash") String requestHash,
+        @Param("now") Instant now
+    );
+
+    // Retoma uma reserva abandonada (ex.: instância que caiu no meio da requisição) trocando o token de dono.
+    // Só com o mesmo corpo: outro payload com a mesma chave é recusado pelo chamador.
+    @Modifying
+    @Query("""
+        UPDATE PaymentIdempotencyEntity p
+           SET p.updatedAt = :now,
+               p.ownerToken = :ownerToken,
+               p.requestHash = :requestHash
+         WHERE p.scope = :scope
+           AND p.idempotencyKey = :idempotencyKey
+           AND p.status = :status
+           AND p.updatedAt < :staleBefore
+           AND (p.requestHash IS NULL OR p.requestHash = :requestHash)
+        """)
+    int takeOverStale(
+        @Param("scope") String scope,
+        @Param("idempotencyKey") String idempotencyKey,
+        @Param("status") PaymentIdempotencyStatus status,
+        @Param("staleBefore") Instant staleBefore,
+        @Param("ownerToken") String ownerToken,
+        @Param("requestHash") String requestHash,
+        @Param("now") Instant now
+    );
+
+    @Modifying
+    @Query("""
+        UPDATE PaymentIdempotencyEntity p
+           SET p.status = :status,
+               p.responseStatus = :responseStatus,
+               p.responsePayload = :responsePayload,
+               p.updatedAt = :updatedAt
+         WHERE p.scope = :scope
+           AND p.idempotencyKey = :idempotencyKey
+           AND p.ownerToken = :ownerToken
+        """)
+    int complete(
+        @Param("scope") String scope,
+        @Param("idempotencyKey") String idempotencyKey,
+        @Param("ownerToken") String ownerToken,
+        @Param("status") PaymentIdempotencyStatus status,
+        @Param("responseStatus") Integer responseStatus,
+        @Param("responsePayload") String responsePayload,
+        @Param("updatedAt") Instant updatedAt
+    );
+
+    @Modifying
+    @Query("""
+        UPDATE PaymentIdempotencyEntity p
+           SET p.status = :unknown,
+               p.updatedAt = :updatedAt
+         WHERE p.scope = :scope
+           AND p.idempotencyKey = :idempotencyKey
+           AND p.status = :inProgress
+           AND p.ownerToken = :ownerToken
+        """)
+    int markUnknown(
+        @Param("scope") String scope,
+        @Param("idempotencyKey") String idempotencyKey,
+        @Param("ownerToken") String ownerToken,
+        @Param("inProgress") PaymentIdempotencyStatus inProgress,
+        @Param("unknown") PaymentIdempotencyStatus unknown,
+        @Param("updatedAt") Instant updatedAt
+    );
+
+    @Modifying
+    @Query("""
+        DELETE FROM PaymentIdempotencyEntity p
+         WHERE p.scope = :scope
+           AND p.idempotencyKey = :idempotencyKey
+           AND p.status = :status
+           AND p.ownerToken = :ownerToken
+        """)
+    int deleteByScopeAndIdempotencyKeyAndStatusAndOwnerToken(
+        @Param("scope") String scope,
+        @Param("idempotencyKey") String idempotencyKey,
+        @Param("status") PaymentIdempotencyStatus status,
+        @Param("ownerToken") String ownerToken
+    );
+}
@@ -0,0 +1,26 @@
+package br.com.pix.wallet.infrastructure.persistence.repository;
+
+import br.com.pix.wallet.infrastructure.persistence.entity.LedgerBalanceCheckpointEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface LedgerBalanceCheckpointJpaRepository
+    extends JpaRepository<LedgerBalanceCheckpointEntity, LedgerBalanceCheckpointEntity.Key> {
+
+    @Query("""
+            SELECT c
+            FROM LedgerBalanceCheckpointEntity c
+            WHERE c.walletId = :walletId
+              AND c.checkpointAt <= :at
+            ORDER BY c.checkpointAt DESC
+            LIMIT 1
+        """)
+    Optional<LedgerBalanceCheckpointEntity> findLastAtOrBefore(UUID walletId, Instant at);
+
+    @Query("SELECT MAX(c.checkpointAt) FROM LedgerBalanceCheckpointEntity c")
+    Optional<Instant> findLatestCheckpointAt();
+}
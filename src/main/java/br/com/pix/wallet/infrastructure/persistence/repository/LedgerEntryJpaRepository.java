@@ -1,39 +1,81 @@
 package br.com.pix.wallet.infrastructure.persistence.repository;
 
 import br.com.pix.wallet.infrastructure.persistence.entity.LedgerEntryEntity;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 
+import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+// No PostgreSQL ledger_entry é particionada por mês em occurred_at: consultas devem limitar occurred_at
+// para que só as partições do período sejam lidas.
 public interface LedgerEntryJpaRepository extends JpaRepository<LedgerEntryEntity, UUID> {
 
     @Query("""
             SELECT e 
             FROM LedgerEntryEntity e 
             WHERE e.walletId = :walletId 
-            ORDER BY e.occurredAt ASC
+              AND e.occurredAt <= :before
+            ORDER BY e.occurredAt DESC, e.id DESC
+            LIMIT 1
         """)
-    List<LedgerEntryEntity> findAllByWallet(UUID walletId);
+    Optional<LedgerEntryEntity> findLastBefore(UUID walletId, Instant before);
+
+    // Nativa para que a soma chegue como NUMERIC, sem passar pelo conversor de Money.
+    @Query(
+        value = """
+            SELECT COALESCE(SUM(CASE WHEN e.operation_type IN (:credits) THEN e.amount ELSE -e.amount END), 0)
+            FROM ledger_entry e
+            WHERE e.wallet_id = :walletId
+              AND e.occurred_at > :fromExclusive
+              AND e.occurred_at <= :toInclusive
+            """,
+        nativeQuery = true
+    )
+    BigDecimal sumBalanceDeltaBetween(
+        UUID walletId,
+        Instant fromExclusive,
+        Instant toInclusive,
+        Collection<String> credits
+    );
 
     @Query("""
-            SELECT e
+            SELECT COUNT(e)
             FROM LedgerEntryEntity e
-            WHERE e.walletId = :walletId 
-                AND e.occurredAt <= :at
-            ORDER BY e.occurredAt ASC
+            WHERE e.walletId = :walletId
+              AND e.occurredAt > :fromExclusive
+              AND e.occurredAt <= :toInclusive
         """)
-    List<LedgerEntryEntity> findAllBefore(UUID walletId, Instant at);
+    long countBetween(UUID walletId, Instant fromExclusive, Instant toInclusive);
 
     @Query("""
-            SELECT e 
-            FROM LedgerEntryEntity e 
-            WHERE e.walletId = :walletId 
-              AND e.occurredAt <= :before
-            ORDER BY e.occurredAt DESC
+            SELECT DISTINCT e.walletId
+            FROM LedgerEntryEntity e
+            WHERE e.occurredAt > :fromExclusive
+              AND e.occurredAt <= :toInclusive
         """)
-    Optional<LedgerEntryEntity> findLastBefore(UUID walletId, Instant before);
+    List<UUID> findWalletIdsBetween(Instant fromExclusive, Instant toInclusive);
+
+    // Keyset: a condição redundante em occurredAt mantém o range scan no índice (wallet_id, occurred_at)
+    @Query("""
+            SELECT e
+            FROM LedgerEntryEntity e
+            WHERE e.walletId = :walletId
+              AND e.occurredAt >= :afterOccurredAt
+              AND e.occurredAt <= :toInclusive
+              AND (e.occurredAt > :afterOccurredAt OR e.id > :afterId)
+            ORDER BY e.occurredAt ASC, e.id ASC
+        """)
+    List<LedgerEntryEntity> findPageAfter(
+        UUID walletId,
+        Instant afterOccurredAt,
+        UUID afterId,
+        Instant toInclusive,
+        Limit limit
+    );
 }
\ No newline at end of file
@@ -0,0 +1,70 @@
+package br.com.pix.wallet.infrastructure.persistence.repository;
+
+import br.com.pix.wallet.infrastructure.persistence.entity.OutboxEventEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface OutboxEventJpaRepository extends JpaRepository<OutboxEventEntity, UUID> {
+
+    // SKIP LOCKED: workers e instâncias diferentes repartem os pendentes sem esperar uns pelos outros.
+    // ORDER BY inclui published_at para seguir a ordem do índice e parar no LIMIT sem ordenar todos os pendentes.
+    // Eventos que esgotaram as tentativas ficam de fora (dead letter) até alguém zerar attempts.
+    @Query(
+        value = """
+            SELECT * FROM outbox_event
+            WHERE published_at IS NULL
+              AND attempts < :maxAttempts
+            ORDER BY published_at, occurred_at
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """,
+        nativeQuery = true
+    )
+    List<OutboxEventEntity> lockPending(@Param("maxAttempts") int maxAttempts, @Param("limit") int limit);
+
+    @Modifying
+    @Query("""
+        UPDATE OutboxEventEntity o
+           SET o.publishedAt = :publishedAt
+         WHERE o.id IN :ids
+           AND o.publishedAt IS NULL
+        """)
+    int markPublished(@Param("ids") Collection<UUID> ids, @Param("publishedAt") Instant publishedAt);
+
+    @Modifying
+    @Query("""
+        UPDATE OutboxEventEntity o
+           SET o.attempts = o.attempts + 1,
+               o.lastError = :error
+         WHERE o.id IN :ids
+           AND o.publishedAt IS NULL
+        """)
+    int markFailed(@Param("ids") Collection<UUID> ids, @Param("error") String error);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEventEntity o WHERE o.publishedAt < :publishedBefore")
+    int deletePublishedBefore(@Param("publishedBefore") Instant publishedBefore);
+
+    @Query(
+        value = """
+            SELECT occurred_at FROM outbox_event
+            WHERE published_at IS NULL
+              AND attempts < :maxAttempts
+            ORDER BY published_at, occurred_at
+            LIMIT 1
+            """,
+        nativeQuery = true
+    )
+    Optional<Instant> findOldestPendingOccurredAt(@Param("maxAttempts") int maxAttempts);
+
+    @Query("SELECT COUNT(o) FROM OutboxEventEntity o WHERE o.publishedAt IS NULL AND o.attempts >= :maxAttempts")
+    long countDeadLettered(@Param("maxAttempts") int maxAttempts);
+}
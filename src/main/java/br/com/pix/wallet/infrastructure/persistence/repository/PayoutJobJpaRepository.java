@@ -0,0 +1,48 @@
+package br.com.pix.wallet.infrastructure.persistence.repository;
+
+import br.com.pix.wallet.domain.payout.PayoutJobStatus;
+import br.com.pix.wallet.infrastructure.persistence.entity.PayoutJobEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public interface PayoutJobJpaRepository extends JpaRepository<PayoutJobEntity, UUID> {
+
+    @Modifying
+    @Query("""
+        UPDATE PayoutJobEntity j
+           SET j.processedLines = :processedLines,
+               j.createdTransfers = j.createdTransfers + :createdTransfers,
+               j.rejectedLines = j.rejectedLines + :rejectedLines,
+               j.updatedAt = :updatedAt
+         WHERE j.id = :id
+           AND j.processedLines = :expectedProcessedLines
+        """)
+    int advance(
+        @Param("id") UUID id,
+        @Param("expectedProcessedLines") long expectedProcessedLines,
+        @Param("processedLines") long processedLines,
+        @Param("createdTransfers") long createdTransfers,
+        @Param("rejectedLines") long rejectedLines,
+        @Param("updatedAt") Instant updatedAt
+    );
+
+    @Modifying
+    @Query("""
+        UPDATE PayoutJobEntity j
+           SET j.status = :status,
+               j.lastError = :lastError,
+               j.updatedAt = :updatedAt
+         WHERE j.id = :id
+        """)
+    int updateStatus(
+        @Param("id") UUID id,
+        @Param("status") PayoutJobStatus status,
+        @Param("lastError") String lastError,
+        @Param("updatedAt") Instant updatedAt
+    );
+}
@@ -3,9 +3,13 @@ package br.com.pix.wallet.infrastructure.persistence.repository;
 import br.com.pix.wallet.infrastructure.persistence.entity.PixKeyEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 public interface PixKeyJpaRepository extends JpaRepository<PixKeyEntity, UUID> {
 
     boolean existsByKeyValue(String keyValue);
+
+    List<PixKeyEntity> findAllByKeyValueIn(Collection<String> keyValues);
 }
@@ -1,13 +1,76 @@
 package br.com.pix.wallet.infrastructure.persistence.repository;
 
+import br.com.pix.wallet.domain.pix.transfer.PixTransferStatus;
 import br.com.pix.wallet.infrastructure.persistence.entity.PixTransferEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 public interface PixTransferJpaRepository extends JpaRepository<PixTransferEntity, UUID> {
     Optional<PixTransferEntity> findByEndToEndId(String endToEndId);
 
-    boolean existsByIdempotencyKey(String idempotencyKey);
-}
\ No newline at end of file
+    // EXISTS só com a coluna da chave: o PostgreSQL responde com index-only scan, sem visitar o heap
+    // (o existsBy derivado do Spring Data seleciona o id e obriga a leitura da linha)
+    @Query(
+        value = "SELECT EXISTS (SELECT 1 FROM pix_transfer WHERE idempotency_key = :idempotencyKey)",
+        nativeQuery = true
+    )
+    boolean existsByIdempotencyKey(@Param("idempotencyKey") String idempotencyKey);
+
+    @Query(
+        value = "SELECT EXISTS (SELECT 1 FROM pix_transfer WHERE end_to_end_id = :endToEndId)",
+        nativeQuery = true
+    )
+    boolean existsByEndToEndId(@Param("endToEndId") String endToEndId);
+
+    @Query("SELECT p.endToEndId FROM PixTransferEntity p WHERE p.endToEndId IN :endToEndIds")
+    Set<String> findExistingEndToEndIds(@Param("endToEndIds") Collection<String> endToEndIds);
+
+    @Query("SELECT p.idempotencyKey FROM PixTransferEntity p WHERE p.idempotencyKey IN :idempotencyKeys")
+    Set<String> findExistingIdempotencyKeys(@Param("idempotencyKeys") Collection<String> idempotencyKeys);
+
+    @Query(
+        value = """
+            SELECT * FROM pix_transfer
+            WHERE end_to_end_id IN (:endToEndIds)
+              AND status IN (:statuses)
+            ORDER BY end_to_end_id
+            FOR UPDATE
+            """,
+        nativeQuery = true
+    )
+    List<PixTransferEntity> findAllByEndToEndIdForUpdate(
+        @Param("endToEndIds") Collection<String> endToEndIds,
+        @Param("statuses") Collection<String> statuses
+    );
+
+    // Uma instrução por estado de destino, qualquer que seja o tamanho do lote
+    @Modifying
+    @Query("""
+        UPDATE PixTransferEntity p
+           SET p.status = :to
+         WHERE p.endToEndId IN :endToEndIds
+           AND p.status IN :from
+        """)
+    int updateStatus(
+        @Param("endToEndIds") Collection<String> endToEndIds,
+        @Param("from") Collection<PixTransferStatus> from,
+        @Param("to") PixTransferStatus to
+    );
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT p.idempotencyKey FROM PixTransferEntity p WHERE p.createdAt >= :since")
+    Stream<String> streamIdempotencyKeysCreatedSince(@Param("since") Instant since);
+}
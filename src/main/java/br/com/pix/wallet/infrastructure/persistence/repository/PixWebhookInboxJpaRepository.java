@@ -0,0 +1,56 @@
+package br.com.pix.wallet.infrastructure.persistence.repository;
+
+import br.com.pix.wallet.infrastructure.persistence.entity.PixWebhookInboxEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+public interface PixWebhookInboxJpaRepository extends JpaRepository<PixWebhookInboxEntity, String> {
+
+    // SKIP LOCKED: instâncias diferentes repartem os pendentes sem esperar umas pelas outras
+    @Query(
+        value = """
+            SELECT * FROM webhook_inbox
+            WHERE processed_at IS NULL
+              AND received_at < :receivedBefore
+              AND attempts < :maxAttempts
+            ORDER BY received_at
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """,
+        nativeQuery = true
+    )
+    List<PixWebhookInboxEntity> lockPending(
+        @Param("receivedBefore") Instant receivedBefore,
+        @Param("maxAttempts") int maxAttempts,
+        @Param("limit") int limit
+    );
+
+    @Modifying
+    @Query("""
+        UPDATE PixWebhookInboxEntity i
+           SET i.processedAt = :processedAt
+         WHERE i.eventId IN :eventIds
+           AND i.processedAt IS NULL
+        """)
+    int markProcessed(@Param("eventIds") Collection<String> eventIds, @Param("processedAt") Instant processedAt);
+
+    @Modifying
+    @Query("""
+        UPDATE PixWebhookInboxEntity i
+           SET i.attempts = i.attempts + 1,
+               i.lastError = :error
+         WHERE i.eventId IN :eventIds
+           AND i.processedAt IS NULL
+        """)
+    int markFailed(@Param("eventIds") Collection<String> eventIds, @Param("error") String error);
+
+    @Modifying
+    @Query("DELETE FROM PixWebhookInboxEntity i WHERE i.processedAt < :processedBefore")
+    int deleteProcessedBefore(@Param("processedBefore") Instant processedBefore);
+}
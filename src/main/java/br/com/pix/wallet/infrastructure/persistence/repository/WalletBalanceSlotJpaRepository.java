@@ -0,0 +1,41 @@
+package br.com.pix.wallet.infrastructure.persistence.repository;
+
+import br.com.pix.wallet.infrastructure.persistence.entity.WalletBalanceSlotEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface WalletBalanceSlotJpaRepository
+    extends JpaRepository<WalletBalanceSlotEntity, WalletBalanceSlotEntity.Key> {
+
+    @Query(
+        value = """
+            UPDATE wallet_balance_slot
+            SET balance = balance + :amount
+            WHERE wallet_id = :walletId
+              AND slot = :slot
+            RETURNING balance
+            """,
+        nativeQuery = true
+    )
+    Optional<BigDecimal> credit(@Param("walletId") UUID walletId, @Param("slot") int slot, @Param("amount") BigDecimal amount);
+
+    @Query(
+        value = "SELECT COALESCE(SUM(balance), 0) FROM wallet_balance_slot WHERE wallet_id = :walletId",
+        nativeQuery = true
+    )
+    BigDecimal sumBalance(@Param("walletId") UUID walletId);
+
+    @Query(
+        value = "SELECT * FROM wallet_balance_slot WHERE wallet_id = :walletId ORDER BY slot FOR UPDATE",
+        nativeQuery = true
+    )
+    List<WalletBalanceSlotEntity> findAllByWalletIdForUpdate(@Param("walletId") UUID walletId);
+
+    long countByWalletId(UUID walletId);
+}
@@ -1,10 +1,15 @@
 package br.com.pix.wallet.infrastructure.persistence.repository;
 
+import br.com.pix.wallet.domain.common.Money;
 import br.com.pix.wallet.infrastructure.persistence.entity.WalletEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -19,13 +24,99 @@ public interface WalletJpaRepository extends JpaRepository<WalletEntity, UUID> {
         nativeQuery = true
     )
     Optional<WalletEntity> findByIdForUpdate(@Param("id") UUID id);
-}
 
+    // Trava todas as carteiras num único statement e sempre na mesma ordem, evitando deadlock (40P01).
+    @Query(
+        value = "SELECT * FROM wallet WHERE id IN (:ids) ORDER BY id FOR UPDATE",
+        nativeQuery = true
+    )
+    List<WalletEntity> findAllByIdForUpdate(@Param("ids") Collection<UUID> ids);
+
+    // Débito condicional em um único round trip: a própria linha do UPDATE garante saldo suficiente.
+    @Query(
+        value = """
+            UPDATE wallet
+            SET current_balance = current_balance - :amount,
+                version = version + 1,
+                updated_at = CURRENT_TIMESTAMP
+            WHERE id = :id
+              AND current_balance >= :amount
+            RETURNING current_balance AS "currentBalance", balance_slots AS "balanceSlots", version
+            """,
+        nativeQuery = true
+    )
+    Optional<BalanceUpdate> debitIfSufficient(@Param("id") UUID id, @Param("amount") BigDecimal amount);
+
+    @Query(
+        value = """
+            UPDATE wallet
+            SET current_balance = current_balance + :amount,
+                version = version + 1,
+                updated_at = CURRENT_TIMESTAMP
+            WHERE id = :id
+              AND balance_slots = 0
+            RETURNING current_balance AS "currentBalance", balance_slots AS "balanceSlots", version
+            """,
+        nativeQuery = true
+    )
+    Optional<BalanceUpdate> credit(@Param("id") UUID id, @Param("amount") BigDecimal amount);
+
+    // Trava compartilhada: créditos em slots não se bloqueiam entre si, mas esperam débitos e consolidações
+    @Query(
+        value = """
+            SELECT current_balance AS "currentBalance", balance_slots AS "balanceSlots", version
+            FROM wallet
+            WHERE id = :id
+            FOR SHARE
+            """,
+        nativeQuery = true
+    )
+    Optional<BalanceUpdate> findBalanceByIdForShare(@Param("id") UUID id);
+
+    @Modifying
+    @Query(
+        value = """
+            UPDATE wallet
+            SET current_balance = current_balance + :delta,
+                version = version + 1,
+                updated_at = CURRENT_TIMESTAMP
+            WHERE id = :id
+              AND current_balance + :delta >= 0
+            """,
+        nativeQuery = true
+    )
+    int applyBalanceDelta(@Param("id") UUID id, @Param("delta") BigDecimal delta);
 
+    // Lido na mesma transação do applyBalanceDelta, enquanto a linha ainda está travada por ele
+    @Query(
+        value = """
+            SELECT current_balance AS "currentBalance", balance_slots AS "balanceSlots", version
+            FROM wallet
+            WHERE id = :id
+            """,
+        nativeQuery = true
+    )
+    Optional<BalanceUpdate> findBalanceById(@Param("id") UUID id);
 
+    @Query("SELECT w.balanceSlots FROM WalletEntity w WHERE w.id = :id")
+    Optional<Integer> findBalanceSlotsById(@Param("id") UUID id);
 
+    @Query("SELECT w.currentBalance FROM WalletEntity w WHERE w.id = :id")
+    Optional<Money> findCurrentBalanceById(@Param("id") UUID id);
 
+    // Só a versão, sem mapear a entidade; carteiras com striping ficam de fora (créditos em slots não mudam a versão)
+    @Query("SELECT w.version FROM WalletEntity w WHERE w.id = :id AND w.balanceSlots = 0")
+    Optional<Long> findVersionById(@Param("id") UUID id);
 
+    @Query("SELECT w.id FROM WalletEntity w WHERE w.balanceSlots > 0")
+    List<UUID> findStripedIds();
 
+    // Com slots o valor retornado não é o saldo total da carteira
+    interface BalanceUpdate {
+        BigDecimal getCurrentBalance();
 
+        int getBalanceSlots();
 
+        long getVersion();
+    }
+}
@@ -0,0 +1,87 @@
+package br.com.pix.wallet.infrastructure.scheduling;
+
+import br.com.pix.wallet.domain.ledger.BalanceCheckpoint;
+import br.com.pix.wallet.domain.ledger.BalanceCheckpointGateway;
+import br.com.pix.wallet.domain.ledger.LedgerGateway;
+import br.com.pix.wallet.domain.wallet.WalletID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+@Component
+@ConditionalOnProperty(name = "pix-wallet.ledger-checkpoint.enabled", havingValue = "true", matchIfMissing = true)
+public class LedgerBalanceCheckpointWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(LedgerBalanceCheckpointWriter.class);
+
+    private final LedgerGateway ledgerGateway;
+    private final BalanceCheckpointGateway balanceCheckpointGateway;
+    private final TransactionTemplate transactionTemplate;
+    private final long everyEntries;
+    private final Duration maxAge;
+    private final Duration lag;
+
+    private Instant scannedUpTo;
+
+    public LedgerBalanceCheckpointWriter(
+        final LedgerGateway ledgerGateway,
+        final BalanceCheckpointGateway balanceCheckpointGateway,
+        final PlatformTransactionManager transactionManager,
+        @Value("${pix-wallet.ledger-checkpoint.every-entries:1000}") final long everyEntries,
+        @Value("${pix-wallet.ledger-checkpoint.max-age-minutes:60}") final long maxAgeMinutes,
+        @Value("${pix-wallet.ledger-checkpoint.lag-ms:60000}") final long lagMillis
+    ) {
+        this.ledgerGateway = ledgerGateway;
+        this.balanceCheckpointGateway = balanceCheckpointGateway;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.everyEntries = everyEntries;
+        this.maxAge = Duration.ofMinutes(maxAgeMinutes);
+        this.lag = Duration.ofMillis(lagMillis);
+    }
+
+    // Só visita carteiras com lançamentos desde a última execução. O corte fica "lag" no passado para
+    // não fechar um checkpoint antes de transações ainda abertas com occurred_at anterior a ele.
+    @Scheduled(fixedDelayString = "${pix-wallet.ledger-checkpoint.interval-ms:60000}")
+    public void writeCheckpoints() {
+        final var cutoff = Instant.now().minus(lag).truncatedTo(ChronoUnit.MICROS);
+        if (scannedUpTo == null) {
+            scannedUpTo = balanceCheckpointGateway.findLatestCheckpointAt().orElse(Instant.EPOCH);
+        }
+        if (!cutoff.isAfter(scannedUpTo)) {
+            return;
+        }
+
+        for (final var walletId : ledgerGateway.findWalletIdsWithEntriesBetween(scannedUpTo, cutoff)) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> writeCheckpoint(walletId, cutoff));
+            } catch (RuntimeException ex) {
+                log.warn("Failed to write balance checkpoint of wallet {}", walletId.getValue(), ex);
+            }
+        }
+        scannedUpTo = cutoff;
+    }
+
+    private void writeCheckpoint(final WalletID walletId, final Instant cutoff) {
+        final var last = balanceCheckpointGateway.findLastAtOrBefore(walletId, cutoff)
+            .orElseGet(() -> BalanceCheckpoint.genesis(walletId));
+
+        final var entries = ledgerGateway.countBetween(walletId, last.getCheckpointAt(), cutoff);
+        final var due = entries >= everyEntries
+            || !last.getCheckpointAt().isAfter(cutoff.minus(maxAge));
+        if (entries == 0 || !due) {
+            return;
+        }
+
+        final var delta = ledgerGateway.sumBalanceDeltaBetween(walletId, last.getCheckpointAt(), cutoff);
+        balanceCheckpointGateway.save(last.next(cutoff, delta, entries));
+    }
+}
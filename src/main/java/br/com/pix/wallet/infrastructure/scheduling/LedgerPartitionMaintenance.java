@@ -0,0 +1,113 @@
+package br.com.pix.wallet.infrastructure.scheduling;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.regex.Pattern;
+
+@Component
+@ConditionalOnProperty(name = "pix-wallet.ledger-partitioning.enabled", havingValue = "true")
+public class LedgerPartitionMaintenance {
+
+    private static final Logger log = LoggerFactory.getLogger(LedgerPartitionMaintenance.class);
+
+    private static final Pattern PARTITION_NAME = Pattern.compile("ledger_entry_p(\\d{6})");
+    private static final DateTimeFormatter PARTITION_MONTH = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private static final String LIST_PARTITIONS = """
+        SELECT c.relname
+        FROM pg_inherits i
+        JOIN pg_class c ON c.oid = i.inhrelid
+        WHERE i.inhparent = 'ledger_entry'::regclass
+        """;
+
+    enum RetentionAction { DETACH, ARCHIVE }
+
+    private final JdbcOperations jdbcOperations;
+    private final TransactionTemplate transactionTemplate;
+    private final int premakeMonths;
+    private final int retentionMonths;
+    private final RetentionAction retentionAction;
+    private final long detachLockTimeoutMillis;
+
+    public LedgerPartitionMaintenance(
+        final JdbcOperations jdbcOperations,
+        final PlatformTransactionManager transactionManager,
+        @Value("${pix-wallet.ledger-partitioning.premake-months:3}") final int premakeMonths,
+        @Value("${pix-wallet.ledger-partitioning.retention-months:0}") final int retentionMonths,
+        @Value("${pix-wallet.ledger-partitioning.retention-action:archive}") final String retentionAction,
+        @Value("${pix-wallet.ledger-partitioning.detach-lock-timeout-ms:2000}") final long detachLockTimeoutMillis
+    ) {
+        this.jdbcOperations = jdbcOperations;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.premakeMonths = premakeMonths;
+        this.retentionMonths = retentionMonths;
+        this.retentionAction = RetentionAction.valueOf(retentionAction.toUpperCase());
+        this.detachLockTimeoutMillis = detachLockTimeoutMillis;
+    }
+
+    @Scheduled(fixedDelayString = "${pix-wallet.ledger-partitioning.interval-ms:3600000}")
+    public void maintain() {
+        final var currentMonth = YearMonth.now();
+        try {
+            createPartitions(currentMonth);
+            if (retentionMonths > 0) {
+                applyRetention(currentMonth.minusMonths(retentionMonths));
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Ledger partition maintenance failed", ex);
+        }
+    }
+
+    // O mês anterior também é garantido: lançamentos gravados na virada ainda podem cair nele
+    private void createPartitions(final YearMonth currentMonth) {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int offset = -1; offset <= premakeMonths; offset++) {
+                final var month = currentMonth.plusMonths(offset).atDay(1);
+                jdbcOperations.queryForObject("SELECT ledger_entry_ensure_partition(?)", String.class, Date.valueOf(month));
+            }
+        });
+    }
+
+    // Partições que terminam antes de "keepFrom" saem da tabela; nada é apagado.
+    void applyRetention(final YearMonth keepFrom) {
+        final var partitions = transactionTemplate.execute(status ->
+            jdbcOperations.queryForList(LIST_PARTITIONS, String.class)
+        );
+        partitions.stream()
+            .map(Partition::new)
+            .filter(partition -> partition.isBefore(keepFrom))
+            .forEach(partition -> detach(partition.name()));
+    }
+
+    // Com a partição DEFAULT o PostgreSQL recusa o DETACH CONCURRENTLY. O DETACH comum só altera o catálogo,
+    // mas pega ACCESS EXCLUSIVE em ledger_entry: o lock_timeout curto evita que ele fique na fila atrás de uma
+    // transação longa travando as gravações do ledger. Se estourar, a próxima execução tenta de novo.
+    private void detach(final String partition) {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcOperations.execute("SET LOCAL lock_timeout = " + detachLockTimeoutMillis);
+            jdbcOperations.execute("ALTER TABLE ledger_entry DETACH PARTITION " + partition);
+            if (retentionAction == RetentionAction.ARCHIVE) {
+                jdbcOperations.execute("ALTER TABLE " + partition + " SET SCHEMA ledger_archive");
+            }
+        });
+        log.info("Ledger partition {} detached ({})", partition, retentionAction.name().toLowerCase());
+    }
+
+    private record Partition(String name) {
+        boolean isBefore(final YearMonth month) {
+            final var matcher = PARTITION_NAME.matcher(name);
+            return matcher.matches() && YearMonth.parse(matcher.group(1), PARTITION_MONTH).isBefore(month);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package br.com.pix.wallet.infrastructure.scheduling;
+
+import br.com.pix.wallet.application.metrics.ApplicationMetrics;
+import br.com.pix.wallet.domain.outbox.OutboxGateway;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+@Component
+public class OutboxMaintenance {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxMaintenance.class);
+
+    private final OutboxGateway outboxGateway;
+    private final Duration retention;
+    private final int maxAttempts;
+    private final AtomicReference<Instant> oldestPending = new AtomicReference<>();
+    private final AtomicLong deadLettered = new AtomicLong();
+
+    public OutboxMaintenance(
+        final OutboxGateway outboxGateway,
+        final ApplicationMetrics applicationMetrics,
+        @Value("${pix-wallet.outbox.retention-hours:72}") final long retentionHours,
+        @Value("${pix-wallet.outbox.relay.max-attempts:20}") final int maxAttempts
+    ) {
+        this.outboxGateway = outboxGateway;
+        this.retention = Duration.ofHours(retentionHours);
+        this.maxAttempts = maxAttempts;
+        // Calculado contra o relógio atual: cresce entre atualizações se o relay parou
+        applicationMetrics.registerOutboxOldestPendingAgeGauge(() -> {
+            final var oldest = oldestPending.get();
+            return oldest == null ? 0 : Duration.between(oldest, Instant.now()).toMillis() / 1000.0;
+        });
+        applicationMetrics.registerOutboxDeadLetterGauge(deadLettered::get);
+    }
+
+    // Eventos em dead letter não entram na idade do pendente mais antigo: são contados à parte
+    @Scheduled(fixedDelayString = "${pix-wallet.outbox.lag-refresh-interval-ms:5000}")
+    public void refreshOldestPending() {
+        try {
+            oldestPending.set(outboxGateway.findOldestPendingOccurredAt(maxAttempts).orElse(null));
+            deadLettered.set(outboxGateway.countDeadLettered(maxAttempts));
+        } catch (RuntimeException ex) {
+            log.warn("Failed to read the oldest pending outbox event", ex);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${pix-wallet.outbox.cleanup-interval-ms:60000}")
+    public void deletePublished() {
+        try {
+            final var deleted = outboxGateway.deletePublishedBefore(Instant.now().minus(retention));
+            if (deleted > 0) {
+                log.info("Deleted {} published outbox events", deleted);
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Failed to delete published outbox events", ex);
+        }
+    }
+}
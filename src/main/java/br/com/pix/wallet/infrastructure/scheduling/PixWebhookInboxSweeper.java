@@ -0,0 +1,64 @@
+package br.com.pix.wallet.infrastructure.scheduling;
+
+import br.com.pix.wallet.domain.pix.webhook.PixWebhookInboxGateway;
+import br.com.pix.wallet.infrastructure.webhook.PixWebhookInboxWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+@Component
+@ConditionalOnProperty(name = "pix-wallet.webhook-ingest.mode", havingValue = "async")
+public class PixWebhookInboxSweeper {
+
+    private static final Logger log = LoggerFactory.getLogger(PixWebhookInboxSweeper.class);
+
+    private final PixWebhookInboxWriter writer;
+    private final PixWebhookInboxGateway inboxGateway;
+    private final Duration retryDelay;
+    private final int maxAttempts;
+    private final int batchSize;
+    private final Duration retention;
+
+    public PixWebhookInboxSweeper(
+        final PixWebhookInboxWriter writer,
+        final PixWebhookInboxGateway inboxGateway,
+        @Value("${pix-wallet.webhook-ingest.retry-delay-ms:5000}") final long retryDelayMillis,
+        @Value("${pix-wallet.webhook-ingest.max-attempts:10}") final int maxAttempts,
+        @Value("${pix-wallet.webhook-ingest.max-batch-size:500}") final int batchSize,
+        @Value("${pix-wallet.webhook-ingest.retention-hours:72}") final long retentionHours
+    ) {
+        this.writer = writer;
+        this.inboxGateway = inboxGateway;
+        this.retryDelay = Duration.ofMillis(retryDelayMillis);
+        this.maxAttempts = maxAttempts;
+        this.batchSize = batchSize;
+        this.retention = Duration.ofHours(retentionHours);
+    }
+
+    // Pendentes mais antigos que retry-delay: promoção que falhou ou transferência que chegou depois do webhook
+    @Scheduled(fixedDelayString = "${pix-wallet.webhook-ingest.sweep-interval-ms:5000}")
+    public void sweep() {
+        final var now = Instant.now();
+        try {
+            // Só busca o próximo lote se este saiu inteiro: os não promovidos voltariam na mesma varredura
+            // e consumiriam as tentativas de uma vez
+            int promoted;
+            do {
+                promoted = writer.promotePending(now.minus(retryDelay), maxAttempts, batchSize);
+            } while (promoted == batchSize);
+
+            final var deleted = inboxGateway.deleteProcessedBefore(now.minus(retention));
+            if (deleted > 0) {
+                log.info("Deleted {} processed webhook inbox entries", deleted);
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Failed to sweep the webhook inbox", ex);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package br.com.pix.wallet.infrastructure.scheduling;
+
+import br.com.pix.wallet.domain.wallet.WalletGateway;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Component
+@ConditionalOnProperty(name = "pix-wallet.balance-striping.rebalance-enabled", havingValue = "true", matchIfMissing = true)
+public class WalletBalanceSlotRebalancer {
+
+    private static final Logger log = LoggerFactory.getLogger(WalletBalanceSlotRebalancer.class);
+
+    private final WalletGateway walletGateway;
+    private final TransactionTemplate transactionTemplate;
+
+    public WalletBalanceSlotRebalancer(
+        final WalletGateway walletGateway,
+        final PlatformTransactionManager transactionManager
+    ) {
+        this.walletGateway = walletGateway;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // Consolida os slots em wallet.current_balance.
+    @Scheduled(fixedDelayString = "${pix-wallet.balance-striping.rebalance-interval-ms:5000}")
+    public void rebalance() {
+        for (final var walletId : walletGateway.findStripedWalletIds()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> walletGateway.foldBalanceSlots(walletId));
+            } catch (RuntimeException ex) {
+                log.warn("Failed to rebalance slots of wallet {}", walletId.getValue(), ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package br.com.pix.wallet.infrastructure.webhook;
+
+import br.com.pix.wallet.application.metrics.ApplicationMetrics;
+import br.com.pix.wallet.domain.exception.ServiceUnavailableException;
+import br.com.pix.wallet.domain.pix.webhook.PixWebhookEvent;
+import br.com.pix.wallet.domain.pix.webhook.PixWebhookInbox;
+import br.com.pix.wallet.domain.pix.webhook.PixWebhookInboxEntry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+// Buffer limitado em memória na frente do webhook_inbox. Uma única thread drena em lotes (group commit)
+// e só conclui o futuro de cada evento depois do commit do lote: o ack HTTP nunca antecede a gravação.
+// Com o buffer cheio, sem commit dentro de ack-timeout-ms ou no shutdown a requisição recebe 503 e o PSP reenvia.
+@Component
+@ConditionalOnProperty(name = "pix-wallet.webhook-ingest.mode", havingValue = "async")
+public class BufferedPixWebhookInbox implements PixWebhookInbox, DisposableBean, Runnable {
+
+    private static final Logger log = LoggerFactory.getLogger(BufferedPixWebhookInbox.class);
+    private static final long MAX_RETRY_BACKOFF_MS = 1000;
+
+    private final PixWebhookInboxWriter writer;
+    private final ApplicationMetrics applicationMetrics;
+    private final long groupCommitWindowNanos;
+    private final int maxBatchSize;
+    private final long ackTimeoutMillis;
+    private final BlockingQueue<Pending> buffer;
+    private final Thread thread;
+
+    private volatile boolean running = true;
+
+    public BufferedPixWebhookInbox(
+        final PixWebhookInboxWriter writer,
+        final ApplicationMetrics applicationMetrics,
+        @Value("${pix-wallet.webhook-ingest.queue-capacity:10000}") final int queueCapacity,
+        @Value("${pix-wallet.webhook-ingest.group-commit-window-ms:5}") final long groupCommitWindowMillis,
+        @Value("${pix-wallet.webhook-ingest.max-batch-size:500}") final int maxBatchSize,
+        @Value("${pix-wallet.webhook-ingest.ack-timeout-ms:5000}") final long ackTimeoutMillis
+    ) {
+        this.writer = writer;
+        this.applicationMetrics = applicationMetrics;
+        this.groupCommitWindowNanos = TimeUnit.MILLISECONDS.toNanos(groupCommitWindowMillis);
+        this.maxBatchSize = maxBatchSize;
+        this.ackTimeoutMillis = ackTimeoutMillis;
+        this.buffer = new ArrayBlockingQueue<>(queueCapacity);
+        applicationMetrics.registerWebhookInboxQueueDepthGauge(buffer::size);
+        this.thread = Thread.ofPlatform().name("webhook-inbox-writer").start(this);
+    }
+
+    @Override
+    public CompletableFuture<Void> enqueue(final PixWebhookEvent event) {
+        final var pending = new Pending(PixWebhookInboxEntry.of(event, Instant.now()), new CompletableFuture<>());
+        if (!running || !buffer.offer(pending)) {
+            applicationMetrics.recordPixWebhookEvent(event.getType(), "rejected");
+            throw ServiceUnavailableException.with("Webhook inbox is full, retry later");
+        }
+        // Sem commit no prazo o evento pode ainda ser gravado; o reenvio do PSP é descartado pelo event_id
+        return pending.stored().orTimeout(ackTimeoutMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        thread.join();
+        // Eventos que entraram no buffer depois da última volta da thread: nada foi confirmado ao PSP
+        final var leftover = new ArrayList<Pending>();
+        buffer.drainTo(leftover);
+        reject(leftover);
+    }
+
+    @Override
+    public void run() {
+        final var batch = new ArrayList<Pending>(maxBatchSize);
+        while (running || !buffer.isEmpty()) {
+            try {
+                final var first = buffer.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                // Group commit: acumula eventos até a janela expirar ou o lote encher.
+                final var deadline = System.nanoTime() + groupCommitWindowNanos;
+                while (batch.size() < maxBatchSize) {
+                    final var remaining = deadline - System.nanoTime();
+                    final var next = remaining > 0 ? buffer.poll(remaining, TimeUnit.NANOSECONDS) : buffer.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                write(batch);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                running = false;
+                reject(batch);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    // Insiste enquanto o processo estiver de pé; nesse meio tempo o buffer enche e as novas requisições
+    // recebem 503. No shutdown o lote é recusado: como o ack espera o commit, nenhum evento confirmado se perde.
+    private void write(final List<Pending> batch) throws InterruptedException {
+        final var entries = batch.stream().map(Pending::entry).toList();
+        var backoff = 50L;
+        while (true) {
+            try {
+                final var appended = writer.append(entries);
+                batch.forEach(pending -> pending.stored().complete(null));
+                writer.promoteAppended(appended);
+                return;
+            } catch (RuntimeException ex) {
+                if (!running) {
+                    log.warn("Rejecting {} webhook events on shutdown after inbox write failure", batch.size(), ex);
+                    reject(batch);
+                    return;
+                }
+                log.warn("Failed to write {} webhook events to the inbox, retrying in {} ms", batch.size(), backoff, ex);
+                Thread.sleep(backoff);
+                backoff = Math.min(backoff * 2, MAX_RETRY_BACKOFF_MS);
+            }
+        }
+    }
+
+    private static void reject(final List<Pending> batch) {
+        final var unavailable = ServiceUnavailableException.with("Webhook inbox is shutting down, retry later");
+        batch.forEach(pending -> pending.stored().completeExceptionally(unavailable));
+    }
+
+    private record Pending(PixWebhookInboxEntry entry, CompletableFuture<Void> stored) {
+    }
+}
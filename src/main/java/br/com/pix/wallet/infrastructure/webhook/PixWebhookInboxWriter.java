@@ -0,0 +1,151 @@
+package br.com.pix.wallet.infrastructure.webhook;
+
+import br.com.pix.wallet.application.metrics.ApplicationMetrics;
+import br.com.pix.wallet.application.pix.transfer.ApplyPixTransferTransitionsCommand;
+import br.com.pix.wallet.application.pix.transfer.ApplyPixTransferTransitionsUseCase;
+import br.com.pix.wallet.domain.pix.transfer.PixTransferGateway;
+import br.com.pix.wallet.domain.pix.webhook.PixWebhookEventGateway;
+import br.com.pix.wallet.domain.pix.webhook.PixWebhookInboxEntry;
+import br.com.pix.wallet.domain.pix.webhook.PixWebhookInboxGateway;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.stream.Collectors;
+
+// Duas etapas por lote: (1) grava no webhook_inbox, que é o ponto de durabilidade;
+// (2) promove para pix_webhook_event os eventos cuja transferência existe e aplica as transições de status
+// na mesma transação. Se a etapa 2 falhar,
+// os eventos continuam pendentes no inbox e o PixWebhookInboxSweeper tenta de novo.
+@Component
+@ConditionalOnProperty(name = "pix-wallet.webhook-ingest.mode", havingValue = "async")
+public class PixWebhookInboxWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(PixWebhookInboxWriter.class);
+
+    private final PixWebhookInboxGateway inboxGateway;
+    private final PixWebhookEventGateway pixWebhookEventGateway;
+    private final PixTransferGateway pixTransferGateway;
+    private final ApplyPixTransferTransitionsUseCase applyPixTransferTransitionsUseCase;
+    private final ApplicationMetrics applicationMetrics;
+    private final TransactionTemplate transactionTemplate;
+
+    public PixWebhookInboxWriter(
+        final PixWebhookInboxGateway inboxGateway,
+        final PixWebhookEventGateway pixWebhookEventGateway,
+        final PixTransferGateway pixTransferGateway,
+        final ApplyPixTransferTransitionsUseCase applyPixTransferTransitionsUseCase,
+        final ApplicationMetrics applicationMetrics,
+        final PlatformTransactionManager transactionManager
+    ) {
+        this.inboxGateway = inboxGateway;
+        this.pixWebhookEventGateway = pixWebhookEventGateway;
+        this.pixTransferGateway = pixTransferGateway;
+        this.applyPixTransferTransitionsUseCase = applyPixTransferTransitionsUseCase;
+        this.applicationMetrics = applicationMetrics;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // Etapa 1: ao retornar, o lote está commitado no inbox e o evento já pode ser confirmado ao PSP
+    public List<PixWebhookInboxEntry> append(final List<PixWebhookInboxEntry> batch) {
+        final var entries = deduplicate(batch);
+        transactionTemplate.executeWithoutResult(status -> inboxGateway.appendAll(entries));
+        return entries;
+    }
+
+    // Etapa 2: uma falha aqui não afeta o ack, os eventos continuam pendentes para o sweeper
+    public void promoteAppended(final List<PixWebhookInboxEntry> entries) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> promote(entries));
+        } catch (RuntimeException ex) {
+            log.warn("Failed to promote {} webhook events, the sweeper will retry", entries.size(), ex);
+        }
+    }
+
+    // Retoma pendentes antigos; devolve quantos foram promovidos para o chamador decidir se continua
+    public int promotePending(final Instant receivedBefore, final int maxAttempts, final int limit) {
+        try {
+            final Integer promoted = transactionTemplate.execute(status ->
+                promote(inboxGateway.lockPending(receivedBefore, maxAttempts, limit))
+            );
+            return promoted == null ? 0 : promoted;
+        } catch (RuntimeException batchFailure) {
+            // Um evento problemático não pode travar os demais: promove um a um e registra a falha do culpado
+            final var pending = transactionTemplate.execute(status ->
+                inboxGateway.lockPending(receivedBefore, maxAttempts, limit)
+            );
+            if (pending == null) {
+                return 0;
+            }
+            for (final var entry : pending) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> promote(List.of(entry)));
+                } catch (RuntimeException ex) {
+                    final var eventId = entry.event().getEventId();
+                    transactionTemplate.executeWithoutResult(status ->
+                        inboxGateway.markFailed(List.of(eventId), String.valueOf(ex.getMessage()))
+                    );
+                }
+            }
+            return 0;
+        }
+    }
+
+    private int promote(final List<PixWebhookInboxEntry> entries) {
+        if (entries.isEmpty()) {
+            return 0;
+        }
+
+        final var known = pixTransferGateway.findExistingEndToEndIds(
+            entries.stream().map(entry -> entry.event().getEndToEndId()).collect(Collectors.toSet())
+        );
+        final var byTransferFound = entries.stream()
+            .collect(Collectors.partitioningBy(entry -> known.contains(entry.event().getEndToEndId())));
+        final var matched = byTransferFound.get(true);
+        final var unmatched = byTransferFound.get(false);
+
+        final var now = Instant.now();
+        final var events = matched.stream().map(entry -> entry.processedAt(now)).toList();
+        // Reentregas repetem a transição, mas as guardas de status a tornam idempotente
+        final var transitions = applyPixTransferTransitionsUseCase.execute(ApplyPixTransferTransitionsCommand.with(events));
+        final var byDeferred = matched.stream()
+            .collect(Collectors.partitioningBy(entry -> transitions.isDeferred(entry.event())));
+        final var promoted = byDeferred.get(false);
+        final var deferred = byDeferred.get(true);
+
+        pixWebhookEventGateway.saveAllIgnoringDuplicates(
+            events.stream().filter(event -> !transitions.isDeferred(event)).toList()
+        );
+        inboxGateway.markProcessed(eventIds(promoted), now);
+        // A transferência pode ainda não ter sido commitada: fica pendente até esgotar as tentativas
+        inboxGateway.markFailed(eventIds(unmatched), "No Pix transfer found for endToEndId");
+        // Estorno sem saldo no recebedor (ou recusado pelo motor): o sweeper tenta de novo
+        inboxGateway.markFailed(eventIds(deferred), "Refund could not be applied yet");
+
+        promoted.forEach(entry -> {
+            applicationMetrics.recordPixWebhookEvent(entry.event().getType(), "stored");
+            applicationMetrics.recordWebhookInboxLag(Duration.between(entry.receivedAt(), now));
+        });
+        unmatched.forEach(entry -> applicationMetrics.recordPixWebhookEvent(entry.event().getType(), "unmatched"));
+        deferred.forEach(entry -> applicationMetrics.recordPixWebhookEvent(entry.event().getType(), "deferred"));
+        return promoted.size();
+    }
+
+    // Reenvios do mesmo evento dentro do lote; entre lotes o ON CONFLICT do banco resolve
+    private static List<PixWebhookInboxEntry> deduplicate(final List<PixWebhookInboxEntry> batch) {
+        final var unique = new LinkedHashMap<String, PixWebhookInboxEntry>();
+        batch.forEach(entry -> unique.putIfAbsent(entry.event().getEventId(), entry));
+        return List.copyOf(unique.values());
+    }
+
+    private static List<String> eventIds(final List<PixWebhookInboxEntry> entries) {
+        return entries.stream().map(entry -> entry.event().getEventId()).toList();
+    }
+}
@@ -0,0 +1,86 @@
+package br.com.pix.wallet.presentation.rest.controller.pix;
+
+import br.com.pix.wallet.application.pix.payout.CreatePayoutJobCommand;
+import br.com.pix.wallet.application.pix.payout.CreatePayoutJobUseCase;
+import br.com.pix.wallet.application.pix.payout.GetPayoutJobUseCase;
+import br.com.pix.wallet.application.pix.payout.ImportPayoutFileCommand;
+import br.com.pix.wallet.application.pix.payout.ImportPayoutFileUseCase;
+import br.com.pix.wallet.application.pix.payout.ListPayoutRejectionsCommand;
+import br.com.pix.wallet.application.pix.payout.ListPayoutRejectionsOutput;
+import br.com.pix.wallet.application.pix.payout.ListPayoutRejectionsUseCase;
+import br.com.pix.wallet.application.pix.payout.PayoutJobOutput;
+import br.com.pix.wallet.presentation.rest.controller.pix.openapi.PixPayoutEndpointOpenApi;
+import br.com.pix.wallet.presentation.rest.controller.pix.request.CreatePayoutJobRequest;
+import br.com.pix.wallet.presentation.rest.helper.ApiUriFactory;
+import br.com.pix.wallet.presentation.rest.helper.PayoutFileReader;
+import br.com.pix.wallet.presentation.rest.helper.StatementStreamWriter;
+import jakarta.validation.Valid;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.InputStream;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/pix/payouts/jobs")
+public class PixPayoutController implements PixPayoutEndpointOpenApi {
+
+    private final CreatePayoutJobUseCase createPayoutJobUseCase;
+    private final ImportPayoutFileUseCase importPayoutFileUseCase;
+    private final GetPayoutJobUseCase getPayoutJobUseCase;
+    private final ListPayoutRejectionsUseCase listPayoutRejectionsUseCase;
+
+    public PixPayoutController(
+        final CreatePayoutJobUseCase createPayoutJobUseCase,
+        final ImportPayoutFileUseCase importPayoutFileUseCase,
+        final GetPayoutJobUseCase getPayoutJobUseCase,
+        final ListPayoutRejectionsUseCase listPayoutRejectionsUseCase
+    ) {
+        this.createPayoutJobUseCase = createPayoutJobUseCase;
+        this.importPayoutFileUseCase = importPayoutFileUseCase;
+        this.getPayoutJobUseCase = getPayoutJobUseCase;
+        this.listPayoutRejectionsUseCase = listPayoutRejectionsUseCase;
+    }
+
+    @Override
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<PayoutJobOutput> createPayoutJob(@Valid @RequestBody final CreatePayoutJobRequest request) {
+        final var output = createPayoutJobUseCase.execute(CreatePayoutJobCommand.with(request.fromWalletId(), request.fileName()));
+
+        final var location = ApiUriFactory.createdLocation("/pix/payouts/jobs/{id}", output.jobId());
+
+        return ResponseEntity.created(location).body(output);
+    }
+
+    @Override
+    @PutMapping(value = "/{id}/file", consumes = StatementStreamWriter.TEXT_CSV_VALUE)
+    public ResponseEntity<PayoutJobOutput> importPayoutFile(@PathVariable("id") final UUID jobId, final InputStream body) {
+        final var lines = PayoutFileReader.read(body);
+
+        return ResponseEntity.ok(importPayoutFileUseCase.execute(ImportPayoutFileCommand.with(jobId, lines)));
+    }
+
+    @Override
+    @GetMapping("/{id}")
+    public ResponseEntity<PayoutJobOutput> getPayoutJob(@PathVariable("id") final UUID jobId) {
+        return ResponseEntity.ok(getPayoutJobUseCase.execute(jobId));
+    }
+
+    @Override
+    @GetMapping("/{id}/rejections")
+    public ResponseEntity<ListPayoutRejectionsOutput> listPayoutRejections(
+        @PathVariable("id") final UUID jobId,
+        @RequestParam(value = "afterLine", required = false) final Long afterLine,
+        @RequestParam(value = "limit", required = false) final Integer limit
+    ) {
+        return ResponseEntity.ok(listPayoutRejectionsUseCase.execute(ListPayoutRejectionsCommand.with(jobId, afterLine, limit)));
+    }
+}
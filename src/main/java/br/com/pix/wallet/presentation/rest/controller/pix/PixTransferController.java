@@ -1,26 +1,47 @@
 package br.com.pix.wallet.presentation.rest.controller.pix;
 
+import br.com.pix.wallet.application.pix.transfer.CreatePixTransferBatchOutput;
+import br.com.pix.wallet.application.pix.transfer.CreatePixTransferBatchUseCase;
 import br.com.pix.wallet.application.pix.transfer.CreatePixTransferCommand;
 import br.com.pix.wallet.application.pix.transfer.CreatePixTransferOutput;
 import br.com.pix.wallet.application.pix.transfer.CreatePixTransferUseCase;
 import br.com.pix.wallet.presentation.rest.controller.pix.openapi.PixTransferEndpointOpenApi;
 import br.com.pix.wallet.presentation.rest.controller.pix.request.CreatePixTransferRequest;
 import br.com.pix.wallet.presentation.rest.helper.ApiUriFactory;
+import br.com.pix.wallet.presentation.rest.helper.PixTransferBatchReader;
+import br.com.pix.wallet.presentation.rest.helper.PixTransferBatchStreamWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.InputStream;
 
 @RestController
 @RequestMapping("/pix/transfers")
 public class PixTransferController implements PixTransferEndpointOpenApi {
 
     private final CreatePixTransferUseCase createPixTransferUseCase;
+    private final CreatePixTransferBatchUseCase createPixTransferBatchUseCase;
+    private final ObjectMapper objectMapper;
+    private final int maxBatchTransfers;
 
-    public PixTransferController(final CreatePixTransferUseCase createPixTransferUseCase) {
+    public PixTransferController(
+        final CreatePixTransferUseCase createPixTransferUseCase,
+        final CreatePixTransferBatchUseCase createPixTransferBatchUseCase,
+        final ObjectMapper objectMapper,
+        @Value("${pix-wallet.transfer-batch.max-transfers:10000}") final int maxBatchTransfers
+    ) {
         this.createPixTransferUseCase = createPixTransferUseCase;
+        this.createPixTransferBatchUseCase = createPixTransferBatchUseCase;
+        this.objectMapper = objectMapper;
+        this.maxBatchTransfers = maxBatchTransfers;
     }
 
     @Override
@@ -40,4 +61,24 @@ public class PixTransferController implements PixTransferEndpointOpenApi {
 
         return ResponseEntity.created(location).body(output);
     }
+
+    @Override
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<CreatePixTransferBatchOutput> createPixTransferBatch(final InputStream body) {
+        return ResponseEntity.ok(executeBatch(body));
+    }
+
+    @Override
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> createPixTransferBatchAsNdjson(final InputStream body) {
+        final var output = executeBatch(body);
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(PixTransferBatchStreamWriter.ndjson(output, objectMapper));
+    }
+
+    private CreatePixTransferBatchOutput executeBatch(final InputStream body) {
+        final var command = PixTransferBatchReader.read(body, objectMapper, maxBatchTransfers);
+        return createPixTransferBatchUseCase.execute(command);
+    }
 }
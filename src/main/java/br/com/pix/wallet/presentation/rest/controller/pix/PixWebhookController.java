@@ -1,25 +1,45 @@
 package br.com.pix.wallet.presentation.rest.controller.pix;
 
+import br.com.pix.wallet.application.pix.webhook.HandlePixWebhookBatchCommand;
+import br.com.pix.wallet.application.pix.webhook.HandlePixWebhookBatchOutput;
+import br.com.pix.wallet.application.pix.webhook.HandlePixWebhookBatchUseCase;
 import br.com.pix.wallet.application.pix.webhook.HandlePixWebhookCommand;
 import br.com.pix.wallet.application.pix.webhook.HandlePixWebhookOutput;
 import br.com.pix.wallet.application.pix.webhook.HandlePixWebhookUseCase;
 import br.com.pix.wallet.presentation.rest.controller.pix.request.HandlePixWebhookRequest;
 import br.com.pix.wallet.presentation.rest.controller.pix.openapi.PixWebhookEndpointOpenApi;
+import br.com.pix.wallet.presentation.rest.helper.PixWebhookBatchReader;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.InputStream;
+
 @RestController
 @RequestMapping("/pix/webhooks")
 public class PixWebhookController implements PixWebhookEndpointOpenApi {
 
     private final HandlePixWebhookUseCase handlePixWebhookUseCase;
+    private final HandlePixWebhookBatchUseCase handlePixWebhookBatchUseCase;
+    private final ObjectMapper objectMapper;
+    private final int maxRequestBatchSize;
 
-    public PixWebhookController(final HandlePixWebhookUseCase handlePixWebhookUseCase) {
+    public PixWebhookController(
+        final HandlePixWebhookUseCase handlePixWebhookUseCase,
+        final HandlePixWebhookBatchUseCase handlePixWebhookBatchUseCase,
+        final ObjectMapper objectMapper,
+        @Value("${pix-wallet.webhook-ingest.max-request-batch-size:1000}") final int maxRequestBatchSize
+    ) {
         this.handlePixWebhookUseCase = handlePixWebhookUseCase;
+        this.handlePixWebhookBatchUseCase = handlePixWebhookBatchUseCase;
+        this.objectMapper = objectMapper;
+        this.maxRequestBatchSize = maxRequestBatchSize;
     }
 
     @Override
@@ -34,6 +54,19 @@ public class PixWebhookController implements PixWebhookEndpointOpenApi {
 
         final var output = handlePixWebhookUseCase.execute(command);
 
+        // Modo assíncrono: aceito, mas ainda não processado
+        if (output.processedAt() == null) {
+            return ResponseEntity.accepted().body(output);
+        }
+
         return ResponseEntity.ok(output);
     }
+
+    @Override
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<HandlePixWebhookBatchOutput> handleWebhookBatch(final InputStream body) {
+        final var commands = PixWebhookBatchReader.read(body, objectMapper, maxRequestBatchSize);
+
+        return ResponseEntity.ok(handlePixWebhookBatchUseCase.execute(HandlePixWebhookBatchCommand.with(commands)));
+    }
 }
@@ -0,0 +1,81 @@
+package br.com.pix.wallet.presentation.rest.controller.pix.openapi;
+
+import br.com.pix.wallet.application.pix.payout.ListPayoutRejectionsOutput;
+import br.com.pix.wallet.application.pix.payout.PayoutJobOutput;
+import br.com.pix.wallet.presentation.rest.controller.pix.request.CreatePayoutJobRequest;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.parameters.RequestBody;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+
+import java.io.InputStream;
+import java.util.UUID;
+
+@Tag(name = "Pix Payouts", description = "Payout file imports")
+public interface PixPayoutEndpointOpenApi {
+
+    @Operation(summary = "Create a payout job", description = "Registers a payout job for a source wallet. The file is uploaded afterwards with PUT /pix/payouts/jobs/{id}/file.", responses = {
+        @ApiResponse(responseCode = "201", description = "Job created", content = @Content(mediaType = "application/json", schema = @Schema(implementation = PayoutJobOutput.class))),
+        @ApiResponse(responseCode = "404", description = "Source wallet not found"),
+        @ApiResponse(responseCode = "422", description = "Invalid request data")
+    })
+    ResponseEntity<PayoutJobOutput> createPayoutJob(
+        @RequestBody(description = "Source wallet and an optional file name", required = true, content = @Content(schema = @Schema(implementation = CreatePayoutJobRequest.class), examples = @ExampleObject(value = """
+            {
+              "fromWalletId": "a0eebc99-9c0b-4ef8-bb6d-6bb9bd380a11",
+              "fileName": "payroll-2023-10.csv"
+            }
+            """))) CreatePayoutJobRequest request
+    );
+
+    @Operation(summary = "Upload a payout file", description = "Streams a CSV file with the header keyType,keyValue,amount,idempotencyKey,endToEndId and applies it in chunks. Uploading the same file again resumes after the last applied line.", responses = {
+        @ApiResponse(responseCode = "200", description = "File handled; status is COMPLETED, or FAILED with lastError when the file is malformed", content = @Content(mediaType = "application/json", schema = @Schema(implementation = PayoutJobOutput.class), examples = @ExampleObject(value = """
+            {
+              "jobId": "f5eebc99-9c0b-4ef8-bb6d-6bb9bd380a66",
+              "fromWalletId": "a0eebc99-9c0b-4ef8-bb6d-6bb9bd380a11",
+              "fileName": "payroll-2023-10.csv",
+              "status": "COMPLETED",
+              "processedLines": 250000,
+              "createdTransfers": 249990,
+              "rejectedLines": 10,
+              "lastError": null,
+              "createdAt": "2023-10-27T10:00:00Z",
+              "updatedAt": "2023-10-27T10:02:30Z"
+            }
+            """))),
+        @ApiResponse(responseCode = "404", description = "Payout job not found"),
+        @ApiResponse(responseCode = "422", description = "Job already completed, header without the required columns, job being processed by another upload, malformed file (the job is left FAILED at the last applied line) or write-mode=partitioned")
+    })
+    ResponseEntity<PayoutJobOutput> importPayoutFile(
+        @Parameter(description = "ID of the payout job", example = "f5eebc99-9c0b-4ef8-bb6d-6bb9bd380a66") UUID jobId,
+        @RequestBody(description = "Payout file", required = true, content = @Content(mediaType = "text/csv", examples = @ExampleObject(value = """
+            keyType,keyValue,amount,idempotencyKey,endToEndId
+            EMAIL,ana@example.com,1500.00,payroll-2023-10-0001,E12345678202310271000s0000000001
+            CPF,52998224725,980.50,payroll-2023-10-0002,E12345678202310271000s0000000002
+            """))) InputStream body
+    );
+
+    @Operation(summary = "Get a payout job", description = "Returns the progress of a payout job.", responses = {
+        @ApiResponse(responseCode = "200", description = "Job found", content = @Content(mediaType = "application/json", schema = @Schema(implementation = PayoutJobOutput.class))),
+        @ApiResponse(responseCode = "404", description = "Payout job not found")
+    })
+    ResponseEntity<PayoutJobOutput> getPayoutJob(
+        @Parameter(description = "ID of the payout job", example = "f5eebc99-9c0b-4ef8-bb6d-6bb9bd380a66") UUID jobId
+    );
+
+    @Operation(summary = "List rejected payout lines", description = "Returns the rejected lines of a payout job in line order, paginated by line number.", responses = {
+        @ApiResponse(responseCode = "200", description = "Page of rejected lines", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ListPayoutRejectionsOutput.class))),
+        @ApiResponse(responseCode = "404", description = "Payout job not found"),
+        @ApiResponse(responseCode = "422", description = "Invalid limit")
+    })
+    ResponseEntity<ListPayoutRejectionsOutput> listPayoutRejections(
+        @Parameter(description = "ID of the payout job", example = "f5eebc99-9c0b-4ef8-bb6d-6bb9bd380a66") UUID jobId,
+        @Parameter(description = "Returns lines after this line number. Defaults to 0.", example = "0") Long afterLine,
+        @Parameter(description = "Page size, between 1 and 1000. Defaults to 100.", example = "100") Integer limit
+    );
+}
@@ -1,6 +1,8 @@
 package br.com.pix.wallet.presentation.rest.controller.pix.openapi;
 
+import br.com.pix.wallet.application.pix.transfer.CreatePixTransferBatchOutput;
 import br.com.pix.wallet.application.pix.transfer.CreatePixTransferOutput;
+import br.com.pix.wallet.presentation.rest.controller.pix.request.CreatePixTransferBatchRequest;
 import br.com.pix.wallet.presentation.rest.controller.pix.request.CreatePixTransferRequest;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -10,6 +12,9 @@ import io.swagger.v3.oas.annotations.parameters.RequestBody;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.InputStream;
 
 @Tag(name = "Pix Transfers", description = "Operations related to Pix Transfers")
 public interface PixTransferEndpointOpenApi {
@@ -39,4 +44,43 @@ public interface PixTransferEndpointOpenApi {
             }
             """))) CreatePixTransferRequest request
     );
+
+    @Operation(summary = "Create a Pix Transfer Batch", description = "Creates many Pix transfers from one source wallet in a single transaction. The source wallet is locked once per batch. Results are returned in request order, as a JSON document or as NDJSON (one line per transfer) when Accept is application/x-ndjson.", responses = {
+        @ApiResponse(responseCode = "200", description = "Batch handled; each transfer is CREATED, REJECTED or SKIPPED (ALL_OR_NOTHING batch with a rejected transfer)", content = @Content(mediaType = "application/json", schema = @Schema(implementation = CreatePixTransferBatchOutput.class), examples = @ExampleObject(value = """
+            {
+              "fromWalletId": "a0eebc99-9c0b-4ef8-bb6d-6bb9bd380a11",
+              "failureMode": "PARTIAL",
+              "created": 1,
+              "rejected": 1,
+              "skipped": 0,
+              "transfers": [
+                { "idempotencyKey": "payout-1", "endToEndId": "E1", "outcome": "CREATED", "transfer": { "transferId": "c2eebc99-9c0b-4ef8-bb6d-6bb9bd380a33", "endToEndId": "E1", "fromWalletId": "a0eebc99-9c0b-4ef8-bb6d-6bb9bd380a11", "toWalletId": "d3eebc99-9c0b-4ef8-bb6d-6bb9bd380a44", "amount": 100.00, "status": "PENDING" }, "errors": [] },
+                { "idempotencyKey": "payout-2", "endToEndId": "E2", "outcome": "REJECTED", "transfer": null, "errors": [{ "message": "Insufficient balance in source wallet" }] }
+              ]
+            }
+            """))),
+        @ApiResponse(responseCode = "404", description = "Source wallet not found"),
+        @ApiResponse(responseCode = "422", description = "Malformed body, empty batch, invalid failureMode or more than transfer-batch.max-transfers transfers")
+    })
+    ResponseEntity<CreatePixTransferBatchOutput> createPixTransferBatch(
+        @RequestBody(description = "Source wallet, failure mode (ALL_OR_NOTHING or PARTIAL) and transfers", required = true, content = @Content(schema = @Schema(implementation = CreatePixTransferBatchRequest.class), examples = @ExampleObject(value = """
+            {
+              "fromWalletId": "a0eebc99-9c0b-4ef8-bb6d-6bb9bd380a11",
+              "failureMode": "PARTIAL",
+              "transfers": [
+                { "toWalletId": "d3eebc99-9c0b-4ef8-bb6d-6bb9bd380a44", "amount": 100.00, "idempotencyKey": "payout-1", "endToEndId": "E1" },
+                { "toWalletId": "e4eebc99-9c0b-4ef8-bb6d-6bb9bd380a55", "amount": 50.00, "idempotencyKey": "payout-2", "endToEndId": "E2" }
+              ]
+            }
+            """))) InputStream body
+    );
+
+    @Operation(summary = "Create a Pix Transfer Batch (NDJSON)", description = "Same as the JSON batch endpoint, but the result of each transfer is streamed as one JSON object per line, in request order.", responses = {
+        @ApiResponse(responseCode = "200", description = "Batch handled; one line per transfer", content = @Content(mediaType = "application/x-ndjson")),
+        @ApiResponse(responseCode = "404", description = "Source wallet not found"),
+        @ApiResponse(responseCode = "422", description = "Malformed body, empty batch, invalid failureMode or more than transfer-batch.max-transfers transfers")
+    })
+    ResponseEntity<StreamingResponseBody> createPixTransferBatchAsNdjson(
+        @RequestBody(description = "Source wallet, failure mode (ALL_OR_NOTHING or PARTIAL) and transfers", required = true, content = @Content(schema = @Schema(implementation = CreatePixTransferBatchRequest.class))) InputStream body
+    );
 }
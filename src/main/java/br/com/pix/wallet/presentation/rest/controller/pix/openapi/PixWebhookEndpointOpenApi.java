@@ -1,8 +1,10 @@
 package br.com.pix.wallet.presentation.rest.controller.pix.openapi;
 
+import br.com.pix.wallet.application.pix.webhook.HandlePixWebhookBatchOutput;
 import br.com.pix.wallet.application.pix.webhook.HandlePixWebhookOutput;
 import br.com.pix.wallet.presentation.rest.controller.pix.request.HandlePixWebhookRequest;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -11,6 +13,8 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.http.ResponseEntity;
 
+import java.io.InputStream;
+
 @Tag(name = "Pix Webhooks", description = "Operations related to Pix Webhook events")
 public interface PixWebhookEndpointOpenApi {
 
@@ -25,7 +29,9 @@ public interface PixWebhookEndpointOpenApi {
                       "processedAt": "2023-10-27T10:00:01Z"
                     }
                     """))),
-            @ApiResponse(responseCode = "400", description = "Invalid request data")
+            @ApiResponse(responseCode = "202", description = "Webhook accepted for asynchronous processing (webhook-ingest.mode=async); processedAt is null"),
+            @ApiResponse(responseCode = "400", description = "Invalid request data"),
+            @ApiResponse(responseCode = "503", description = "Webhook inbox is full, retry after the Retry-After header")
     })
     ResponseEntity<HandlePixWebhookOutput> handleWebhook(
             @RequestBody(description = "Webhook event data", required = true, content = @Content(schema = @Schema(implementation = HandlePixWebhookRequest.class), examples = @ExampleObject(value = """
@@ -36,4 +42,19 @@ public interface PixWebhookEndpointOpenApi {
                       "occurredAt": "2023-10-27T10:00:00Z"
                     }
                     """))) HandlePixWebhookRequest request);
+
+    @Operation(summary = "Handle Pix Webhook Event Batch", description = "Receives a JSON array of Pix webhook events, parsed as a stream, and reports one outcome per event in request order.", responses = {
+            @ApiResponse(responseCode = "200", description = "Batch handled; each event is STORED, ACCEPTED (async mode), DUPLICATE or REJECTED", content = @Content(mediaType = "application/json", schema = @Schema(implementation = HandlePixWebhookBatchOutput.class), examples = @ExampleObject(value = """
+                    {
+                      "events": [
+                        { "eventId": "evt-001", "outcome": "STORED", "webhookEventId": "d4eebc99-9c0b-4ef8-bb6d-6bb9bd380a55", "errors": [] },
+                        { "eventId": "evt-002", "outcome": "DUPLICATE", "webhookEventId": null, "errors": [] },
+                        { "eventId": "evt-003", "outcome": "REJECTED", "webhookEventId": null, "errors": [{ "message": "Invalid webhook event type: 'UNKNOWN'" }] }
+                      ]
+                    }
+                    """))),
+            @ApiResponse(responseCode = "422", description = "Body is not a JSON array, is empty or exceeds webhook-ingest.max-request-batch-size")
+    })
+    ResponseEntity<HandlePixWebhookBatchOutput> handleWebhookBatch(
+            @RequestBody(description = "Array of webhook events", required = true, content = @Content(array = @ArraySchema(schema = @Schema(implementation = HandlePixWebhookRequest.class)))) InputStream body);
 }
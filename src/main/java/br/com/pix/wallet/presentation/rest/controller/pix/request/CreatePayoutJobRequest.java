@@ -0,0 +1,14 @@
+package br.com.pix.wallet.presentation.rest.controller.pix.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+public record CreatePayoutJobRequest(
+
+    @NotBlank(message = "'fromWalletId' must not be blank")
+    String fromWalletId,
+
+    @Size(max = 255, message = "'fileName' must have at most 255 characters")
+    String fileName
+) {
+}
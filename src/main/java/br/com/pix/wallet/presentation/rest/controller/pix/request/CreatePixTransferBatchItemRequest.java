@@ -0,0 +1,11 @@
+package br.com.pix.wallet.presentation.rest.controller.pix.request;
+
+import java.math.BigDecimal;
+
+public record CreatePixTransferBatchItemRequest(
+    String toWalletId,
+    BigDecimal amount,
+    String idempotencyKey,
+    String endToEndId
+) {
+}
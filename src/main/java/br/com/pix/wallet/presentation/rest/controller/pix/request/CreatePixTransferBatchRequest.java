@@ -0,0 +1,11 @@
+package br.com.pix.wallet.presentation.rest.controller.pix.request;
+
+import java.util.List;
+
+// Só documenta o corpo no OpenAPI: o lote é lido em streaming pelo PixTransferBatchReader
+public record CreatePixTransferBatchRequest(
+    String fromWalletId,
+    String failureMode,
+    List<CreatePixTransferBatchItemRequest> transfers
+) {
+}
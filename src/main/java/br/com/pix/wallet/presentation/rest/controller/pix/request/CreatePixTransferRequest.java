@@ -1,5 +1,6 @@
 package br.com.pix.wallet.presentation.rest.controller.pix.request;
 
+import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
@@ -16,6 +17,7 @@ public record CreatePixTransferRequest(
 
     @NotNull(message = "'amount' must not be null")
     @Positive(message = "'amount' must be greater than zero")
+    @Digits(integer = 17, fraction = 2, message = "'amount' must have at most 2 decimal places")
     BigDecimal amount,
 
     @NotBlank(message = "'idempotencyKey' must not be blank")
@@ -0,0 +1,11 @@
+package br.com.pix.wallet.presentation.rest.controller.pix.request;
+
+// Colunas do arquivo de payout, casadas pelo nome no cabeçalho
+public record PayoutFileRow(
+    String keyType,
+    String keyValue,
+    String amount,
+    String idempotencyKey,
+    String endToEndId
+) {
+}
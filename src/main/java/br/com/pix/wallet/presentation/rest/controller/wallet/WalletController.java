@@ -2,26 +2,45 @@ package br.com.pix.wallet.presentation.rest.controller.wallet;
 
 import br.com.pix.wallet.application.wallet.balance.GetBalanceOutput;
 import br.com.pix.wallet.application.wallet.balance.GetBalanceUseCase;
+import br.com.pix.wallet.application.wallet.balance.GetBalanceVersionUseCase;
 import br.com.pix.wallet.application.wallet.create.CreateWalletCommand;
 import br.com.pix.wallet.application.wallet.create.CreateWalletOutput;
 import br.com.pix.wallet.application.wallet.create.CreateWalletUseCase;
 import br.com.pix.wallet.application.wallet.deposit.DepositCommand;
 import br.com.pix.wallet.application.wallet.deposit.DepositOutput;
 import br.com.pix.wallet.application.wallet.deposit.DepositUseCase;
+import br.com.pix.wallet.application.wallet.statement.GetStatementCommand;
+import br.com.pix.wallet.application.wallet.statement.GetStatementOutput;
+import br.com.pix.wallet.application.wallet.statement.GetStatementUseCase;
+import br.com.pix.wallet.application.wallet.statement.StreamStatementCommand;
+import br.com.pix.wallet.application.wallet.statement.StreamStatementUseCase;
+import br.com.pix.wallet.application.wallet.striping.EnableBalanceStripingCommand;
+import br.com.pix.wallet.application.wallet.striping.EnableBalanceStripingOutput;
+import br.com.pix.wallet.application.wallet.striping.EnableBalanceStripingUseCase;
 import br.com.pix.wallet.application.wallet.withdraw.WithdrawCommand;
 import br.com.pix.wallet.application.wallet.withdraw.WithdrawOutput;
 import br.com.pix.wallet.application.wallet.withdraw.WithdrawUseCase;
 import br.com.pix.wallet.presentation.rest.controller.wallet.openapi.WalletEndpointOpenApi;
 import br.com.pix.wallet.presentation.rest.controller.wallet.request.CreateWalletRequest;
 import br.com.pix.wallet.presentation.rest.controller.wallet.request.DepositRequest;
+import br.com.pix.wallet.presentation.rest.controller.wallet.request.EnableBalanceStripingRequest;
 import br.com.pix.wallet.presentation.rest.controller.wallet.request.WithdrawRequest;
 import br.com.pix.wallet.presentation.rest.helper.ApiUriFactory;
+import br.com.pix.wallet.presentation.rest.helper.StatementStreamWriter;
+import br.com.pix.wallet.presentation.rest.helper.VersionETag;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.Instant;
+import java.util.Optional;
 import java.util.UUID;
 
 @RestController
@@ -30,19 +49,34 @@ public class WalletController implements WalletEndpointOpenApi {
 
     private final CreateWalletUseCase createWalletUseCase;
     private final GetBalanceUseCase getBalanceUseCase;
+    private final GetBalanceVersionUseCase getBalanceVersionUseCase;
     private final DepositUseCase depositUseCase;
     private final WithdrawUseCase withdrawUseCase;
+    private final EnableBalanceStripingUseCase enableBalanceStripingUseCase;
+    private final GetStatementUseCase getStatementUseCase;
+    private final StreamStatementUseCase streamStatementUseCase;
+    private final ObjectMapper objectMapper;
 
     public WalletController(
         final CreateWalletUseCase createWalletUseCase,
         final GetBalanceUseCase getBalanceUseCase,
+        final GetBalanceVersionUseCase getBalanceVersionUseCase,
         final DepositUseCase depositUseCase,
-        final WithdrawUseCase withdrawUseCase
+        final WithdrawUseCase withdrawUseCase,
+        final EnableBalanceStripingUseCase enableBalanceStripingUseCase,
+        final GetStatementUseCase getStatementUseCase,
+        final StreamStatementUseCase streamStatementUseCase,
+        final ObjectMapper objectMapper
     ) {
         this.createWalletUseCase = createWalletUseCase;
         this.getBalanceUseCase = getBalanceUseCase;
+        this.getBalanceVersionUseCase = getBalanceVersionUseCase;
         this.depositUseCase = depositUseCase;
         this.withdrawUseCase = withdrawUseCase;
+        this.enableBalanceStripingUseCase = enableBalanceStripingUseCase;
+        this.getStatementUseCase = getStatementUseCase;
+        this.streamStatementUseCase = streamStatementUseCase;
+        this.objectMapper = objectMapper;
     }
 
     @Override
@@ -58,10 +92,19 @@ public class WalletController implements WalletEndpointOpenApi {
     @GetMapping("/{id}/balance")
     public ResponseEntity<GetBalanceOutput> getBalance(
         @PathVariable("id") final UUID walletId,
-        @RequestParam(value = "at", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final Instant at
+        @RequestParam(value = "at", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final Instant at,
+        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) final String ifNoneMatch
     ) {
+        // Polling do saldo atual: confere só a versão (cache ou projeção) antes de ler e serializar o saldo
+        if (at == null && ifNoneMatch != null) {
+            final var version = getBalanceVersionUseCase.execute(walletId);
+            if (version.isPresent() && VersionETag.matches(ifNoneMatch, version.get())) {
+                return notModified(version.get());
+            }
+        }
+
         final var output = getBalanceUseCase.execute(walletId, at);
-        return ResponseEntity.ok(output);
+        return okWithETag(Optional.ofNullable(output.version())).body(output);
     }
 
     @Override
@@ -79,4 +122,76 @@ public class WalletController implements WalletEndpointOpenApi {
         final var output = withdrawUseCase.execute(command);
         return ResponseEntity.ok(output);
     }
+
+    @Override
+    @PutMapping("/{id}/balance-slots")
+    public ResponseEntity<EnableBalanceStripingOutput> enableBalanceStriping(
+        @PathVariable("id") final UUID walletId,
+        @RequestBody @Valid final EnableBalanceStripingRequest request
+    ) {
+        final var command = EnableBalanceStripingCommand.with(walletId, request.slots());
+        final var output = enableBalanceStripingUseCase.execute(command);
+        return ResponseEntity.ok(output);
+    }
+
+    @Override
+    @GetMapping(value = "/{id}/statement", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<GetStatementOutput> getStatement(
+        @PathVariable("id") final UUID walletId,
+        @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final Instant from,
+        @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final Instant to,
+        @RequestParam(value = "cursor", required = false) final String cursor,
+        @RequestParam(value = "limit", required = false) final Integer limit,
+        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) final String ifNoneMatch
+    ) {
+        // O extrato só muda junto com a versão da carteira; lida antes da página, a ETag nunca fica à frente do corpo
+        final var version = getBalanceVersionUseCase.execute(walletId);
+        if (version.isPresent() && VersionETag.matches(ifNoneMatch, version.get())) {
+            return notModified(version.get());
+        }
+
+        final var command = GetStatementCommand.with(walletId, from, to, cursor, limit);
+        final var output = getStatementUseCase.execute(command);
+        return okWithETag(version).body(output);
+    }
+
+    @Override
+    @GetMapping(value = "/{id}/statement", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamStatementAsNdjson(
+        @PathVariable("id") final UUID walletId,
+        @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final Instant from,
+        @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final Instant to
+    ) {
+        final var statement = streamStatementUseCase.execute(StreamStatementCommand.with(walletId, from, to));
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(StatementStreamWriter.ndjson(statement, objectMapper));
+    }
+
+    @Override
+    @GetMapping(value = "/{id}/statement", produces = StatementStreamWriter.TEXT_CSV_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamStatementAsCsv(
+        @PathVariable("id") final UUID walletId,
+        @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final Instant from,
+        @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final Instant to
+    ) {
+        final var statement = streamStatementUseCase.execute(StreamStatementCommand.with(walletId, from, to));
+        final var disposition = ContentDisposition.attachment().filename("statement-" + walletId + ".csv").build();
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(StatementStreamWriter.TEXT_CSV_VALUE))
+            .header(HttpHeaders.CONTENT_DISPOSITION, disposition.toString())
+            .body(StatementStreamWriter.csv(statement));
+    }
+
+    private static <T> ResponseEntity<T> notModified(final long version) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+            .eTag(VersionETag.of(version))
+            .build();
+    }
+
+    private static ResponseEntity.BodyBuilder okWithETag(final Optional<Long> version) {
+        final var builder = ResponseEntity.ok();
+        version.ifPresent(value -> builder.eTag(VersionETag.of(value)));
+        return builder;
+    }
 }
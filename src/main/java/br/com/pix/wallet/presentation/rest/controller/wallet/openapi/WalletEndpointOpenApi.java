@@ -3,12 +3,16 @@ package br.com.pix.wallet.presentation.rest.controller.wallet.openapi;
 import br.com.pix.wallet.application.wallet.balance.GetBalanceOutput;
 import br.com.pix.wallet.application.wallet.create.CreateWalletOutput;
 import br.com.pix.wallet.application.wallet.deposit.DepositOutput;
+import br.com.pix.wallet.application.wallet.statement.GetStatementOutput;
+import br.com.pix.wallet.application.wallet.striping.EnableBalanceStripingOutput;
 import br.com.pix.wallet.application.wallet.withdraw.WithdrawOutput;
 import br.com.pix.wallet.presentation.rest.controller.wallet.request.CreateWalletRequest;
 import br.com.pix.wallet.presentation.rest.controller.wallet.request.DepositRequest;
+import br.com.pix.wallet.presentation.rest.controller.wallet.request.EnableBalanceStripingRequest;
 import br.com.pix.wallet.presentation.rest.controller.wallet.request.WithdrawRequest;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -16,6 +20,7 @@ import io.swagger.v3.oas.annotations.parameters.RequestBody;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.Instant;
 import java.util.UUID;
@@ -50,7 +55,8 @@ public interface WalletEndpointOpenApi {
 
     @Operation(
         summary = "Get wallet balance",
-        description = "Retrieves the current balance of a wallet. Optionally, a specific date/time can be provided to get the balance at that moment.",
+        description = "Retrieves the current balance of a wallet. Optionally, a specific date/time can be provided to get the balance at that moment. "
+            + "The current balance carries an ETag; send it back in If-None-Match to get 304 while the balance is unchanged.",
         responses = {
             @ApiResponse(
                 responseCode = "200",
@@ -63,11 +69,13 @@ public interface WalletEndpointOpenApi {
                     }
                     """
                 ))),
+            @ApiResponse(responseCode = "304", description = "Balance unchanged since the ETag sent in If-None-Match"),
             @ApiResponse(responseCode = "404", description = "Wallet not found")
         })
     ResponseEntity<GetBalanceOutput> getBalance(
         @Parameter(description = "ID of the wallet", example = "a0eebc99-9c0b-4ef8-bb6d-6bb9bd380a11") UUID walletId,
-        @Parameter(description = "Date/time to check the balance (ISO 8601). If not provided, returns current balance.", example = "2023-10-27T10:00:00Z") Instant at
+        @Parameter(description = "Date/time to check the balance (ISO 8601). If not provided, returns current balance.", example = "2023-10-27T10:00:00Z") Instant at,
+        @Parameter(in = ParameterIn.HEADER, name = "If-None-Match", description = "ETag of a previously returned current balance", example = "\"42\"") String ifNoneMatch
     );
 
     @Operation(
@@ -123,4 +131,99 @@ public interface WalletEndpointOpenApi {
                 }
                 """))) WithdrawRequest request
     );
-}
+
+    @Operation(
+        summary = "Enable balance striping",
+        description = "Splits incoming credits of a hot wallet across balance slots so they no longer contend on the wallet row.",
+        responses = {
+            @ApiResponse(
+                responseCode = "200",
+                description = "Striping enabled",
+                content = @Content(mediaType = "application/json",
+                    schema = @Schema(implementation = EnableBalanceStripingOutput.class), examples = @ExampleObject(value = """
+                    {
+                      "walletId": "a0eebc99-9c0b-4ef8-bb6d-6bb9bd380a11",
+                      "balanceSlots": 8
+                    }
+                    """))),
+            @ApiResponse(responseCode = "400", description = "Invalid request data"),
+            @ApiResponse(responseCode = "404", description = "Wallet not found"),
+            @ApiResponse(responseCode = "422", description = "Invalid slot count")
+        })
+    ResponseEntity<EnableBalanceStripingOutput> enableBalanceStriping(
+        @Parameter(description = "ID of the wallet", example = "a0eebc99-9c0b-4ef8-bb6d-6bb9bd380a11") UUID walletId,
+        @RequestBody(
+            description = "Striping data",
+            required = true,
+            content = @Content(schema = @Schema(implementation = EnableBalanceStripingRequest.class), examples = @ExampleObject(value = """
+                {
+                  "slots": 8
+                }
+                """))) EnableBalanceStripingRequest request
+    );
+
+    @Operation(
+        summary = "Get wallet statement",
+        description = "Returns one page of ledger entries ordered by occurrence. Pass the returned 'nextCursor' to fetch the following page.",
+        responses = {
+            @ApiResponse(
+                responseCode = "200",
+                description = "Statement page retrieved successfully",
+                content = @Content(mediaType = "application/json",
+                    schema = @Schema(implementation = GetStatementOutput.class), examples = @ExampleObject(value = """
+                    {
+                      "walletId": "a0eebc99-9c0b-4ef8-bb6d-6bb9bd380a11",
+                      "entries": [
+                        {
+                          "entryId": "5f0c1b7e-2d4a-4c39-9a57-0b8a4f3e2c11",
+                          "operationType": "DEPOSIT",
+                          "amount": 100.00,
+                          "balanceAfterOperation": 100.00,
+                          "endToEndId": null,
+                          "occurredAt": "2023-10-27T10:00:00Z"
+                        }
+                      ],
+                      "nextCursor": "MTY5ODQwMDgwMC4wLjVmMGMxYjdlLTJkNGEtNGMzOS05YTU3LTBiOGE0ZjNlMmMxMQ"
+                    }
+                    """))),
+            @ApiResponse(responseCode = "304", description = "Statement unchanged since the ETag sent in If-None-Match"),
+            @ApiResponse(responseCode = "404", description = "Wallet not found"),
+            @ApiResponse(responseCode = "422", description = "Invalid limit, cursor or period")
+        })
+    ResponseEntity<GetStatementOutput> getStatement(
+        @Parameter(description = "ID of the wallet", example = "a0eebc99-9c0b-4ef8-bb6d-6bb9bd380a11") UUID walletId,
+        @Parameter(description = "Start of the period, inclusive (ISO 8601)", example = "2023-10-01T00:00:00Z") Instant from,
+        @Parameter(description = "End of the period, inclusive (ISO 8601). Defaults to now.", example = "2023-10-31T23:59:59Z") Instant to,
+        @Parameter(description = "Opaque cursor returned by the previous page") String cursor,
+        @Parameter(description = "Page size, between 1 and 500. Defaults to 50.", example = "50") Integer limit,
+        @Parameter(in = ParameterIn.HEADER, name = "If-None-Match", description = "ETag of a previously returned page", example = "\"42\"") String ifNoneMatch
+    );
+
+    @Operation(
+        summary = "Export wallet statement as NDJSON",
+        description = "Streams every ledger entry of the period, one JSON object per line.",
+        responses = {
+            @ApiResponse(responseCode = "200", description = "Statement streamed", content = @Content(mediaType = "application/x-ndjson")),
+            @ApiResponse(responseCode = "404", description = "Wallet not found"),
+            @ApiResponse(responseCode = "422", description = "Invalid period")
+        })
+    ResponseEntity<StreamingResponseBody> streamStatementAsNdjson(
+        @Parameter(description = "ID of the wallet", example = "a0eebc99-9c0b-4ef8-bb6d-6bb9bd380a11") UUID walletId,
+        @Parameter(description = "Start of the period, inclusive (ISO 8601)", example = "2023-10-01T00:00:00Z") Instant from,
+        @Parameter(description = "End of the period, inclusive (ISO 8601). Defaults to now.", example = "2023-10-31T23:59:59Z") Instant to
+    );
+
+    @Operation(
+        summary = "Export wallet statement as CSV",
+        description = "Streams every ledger entry of the period as a CSV file with a header row.",
+        responses = {
+            @ApiResponse(responseCode = "200", description = "Statement streamed", content = @Content(mediaType = "text/csv")),
+            @ApiResponse(responseCode = "404", description = "Wallet not found"),
+            @ApiResponse(responseCode = "422", description = "Invalid period")
+        })
+    ResponseEntity<StreamingResponseBody> streamStatementAsCsv(
+        @Parameter(description = "ID of the wallet", example = "a0eebc99-9c0b-4ef8-bb6d-6bb9bd380a11") UUID walletId,
+        @Parameter(description = "Start of the period, inclusive (ISO 8601)", example = "2023-10-01T00:00:00Z") Instant from,
+        @Parameter(description = "End of the period, inclusive (ISO 8601). Defaults to now.", example = "2023-10-31T23:59:59Z") Instant to
+    );
+}
\ No newline at end of file
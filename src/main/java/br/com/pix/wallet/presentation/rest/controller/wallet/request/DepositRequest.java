@@ -1,9 +1,10 @@
 package br.com.pix.wallet.presentation.rest.controller.wallet.request;
 
+import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 
 import java.math.BigDecimal;
 
-public record DepositRequest(@NotNull @Positive BigDecimal amount) {
+public record DepositRequest(@NotNull @Positive @Digits(integer = 17, fraction = 2) BigDecimal amount) {
 }
\ No newline at end of file
@@ -0,0 +1,7 @@
+package br.com.pix.wallet.presentation.rest.controller.wallet.request;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+public record EnableBalanceStripingRequest(@NotNull @Positive Integer slots) {
+}
@@ -2,7 +2,14 @@ package br.com.pix.wallet.presentation.rest.error;
 
 import br.com.pix.wallet.domain.exception.DomainException;
 import br.com.pix.wallet.domain.exception.NotFoundException;
+import br.com.pix.wallet.domain.exception.OutcomeUnknownException;
+import br.com.pix.wallet.domain.exception.ServiceUnavailableException;
 import jakarta.persistence.OptimisticLockException;
+import org.hibernate.exception.ConstraintViolationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import br.com.pix.wallet.domain.validation.Error;
@@ -12,10 +19,18 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 import java.util.List;
+import java.util.Locale;
 
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    private static final Logger log = LoggerFactory.getLogger(GlobalExceptionHandler.class);
+
+    private static final List<String> DUPLICATE_TRANSFER_CONSTRAINTS = List.of(
+        "uk_pix_transfer_idempotency_key",
+        "uk_pix_transfer_end_to_end_id"
+    );
+
     @ExceptionHandler(value = DomainException.class)
     public ResponseEntity<ApiError> handleDomainException(final DomainException ex) {
         return ResponseEntity.unprocessableEntity().body(ApiError.from(ex));
@@ -26,6 +41,19 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ApiError.from(ex));
     }
 
+    @ExceptionHandler(value = ServiceUnavailableException.class)
+    public ResponseEntity<ApiError> handleServiceUnavailableException(final ServiceUnavailableException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, "1")
+            .body(ApiError.from(ex));
+    }
+
+    // 504 e não 500: a operação pode ter sido gravada, o cliente deve consultar antes de tentar de novo
+    @ExceptionHandler(value = OutcomeUnknownException.class)
+    public ResponseEntity<ApiError> handleOutcomeUnknownException(final OutcomeUnknownException ex) {
+        return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).body(ApiError.from(ex));
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ApiError> handleValidationException(MethodArgumentNotValidException ex) {
         final List<Error> errors = ex.getBindingResult()
@@ -44,6 +72,33 @@ public class GlobalExceptionHandler {
                 List.of(Error.of(ex.getMessage()))));
     }
 
+    // Só as chaves únicas que identificam uma transferência repetida viram 409; qualquer outra violação é defeito
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ApiError> handleDataIntegrityViolation(DataIntegrityViolationException ex) {
+        if (isDuplicateTransfer(ex)) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(new ApiError("Request conflicts with an existing resource",
+                    List.of(Error.of("Duplicate request"))));
+        }
+
+        log.error("Unexpected data integrity violation", ex);
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+            .body(new ApiError("Internal error",
+                List.of(Error.of("The request could not be stored"))));
+    }
+
+    private static boolean isDuplicateTransfer(final DataIntegrityViolationException ex) {
+        Throwable cause = ex;
+        while (cause != null) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+                final var constraint = violation.getConstraintName().toLowerCase(Locale.ROOT);
+                return DUPLICATE_TRANSFER_CONSTRAINTS.stream().anyMatch(constraint::contains);
+            }
+            cause = cause.getCause();
+        }
+        return false;
+    }
+
     private static Error toDomainError(FieldError fieldError) {
         final String message = String.format("'%s' %s",
             fieldError.getField(),
@@ -0,0 +1,142 @@
+package br.com.pix.wallet.presentation.rest.filter;
+
+import br.com.pix.wallet.application.metrics.ApplicationMetrics;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+// Um limitador adaptativo por controller: cada um aprende seu próprio limite a partir da latência observada
+// e descarta o excesso com 503 antes que o pool de conexões sature.
+public class AdaptiveConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final Map<String, String> ENDPOINTS_BY_PATH = new LinkedHashMap<>();
+
+    static {
+        ENDPOINTS_BY_PATH.put("/pix/transfers", "pix-transfers");
+        ENDPOINTS_BY_PATH.put("/pix/webhooks", "pix-webhooks");
+        ENDPOINTS_BY_PATH.put("/wallets", "wallets");
+    }
+
+    private static final String REJECTED_RESPONSE = """
+        {"message":"Service is busy","errors":[{"message":"Concurrency limit reached, retry later"}]}""";
+
+    private final Map<String, AdaptiveConcurrencyLimiter> limiters = new LinkedHashMap<>();
+    private final ApplicationMetrics applicationMetrics;
+
+    public AdaptiveConcurrencyLimitFilter(
+        final Supplier<AdaptiveConcurrencyLimiter> limiterFactory,
+        final ApplicationMetrics applicationMetrics
+    ) {
+        this.applicationMetrics = applicationMetrics;
+        ENDPOINTS_BY_PATH.values().forEach(endpoint -> {
+            final var limiter = limiterFactory.get();
+            limiters.put(endpoint, limiter);
+            applicationMetrics.registerConcurrencyLimitGauges(endpoint, limiter::getLimit, limiter::getInFlight);
+        });
+    }
+
+    @Override
+    protected boolean shouldNotFilter(final HttpServletRequest request) {
+        return resolveEndpoint(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(
+        final HttpServletRequest request,
+        final HttpServletResponse response,
+        final FilterChain filterChain
+    ) throws ServletException, IOException {
+        final var endpoint = resolveEndpoint(request);
+        final var limiter = limiters.get(endpoint);
+        if (!limiter.tryAcquire()) {
+            applicationMetrics.recordConcurrencyLimitRejection(endpoint);
+            writeRejected(response);
+            return;
+        }
+
+        final var start = System.nanoTime();
+        var completed = false;
+        try {
+            filterChain.doFilter(request, response);
+            completed = true;
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleaseOnComplete(limiter, new AtomicBoolean()));
+            } else if (!completed || response.getStatus() >= HttpStatus.INTERNAL_SERVER_ERROR.value()) {
+                limiter.onDropped();
+            } else {
+                limiter.onSuccess(System.nanoTime() - start);
+            }
+        }
+    }
+
+    private static String resolveEndpoint(final HttpServletRequest request) {
+        final var path = request.getRequestURI().substring(request.getContextPath().length());
+        for (final var entry : ENDPOINTS_BY_PATH.entrySet()) {
+            final var prefix = entry.getKey();
+            if (path.equals(prefix) || path.startsWith(prefix + "/")) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    private void writeRejected(final HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write(REJECTED_RESPONSE);
+    }
+
+    private static final class ReleaseOnComplete implements AsyncListener {
+
+        private final AdaptiveConcurrencyLimiter limiter;
+        private final AtomicBoolean released;
+
+        private ReleaseOnComplete(final AdaptiveConcurrencyLimiter limiter, final AtomicBoolean released) {
+            this.limiter = limiter;
+            this.released = released;
+        }
+
+        @Override
+        public void onComplete(final AsyncEvent event) {
+            if (released.compareAndSet(false, true)) {
+                limiter.onIgnored();
+            }
+        }
+
+        @Override
+        public void onTimeout(final AsyncEvent event) {
+            if (released.compareAndSet(false, true)) {
+                limiter.onDropped();
+            }
+        }
+
+        @Override
+        public void onError(final AsyncEvent event) {
+            if (released.compareAndSet(false, true)) {
+                limiter.onDropped();
+            }
+        }
+
+        @Override
+        public void onStartAsync(final AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package br.com.pix.wallet.presentation.rest.filter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Limite de concorrência por gradiente: compara a latência atual com a latência "sem carga" (média longa).
+// Enquanto a latência fica dentro da tolerância o limite cresce em sqrt(limite); quando ela sobe, o limite
+// encolhe na proporção do gradiente. Respostas 5xx reduzem o limite multiplicativamente (AIMD).
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double MIN_GRADIENT = 0.5;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+    private final double rttTolerance;
+    private final double backoffRatio;
+    private final int longWindow;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile int limit;
+
+    // protegidos por this
+    private double estimatedLimit;
+    private double longRttNanos;
+    private long samples;
+
+    public AdaptiveConcurrencyLimiter(
+        final int initialLimit,
+        final int minLimit,
+        final int maxLimit,
+        final double smoothing,
+        final double rttTolerance,
+        final double backoffRatio,
+        final int longWindow
+    ) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("'minLimit' must be >= 1 and <= 'maxLimit'");
+        }
+        if (initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("'initialLimit' must be between 'minLimit' and 'maxLimit'");
+        }
+        if (smoothing <= 0 || smoothing > 1) {
+            throw new IllegalArgumentException("'smoothing' must be in (0, 1]");
+        }
+        if (rttTolerance < 1) {
+            throw new IllegalArgumentException("'rttTolerance' must be >= 1");
+        }
+        if (backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("'backoffRatio' must be in (0, 1)");
+        }
+        if (longWindow < 1) {
+            throw new IllegalArgumentException("'longWindow' must be >= 1");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.smoothing = smoothing;
+        this.rttTolerance = rttTolerance;
+        this.backoffRatio = backoffRatio;
+        this.longWindow = longWindow;
+        this.estimatedLimit = initialLimit;
+        this.limit = initialLimit;
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            final var current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void onSuccess(final long rttNanos) {
+        final var inFlightAtCompletion = inFlight.getAndDecrement();
+        update(Math.max(1L, rttNanos), inFlightAtCompletion);
+    }
+
+    public synchronized void onDropped() {
+        inFlight.decrementAndGet();
+        estimatedLimit = Math.max(minLimit, estimatedLimit * backoffRatio);
+        limit = (int) estimatedLimit;
+    }
+
+    // Libera sem amostrar: a duração de um extrato em streaming não diz nada sobre a saturação
+    public void onIgnored() {
+        inFlight.decrementAndGet();
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void update(final long rttNanos, final int inFlightAtCompletion) {
+        samples++;
+        final var weight = samples <= longWindow ? 1.0 / samples : 2.0 / (longWindow + 1);
+        longRttNanos += (rttNanos - longRttNanos) * weight;
+
+        // depois de um período longo de sobrecarga a média longa fica inflada; converge mais rápido
+        if (longRttNanos / rttNanos > 2) {
+            longRttNanos *= 0.95;
+        }
+
+        // com menos da metade do limite em uso a latência não mede a capacidade; não cresce
+        if (inFlightAtCompletion < estimatedLimit / 2) {
+            return;
+        }
+
+        final var gradient = Math.max(MIN_GRADIENT, Math.min(1.0, rttTolerance * longRttNanos / rttNanos));
+        final var target = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        final var smoothed = estimatedLimit * (1 - smoothing) + target * smoothing;
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, smoothed));
+        limit = (int) estimatedLimit;
+    }
+}
@@ -0,0 +1,123 @@
+package br.com.pix.wallet.presentation.rest.filter;
+
+import br.com.pix.wallet.application.metrics.ApplicationMetrics;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Com virtual threads não há mais o pool do Tomcat limitando a concorrência: quem limita é este semáforo,
+// dimensionado pelas conexões do Hikari. Requisições aguardam na fila (FIFO) até o prazo, em vez de estourar
+// o connection-timeout curto do pool.
+public class DbAdmissionFilter extends OncePerRequestFilter {
+
+    private static final String UNAVAILABLE_RESPONSE = """
+        {"message":"Service is busy","errors":[{"message":"No database capacity available, retry later"}]}""";
+
+    private final Semaphore permits;
+    private final Duration maxWait;
+    private final ApplicationMetrics applicationMetrics;
+
+    public DbAdmissionFilter(final int permits, final Duration maxWait, final ApplicationMetrics applicationMetrics) {
+        if (permits < 1) {
+            throw new IllegalArgumentException("'permits' must be >= 1");
+        }
+        this.permits = new Semaphore(permits, true);
+        this.maxWait = maxWait;
+        this.applicationMetrics = applicationMetrics;
+        applicationMetrics.registerDbAdmissionGauges(this.permits::getQueueLength, this.permits::availablePermits);
+    }
+
+    @Override
+    protected void doFilterInternal(
+        final HttpServletRequest request,
+        final HttpServletResponse response,
+        final FilterChain filterChain
+    ) throws ServletException, IOException {
+        if (!acquire()) {
+            writeUnavailable(response);
+            return;
+        }
+
+        final var released = new AtomicBoolean();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                // Extrato em streaming continua usando a conexão depois que esta thread retorna
+                request.getAsyncContext().addListener(new ReleaseOnComplete(released));
+            } else {
+                release(released);
+            }
+        }
+    }
+
+    private boolean acquire() {
+        final var start = System.nanoTime();
+        var admitted = false;
+        try {
+            admitted = permits.tryAcquire(maxWait.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        applicationMetrics.recordDbAdmissionWait(Duration.ofNanos(System.nanoTime() - start), admitted);
+        return admitted;
+    }
+
+    private void release(final AtomicBoolean released) {
+        if (released.compareAndSet(false, true)) {
+            permits.release();
+        }
+    }
+
+    private void writeUnavailable(final HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write(UNAVAILABLE_RESPONSE);
+    }
+
+    private final class ReleaseOnComplete implements AsyncListener {
+
+        private final AtomicBoolean released;
+
+        private ReleaseOnComplete(final AtomicBoolean released) {
+            this.released = released;
+        }
+
+        @Override
+        public void onComplete(final AsyncEvent event) {
+            release(released);
+        }
+
+        @Override
+        public void onTimeout(final AsyncEvent event) {
+            release(released);
+        }
+
+        @Override
+        public void onError(final AsyncEvent event) {
+            release(released);
+        }
+
+        @Override
+        public void onStartAsync(final AsyncEvent event) {
+            // o AsyncContext foi reiniciado; o listener precisa ser registrado de novo
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
@@ -0,0 +1,352 @@
+package br.com.pix.wallet.presentation.rest.filter;
+
+import br.com.pix.wallet.domain.idempotency.PaymentIdempotency;
+import br.com.pix.wallet.domain.idempotency.PaymentIdempotencyGateway;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Pattern;
+
+public class IdempotencyKeyFilter extends OncePerRequestFilter {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyKeyFilter.class);
+
+    private static final Pattern IDEMPOTENT_PATHS =
+        Pattern.compile("^/(pix/transfers|wallets/[^/]+/(deposit|withdraw))/?$");
+
+    private static final String IN_PROGRESS_RESPONSE = """
+        {"message":"A request with this Idempotency-Key is still being processed","errors":[{"message":"Retry later with the same Idempotency-Key"}]}""";
+
+    private static final String OUTCOME_UNKNOWN_RESPONSE = """
+        {"message":"The outcome of the request with this Idempotency-Key is unknown","errors":[{"message":"Check the wallet statement before retrying with a new Idempotency-Key"}]}""";
+
+    private static final String PAYLOAD_MISMATCH_RESPONSE = """
+        {"message":"This Idempotency-Key was already used with a different request body","errors":[{"message":"Use a new Idempotency-Key for a different request"}]}""";
+
+    private final PaymentIdempotencyGateway paymentIdempotencyGateway;
+    private final Cache<String, StoredResponse> completedResponses;
+    private final ConcurrentMap<String, CompletableFuture<Optional<StoredResponse>>> inFlight = new ConcurrentHashMap<>();
+    private final Duration inFlightWait;
+    private final Duration staleAfter;
+
+    public IdempotencyKeyFilter(
+        final PaymentIdempotencyGateway paymentIdempotencyGateway,
+        final long responseCacheSize,
+        final Duration responseCacheTtl,
+        final Duration inFlightWait,
+        final Duration staleAfter
+    ) {
+        this.paymentIdempotencyGateway = paymentIdempotencyGateway;
+        this.completedResponses = Caffeine.newBuilder()
+            .maximumSize(responseCacheSize)
+            .expireAfterWrite(responseCacheTtl)
+            .build();
+        this.inFlightWait = inFlightWait;
+        this.staleAfter = staleAfter;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(final HttpServletRequest request) {
+        final var key = request.getHeader(IDEMPOTENCY_KEY_HEADER);
+        return !HttpMethod.POST.matches(request.getMethod())
+            || key == null
+            || key.isBlank()
+            || !IDEMPOTENT_PATHS.matcher(pathOf(request)).matches();
+    }
+
+    @Override
+    protected void doFilterInternal(
+        final HttpServletRequest request,
+        final HttpServletResponse response,
+        final FilterChain filterChain
+    ) throws ServletException, IOException {
+        final var key = request.getHeader(IDEMPOTENCY_KEY_HEADER).trim();
+        final var scope = request.getMethod() + " " + pathOf(request);
+        final var cacheKey = scope + "\n" + key;
+        final var body = new CachedBodyRequest(request);
+        final var requestHash = sha256(body.content);
+
+        while (true) {
+            final var cached = completedResponses.getIfPresent(cacheKey);
+            if (cached != null) {
+                replay(response, cached, requestHash);
+                return;
+            }
+
+            final var mine = new CompletableFuture<Optional<StoredResponse>>();
+            final var running = inFlight.putIfAbsent(cacheKey, mine);
+            if (running == null) {
+                try {
+                    execute(body, response, filterChain, scope, key, requestHash, cacheKey, mine);
+                } finally {
+                    inFlight.remove(cacheKey, mine);
+                    mine.complete(Optional.empty());
+                }
+                return;
+            }
+
+            // Duplicata local concorrente: aguarda a primeira requisição em vez de ir ao banco
+            final var outcome = await(running);
+            if (outcome == null) {
+                writeError(response, HttpStatus.CONFLICT, IN_PROGRESS_RESPONSE);
+                return;
+            }
+            if (outcome.isPresent()) {
+                replay(response, outcome.get(), requestHash);
+                return;
+            }
+            // A primeira tentativa terminou sem resposta reaproveitável; tenta novamente.
+        }
+    }
+
+    private void execute(
+        final HttpServletRequest request,
+        final HttpServletResponse response,
+        final FilterChain filterChain,
+        final String scope,
+        final String key,
+        final String requestHash,
+        final String cacheKey,
+        final CompletableFuture<Optional<StoredResponse>> mine
+    ) throws ServletException, IOException {
+        final var record = PaymentIdempotency.start(key, requestHash);
+
+        if (!paymentIdempotencyGateway.reserve(scope, record, Instant.now().minus(staleAfter))) {
+            final var existing = paymentIdempotencyGateway.findByKeyAndScope(key, scope);
+            final var completed = existing
+                .filter(PaymentIdempotency::isCompleted)
+                .map(StoredResponse::from);
+            if (existing.filter(it -> !it.matchesRequest(requestHash)).isPresent()) {
+                writeError(response, HttpStatus.UNPROCESSABLE_ENTITY, PAYLOAD_MISMATCH_RESPONSE);
+            } else if (completed.isPresent()) {
+                completedResponses.put(cacheKey, completed.get());
+                replay(response, completed.get(), requestHash);
+            } else if (existing.filter(PaymentIdempotency::isUnknown).isPresent()) {
+                writeError(response, HttpStatus.CONFLICT, OUTCOME_UNKNOWN_RESPONSE);
+            } else {
+                writeError(response, HttpStatus.CONFLICT, IN_PROGRESS_RESPONSE);
+            }
+            mine.complete(completed);
+            return;
+        }
+
+        final var wrapper = new ContentCachingResponseWrapper(response);
+        Optional<StoredResponse> outcome = Optional.empty();
+        Integer status = null;
+        try {
+            filterChain.doFilter(request, wrapper);
+            status = wrapper.getStatus();
+            if (isReplayable(status)) {
+                outcome = store(scope, cacheKey, record, wrapper);
+            }
+        } finally {
+            if (outcome.isEmpty()) {
+                if (status != null && isNotCommitted(status)) {
+                    paymentIdempotencyGateway.release(scope, record);
+                } else {
+                    markUnknown(scope, record);
+                }
+            }
+            wrapper.copyBodyToResponse();
+            mine.complete(outcome);
+        }
+    }
+
+    private Optional<StoredResponse> store(
+        final String scope,
+        final String cacheKey,
+        final PaymentIdempotency record,
+        final ContentCachingResponseWrapper wrapper
+    ) {
+        final var stored = new StoredResponse(
+            wrapper.getStatus(),
+            new String(wrapper.getContentAsByteArray(), StandardCharsets.UTF_8),
+            record.getRequestHash()
+        );
+        try {
+            record.complete(stored.status(), stored.payload());
+            if (!paymentIdempotencyGateway.complete(scope, record)) {
+                // A reserva foi retomada por outra requisição depois de stale-after: a resposta dela é a que vale
+                log.warn("Idempotency reservation for scope '{}' was taken over, response not stored", scope);
+                return Optional.empty();
+            }
+            completedResponses.put(cacheKey, stored);
+            return Optional.of(stored);
+        } catch (RuntimeException ex) {
+            // A resposta ainda é devolvida; o destino da chave é decidido pelo status em execute
+            log.warn("Could not store idempotent response for scope '{}'", scope, ex);
+            return Optional.empty();
+        }
+    }
+
+    // Se nem isso for gravado a reserva continua IN_PROGRESS, e só é retomada depois de stale-after
+    private void markUnknown(final String scope, final PaymentIdempotency record) {
+        try {
+            record.markUnknown();
+            paymentIdempotencyGateway.markUnknown(scope, record);
+        } catch (RuntimeException ex) {
+            log.error("Could not mark idempotency key with unknown outcome for scope '{}'", scope, ex);
+        }
+    }
+
+    private Optional<StoredResponse> await(final CompletableFuture<Optional<StoredResponse>> running) {
+        try {
+            return running.get(inFlightWait.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException | TimeoutException ex) {
+            return null;
+        }
+    }
+
+    // 409 e 429 indicam condição transitória: o cliente deve poder repetir com a mesma chave
+    private static boolean isReplayable(final int status) {
+        return status < 500
+            && status != HttpStatus.CONFLICT.value()
+            && status != HttpStatus.TOO_MANY_REQUESTS.value();
+    }
+
+    // 4xx vem de validação ou regra de negócio, com a transação desfeita; 503 é recusa antes de qualquer escrita.
+    // Um 2xx sem resposta registrada, um 500 ou um 504 podem ter sido gravados.
+    private static boolean isNotCommitted(final int status) {
+        return (status >= 400 && status < 500) || status == HttpStatus.SERVICE_UNAVAILABLE.value();
+    }
+
+    private static void replay(
+        final HttpServletResponse response,
+        final StoredResponse stored,
+        final String requestHash
+    ) throws IOException {
+        if (stored.requestHash() != null && !stored.requestHash().equals(requestHash)) {
+            writeError(response, HttpStatus.UNPROCESSABLE_ENTITY, PAYLOAD_MISMATCH_RESPONSE);
+            return;
+        }
+        response.setStatus(stored.status());
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (stored.payload() != null && !stored.payload().isEmpty()) {
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            response.getWriter().write(stored.payload());
+        }
+    }
+
+    private static void writeError(
+        final HttpServletResponse response,
+        final HttpStatus status,
+        final String body
+    ) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write(body);
+    }
+
+    private static String pathOf(final HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    private static String sha256(final byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private record StoredResponse(int status, String payload, String requestHash) {
+
+        private static StoredResponse from(final PaymentIdempotency paymentIdempotency) {
+            return new StoredResponse(
+                Objects.requireNonNullElse(paymentIdempotency.getResponseStatus(), HttpStatus.OK.value()),
+                paymentIdempotency.getResponsePayload(),
+                paymentIdempotency.getRequestHash()
+            );
+        }
+    }
+
+    // O corpo é lido uma vez para o hash e entregue de novo ao controller
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] content;
+
+        private CachedBodyRequest(final HttpServletRequest request) throws IOException {
+            super(request);
+            this.content = request.getInputStream().readAllBytes();
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            final var input = new ByteArrayInputStream(content);
+            return new ServletInputStream() {
+
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(final ReadListener listener) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(final byte[] buffer, final int offset, final int length) {
+                    return input.read(buffer, offset, length);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            final var encoding = Objects.requireNonNullElse(getCharacterEncoding(), StandardCharsets.UTF_8.name());
+            return new BufferedReader(new InputStreamReader(getInputStream(), Charset.forName(encoding)));
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package br.com.pix.wallet.presentation.rest.helper;
+
+import br.com.pix.wallet.application.pix.payout.PayoutFileLine;
+import br.com.pix.wallet.domain.exception.DomainException;
+import br.com.pix.wallet.domain.validation.Error;
+import br.com.pix.wallet.presentation.rest.controller.pix.request.PayoutFileRow;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+public final class PayoutFileReader {
+
+    private static final List<String> COLUMNS = List.of("keyType", "keyValue", "amount", "idempotencyKey", "endToEndId");
+
+    private static final ObjectReader ROW_READER = CsvMapper.builder()
+        .enable(CsvParser.Feature.TRIM_SPACES)
+        .enable(CsvParser.Feature.SKIP_EMPTY_LINES)
+        .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+        .build()
+        .readerFor(PayoutFileRow.class)
+        .with(CsvSchema.emptySchema().withHeader());
+
+    private PayoutFileReader() {
+    }
+
+    // CSV com cabeçalho, lido linha a linha direto do corpo da requisição. O cabeçalho é conferido antes
+    // de qualquer linha ser aplicada; erros de formato no meio do arquivo interrompem a importação ali
+    public static Iterator<PayoutFileLine> read(final InputStream body) {
+        try {
+            final MappingIterator<PayoutFileRow> rows = ROW_READER.readValues(body);
+            final var hasFirst = rows.hasNextValue();
+            final var schema = (CsvSchema) rows.getParserSchema();
+            final var missing = COLUMNS.stream().filter(column -> schema.column(column) == null).toList();
+            if (!missing.isEmpty()) {
+                throw DomainException.with(Error.of("Payout file header is missing columns: %s".formatted(String.join(", ", missing))));
+            }
+            return new LineIterator(rows, hasFirst);
+        } catch (JsonProcessingException ex) {
+            throw malformed(1, ex);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static DomainException malformed(final long line, final JsonProcessingException ex) {
+        return DomainException.with(Error.of("Malformed payout file at line %d: %s".formatted(line, ex.getOriginalMessage())));
+    }
+
+    private static final class LineIterator implements Iterator<PayoutFileLine> {
+
+        private final MappingIterator<PayoutFileRow> rows;
+        private Boolean hasNext;
+        private long lineNumber;
+
+        private LineIterator(final MappingIterator<PayoutFileRow> rows, final boolean hasFirst) {
+            this.rows = rows;
+            this.hasNext = hasFirst;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (hasNext == null) {
+                try {
+                    hasNext = rows.hasNextValue();
+                } catch (JsonProcessingException ex) {
+                    throw malformed(rows.getCurrentLocation().getLineNr(), ex);
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            }
+            return hasNext;
+        }
+
+        @Override
+        public PayoutFileLine next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            hasNext = null;
+            try {
+                final var row = rows.nextValue();
+                return new PayoutFileLine(
+                    ++lineNumber,
+                    row.keyType(),
+                    row.keyValue(),
+                    row.amount(),
+                    row.idempotencyKey(),
+                    row.endToEndId()
+                );
+            } catch (JsonProcessingException ex) {
+                throw malformed(rows.getCurrentLocation().getLineNr(), ex);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package br.com.pix.wallet.presentation.rest.helper;
+
+import br.com.pix.wallet.application.pix.transfer.CreatePixTransferBatchCommand;
+import br.com.pix.wallet.domain.exception.DomainException;
+import br.com.pix.wallet.domain.validation.Error;
+import br.com.pix.wallet.presentation.rest.controller.pix.request.CreatePixTransferBatchItemRequest;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class PixTransferBatchReader {
+
+    private PixTransferBatchReader() {
+    }
+
+    // Mesmo esquema do PixWebhookBatchReader: as transferências são lidas uma a uma direto do corpo,
+    // em qualquer ordem de campos, e um lote acima do limite é recusado sem ler o restante
+    public static CreatePixTransferBatchCommand read(
+        final InputStream body,
+        final ObjectMapper mapper,
+        final int maxTransfers
+    ) {
+        try (final var parser = mapper.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw DomainException.with(Error.of("Transfer batch must be a JSON object"));
+            }
+
+            String fromWalletId = null;
+            String failureMode = null;
+            List<CreatePixTransferBatchCommand.Item> transfers = null;
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final var field = parser.currentName();
+                parser.nextToken();
+                switch (field) {
+                    case "fromWalletId" -> fromWalletId = parser.getValueAsString();
+                    case "failureMode" -> failureMode = parser.getValueAsString();
+                    case "transfers" -> transfers = readTransfers(parser, mapper, maxTransfers);
+                    default -> parser.skipChildren();
+                }
+            }
+
+            if (fromWalletId == null || fromWalletId.isBlank()) {
+                throw DomainException.with(Error.of("'fromWalletId' must not be blank"));
+            }
+            if (transfers == null || transfers.isEmpty()) {
+                throw DomainException.with(Error.of("'transfers' must not be empty"));
+            }
+            return CreatePixTransferBatchCommand.with(fromWalletId, failureMode, transfers);
+        } catch (JsonProcessingException ex) {
+            throw DomainException.with(Error.of("Malformed transfer batch: %s".formatted(ex.getOriginalMessage())));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static List<CreatePixTransferBatchCommand.Item> readTransfers(
+        final JsonParser parser,
+        final ObjectMapper mapper,
+        final int maxTransfers
+    ) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            throw DomainException.with(Error.of("'transfers' must be a JSON array"));
+        }
+
+        final var transfers = new ArrayList<CreatePixTransferBatchCommand.Item>();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (transfers.size() == maxTransfers) {
+                throw DomainException.with(Error.of("Transfer batch must not exceed %d transfers".formatted(maxTransfers)));
+            }
+            final var request = mapper.readValue(parser, CreatePixTransferBatchItemRequest.class);
+            if (request == null) {
+                throw DomainException.with(Error.of("Transfer batch must not contain null transfers"));
+            }
+            transfers.add(CreatePixTransferBatchCommand.Item.with(
+                request.toWalletId(),
+                request.amount(),
+                request.idempotencyKey(),
+                request.endToEndId()
+            ));
+        }
+        return transfers;
+    }
+}
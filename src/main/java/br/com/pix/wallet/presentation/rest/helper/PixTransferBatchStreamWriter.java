@@ -0,0 +1,27 @@
+package br.com.pix.wallet.presentation.rest.helper;
+
+import br.com.pix.wallet.application.pix.transfer.CreatePixTransferBatchOutput;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+public final class PixTransferBatchStreamWriter {
+
+    private PixTransferBatchStreamWriter() {
+    }
+
+    // Uma linha por transferência, na ordem do lote; evita montar o documento inteiro em memória na resposta
+    public static StreamingResponseBody ndjson(final CreatePixTransferBatchOutput output, final ObjectMapper mapper) {
+        return outputStream -> {
+            try (final SequenceWriter sequence = mapper.writer()
+                .withRootValueSeparator("\n")
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .writeValues(outputStream)) {
+                for (final var item : output.transfers()) {
+                    sequence.write(item);
+                }
+            }
+        };
+    }
+}
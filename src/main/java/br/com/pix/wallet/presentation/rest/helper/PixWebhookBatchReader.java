@@ -0,0 +1,61 @@
+package br.com.pix.wallet.presentation.rest.helper;
+
+import br.com.pix.wallet.application.pix.webhook.HandlePixWebhookCommand;
+import br.com.pix.wallet.domain.exception.DomainException;
+import br.com.pix.wallet.domain.validation.Error;
+import br.com.pix.wallet.presentation.rest.controller.pix.request.HandlePixWebhookRequest;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class PixWebhookBatchReader {
+
+    private PixWebhookBatchReader() {
+    }
+
+    // Lê o array elemento a elemento direto do corpo: nem o texto inteiro nem uma árvore JSON ficam em memória,
+    // e um lote acima do limite é recusado sem ler o restante
+    public static List<HandlePixWebhookCommand> read(
+        final InputStream body,
+        final ObjectMapper mapper,
+        final int maxEvents
+    ) {
+        try (final var parser = mapper.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw DomainException.with(Error.of("Webhook batch must be a JSON array"));
+            }
+
+            final var commands = new ArrayList<HandlePixWebhookCommand>();
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                if (commands.size() == maxEvents) {
+                    throw DomainException.with(Error.of("Webhook batch must not exceed %d events".formatted(maxEvents)));
+                }
+                final var request = mapper.readValue(parser, HandlePixWebhookRequest.class);
+                if (request == null) {
+                    throw DomainException.with(Error.of("Webhook batch must not contain null events"));
+                }
+                commands.add(HandlePixWebhookCommand.with(
+                    request.eventId(),
+                    request.endToEndId(),
+                    request.eventType(),
+                    request.occurredAt()
+                ));
+            }
+
+            if (commands.isEmpty()) {
+                throw DomainException.with(Error.of("Webhook batch must not be empty"));
+            }
+            return commands;
+        } catch (JsonProcessingException ex) {
+            throw DomainException.with(Error.of("Malformed webhook batch: %s".formatted(ex.getOriginalMessage())));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
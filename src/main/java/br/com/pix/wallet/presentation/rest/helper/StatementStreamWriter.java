@@ -0,0 +1,64 @@
+package br.com.pix.wallet.presentation.rest.helper;
+
+import br.com.pix.wallet.application.wallet.statement.StatementStream;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.csv.CsvGenerator;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+public final class StatementStreamWriter {
+
+    public static final String TEXT_CSV_VALUE = "text/csv";
+
+    private static final CsvMapper CSV_MAPPER = CsvMapper.builder()
+        .addModule(new JavaTimeModule())
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+        .enable(CsvGenerator.Feature.STRICT_CHECK_FOR_QUOTING)
+        .build();
+
+    private static final CsvSchema CSV_SCHEMA = CsvSchema.builder()
+        .addColumn("entryId")
+        .addColumn("operationType")
+        .addColumn("amount")
+        .addColumn("balanceAfterOperation")
+        .addColumn("endToEndId")
+        .addColumn("occurredAt")
+        .build()
+        .withHeader();
+
+    private StatementStreamWriter() {
+    }
+
+    public static StreamingResponseBody ndjson(final StatementStream statement, final ObjectMapper mapper) {
+        return write(statement, mapper.writer().withRootValueSeparator("\n"));
+    }
+
+    public static StreamingResponseBody csv(final StatementStream statement) {
+        return write(statement, CSV_MAPPER.writer(CSV_SCHEMA));
+    }
+
+    // Uma linha por lançamento direto no gerador do Jackson; o flush fica por conta do buffer, não de cada linha
+    private static StreamingResponseBody write(final StatementStream statement, final ObjectWriter writer) {
+        return outputStream -> {
+            try (final SequenceWriter sequence = writer
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .writeValues(outputStream)) {
+                statement.forEach(entry -> {
+                    try {
+                        sequence.write(entry);
+                    } catch (final IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+    }
+}
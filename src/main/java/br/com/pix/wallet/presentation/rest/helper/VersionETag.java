@@ -0,0 +1,24 @@
+package br.com.pix.wallet.presentation.rest.helper;
+
+import org.springframework.http.ETag;
+
+// ETag forte a partir da versão da carteira (wallet.version)
+public final class VersionETag {
+
+    private VersionETag() {
+    }
+
+    public static String of(final long version) {
+        return ETag.quoteETagIfNecessary(Long.toString(version));
+    }
+
+    // If-None-Match usa comparação fraca (RFC 9110, 13.1.2)
+    public static boolean matches(final String ifNoneMatch, final long version) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        final var current = ETag.create(of(version));
+        return ETag.parse(ifNoneMatch).stream()
+            .anyMatch(tag -> tag.isWildcard() || tag.compare(current, false));
+    }
+}
@@ -0,0 +1,16 @@
+ALTER TABLE wallet
+    ADD COLUMN balance_slots INT NOT NULL DEFAULT 0;
+
+-- Créditos pendentes de carteiras "quentes": o saldo real é wallet.current_balance + SUM(balance).
+CREATE TABLE wallet_balance_slot
+(
+    wallet_id UUID           NOT NULL,
+    slot      INT            NOT NULL,
+    balance   NUMERIC(19, 2) NOT NULL DEFAULT 0,
+
+    CONSTRAINT pk_wallet_balance_slot
+        PRIMARY KEY (wallet_id, slot),
+
+    CONSTRAINT fk_wallet_balance_slot_wallet
+        FOREIGN KEY (wallet_id) REFERENCES wallet (id)
+);
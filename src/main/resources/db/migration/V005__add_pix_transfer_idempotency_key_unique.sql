@@ -0,0 +1,15 @@
+-- Antes da constraint, transferências diferentes podiam ter gravado a mesma idempotency_key numa corrida.
+-- Elas moveram dinheiro e têm lançamentos, então não são apagadas: a mais antiga de cada chave fica com a
+-- chave original (retries continuam deduplicados por ela) e as demais recebem o sufixo '#dup-<id>'.
+-- Para auditar depois da migração: SELECT * FROM pix_transfer WHERE idempotency_key LIKE '%#dup-%';
+UPDATE pix_transfer t
+SET idempotency_key = LEFT(t.idempotency_key, 200) || '#dup-' || CAST(t.id AS VARCHAR(36))
+WHERE EXISTS (
+    SELECT 1
+    FROM pix_transfer o
+    WHERE o.idempotency_key = t.idempotency_key
+      AND (o.created_at < t.created_at OR (o.created_at = t.created_at AND o.id < t.id))
+);
+
+ALTER TABLE pix_transfer
+    ADD CONSTRAINT uk_pix_transfer_idempotency_key UNIQUE (idempotency_key);
@@ -0,0 +1,17 @@
+-- A tabela original nunca foi utilizada: recriada com status da reserva e resposta opcional.
+DROP TABLE idempotency_record;
+
+CREATE TABLE idempotency_record
+(
+    id               BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    scope            VARCHAR(255) NOT NULL,
+    idempotency_key  VARCHAR(255) NOT NULL,
+    status           VARCHAR(50)  NOT NULL,
+    response_status  INTEGER,
+    response_payload TEXT,
+    created_at       TIMESTAMP    NOT NULL,
+    updated_at       TIMESTAMP    NOT NULL
+);
+
+ALTER TABLE idempotency_record
+    ADD CONSTRAINT uk_idempotency_scope_key UNIQUE (scope, idempotency_key);
@@ -0,0 +1,25 @@
+-- Consultas "último lançamento antes de" percorrem o índice de trás para frente.
+DROP INDEX idx_ledger_wallet_occurred_at;
+
+CREATE INDEX idx_ledger_wallet_occurred_at
+    ON ledger_entry (wallet_id, occurred_at DESC);
+
+-- Saldo consolidado da carteira em checkpoint_at: o saldo histórico é o checkpoint mais próximo
+-- somado apenas aos lançamentos posteriores a ele.
+CREATE TABLE ledger_balance_checkpoint
+(
+    wallet_id     UUID           NOT NULL,
+    checkpoint_at TIMESTAMP      NOT NULL,
+    balance       NUMERIC(19, 2) NOT NULL,
+    entry_count   BIGINT         NOT NULL,
+    created_at    TIMESTAMP      NOT NULL,
+
+    CONSTRAINT pk_ledger_balance_checkpoint
+        PRIMARY KEY (wallet_id, checkpoint_at),
+
+    CONSTRAINT fk_ledger_balance_checkpoint_wallet
+        FOREIGN KEY (wallet_id) REFERENCES wallet (id)
+);
+
+CREATE INDEX idx_ledger_balance_checkpoint_at
+    ON ledger_balance_checkpoint (checkpoint_at);
@@ -0,0 +1,18 @@
+-- Entrada durável dos webhooks aceitos no modo assíncrono: o worker grava aqui em lote e depois promove
+-- para pix_webhook_event. event_id como chave faz o ON CONFLICT DO NOTHING descartar reenvios do PSP.
+CREATE TABLE webhook_inbox
+(
+    event_id         VARCHAR(255) PRIMARY KEY,
+    webhook_event_id UUID         NOT NULL,
+    end_to_end_id    VARCHAR(255) NOT NULL,
+    event_type       VARCHAR(50)  NOT NULL,
+    occurred_at      TIMESTAMP    NOT NULL,
+    received_at      TIMESTAMP    NOT NULL,
+    processed_at     TIMESTAMP,
+    attempts         INT          NOT NULL DEFAULT 0,
+    last_error       VARCHAR(500)
+);
+
+-- Pendentes (processed_at nulo) em ordem de chegada, e limpeza dos já processados
+CREATE INDEX idx_webhook_inbox_processed_received
+    ON webhook_inbox (processed_at, received_at);
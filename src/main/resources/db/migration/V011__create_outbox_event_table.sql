@@ -0,0 +1,20 @@
+-- Outbox dos lançamentos: cada linha do ledger gera um evento gravado na mesma transação,
+-- e o relay publica os pendentes (published_at nulo) para os consumidores externos.
+-- id = id do lançamento, o que permite aos consumidores descartar entregas repetidas.
+CREATE TABLE outbox_event
+(
+    id                      UUID PRIMARY KEY,
+    wallet_id               UUID           NOT NULL,
+    end_to_end_id           VARCHAR(255),
+    operation_type          VARCHAR(50)    NOT NULL,
+    amount                  NUMERIC(19, 2) NOT NULL,
+    balance_after_operation NUMERIC(19, 2) NOT NULL,
+    occurred_at             TIMESTAMP      NOT NULL,
+    published_at            TIMESTAMP,
+    attempts                INT            NOT NULL DEFAULT 0,
+    last_error              VARCHAR(500)
+);
+
+-- Atende o relay (published_at IS NULL ORDER BY published_at, occurred_at) e a limpeza dos já publicados
+CREATE INDEX idx_outbox_event_published_occurred
+    ON outbox_event (published_at, occurred_at);
@@ -0,0 +1,25 @@
+-- Importação de arquivos de payout: um job por arquivo, com o cursor de retomada (processed_lines)
+-- avançado na mesma transação que grava as transferências de cada bloco de linhas.
+CREATE TABLE payout_job
+(
+    id                UUID PRIMARY KEY,
+    from_wallet_id    UUID         NOT NULL REFERENCES wallet (id),
+    file_name         VARCHAR(255),
+    status            VARCHAR(20)  NOT NULL,
+    processed_lines   BIGINT       NOT NULL DEFAULT 0,
+    created_transfers BIGINT       NOT NULL DEFAULT 0,
+    rejected_lines    BIGINT       NOT NULL DEFAULT 0,
+    last_error        VARCHAR(500),
+    created_at        TIMESTAMP    NOT NULL,
+    updated_at        TIMESTAMP    NOT NULL
+);
+
+-- Linhas rejeitadas, lidas em páginas por (job_id, line_number)
+CREATE TABLE payout_job_rejection
+(
+    job_id          UUID         NOT NULL REFERENCES payout_job (id) ON DELETE CASCADE,
+    line_number     BIGINT       NOT NULL,
+    idempotency_key VARCHAR(255),
+    message         VARCHAR(500) NOT NULL,
+    PRIMARY KEY (job_id, line_number)
+);
@@ -0,0 +1,6 @@
+-- owner_token: token de dono (fencing) da reserva; quem a retoma troca o token e a requisição anterior
+-- não consegue mais concluir, marcar ou liberar a chave.
+-- request_hash: SHA-256 do corpo, para recusar a mesma chave reutilizada com outro payload.
+-- Registros já existentes ficam sem os dois e continuam sendo aceitos.
+ALTER TABLE idempotency_record ADD COLUMN owner_token VARCHAR(36);
+ALTER TABLE idempotency_record ADD COLUMN request_hash VARCHAR(64);
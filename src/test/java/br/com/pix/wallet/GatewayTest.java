@@ -1,9 +1,11 @@
 package br.com.pix.wallet;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Import;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.lang.annotation.*;
@@ -15,11 +17,13 @@ import java.lang.annotation.*;
 @ComponentScan(
     basePackages = "br.com.pix.wallet",
     includeFilters = {
-        @ComponentScan.Filter(type = FilterType.REGEX, pattern = ".*Gateway.*")
+        @ComponentScan.Filter(type = FilterType.REGEX, pattern = ".*Gateway.*"),
+        @ComponentScan.Filter(type = FilterType.REGEX, pattern = ".*(BalanceCache|ApplicationMetrics)")
     },
     useDefaultFilters = false
 )
 @DataJpaTest
+@Import(SimpleMeterRegistry.class)
 @ExtendWith(PostgreSQLCleanUpExtension.class)
 public @interface GatewayTest {
 }
@@ -16,11 +16,17 @@ public class PostgreSQLCleanUpExtension implements BeforeEachCallback {
     public void beforeEach(final ExtensionContext context) {
         final var appContext = SpringExtension.getApplicationContext(context);
         cleanUp(List.of(
+            appContext.getBean(LedgerBalanceCheckpointJpaRepository.class),
             appContext.getBean(LedgerEntryJpaRepository.class),
             appContext.getBean(PixKeyJpaRepository.class),
             appContext.getBean(PixTransferJpaRepository.class),
+            appContext.getBean(PayoutJobJpaRepository.class),
+            appContext.getBean(WalletBalanceSlotJpaRepository.class),
             appContext.getBean(WalletJpaRepository.class),
-            appContext.getBean(PixWebhookEventJpaRepository.class)
+            appContext.getBean(PixWebhookEventJpaRepository.class),
+            appContext.getBean(PixWebhookInboxJpaRepository.class),
+            appContext.getBean(OutboxEventJpaRepository.class),
+            appContext.getBean(IdempotencyJpaRepository.class)
         ));
     }
 
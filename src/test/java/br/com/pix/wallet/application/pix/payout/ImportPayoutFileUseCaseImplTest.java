@@ -0,0 +1,303 @@
+package br.com.pix.wallet.application.pix.payout;
+
+import br.com.pix.wallet.application.UseCaseTest;
+import br.com.pix.wallet.application.pix.transfer.CreatePixTransferBatchCommand;
+import br.com.pix.wallet.application.pix.transfer.CreatePixTransferBatchOutput;
+import br.com.pix.wallet.application.pix.transfer.CreatePixTransferBatchUseCase;
+import br.com.pix.wallet.application.pix.transfer.CreatePixTransferOutput;
+import br.com.pix.wallet.application.pix.transfer.PixTransferBatchFailureMode;
+import br.com.pix.wallet.domain.exception.DomainException;
+import br.com.pix.wallet.domain.payout.PayoutJob;
+import br.com.pix.wallet.domain.payout.PayoutJobGateway;
+import br.com.pix.wallet.domain.payout.PayoutJobStatus;
+import br.com.pix.wallet.domain.payout.PayoutRejection;
+import br.com.pix.wallet.domain.pix.pixkey.PixKey;
+import br.com.pix.wallet.domain.pix.pixkey.PixKeyGateway;
+import br.com.pix.wallet.domain.pix.pixkey.PixKeyType;
+import br.com.pix.wallet.domain.pix.transfer.PixTransferStatus;
+import br.com.pix.wallet.domain.validation.Error;
+import br.com.pix.wallet.domain.wallet.WalletEngine;
+import br.com.pix.wallet.domain.wallet.WalletID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ImportPayoutFileUseCaseImplTest extends UseCaseTest {
+
+    private static final WalletID FROM_WALLET_ID = WalletID.unique();
+    private static final PixKey ANA = PixKey.newPixKey(WalletID.unique(), PixKeyType.EMAIL, "ana@example.com");
+    private static final PixKey BRUNO = PixKey.newPixKey(WalletID.unique(), PixKeyType.CPF, "52998224725");
+
+    private ImportPayoutFileUseCaseImpl importPayoutFileUseCase;
+
+    @Mock
+    private PayoutJobGateway payoutJobGateway;
+
+    @Mock
+    private PixKeyGateway pixKeyGateway;
+
+    @Mock
+    private CreatePixTransferBatchUseCase createPixTransferBatchUseCase;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ObjectProvider<WalletEngine> walletEngineProvider;
+
+    @Mock
+    private WalletEngine walletEngine;
+
+    @Override
+    protected List<Object> getMocks() {
+        return List.of(
+            payoutJobGateway,
+            pixKeyGateway,
+            createPixTransferBatchUseCase,
+            transactionManager,
+            walletEngineProvider,
+            walletEngine
+        );
+    }
+
+    @BeforeEach
+    void setUp() {
+        importPayoutFileUseCase = new ImportPayoutFileUseCaseImpl(
+            payoutJobGateway,
+            pixKeyGateway,
+            createPixTransferBatchUseCase,
+            transactionManager,
+            walletEngineProvider,
+            Runnable::run,
+            2,
+            2
+        );
+    }
+
+    @Test
+    void givenMixedFile_whenImport_thenShouldApplyValidLinesAndAdvanceCursorPerChunk() {
+        // given
+        final var job = job(0, PayoutJobStatus.RUNNING);
+        mockJob(job);
+        mockPixKeys();
+        mockBatchRejecting("k5");
+        when(payoutJobGateway.advance(any(), anyLong(), anyLong(), anyLong(), anyLong(), anyList())).thenReturn(true);
+
+        // when
+        importPayoutFileUseCase.execute(ImportPayoutFileCommand.with(job.id(), lines()));
+
+        // then
+        verify(payoutJobGateway).advance(eq(job.id()), eq(0L), eq(2L), eq(1L), eq(1L), argThat(rejections ->
+            rejectionAt(rejections, 2).message().equals("'keyValue' is not a valid phone format")
+        ));
+        verify(payoutJobGateway).advance(eq(job.id()), eq(2L), eq(4L), eq(0L), eq(2L), argThat(rejections ->
+            rejectionAt(rejections, 3).message().equals("'amount' is not a valid number")
+                && rejectionAt(rejections, 4).message().equals("Pix key not found")
+        ));
+        verify(payoutJobGateway).advance(eq(job.id()), eq(4L), eq(5L), eq(0L), eq(1L), argThat(rejections ->
+            rejectionAt(rejections, 5).message().equals("Insufficient balance in source wallet")
+        ));
+        verify(createPixTransferBatchUseCase, times(2)).execute(argThat(command ->
+            command.fromWalletId().equals(FROM_WALLET_ID.getValue().toString())
+                && PixTransferBatchFailureMode.PARTIAL.name().equals(command.failureMode())
+                && command.transfers().size() == 1
+        ));
+        verify(payoutJobGateway).updateStatus(job.id(), PayoutJobStatus.RUNNING, null);
+        verify(payoutJobGateway).updateStatus(job.id(), PayoutJobStatus.COMPLETED, null);
+    }
+
+    @Test
+    void givenFailedJob_whenImportSameFileAgain_thenShouldSkipLinesBeforeCursor() {
+        // given
+        final var job = job(4, PayoutJobStatus.FAILED);
+        mockJob(job);
+        mockPixKeys();
+        mockBatchRejecting();
+        when(payoutJobGateway.advance(any(), anyLong(), anyLong(), anyLong(), anyLong(), anyList())).thenReturn(true);
+
+        // when
+        importPayoutFileUseCase.execute(ImportPayoutFileCommand.with(job.id(), lines()));
+
+        // then
+        verify(payoutJobGateway, times(1)).advance(eq(job.id()), eq(4L), eq(5L), eq(1L), eq(0L), eq(List.of()));
+        verify(pixKeyGateway, times(1)).findAllByKeyValues(List.of(BRUNO.getKeyValue()));
+    }
+
+    @Test
+    void givenCompletedJob_whenImport_thenShouldThrowDomainException() {
+        // given
+        final var job = job(5, PayoutJobStatus.COMPLETED);
+        mockJob(job);
+
+        // when
+        final var actualException = assertThrows(
+            DomainException.class,
+            () -> importPayoutFileUseCase.execute(ImportPayoutFileCommand.with(job.id(), lines()))
+        );
+
+        // then
+        assertEquals("Payout job %s is already completed".formatted(job.id()), actualException.getMessage());
+        verify(payoutJobGateway, never()).updateStatus(any(), any(), any());
+    }
+
+    @Test
+    void givenPartitionedWriteMode_whenImport_thenShouldRejectWithoutTouchingTheJob() {
+        // given
+        final var job = job(0, PayoutJobStatus.RUNNING);
+        when(walletEngineProvider.getIfAvailable()).thenReturn(walletEngine);
+
+        // when
+        final var actualException = assertThrows(
+            DomainException.class,
+            () -> importPayoutFileUseCase.execute(ImportPayoutFileCommand.with(job.id(), lines()))
+        );
+
+        // then
+        assertEquals("Payout file import is not supported with write-mode=partitioned", actualException.getMessage());
+        verifyNoInteractions(payoutJobGateway, pixKeyGateway, createPixTransferBatchUseCase, walletEngine);
+    }
+
+    @Test
+    void givenMalformedLineMidway_whenImport_thenShouldKeepAppliedChunkAndMarkJobFailed() {
+        // given
+        final var job = job(0, PayoutJobStatus.RUNNING);
+        final var expectedError = "Malformed payout file at line 3: Too many entries";
+        mockJob(job);
+        mockPixKeys();
+        mockBatchRejecting();
+        when(payoutJobGateway.advance(any(), anyLong(), anyLong(), anyLong(), anyLong(), anyList())).thenReturn(true);
+
+        final var lines = Stream.concat(
+            Stream.of(line(1, "EMAIL", "ana@example.com", "10.00"), line(2, "CPF", "52998224725", "20.00")),
+            Stream.<PayoutFileLine>generate(() -> {
+                throw DomainException.with(Error.of(expectedError));
+            })
+        ).iterator();
+
+        // when
+        final var actualException = assertThrows(
+            DomainException.class,
+            () -> importPayoutFileUseCase.execute(ImportPayoutFileCommand.with(job.id(), lines))
+        );
+
+        // then
+        assertEquals(expectedError, actualException.getMessage());
+        verify(payoutJobGateway, times(1)).advance(eq(job.id()), eq(0L), eq(2L), eq(2L), eq(0L), eq(List.of()));
+        verify(payoutJobGateway).updateStatus(job.id(), PayoutJobStatus.FAILED, expectedError);
+        verify(payoutJobGateway, never()).updateStatus(job.id(), PayoutJobStatus.COMPLETED, null);
+    }
+
+    @Test
+    void givenCursorMovedByAnotherUpload_whenImport_thenShouldThrowWithoutFailingTheJob() {
+        // given
+        final var job = job(0, PayoutJobStatus.FAILED);
+        mockJob(job);
+        mockPixKeys();
+        mockBatchRejecting();
+        when(payoutJobGateway.advance(any(), anyLong(), anyLong(), anyLong(), anyLong(), anyList())).thenReturn(false);
+
+        // when
+        final var actualException = assertThrows(
+            DomainException.class,
+            () -> importPayoutFileUseCase.execute(ImportPayoutFileCommand.with(job.id(), lines()))
+        );
+
+        // then
+        assertEquals("Payout job %s was advanced by another upload".formatted(job.id()), actualException.getMessage());
+        verify(payoutJobGateway, times(1)).advance(any(), anyLong(), anyLong(), anyLong(), anyLong(), anyList());
+        verify(payoutJobGateway, never()).updateStatus(eq(job.id()), eq(PayoutJobStatus.FAILED), any());
+    }
+
+    private void mockJob(final PayoutJob job) {
+        when(payoutJobGateway.findById(job.id())).thenReturn(Optional.of(job));
+    }
+
+    private void mockPixKeys() {
+        final var keys = Map.of(ANA.getKeyValue(), ANA, BRUNO.getKeyValue(), BRUNO);
+        when(pixKeyGateway.findAllByKeyValues(any())).thenAnswer(invocation -> {
+            final Collection<String> values = invocation.getArgument(0);
+            return values.stream().filter(keys::containsKey).map(keys::get).toList();
+        });
+    }
+
+    private void mockBatchRejecting(final String... rejectedKeys) {
+        final var rejected = List.of(rejectedKeys);
+        when(createPixTransferBatchUseCase.execute(any())).thenAnswer(invocation -> {
+            final CreatePixTransferBatchCommand command = invocation.getArgument(0);
+            return CreatePixTransferBatchOutput.of(
+                command.fromWalletId(),
+                PixTransferBatchFailureMode.PARTIAL,
+                command.transfers().stream().map(item -> rejected.contains(item.idempotencyKey())
+                    ? CreatePixTransferBatchOutput.Item.rejected(
+                        item.idempotencyKey(),
+                        item.endToEndId(),
+                        List.of(Error.of("Insufficient balance in source wallet"))
+                    )
+                    : CreatePixTransferBatchOutput.Item.created(item.idempotencyKey(), new CreatePixTransferOutput(
+                        UUID.randomUUID().toString(),
+                        item.endToEndId(),
+                        command.fromWalletId(),
+                        item.toWalletId(),
+                        item.amount(),
+                        PixTransferStatus.PENDING
+                    ))
+                ).toList()
+            );
+        });
+    }
+
+    private static PayoutJob job(final long processedLines, final PayoutJobStatus status) {
+        final var job = PayoutJob.newJob(FROM_WALLET_ID, "payroll.csv");
+        return new PayoutJob(
+            job.id(),
+            FROM_WALLET_ID,
+            job.fileName(),
+            status,
+            processedLines,
+            0,
+            0,
+            null,
+            job.createdAt(),
+            job.updatedAt()
+        );
+    }
+
+    private static Iterator<PayoutFileLine> lines() {
+        return List.of(
+            line(1, "EMAIL", "ana@example.com", "10.00"),
+            line(2, "PHONE", "123", "10.00"),
+            line(3, "EMAIL", "ana@example.com", "abc"),
+            line(4, "EMAIL", "unknown@example.com", "5"),
+            line(5, "cpf", "52998224725", "20.00")
+        ).iterator();
+    }
+
+    private static PayoutFileLine line(final long lineNumber, final String keyType, final String keyValue, final String amount) {
+        return new PayoutFileLine(lineNumber, keyType, keyValue, amount, "k" + lineNumber, "E" + lineNumber);
+    }
+
+    private static PayoutRejection rejectionAt(final List<PayoutRejection> rejections, final long lineNumber) {
+        return rejections.stream()
+            .filter(rejection -> rejection.lineNumber() == lineNumber)
+            .findFirst()
+            .orElseThrow();
+    }
+}
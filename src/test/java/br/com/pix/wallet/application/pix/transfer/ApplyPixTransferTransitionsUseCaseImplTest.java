@@ -0,0 +1,276 @@
+package br.com.pix.wallet.application.pix.transfer;
+
+import br.com.pix.wallet.application.UseCaseTest;
+import br.com.pix.wallet.application.metrics.ApplicationMetrics;
+import br.com.pix.wallet.domain.common.Money;
+import br.com.pix.wallet.domain.exception.DomainException;
+import br.com.pix.wallet.domain.ledger.LedgerEntry;
+import br.com.pix.wallet.domain.ledger.LedgerGateway;
+import br.com.pix.wallet.domain.outbox.OutboxGateway;
+import br.com.pix.wallet.domain.ledger.LedgerOperationType;
+import br.com.pix.wallet.domain.pix.transfer.PixTransfer;
+import br.com.pix.wallet.domain.pix.transfer.PixTransferGateway;
+import br.com.pix.wallet.domain.pix.transfer.PixTransferID;
+import br.com.pix.wallet.domain.pix.transfer.PixTransferStatus;
+import br.com.pix.wallet.domain.pix.webhook.PixWebhookEvent;
+import br.com.pix.wallet.domain.pix.webhook.PixWebhookEventType;
+import br.com.pix.wallet.domain.validation.Error;
+import br.com.pix.wallet.domain.wallet.Wallet;
+import br.com.pix.wallet.domain.wallet.WalletEngine;
+import br.com.pix.wallet.domain.wallet.WalletGateway;
+import br.com.pix.wallet.domain.wallet.WalletID;
+import br.com.pix.wallet.domain.wallet.WalletStatus;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ApplyPixTransferTransitionsUseCaseImplTest extends UseCaseTest {
+
+    @Mock
+    private PixTransferGateway pixTransferGateway;
+
+    @Mock
+    private WalletGateway walletGateway;
+
+    @Mock
+    private LedgerGateway ledgerGateway;
+
+    @Mock
+    private OutboxGateway outboxGateway;
+
+    @Mock
+    private ApplicationMetrics applicationMetrics;
+
+    @Mock
+    private ObjectProvider<WalletEngine> walletEngineProvider;
+
+    @Mock
+    private WalletEngine walletEngine;
+
+    @Override
+    protected List<Object> getMocks() {
+        return List.of(
+            pixTransferGateway,
+            walletGateway,
+            ledgerGateway,
+            outboxGateway,
+            applicationMetrics,
+            walletEngineProvider,
+            walletEngine
+        );
+    }
+
+    @Test
+    void givenConfirmations_whenApplyTransitions_thenShouldUpdateAllPendingTransfersInOneStatement() {
+        // given
+        final var useCase = useCase("locking");
+        final var command = ApplyPixTransferTransitionsCommand.with(List.of(
+            event(PixWebhookEventType.CREDIT_CONFIRMED, "E1"),
+            event(PixWebhookEventType.DEBIT_CONFIRMED, "E1"),
+            event(PixWebhookEventType.CREDIT_CONFIRMED, "E2")
+        ));
+
+        when(pixTransferGateway.updateStatus(any(), any(), eq(PixTransferStatus.CONFIRMED))).thenReturn(1);
+
+        // when
+        final var output = useCase.execute(command);
+
+        // then
+        assertEquals(1, output.confirmed());
+        assertEquals(0, output.refunded());
+        assertEquals(1, output.ignored());
+        verify(pixTransferGateway).updateStatus(
+            List.of("E1", "E2"),
+            PixTransferStatus.CONFIRMED.allowedSources(),
+            PixTransferStatus.CONFIRMED
+        );
+        verify(pixTransferGateway, never()).lockByEndToEndIds(any(), any());
+        verifyNoInteractions(walletGateway, ledgerGateway, outboxGateway);
+    }
+
+    @Test
+    void givenConfirmationAndRefundForSameTransfer_whenApplyTransitions_thenShouldRefundAndPostLedgerEntries() {
+        // given
+        final var useCase = useCase("locking");
+        final var payer = wallet(0);
+        final var payee = wallet(10_000);
+        final var transfer = transfer(payer.getId(), payee.getId(), 2_500, "E1");
+        final var command = ApplyPixTransferTransitionsCommand.with(List.of(
+            event(PixWebhookEventType.CREDIT_CONFIRMED, "E1"),
+            event(PixWebhookEventType.REFUND_PROCESSED, "E1")
+        ));
+
+        when(pixTransferGateway.lockByEndToEndIds(List.of("E1"), PixTransferStatus.REFUNDED.allowedSources()))
+            .thenReturn(List.of(transfer));
+        when(walletGateway.lockAll(any())).thenReturn(List.of(payer, payee));
+        when(pixTransferGateway.updateStatus(List.of("E1"), PixTransferStatus.REFUNDED.allowedSources(), PixTransferStatus.REFUNDED))
+            .thenReturn(1);
+
+        // when
+        final var output = useCase.execute(command);
+
+        // then
+        assertEquals(0, output.confirmed());
+        assertEquals(1, output.refunded());
+        assertEquals(0, payer.getCurrentBalance().compareTo(Money.ofCents(2_500)));
+        assertEquals(0, payee.getCurrentBalance().compareTo(Money.ofCents(7_500)));
+        verify(walletGateway).save(payer);
+        verify(walletGateway).save(payee);
+
+        @SuppressWarnings("unchecked")
+        final ArgumentCaptor<List<LedgerEntry>> entries = ArgumentCaptor.forClass(List.class);
+        verify(ledgerGateway).saveAll(entries.capture());
+        verify(outboxGateway).appendAll(entries.getValue());
+        assertEquals(
+            List.of(LedgerOperationType.PIX_DEBIT, LedgerOperationType.REFUND),
+            entries.getValue().stream().map(LedgerEntry::getOperationType).toList()
+        );
+        assertEquals(payee.getId().getValue(), entries.getValue().get(0).getWalletId().getValue());
+        assertEquals(payer.getId().getValue(), entries.getValue().get(1).getWalletId().getValue());
+    }
+
+    @Test
+    void givenPayeeWithoutBalance_whenApplyRefund_thenShouldDeferItAndKeepTransferAndBalances() {
+        // given
+        final var useCase = useCase("locking");
+        final var payer = wallet(0);
+        final var payee = wallet(1_000);
+        final var transfer = transfer(payer.getId(), payee.getId(), 2_500, "E1");
+
+        when(pixTransferGateway.lockByEndToEndIds(any(), any())).thenReturn(List.of(transfer));
+        when(walletGateway.lockAll(any())).thenReturn(List.of(payer, payee));
+
+        // when
+        final var output = useCase.execute(ApplyPixTransferTransitionsCommand.with(List.of(
+            event(PixWebhookEventType.REFUND_PROCESSED, "E1")
+        )));
+
+        // then
+        assertEquals(0, output.refunded());
+        assertEquals(0, output.ignored());
+        assertEquals(List.of("E1"), output.deferred());
+        assertEquals(0, payee.getCurrentBalance().compareTo(Money.ofCents(1_000)));
+        verify(walletGateway, never()).save(any());
+        verify(ledgerGateway, never()).saveAll(any());
+        verify(outboxGateway, never()).appendAll(any());
+        verify(pixTransferGateway, never()).updateStatus(any(), any(), eq(PixTransferStatus.REFUNDED));
+    }
+
+    @Test
+    void givenPartitionedWriteMode_whenApplyRefund_thenShouldRefundThroughEngineWithoutLocking() {
+        // given
+        final var useCase = useCase("partitioned");
+        final var transfer = transfer(WalletID.unique(), WalletID.unique(), 2_500, "E1");
+
+        when(pixTransferGateway.findByEndToEndId("E1")).thenReturn(Optional.of(transfer));
+
+        // when
+        final var output = useCase.execute(ApplyPixTransferTransitionsCommand.with(List.of(
+            event(PixWebhookEventType.REFUND_PROCESSED, "E1")
+        )));
+
+        // then
+        assertEquals(1, output.refunded());
+        assertTrue(output.deferred().isEmpty());
+        verify(walletEngine).refund(transfer);
+        verify(pixTransferGateway, never()).lockByEndToEndIds(any(), any());
+        verify(pixTransferGateway, never()).updateStatus(any(), any(), eq(PixTransferStatus.REFUNDED));
+        verifyNoInteractions(walletGateway, ledgerGateway, outboxGateway);
+    }
+
+    @Test
+    void givenPartitionedWriteModeAndEngineRejection_whenApplyRefund_thenShouldDeferIt() {
+        // given
+        final var useCase = useCase("partitioned");
+        final var transfer = transfer(WalletID.unique(), WalletID.unique(), 2_500, "E1");
+
+        when(pixTransferGateway.findByEndToEndId("E1")).thenReturn(Optional.of(transfer));
+        doThrow(DomainException.with(Error.of("Insufficient balance in payee wallet to refund")))
+            .when(walletEngine).refund(transfer);
+
+        // when
+        final var output = useCase.execute(ApplyPixTransferTransitionsCommand.with(List.of(
+            event(PixWebhookEventType.REFUND_PROCESSED, "E1")
+        )));
+
+        // then
+        assertEquals(0, output.refunded());
+        assertEquals(0, output.ignored());
+        assertEquals(List.of("E1"), output.deferred());
+    }
+
+    @Test
+    void givenPartitionedWriteModeAndAlreadyRefundedTransfer_whenApplyRefund_thenShouldIgnoreIt() {
+        // given
+        final var useCase = useCase("partitioned");
+        final var transfer = transfer(WalletID.unique(), WalletID.unique(), 2_500, "E1", PixTransferStatus.REFUNDED);
+
+        when(pixTransferGateway.findByEndToEndId("E1")).thenReturn(Optional.of(transfer));
+
+        // when
+        final var output = useCase.execute(ApplyPixTransferTransitionsCommand.with(List.of(
+            event(PixWebhookEventType.REFUND_PROCESSED, "E1")
+        )));
+
+        // then
+        assertEquals(0, output.refunded());
+        assertEquals(1, output.ignored());
+        assertTrue(output.deferred().isEmpty());
+        verify(walletEngine, never()).refund(any());
+    }
+
+    private ApplyPixTransferTransitionsUseCaseImpl useCase(final String writeMode) {
+        // O WalletEngine só existe como bean com write-mode=partitioned
+        when(walletEngineProvider.getIfAvailable()).thenReturn("partitioned".equals(writeMode) ? walletEngine : null);
+        return new ApplyPixTransferTransitionsUseCaseImpl(
+            pixTransferGateway,
+            walletGateway,
+            ledgerGateway,
+            outboxGateway,
+            applicationMetrics,
+            walletEngineProvider
+        );
+    }
+
+    private static PixWebhookEvent event(final PixWebhookEventType type, final String endToEndId) {
+        return PixWebhookEvent.newEvent(type, UUID.randomUUID().toString(), endToEndId, Instant.now());
+    }
+
+    private static Wallet wallet(final long cents) {
+        return Wallet.with(WalletID.unique(), UUID.randomUUID().toString(), Money.ofCents(cents), WalletStatus.ACTIVE);
+    }
+
+    private static PixTransfer transfer(final WalletID from, final WalletID to, final long cents, final String endToEndId) {
+        return transfer(from, to, cents, endToEndId, PixTransferStatus.CONFIRMED);
+    }
+
+    private static PixTransfer transfer(
+        final WalletID from,
+        final WalletID to,
+        final long cents,
+        final String endToEndId,
+        final PixTransferStatus status
+    ) {
+        return PixTransfer.with(
+            PixTransferID.unique(),
+            from,
+            to,
+            Money.of(BigDecimal.valueOf(cents, 2)),
+            status,
+            endToEndId,
+            UUID.randomUUID().toString(),
+            Instant.now()
+        );
+    }
+}
@@ -0,0 +1,239 @@
+package br.com.pix.wallet.application.pix.transfer;
+
+import br.com.pix.wallet.application.UseCaseTest;
+import br.com.pix.wallet.application.metrics.ApplicationMetrics;
+import br.com.pix.wallet.domain.common.Money;
+import br.com.pix.wallet.domain.exception.DomainException;
+import br.com.pix.wallet.domain.exception.NotFoundException;
+import br.com.pix.wallet.domain.ledger.LedgerGateway;
+import br.com.pix.wallet.domain.outbox.OutboxGateway;
+import br.com.pix.wallet.domain.pix.transfer.PixTransferGateway;
+import br.com.pix.wallet.domain.wallet.Wallet;
+import br.com.pix.wallet.domain.wallet.WalletGateway;
+import br.com.pix.wallet.domain.wallet.WalletID;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+class ConditionalUpdateCreatePixTransferUseCaseImplTest extends UseCaseTest {
+
+    @InjectMocks
+    private ConditionalUpdateCreatePixTransferUseCaseImpl createPixTransferUseCase;
+
+    @Mock
+    private WalletGateway walletGateway;
+
+    @Mock
+    private LedgerGateway ledgerGateway;
+
+    @Mock
+    private OutboxGateway outboxGateway;
+
+    @Mock
+    private PixTransferGateway pixTransferGateway;
+
+    @Mock
+    private ApplicationMetrics applicationMetrics;
+
+    @Override
+    protected List<Object> getMocks() {
+        return List.of(walletGateway, ledgerGateway, outboxGateway, pixTransferGateway, applicationMetrics);
+    }
+
+    @Test
+    void givenValidCommand_whenCreatePixTransfer_thenUpdatesBalancesWithoutLocking() {
+        // given
+        final var expectedFromWalletId = WalletID.unique();
+        final var expectedToWalletId = WalletID.unique();
+        final var expectedAmount = BigDecimal.valueOf(100.00);
+        final var expectedIdempotencyKey = UUID.randomUUID().toString();
+        final var expectedEndToEndId = "E12345678202311261234567890AB";
+
+        final var command = CreatePixTransferCommand.with(
+            expectedFromWalletId.getValue().toString(),
+            expectedToWalletId.getValue().toString(),
+            expectedAmount,
+            expectedIdempotencyKey,
+            expectedEndToEndId
+        );
+        mockTimer();
+
+        when(pixTransferGateway.existsByIdempotencyKey(expectedIdempotencyKey)).thenReturn(false);
+        when(walletGateway.debitIfSufficient(any(), any()))
+            .thenReturn(Optional.of(Money.of(BigDecimal.valueOf(400.00))));
+        when(walletGateway.credit(any(), any()))
+            .thenReturn(Optional.of(Money.of(BigDecimal.valueOf(300.00))));
+        when(ledgerGateway.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(pixTransferGateway.create(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // when
+        final var output = createPixTransferUseCase.execute(command);
+
+        // then
+        assertNotNull(output);
+        assertNotNull(output.transferId());
+        verify(walletGateway).debitIfSufficient(any(), any());
+        verify(walletGateway).credit(any(), any());
+        verify(walletGateway, never()).findByIdWithLock(any());
+        verify(walletGateway, never()).save(any());
+        verify(ledgerGateway).saveAll(argThat(entries -> entries.size() == 2));
+        verify(outboxGateway).appendAll(argThat(entries -> entries.size() == 2));
+        verify(pixTransferGateway).create(any());
+    }
+
+    @Test
+    void givenWalletIdsWithDifferentHighBit_whenCreatePixTransfer_thenUpdatesInPostgresUuidOrder() {
+        // given
+        // Com sinal, 8000... vem antes de 0000...; no uuid do PostgreSQL (sem sinal) vem depois
+        final var fromWalletId = WalletID.from(UUID.fromString("80000000-0000-4000-8000-000000000000"));
+        final var toWalletId = WalletID.from(UUID.fromString("00000000-0000-4000-8000-000000000001"));
+        final var command = CreatePixTransferCommand.with(
+            fromWalletId.getValue().toString(),
+            toWalletId.getValue().toString(),
+            BigDecimal.valueOf(10.00),
+            UUID.randomUUID().toString(),
+            "E12345678202311261234567890AB"
+        );
+        mockTimer();
+
+        when(pixTransferGateway.existsByIdempotencyKey(any())).thenReturn(false);
+        when(walletGateway.debitIfSufficient(any(), any())).thenReturn(Optional.of(Money.of(BigDecimal.valueOf(90.00))));
+        when(walletGateway.credit(any(), any())).thenReturn(Optional.of(Money.of(BigDecimal.valueOf(10.00))));
+        when(ledgerGateway.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(pixTransferGateway.create(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // when
+        createPixTransferUseCase.execute(command);
+
+        // then
+        final var inOrder = inOrder(walletGateway);
+        inOrder.verify(walletGateway).credit(argThat(id -> id.getValue().equals(toWalletId.getValue())), any());
+        inOrder.verify(walletGateway).debitIfSufficient(argThat(id -> id.getValue().equals(fromWalletId.getValue())), any());
+    }
+
+    @Test
+    void givenDuplicateIdempotencyKey_whenCreatePixTransfer_thenThrowDomainException() {
+        // given
+        final var duplicateIdempotencyKey = UUID.randomUUID().toString();
+
+        final var command = CreatePixTransferCommand.with(
+            WalletID.unique().getValue().toString(),
+            WalletID.unique().getValue().toString(),
+            BigDecimal.valueOf(100.00),
+            duplicateIdempotencyKey,
+            "E12345678202311261234567890AB"
+        );
+
+        when(pixTransferGateway.existsByIdempotencyKey(duplicateIdempotencyKey)).thenReturn(true);
+        mockTimer();
+
+        // when
+        final var exception = assertThrows(DomainException.class, () -> createPixTransferUseCase.execute(command));
+
+        // then
+        assertEquals("Transfer already processed for this idempotency key", exception.getErrors().get(0).message());
+        verify(walletGateway, never()).debitIfSufficient(any(), any());
+        verify(walletGateway, never()).credit(any(), any());
+        verify(pixTransferGateway, never()).create(any());
+    }
+
+    @Test
+    void givenInsufficientBalance_whenCreatePixTransfer_thenThrowDomainException() {
+        // given
+        final var expectedFromWalletId = WalletID.unique();
+
+        final var command = CreatePixTransferCommand.with(
+            expectedFromWalletId.getValue().toString(),
+            WalletID.unique().getValue().toString(),
+            BigDecimal.valueOf(1000.00),
+            UUID.randomUUID().toString(),
+            "E12345678202311261234567890AB"
+        );
+
+        when(pixTransferGateway.existsByIdempotencyKey(any())).thenReturn(false);
+        when(walletGateway.debitIfSufficient(any(), any())).thenReturn(Optional.empty());
+        // a ordem das atualizações depende dos ids gerados
+        lenient().when(walletGateway.credit(any(), any()))
+            .thenReturn(Optional.of(Money.of(BigDecimal.valueOf(1000.00))));
+        when(walletGateway.findById(any())).thenReturn(mock(Wallet.class));
+        mockTimer();
+
+        // when
+        final var exception = assertThrows(DomainException.class, () -> createPixTransferUseCase.execute(command));
+
+        // then
+        assertEquals(1, exception.getErrors().size());
+        assertEquals("Insufficient balance in source wallet", exception.getErrors().get(0).message());
+        verify(walletGateway).findById(any());
+        verify(ledgerGateway, never()).saveAll(any());
+        verify(outboxGateway, never()).appendAll(any());
+        verify(pixTransferGateway, never()).create(any());
+    }
+
+    @Test
+    void givenUnknownFromWallet_whenCreatePixTransfer_thenThrowNotFoundException() {
+        // given
+        final var command = CreatePixTransferCommand.with(
+            UUID.randomUUID().toString(),
+            WalletID.unique().getValue().toString(),
+            BigDecimal.valueOf(100.00),
+            UUID.randomUUID().toString(),
+            "E12345678202311261234567890AB"
+        );
+
+        when(pixTransferGateway.existsByIdempotencyKey(any())).thenReturn(false);
+        when(walletGateway.debitIfSufficient(any(), any())).thenReturn(Optional.empty());
+        // a ordem das atualizações depende dos ids gerados
+        lenient().when(walletGateway.credit(any(), any()))
+            .thenReturn(Optional.of(Money.of(BigDecimal.valueOf(100.00))));
+        when(walletGateway.findById(any())).thenThrow(NotFoundException.class);
+        mockTimer();
+
+        // when / then
+        assertThrows(NotFoundException.class, () -> createPixTransferUseCase.execute(command));
+        verify(ledgerGateway, never()).saveAll(any());
+        verify(outboxGateway, never()).appendAll(any());
+        verify(pixTransferGateway, never()).create(any());
+    }
+
+    @Test
+    void givenUnknownToWallet_whenCreatePixTransfer_thenThrowNotFoundException() {
+        // given
+        final var command = CreatePixTransferCommand.with(
+            WalletID.unique().getValue().toString(),
+            UUID.randomUUID().toString(),
+            BigDecimal.valueOf(100.00),
+            UUID.randomUUID().toString(),
+            "E12345678202311261234567890AB"
+        );
+
+        when(pixTransferGateway.existsByIdempotencyKey(any())).thenReturn(false);
+        // a ordem das atualizações depende dos ids gerados
+        lenient().when(walletGateway.debitIfSufficient(any(), any()))
+            .thenReturn(Optional.of(Money.of(BigDecimal.valueOf(400.00))));
+        when(walletGateway.credit(any(), any())).thenReturn(Optional.empty());
+        mockTimer();
+
+        // when / then
+        assertThrows(NotFoundException.class, () -> createPixTransferUseCase.execute(command));
+        verify(ledgerGateway, never()).saveAll(any());
+        verify(outboxGateway, never()).appendAll(any());
+        verify(pixTransferGateway, never()).create(any());
+    }
+
+    private void mockTimer() {
+        when(applicationMetrics.startPixTransferTimer()).thenReturn(Timer.start(new SimpleMeterRegistry()));
+    }
+}
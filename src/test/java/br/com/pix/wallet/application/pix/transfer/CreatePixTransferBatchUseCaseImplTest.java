@@ -0,0 +1,237 @@
+package br.com.pix.wallet.application.pix.transfer;
+
+import br.com.pix.wallet.application.UseCaseTest;
+import br.com.pix.wallet.application.metrics.ApplicationMetrics;
+import br.com.pix.wallet.application.pix.transfer.CreatePixTransferBatchOutput.Outcome;
+import br.com.pix.wallet.domain.common.Money;
+import br.com.pix.wallet.domain.exception.NotFoundException;
+import br.com.pix.wallet.domain.ledger.LedgerGateway;
+import br.com.pix.wallet.domain.outbox.OutboxGateway;
+import br.com.pix.wallet.domain.pix.transfer.PixTransferGateway;
+import br.com.pix.wallet.domain.wallet.Wallet;
+import br.com.pix.wallet.domain.wallet.WalletGateway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+class CreatePixTransferBatchUseCaseImplTest extends UseCaseTest {
+
+    private CreatePixTransferBatchUseCaseImpl createPixTransferBatchUseCase;
+
+    @Mock
+    private WalletGateway walletGateway;
+
+    @Mock
+    private LedgerGateway ledgerGateway;
+
+    @Mock
+    private OutboxGateway outboxGateway;
+
+    @Mock
+    private PixTransferGateway pixTransferGateway;
+
+    @Mock
+    private ApplicationMetrics applicationMetrics;
+
+    @Override
+    protected List<Object> getMocks() {
+        return List.of(walletGateway, ledgerGateway, outboxGateway, pixTransferGateway, applicationMetrics);
+    }
+
+    @BeforeEach
+    void setUp() {
+        createPixTransferBatchUseCase = new CreatePixTransferBatchUseCaseImpl(
+            walletGateway,
+            ledgerGateway,
+            outboxGateway,
+            pixTransferGateway,
+            applicationMetrics,
+            "ALL_OR_NOTHING"
+        );
+    }
+
+    @Test
+    void givenPartialBatch_whenBalanceRunsOutMidway_thenShouldRejectOnlyUncoveredTransfers() {
+        // given
+        final var source = wallet(150);
+        final var firstTarget = wallet(0);
+        final var secondTarget = wallet(0);
+        final var command = CreatePixTransferBatchCommand.with(id(source), "partial", List.of(
+            item(firstTarget, 100, "E1"),
+            item(secondTarget, 100, "E2"),
+            item(firstTarget, 50, "E3")
+        ));
+
+        when(pixTransferGateway.findExistingIdempotencyKeys(any())).thenReturn(Set.of());
+        when(pixTransferGateway.findExistingEndToEndIds(any())).thenReturn(Set.of());
+        when(walletGateway.lockExisting(any())).thenReturn(List.of(source, firstTarget, secondTarget));
+
+        // when
+        final var output = createPixTransferBatchUseCase.execute(command);
+
+        // then
+        assertEquals(PixTransferBatchFailureMode.PARTIAL, output.failureMode());
+        assertEquals(2, output.created());
+        assertEquals(1, output.rejected());
+        assertEquals(
+            List.of(Outcome.CREATED, Outcome.REJECTED, Outcome.CREATED),
+            output.transfers().stream().map(CreatePixTransferBatchOutput.Item::outcome).toList()
+        );
+        assertEquals("Insufficient balance in source wallet", output.transfers().get(1).errors().get(0).message());
+        assertEquals(Money.zero(), source.getCurrentBalance());
+        assertEquals(Money.of(BigDecimal.valueOf(150)), firstTarget.getCurrentBalance());
+        assertEquals(Money.zero(), secondTarget.getCurrentBalance());
+
+        verify(walletGateway, times(1)).lockExisting(argThat(ids -> ids.size() == 4));
+        verify(walletGateway).save(source);
+        verify(walletGateway).save(firstTarget);
+        verify(walletGateway, never()).save(secondTarget);
+        verify(ledgerGateway).saveAll(argThat(entries -> entries.size() == 4));
+        verify(outboxGateway).appendAll(argThat(entries -> entries.size() == 4));
+        verify(pixTransferGateway).createAll(argThat(transfers -> transfers.size() == 2));
+        verify(applicationMetrics, times(2)).recordPixTransferOutcome(isNull(), eq(true), any());
+        verify(applicationMetrics).recordPixTransferOutcome(isNull(), eq(false), any());
+    }
+
+    @Test
+    void givenAllOrNothingBatch_whenOneTransferIsInvalid_thenShouldSkipTheOthersWithoutLocking() {
+        // given
+        final var source = wallet(1_000);
+        final var target = wallet(0);
+        final var command = CreatePixTransferBatchCommand.with(id(source), null, List.of(
+            item(target, 100, "E1"),
+            CreatePixTransferBatchCommand.Item.with(id(target), BigDecimal.valueOf(-1), UUID.randomUUID().toString(), "E2")
+        ));
+
+        when(pixTransferGateway.findExistingIdempotencyKeys(any())).thenReturn(Set.of());
+        when(pixTransferGateway.findExistingEndToEndIds(any())).thenReturn(Set.of());
+
+        // when
+        final var output = createPixTransferBatchUseCase.execute(command);
+
+        // then
+        assertEquals(PixTransferBatchFailureMode.ALL_OR_NOTHING, output.failureMode());
+        assertEquals(0, output.created());
+        assertEquals(1, output.rejected());
+        assertEquals(1, output.skipped());
+        assertEquals(Outcome.SKIPPED, output.transfers().get(0).outcome());
+        assertEquals(Outcome.REJECTED, output.transfers().get(1).outcome());
+
+        verify(walletGateway, never()).lockExisting(any());
+        verify(walletGateway, never()).save(any());
+        verifyNoInteractions(ledgerGateway, outboxGateway);
+        verify(pixTransferGateway, never()).createAll(any());
+    }
+
+    @Test
+    void givenAllOrNothingBatch_whenTotalExceedsBalance_thenShouldRejectEveryTransfer() {
+        // given
+        final var source = wallet(150);
+        final var target = wallet(0);
+        final var command = CreatePixTransferBatchCommand.with(id(source), "ALL_OR_NOTHING", List.of(
+            item(target, 100, "E1"),
+            item(target, 100, "E2")
+        ));
+
+        when(pixTransferGateway.findExistingIdempotencyKeys(any())).thenReturn(Set.of());
+        when(pixTransferGateway.findExistingEndToEndIds(any())).thenReturn(Set.of());
+        when(walletGateway.lockExisting(any())).thenReturn(List.of(source, target));
+
+        // when
+        final var output = createPixTransferBatchUseCase.execute(command);
+
+        // then
+        assertEquals(2, output.rejected());
+        assertEquals(
+            "Insufficient balance in source wallet for the whole batch",
+            output.transfers().get(0).errors().get(0).message()
+        );
+        assertEquals(Money.of(BigDecimal.valueOf(150)), source.getCurrentBalance());
+        verify(walletGateway, never()).save(any());
+        verifyNoInteractions(ledgerGateway, outboxGateway);
+    }
+
+    @Test
+    void givenDuplicatedAndProcessedKeys_whenExecuteBatch_thenShouldRejectThemAndApplyTheRest() {
+        // given
+        final var source = wallet(1_000);
+        final var target = wallet(0);
+        final var duplicatedKey = UUID.randomUUID().toString();
+        final var processedKey = UUID.randomUUID().toString();
+        final var command = CreatePixTransferBatchCommand.with(id(source), "PARTIAL", List.of(
+            CreatePixTransferBatchCommand.Item.with(id(target), BigDecimal.TEN, duplicatedKey, "E1"),
+            CreatePixTransferBatchCommand.Item.with(id(target), BigDecimal.TEN, duplicatedKey, "E2"),
+            CreatePixTransferBatchCommand.Item.with(id(target), BigDecimal.TEN, processedKey, "E3"),
+            item(target, 10, "E4")
+        ));
+
+        when(pixTransferGateway.findExistingIdempotencyKeys(any())).thenReturn(Set.of(processedKey));
+        when(pixTransferGateway.findExistingEndToEndIds(any())).thenReturn(Set.of("E4"));
+        when(walletGateway.lockExisting(any())).thenReturn(List.of(source, target));
+
+        // when
+        final var output = createPixTransferBatchUseCase.execute(command);
+
+        // then
+        assertEquals(1, output.created());
+        assertEquals(3, output.rejected());
+        assertEquals("Duplicated idempotencyKey in batch", output.transfers().get(1).errors().get(0).message());
+        assertEquals(
+            "Transfer already processed for this idempotency key",
+            output.transfers().get(2).errors().get(0).message()
+        );
+        assertEquals("Transfer already exists for this endToEndId", output.transfers().get(3).errors().get(0).message());
+        verify(pixTransferGateway).createAll(argThat(transfers -> transfers.size() == 1));
+    }
+
+    @Test
+    void givenUnknownSourceWallet_whenExecuteBatch_thenShouldThrowNotFoundException() {
+        // given
+        final var source = wallet(0);
+        final var target = wallet(0);
+        final var command = CreatePixTransferBatchCommand.with(id(source), "PARTIAL", List.of(item(target, 10, "E1")));
+
+        when(pixTransferGateway.findExistingIdempotencyKeys(any())).thenReturn(Set.of());
+        when(pixTransferGateway.findExistingEndToEndIds(any())).thenReturn(Set.of());
+        when(walletGateway.lockExisting(any())).thenReturn(List.of(target));
+
+        // when
+        assertThrows(NotFoundException.class, () -> createPixTransferBatchUseCase.execute(command));
+
+        // then
+        verify(walletGateway, never()).save(any());
+        verify(applicationMetrics, never()).recordPixTransferOutcome(any(), anyBoolean(), any());
+    }
+
+    private static Wallet wallet(final long balance) {
+        final var wallet = Wallet.newWallet(UUID.randomUUID().toString());
+        if (balance > 0) {
+            wallet.deposit(Money.of(BigDecimal.valueOf(balance)));
+        }
+        return wallet;
+    }
+
+    private static String id(final Wallet wallet) {
+        return wallet.getId().getValue().toString();
+    }
+
+    private static CreatePixTransferBatchCommand.Item item(final Wallet target, final long amount, final String endToEndId) {
+        return CreatePixTransferBatchCommand.Item.with(
+            id(target),
+            BigDecimal.valueOf(amount),
+            UUID.randomUUID().toString(),
+            endToEndId
+        );
+    }
+}
@@ -6,6 +6,7 @@ import br.com.pix.wallet.domain.common.Money;
 import br.com.pix.wallet.domain.exception.DomainException;
 import br.com.pix.wallet.domain.exception.NotFoundException;
 import br.com.pix.wallet.domain.ledger.LedgerGateway;
+import br.com.pix.wallet.domain.outbox.OutboxGateway;
 import br.com.pix.wallet.domain.pix.transfer.PixTransferGateway;
 import br.com.pix.wallet.domain.wallet.Wallet;
 import br.com.pix.wallet.domain.wallet.WalletGateway;
@@ -22,6 +23,7 @@ import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
 class CreatePixTransferUseCaseImplTest extends UseCaseTest {
@@ -35,6 +37,9 @@ class CreatePixTransferUseCaseImplTest extends UseCaseTest {
     @Mock
     private LedgerGateway ledgerGateway;
 
+    @Mock
+    private OutboxGateway outboxGateway;
+
     @Mock
     private PixTransferGateway pixTransferGateway;
 
@@ -43,7 +48,7 @@ class CreatePixTransferUseCaseImplTest extends UseCaseTest {
 
     @Override
     protected List<Object> getMocks() {
-        return List.of(walletGateway, ledgerGateway, pixTransferGateway, applicationMetrics);
+        return List.of(walletGateway, ledgerGateway, outboxGateway, pixTransferGateway, applicationMetrics);
     }
 
     @Test
@@ -75,10 +80,10 @@ class CreatePixTransferUseCaseImplTest extends UseCaseTest {
         when(toWallet.getCurrentBalance()).thenReturn(Money.of(BigDecimal.valueOf(200.00)));
 
         when(pixTransferGateway.existsByIdempotencyKey(expectedIdempotencyKey)).thenReturn(false);
-        when(walletGateway.findByIdWithLock(any())).thenReturn(fromWallet, toWallet);
+        when(walletGateway.lockAll(any())).thenReturn(List.of(fromWallet, toWallet));
         when(walletGateway.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
-        when(ledgerGateway.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
-        when(pixTransferGateway.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(ledgerGateway.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(pixTransferGateway.create(any())).thenAnswer(invocation -> invocation.getArgument(0));
 
         // when
         final var output = createPixTransferUseCase.execute(command);
@@ -87,12 +92,13 @@ class CreatePixTransferUseCaseImplTest extends UseCaseTest {
         assertNotNull(output);
         assertNotNull(output.transferId());
         verify(pixTransferGateway).existsByIdempotencyKey(expectedIdempotencyKey);
-        verify(walletGateway, times(2)).findByIdWithLock(any());
+        verify(walletGateway).lockAll(any());
         verify(fromWallet).withdraw(any());
         verify(toWallet).deposit(any());
         verify(walletGateway, times(2)).save(any());
-        verify(ledgerGateway, times(2)).save(any());
-        verify(pixTransferGateway).save(any());
+        verify(ledgerGateway).saveAll(argThat(entries -> entries.size() == 2));
+        verify(outboxGateway).appendAll(argThat(entries -> entries.size() == 2));
+        verify(pixTransferGateway).create(any());
     }
 
     @Test
@@ -122,10 +128,11 @@ class CreatePixTransferUseCaseImplTest extends UseCaseTest {
         assertEquals(1, exception.getErrors().size());
         assertEquals("Transfer already processed for this idempotency key", exception.getErrors().get(0).message());
         verify(pixTransferGateway).existsByIdempotencyKey(duplicateIdempotencyKey);
-        verify(walletGateway, never()).findByIdWithLock(any());
+        verify(walletGateway, never()).lockAll(any());
         verify(walletGateway, never()).save(any());
-        verify(ledgerGateway, never()).save(any());
-        verify(pixTransferGateway, never()).save(any());
+        verify(ledgerGateway, never()).saveAll(any());
+        verify(outboxGateway, never()).appendAll(any());
+        verify(pixTransferGateway, never()).create(any());
     }
 
     @Test
@@ -149,9 +156,11 @@ class CreatePixTransferUseCaseImplTest extends UseCaseTest {
         final var toWallet = mock(Wallet.class);
         final var insufficientBalance = Money.of(BigDecimal.valueOf(50.00));
 
+        when(fromWallet.getId()).thenReturn(expectedFromWalletId);
+        when(toWallet.getId()).thenReturn(expectedToWalletId);
         when(fromWallet.getCurrentBalance()).thenReturn(insufficientBalance);
         when(pixTransferGateway.existsByIdempotencyKey(expectedIdempotencyKey)).thenReturn(false);
-        when(walletGateway.findByIdWithLock(any())).thenReturn(fromWallet, toWallet);
+        when(walletGateway.lockAll(any())).thenReturn(List.of(fromWallet, toWallet));
         mockTimer();
 
         // when
@@ -162,12 +171,13 @@ class CreatePixTransferUseCaseImplTest extends UseCaseTest {
         assertEquals(1, exception.getErrors().size());
         assertEquals("Insufficient balance in source wallet", exception.getErrors().get(0).message());
         verify(pixTransferGateway).existsByIdempotencyKey(expectedIdempotencyKey);
-        verify(walletGateway, times(2)).findByIdWithLock(any());
+        verify(walletGateway).lockAll(any());
         verify(fromWallet, never()).withdraw(any());
         verify(toWallet, never()).deposit(any());
         verify(walletGateway, never()).save(any());
-        verify(ledgerGateway, never()).save(any());
-        verify(pixTransferGateway, never()).save(any());
+        verify(ledgerGateway, never()).saveAll(any());
+        verify(outboxGateway, never()).appendAll(any());
+        verify(pixTransferGateway, never()).create(any());
     }
 
     @Test
@@ -188,7 +198,7 @@ class CreatePixTransferUseCaseImplTest extends UseCaseTest {
         );
 
         when(pixTransferGateway.existsByIdempotencyKey(expectedIdempotencyKey)).thenReturn(false);
-        when(walletGateway.findByIdWithLock(any())).thenThrow(NotFoundException.class);
+        when(walletGateway.lockAll(any())).thenThrow(NotFoundException.class);
         mockTimer();
 
         // when
@@ -197,10 +207,11 @@ class CreatePixTransferUseCaseImplTest extends UseCaseTest {
         // then
         assertNotNull(exception);
         verify(pixTransferGateway).existsByIdempotencyKey(expectedIdempotencyKey);
-        verify(walletGateway).findByIdWithLock(any());
+        verify(walletGateway).lockAll(any());
         verify(walletGateway, never()).save(any());
-        verify(ledgerGateway, never()).save(any());
-        verify(pixTransferGateway, never()).save(any());
+        verify(ledgerGateway, never()).saveAll(any());
+        verify(outboxGateway, never()).appendAll(any());
+        verify(pixTransferGateway, never()).create(any());
     }
 
     @Test
@@ -220,12 +231,8 @@ class CreatePixTransferUseCaseImplTest extends UseCaseTest {
             expectedEndToEndId
         );
 
-        final var fromWallet = mock(Wallet.class);
-
         when(pixTransferGateway.existsByIdempotencyKey(expectedIdempotencyKey)).thenReturn(false);
-        when(walletGateway.findByIdWithLock(any()))
-            .thenReturn(fromWallet)
-            .thenThrow(NotFoundException.class);
+        when(walletGateway.lockAll(any())).thenThrow(NotFoundException.class);
         mockTimer();
 
         // when
@@ -234,10 +241,11 @@ class CreatePixTransferUseCaseImplTest extends UseCaseTest {
         // then
         assertNotNull(exception);
         verify(pixTransferGateway).existsByIdempotencyKey(expectedIdempotencyKey);
-        verify(walletGateway, times(2)).findByIdWithLock(any());
+        verify(walletGateway).lockAll(any());
         verify(walletGateway, never()).save(any());
-        verify(ledgerGateway, never()).save(any());
-        verify(pixTransferGateway, never()).save(any());
+        verify(ledgerGateway, never()).saveAll(any());
+        verify(outboxGateway, never()).appendAll(any());
+        verify(pixTransferGateway, never()).create(any());
     }
 
     private void mockTimer() {
@@ -0,0 +1,118 @@
+package br.com.pix.wallet.application.pix.transfer;
+
+import br.com.pix.wallet.application.UseCaseTest;
+import br.com.pix.wallet.application.metrics.ApplicationMetrics;
+import br.com.pix.wallet.domain.exception.DomainException;
+import br.com.pix.wallet.domain.pix.transfer.PixTransferGateway;
+import br.com.pix.wallet.domain.validation.Error;
+import br.com.pix.wallet.domain.wallet.WalletEngine;
+import br.com.pix.wallet.domain.wallet.WalletID;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class PartitionedCreatePixTransferUseCaseImplTest extends UseCaseTest {
+
+    @InjectMocks
+    private PartitionedCreatePixTransferUseCaseImpl createPixTransferUseCase;
+
+    @Mock
+    private WalletEngine walletEngine;
+
+    @Mock
+    private PixTransferGateway pixTransferGateway;
+
+    @Mock
+    private ApplicationMetrics applicationMetrics;
+
+    @Override
+    protected List<Object> getMocks() {
+        return List.of(walletEngine, pixTransferGateway, applicationMetrics);
+    }
+
+    @Test
+    void givenValidCommand_whenCreatePixTransfer_thenSubmitsToEngine() {
+        // given
+        final var expectedIdempotencyKey = UUID.randomUUID().toString();
+        final var command = CreatePixTransferCommand.with(
+            WalletID.unique().getValue().toString(),
+            WalletID.unique().getValue().toString(),
+            BigDecimal.valueOf(100.00),
+            expectedIdempotencyKey,
+            "E12345678202311261234567890AB"
+        );
+        mockTimer();
+
+        when(pixTransferGateway.existsByIdempotencyKey(expectedIdempotencyKey)).thenReturn(false);
+        when(walletEngine.transfer(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // when
+        final var output = createPixTransferUseCase.execute(command);
+
+        // then
+        assertNotNull(output);
+        assertNotNull(output.transferId());
+        verify(walletEngine).transfer(any());
+        verify(pixTransferGateway, never()).create(any());
+    }
+
+    @Test
+    void givenDuplicateIdempotencyKey_whenCreatePixTransfer_thenThrowDomainException() {
+        // given
+        final var duplicateIdempotencyKey = UUID.randomUUID().toString();
+        final var command = CreatePixTransferCommand.with(
+            WalletID.unique().getValue().toString(),
+            WalletID.unique().getValue().toString(),
+            BigDecimal.valueOf(100.00),
+            duplicateIdempotencyKey,
+            "E12345678202311261234567890AB"
+        );
+        mockTimer();
+
+        when(pixTransferGateway.existsByIdempotencyKey(duplicateIdempotencyKey)).thenReturn(true);
+
+        // when
+        final var exception = assertThrows(DomainException.class, () -> createPixTransferUseCase.execute(command));
+
+        // then
+        assertEquals("Transfer already processed for this idempotency key", exception.getErrors().get(0).message());
+        verify(walletEngine, never()).transfer(any());
+    }
+
+    @Test
+    void givenEngineRejectsTransfer_whenCreatePixTransfer_thenPropagatesDomainException() {
+        // given
+        final var command = CreatePixTransferCommand.with(
+            WalletID.unique().getValue().toString(),
+            WalletID.unique().getValue().toString(),
+            BigDecimal.valueOf(1000.00),
+            UUID.randomUUID().toString(),
+            "E12345678202311261234567890AB"
+        );
+        mockTimer();
+
+        when(pixTransferGateway.existsByIdempotencyKey(any())).thenReturn(false);
+        when(walletEngine.transfer(any()))
+            .thenThrow(DomainException.with(Error.of("Insufficient balance in source wallet")));
+
+        // when
+        final var exception = assertThrows(DomainException.class, () -> createPixTransferUseCase.execute(command));
+
+        // then
+        assertEquals("Insufficient balance in source wallet", exception.getErrors().get(0).message());
+    }
+
+    private void mockTimer() {
+        when(applicationMetrics.startPixTransferTimer()).thenReturn(Timer.start(new SimpleMeterRegistry()));
+    }
+}
@@ -0,0 +1,141 @@
+package br.com.pix.wallet.application.pix.webhook;
+
+import br.com.pix.wallet.application.UseCaseTest;
+import br.com.pix.wallet.application.metrics.ApplicationMetrics;
+import br.com.pix.wallet.domain.exception.DomainException;
+import br.com.pix.wallet.domain.exception.ServiceUnavailableException;
+import br.com.pix.wallet.domain.pix.webhook.PixWebhookEvent;
+import br.com.pix.wallet.domain.pix.webhook.PixWebhookEventType;
+import br.com.pix.wallet.domain.pix.webhook.PixWebhookInbox;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+class AsyncHandlePixWebhookUseCaseImplTest extends UseCaseTest {
+
+    @InjectMocks
+    private AsyncHandlePixWebhookUseCaseImpl asyncHandlePixWebhookUseCase;
+
+    @Mock
+    private PixWebhookInbox pixWebhookInbox;
+
+    @Mock
+    private ApplicationMetrics applicationMetrics;
+
+    @Override
+    protected List<Object> getMocks() {
+        return List.of(pixWebhookInbox, applicationMetrics);
+    }
+
+    @Test
+    void givenValidCommand_whenHandlePixWebhook_thenEnqueueAndReturnAcceptedOutput() {
+        // given
+        final var expectedEventId = UUID.randomUUID().toString();
+        final var expectedEndToEndId = "E12345678202311261234567890AB";
+        final var expectedOccurredAt = Instant.now();
+
+        final var command = HandlePixWebhookCommand.with(
+            expectedEventId,
+            expectedEndToEndId,
+            "CREDIT_CONFIRMED",
+            expectedOccurredAt
+        );
+
+        when(pixWebhookInbox.enqueue(any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        // when
+        final var output = asyncHandlePixWebhookUseCase.execute(command);
+
+        // then
+        assertNotNull(output.webhookEventId());
+        assertEquals(expectedEventId, output.eventId());
+        assertEquals(expectedEndToEndId, output.endToEndId());
+        assertEquals(PixWebhookEventType.CREDIT_CONFIRMED.name(), output.eventType());
+        assertEquals(expectedOccurredAt, output.occurredAt());
+        assertNull(output.processedAt());
+
+        verify(pixWebhookInbox).enqueue(argThat((PixWebhookEvent event) ->
+            Objects.equals(expectedEventId, event.getEventId())
+                && Objects.equals(expectedEndToEndId, event.getEndToEndId())
+        ));
+        verify(applicationMetrics).recordPixWebhookEvent(PixWebhookEventType.CREDIT_CONFIRMED, "accepted");
+    }
+
+    @Test
+    void givenInvalidEventType_whenHandlePixWebhook_thenThrowWithoutEnqueue() {
+        // given
+        final var command = HandlePixWebhookCommand.with(
+            UUID.randomUUID().toString(),
+            "E12345678202311261234567890AB",
+            "PAYMENT_RECEIVED",
+            Instant.now()
+        );
+
+        // when
+        final var exception = assertThrows(DomainException.class, () -> asyncHandlePixWebhookUseCase.execute(command));
+
+        // then
+        assertEquals("Invalid webhook event type: 'PAYMENT_RECEIVED'", exception.getErrors().get(0).message());
+        verify(pixWebhookInbox, never()).enqueue(any());
+        verify(applicationMetrics).recordPixWebhookEvent(null, "error");
+    }
+
+    @Test
+    void givenFullInbox_whenHandlePixWebhook_thenPropagateServiceUnavailable() {
+        // given
+        final var command = HandlePixWebhookCommand.with(
+            UUID.randomUUID().toString(),
+            "E12345678202311261234567890AB",
+            "DEBIT_CONFIRMED",
+            Instant.now()
+        );
+
+        doThrow(ServiceUnavailableException.with("Webhook inbox is full, retry later"))
+            .when(pixWebhookInbox).enqueue(any());
+
+        // when
+        final var exception = assertThrows(
+            ServiceUnavailableException.class,
+            () -> asyncHandlePixWebhookUseCase.execute(command)
+        );
+
+        // then
+        assertEquals("Webhook inbox is full, retry later", exception.getMessage());
+        verify(applicationMetrics, never()).recordPixWebhookEvent(PixWebhookEventType.DEBIT_CONFIRMED, "accepted");
+    }
+
+    @Test
+    void givenInboxCommitNotConfirmedInTime_whenHandlePixWebhook_thenThrowServiceUnavailableWithoutAck() {
+        // given
+        final var command = HandlePixWebhookCommand.with(
+            UUID.randomUUID().toString(),
+            "E12345678202311261234567890AB",
+            "CREDIT_CONFIRMED",
+            Instant.now()
+        );
+
+        when(pixWebhookInbox.enqueue(any())).thenReturn(CompletableFuture.failedFuture(new TimeoutException()));
+
+        // when
+        final var exception = assertThrows(
+            ServiceUnavailableException.class,
+            () -> asyncHandlePixWebhookUseCase.execute(command)
+        );
+
+        // then
+        assertEquals("Webhook inbox did not confirm the event in time, retry later", exception.getMessage());
+        verify(applicationMetrics, never()).recordPixWebhookEvent(PixWebhookEventType.CREDIT_CONFIRMED, "accepted");
+    }
+}
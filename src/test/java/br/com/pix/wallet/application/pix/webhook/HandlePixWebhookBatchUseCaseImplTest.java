@@ -0,0 +1,228 @@
+package br.com.pix.wallet.application.pix.webhook;
+
+import br.com.pix.wallet.application.UseCaseTest;
+import br.com.pix.wallet.application.metrics.ApplicationMetrics;
+import br.com.pix.wallet.application.pix.transfer.ApplyPixTransferTransitionsOutput;
+import br.com.pix.wallet.application.pix.transfer.ApplyPixTransferTransitionsUseCase;
+import br.com.pix.wallet.application.pix.webhook.HandlePixWebhookBatchOutput.Outcome;
+import br.com.pix.wallet.domain.exception.ServiceUnavailableException;
+import br.com.pix.wallet.domain.pix.transfer.PixTransferGateway;
+import br.com.pix.wallet.domain.pix.webhook.PixWebhookEvent;
+import br.com.pix.wallet.domain.pix.webhook.PixWebhookEventGateway;
+import br.com.pix.wallet.domain.pix.webhook.PixWebhookInbox;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+class HandlePixWebhookBatchUseCaseImplTest extends UseCaseTest {
+
+    @Mock
+    private PixWebhookEventGateway pixWebhookEventGateway;
+
+    @Mock
+    private PixTransferGateway pixTransferGateway;
+
+    @Mock
+    private ApplyPixTransferTransitionsUseCase applyPixTransferTransitionsUseCase;
+
+    @Mock
+    private ObjectProvider<PixWebhookInbox> pixWebhookInboxProvider;
+
+    @Mock
+    private PixWebhookInbox pixWebhookInbox;
+
+    @Mock
+    private ApplicationMetrics applicationMetrics;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Override
+    protected List<Object> getMocks() {
+        return List.of(
+            pixWebhookEventGateway,
+            pixTransferGateway,
+            applyPixTransferTransitionsUseCase,
+            pixWebhookInboxProvider,
+            pixWebhookInbox,
+            applicationMetrics,
+            transactionManager
+        );
+    }
+
+    @Test
+    void givenMixedBatch_whenHandleInSyncMode_thenShouldStoreOnlyNewMatchedEventsInOneBatch() {
+        // given
+        final var command = HandlePixWebhookBatchCommand.with(List.of(
+            command("evt-1", "E1", "CREDIT_CONFIRMED"),
+            command("evt-1", "E1", "CREDIT_CONFIRMED"),
+            command("evt-2", "E2", "DEBIT_CONFIRMED"),
+            command("evt-3", "E-unknown", "CREDIT_CONFIRMED"),
+            command("evt-4", "E1", "PAYMENT_RECEIVED")
+        ));
+
+        when(pixWebhookEventGateway.findExistingEventIds(List.of("evt-1", "evt-2", "evt-3"))).thenReturn(Set.of("evt-2"));
+        when(pixTransferGateway.findExistingEndToEndIds(Set.of("E1", "E-unknown"))).thenReturn(Set.of("E1"));
+        when(applyPixTransferTransitionsUseCase.execute(any())).thenReturn(ApplyPixTransferTransitionsOutput.of(1, 0, 0, List.of()));
+
+        // when
+        final var output = useCase().execute(command);
+
+        // then
+        assertEquals(
+            List.of(Outcome.STORED, Outcome.DUPLICATE, Outcome.DUPLICATE, Outcome.REJECTED, Outcome.REJECTED),
+            output.events().stream().map(HandlePixWebhookBatchOutput.Item::outcome).toList()
+        );
+        assertNotNull(output.events().get(0).webhookEventId());
+        assertEquals("No Pix transfer found for endToEndId 'E-unknown'", output.events().get(3).errors().get(0).message());
+        assertEquals("Invalid webhook event type: 'PAYMENT_RECEIVED'", output.events().get(4).errors().get(0).message());
+
+        verify(pixWebhookEventGateway).saveAllIgnoringDuplicates(argThat((List<PixWebhookEvent> events) ->
+            events.size() == 1 && "evt-1".equals(events.get(0).getEventId())
+        ));
+        verify(applyPixTransferTransitionsUseCase).execute(argThat(transitions ->
+            transitions.events().size() == 1 && "evt-1".equals(transitions.events().get(0).getEventId())
+        ));
+        verifyNoInteractions(pixWebhookInbox);
+    }
+
+    @Test
+    void givenDeferredRefund_whenHandleInSyncMode_thenShouldRejectItsEventWithoutStoringIt() {
+        // given
+        final var command = HandlePixWebhookBatchCommand.with(List.of(
+            command("evt-1", "E1", "CREDIT_CONFIRMED"),
+            command("evt-2", "E2", "REFUND_PROCESSED")
+        ));
+
+        when(pixWebhookEventGateway.findExistingEventIds(any())).thenReturn(Set.of());
+        when(pixTransferGateway.findExistingEndToEndIds(any())).thenReturn(Set.of("E1", "E2"));
+        when(applyPixTransferTransitionsUseCase.execute(any())).thenReturn(ApplyPixTransferTransitionsOutput.of(1, 0, 0, List.of("E2")));
+
+        // when
+        final var output = useCase().execute(command);
+
+        // then
+        assertEquals(Outcome.STORED, output.events().get(0).outcome());
+        assertEquals(Outcome.REJECTED, output.events().get(1).outcome());
+        assertEquals(
+            "Refund for endToEndId 'E2' could not be applied yet, retry later",
+            output.events().get(1).errors().get(0).message()
+        );
+        verify(pixWebhookEventGateway).saveAllIgnoringDuplicates(argThat((List<PixWebhookEvent> events) ->
+            events.size() == 1 && "evt-1".equals(events.get(0).getEventId())
+        ));
+    }
+
+    @Test
+    void givenDeferredRefundAndConfirmationOfTheSameTransfer_whenHandleInSyncMode_thenShouldRejectOnlyTheRefund() {
+        // given
+        final var command = HandlePixWebhookBatchCommand.with(List.of(
+            command("evt-1", "E1", "CREDIT_CONFIRMED"),
+            command("evt-2", "E1", "REFUND_PROCESSED")
+        ));
+
+        when(pixWebhookEventGateway.findExistingEventIds(any())).thenReturn(Set.of());
+        when(pixTransferGateway.findExistingEndToEndIds(any())).thenReturn(Set.of("E1"));
+        when(applyPixTransferTransitionsUseCase.execute(any())).thenReturn(ApplyPixTransferTransitionsOutput.of(1, 0, 0, List.of("E1")));
+
+        // when
+        final var output = useCase().execute(command);
+
+        // then
+        assertEquals(Outcome.STORED, output.events().get(0).outcome());
+        assertEquals(Outcome.REJECTED, output.events().get(1).outcome());
+        verify(pixWebhookEventGateway).saveAllIgnoringDuplicates(argThat((List<PixWebhookEvent> events) ->
+            events.size() == 1 && "evt-1".equals(events.get(0).getEventId())
+        ));
+    }
+
+    @Test
+    void givenFullInbox_whenHandleInAsyncMode_thenShouldAcceptEnqueuedEventsAndRejectTheRest() {
+        // given
+        final var command = HandlePixWebhookBatchCommand.with(List.of(
+            command("evt-1", "E1", "CREDIT_CONFIRMED"),
+            command("evt-2", "E2", "REFUND_PROCESSED")
+        ));
+
+        when(pixWebhookInboxProvider.getIfAvailable()).thenReturn(pixWebhookInbox);
+        when(pixWebhookInbox.enqueue(any()))
+            .thenReturn(CompletableFuture.completedFuture(null))
+            .thenThrow(ServiceUnavailableException.with("Webhook inbox is full, retry later"));
+
+        // when
+        final var output = useCase().execute(command);
+
+        // then
+        assertEquals(Outcome.ACCEPTED, output.events().get(0).outcome());
+        assertEquals(Outcome.REJECTED, output.events().get(1).outcome());
+        assertEquals("Webhook inbox is full, retry later", output.events().get(1).errors().get(0).message());
+        verify(pixWebhookInbox, times(2)).enqueue(any());
+        verifyNoInteractions(pixWebhookEventGateway, pixTransferGateway, applyPixTransferTransitionsUseCase, transactionManager);
+    }
+
+    @Test
+    void givenEventNotCommittedToInbox_whenHandleInAsyncMode_thenShouldRejectOnlyThatEvent() {
+        // given
+        final var command = HandlePixWebhookBatchCommand.with(List.of(
+            command("evt-1", "E1", "CREDIT_CONFIRMED"),
+            command("evt-2", "E2", "DEBIT_CONFIRMED")
+        ));
+
+        when(pixWebhookInboxProvider.getIfAvailable()).thenReturn(pixWebhookInbox);
+        when(pixWebhookInbox.enqueue(any()))
+            .thenReturn(CompletableFuture.failedFuture(ServiceUnavailableException.with("Webhook inbox is shutting down, retry later")))
+            .thenReturn(CompletableFuture.completedFuture(null));
+
+        // when
+        final var output = useCase().execute(command);
+
+        // then
+        assertEquals(Outcome.REJECTED, output.events().get(0).outcome());
+        assertEquals("Webhook inbox is shutting down, retry later", output.events().get(0).errors().get(0).message());
+        assertEquals(Outcome.ACCEPTED, output.events().get(1).outcome());
+        verify(applicationMetrics, times(1)).recordPixWebhookEvent(any(), argThat("accepted"::equals));
+    }
+
+    @Test
+    void givenOnlyInvalidEvents_whenHandleInSyncMode_thenShouldNotQueryTheDatabase() {
+        // given
+        final var command = HandlePixWebhookBatchCommand.with(List.of(
+            command(" ", "E1", "CREDIT_CONFIRMED"),
+            command("evt-1", "E1", null)
+        ));
+
+        // when
+        final var output = useCase().execute(command);
+
+        // then
+        assertTrue(output.events().stream().allMatch(item -> item.outcome() == Outcome.REJECTED));
+        verifyNoInteractions(pixWebhookEventGateway, pixTransferGateway, applyPixTransferTransitionsUseCase);
+        verify(applicationMetrics, times(2)).recordPixWebhookEvent(any(), argThat("error"::equals));
+    }
+
+    private HandlePixWebhookBatchUseCaseImpl useCase() {
+        return new HandlePixWebhookBatchUseCaseImpl(
+            pixWebhookEventGateway,
+            pixTransferGateway,
+            applyPixTransferTransitionsUseCase,
+            pixWebhookInboxProvider,
+            applicationMetrics,
+            transactionManager
+        );
+    }
+
+    private static HandlePixWebhookCommand command(final String eventId, final String endToEndId, final String eventType) {
+        return HandlePixWebhookCommand.with(eventId, endToEndId, eventType, Instant.now());
+    }
+}
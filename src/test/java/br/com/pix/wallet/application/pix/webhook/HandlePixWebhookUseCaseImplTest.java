@@ -2,8 +2,10 @@ package br.com.pix.wallet.application.pix.webhook;
 
 import br.com.pix.wallet.application.UseCaseTest;
 import br.com.pix.wallet.application.metrics.ApplicationMetrics;
+import br.com.pix.wallet.application.pix.transfer.ApplyPixTransferTransitionsOutput;
+import br.com.pix.wallet.application.pix.transfer.ApplyPixTransferTransitionsUseCase;
 import br.com.pix.wallet.domain.exception.DomainException;
-import br.com.pix.wallet.domain.pix.transfer.PixTransfer;
+import br.com.pix.wallet.domain.exception.ServiceUnavailableException;
 import br.com.pix.wallet.domain.pix.transfer.PixTransferGateway;
 import br.com.pix.wallet.domain.pix.webhook.PixWebhookEvent;
 import br.com.pix.wallet.domain.pix.webhook.PixWebhookEventGateway;
@@ -20,6 +22,7 @@ import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
 class HandlePixWebhookUseCaseImplTest extends UseCaseTest {
@@ -33,12 +36,15 @@ class HandlePixWebhookUseCaseImplTest extends UseCaseTest {
     @Mock
     private PixTransferGateway pixTransferGateway;
 
+    @Mock
+    private ApplyPixTransferTransitionsUseCase applyPixTransferTransitionsUseCase;
+
     @Mock
     private ApplicationMetrics applicationMetrics;
 
     @Override
     protected List<Object> getMocks() {
-        return List.of(pixWebhookEventGateway, pixTransferGateway, applicationMetrics);
+        return List.of(pixWebhookEventGateway, pixTransferGateway, applyPixTransferTransitionsUseCase, applicationMetrics);
     }
 
     @Test
@@ -69,8 +75,9 @@ class HandlePixWebhookUseCaseImplTest extends UseCaseTest {
         // then
         assertNotNull(output);
         verify(pixWebhookEventGateway).findByEventId(expectedEventId);
-        verify(pixTransferGateway, never()).findByEndToEndId(any());
+        verify(pixTransferGateway, never()).existsByEndToEndId(any());
         verify(pixWebhookEventGateway, never()).save(any());
+        verify(applyPixTransferTransitionsUseCase, never()).execute(any());
     }
 
     @Test
@@ -88,10 +95,10 @@ class HandlePixWebhookUseCaseImplTest extends UseCaseTest {
             expectedOccurredAt
         );
 
-        final var transfer = mock(PixTransfer.class);
         when(pixWebhookEventGateway.findByEventId(expectedEventId)).thenReturn(Optional.empty());
-        when(pixTransferGateway.findByEndToEndId(expectedEndToEndId)).thenReturn(Optional.of(transfer));
+        when(pixTransferGateway.existsByEndToEndId(expectedEndToEndId)).thenReturn(true);
         when(pixWebhookEventGateway.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(applyPixTransferTransitionsUseCase.execute(any())).thenReturn(ApplyPixTransferTransitionsOutput.of(1, 0, 0, List.of()));
 
         // when
         final var output = handlePixWebhookUseCase.execute(command);
@@ -100,8 +107,40 @@ class HandlePixWebhookUseCaseImplTest extends UseCaseTest {
         assertNotNull(output);
         assertNotNull(output.eventId());
         verify(pixWebhookEventGateway).findByEventId(expectedEventId);
-        verify(pixTransferGateway).findByEndToEndId(expectedEndToEndId);
+        verify(pixTransferGateway).existsByEndToEndId(expectedEndToEndId);
         verify(pixWebhookEventGateway).save(any());
+        verify(applyPixTransferTransitionsUseCase).execute(argThat(transitions ->
+            transitions.events().size() == 1 && expectedEndToEndId.equals(transitions.events().get(0).getEndToEndId())
+        ));
+    }
+
+    @Test
+    void givenDeferredRefund_whenHandlePixWebhook_thenThrowServiceUnavailableSoTheEventIsRolledBack() {
+        // given
+        final var expectedEventId = UUID.randomUUID().toString();
+        final var expectedEndToEndId = "E12345678202311261234567890AB";
+        final var command = HandlePixWebhookCommand.with(
+            expectedEventId,
+            expectedEndToEndId,
+            PixWebhookEventType.REFUND_PROCESSED.name(),
+            Instant.now()
+        );
+
+        when(pixWebhookEventGateway.findByEventId(expectedEventId)).thenReturn(Optional.empty());
+        when(pixTransferGateway.existsByEndToEndId(expectedEndToEndId)).thenReturn(true);
+        when(pixWebhookEventGateway.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(applyPixTransferTransitionsUseCase.execute(any()))
+            .thenReturn(ApplyPixTransferTransitionsOutput.of(0, 0, 0, List.of(expectedEndToEndId)));
+
+        // when
+        final var exception = assertThrows(ServiceUnavailableException.class, () -> handlePixWebhookUseCase.execute(command));
+
+        // then
+        assertEquals(
+            "Refund for endToEndId 'E12345678202311261234567890AB' could not be applied yet, retry later",
+            exception.getMessage()
+        );
+        verify(applicationMetrics).recordPixWebhookEvent(null, "error");
     }
 
     @Test
@@ -120,7 +159,7 @@ class HandlePixWebhookUseCaseImplTest extends UseCaseTest {
         );
 
         when(pixWebhookEventGateway.findByEventId(expectedEventId)).thenReturn(Optional.empty());
-        when(pixTransferGateway.findByEndToEndId(expectedEndToEndId)).thenReturn(Optional.empty());
+        when(pixTransferGateway.existsByEndToEndId(expectedEndToEndId)).thenReturn(false);
 
         // when
         final var exception = assertThrows(DomainException.class, () -> handlePixWebhookUseCase.execute(command));
@@ -130,7 +169,7 @@ class HandlePixWebhookUseCaseImplTest extends UseCaseTest {
         assertEquals(1, exception.getErrors().size());
         assertEquals("No Pix transfer found for endToEndId 'E12345678202311261234567890AB'", exception.getErrors().get(0).message());
         verify(pixWebhookEventGateway).findByEventId(expectedEventId);
-        verify(pixTransferGateway).findByEndToEndId(expectedEndToEndId);
+        verify(pixTransferGateway).existsByEndToEndId(expectedEndToEndId);
         verify(pixWebhookEventGateway, never()).save(any());
     }
 
@@ -149,9 +188,8 @@ class HandlePixWebhookUseCaseImplTest extends UseCaseTest {
             expectedOccurredAt
         );
 
-        final var transfer = mock(PixTransfer.class);
         when(pixWebhookEventGateway.findByEventId(expectedEventId)).thenReturn(Optional.empty());
-        when(pixTransferGateway.findByEndToEndId(expectedEndToEndId)).thenReturn(Optional.of(transfer));
+        when(pixTransferGateway.existsByEndToEndId(expectedEndToEndId)).thenReturn(true);
 
         // when
         final var exception = assertThrows(DomainException.class, () -> handlePixWebhookUseCase.execute(command));
@@ -160,7 +198,7 @@ class HandlePixWebhookUseCaseImplTest extends UseCaseTest {
         assertNotNull(exception);
         assertTrue(exception.getErrors().size() > 0);
         verify(pixWebhookEventGateway).findByEventId(expectedEventId);
-        verify(pixTransferGateway).findByEndToEndId(expectedEndToEndId);
+        verify(pixTransferGateway).existsByEndToEndId(expectedEndToEndId);
         verify(pixWebhookEventGateway, never()).save(any());
     }
 }
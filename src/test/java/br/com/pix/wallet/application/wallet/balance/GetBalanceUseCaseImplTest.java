@@ -1,9 +1,13 @@
 package br.com.pix.wallet.application.wallet.balance;
 
 import br.com.pix.wallet.application.UseCaseTest;
+import br.com.pix.wallet.application.metrics.ApplicationMetrics;
 import br.com.pix.wallet.domain.common.Money;
-import br.com.pix.wallet.domain.ledger.LedgerEntry;
+import br.com.pix.wallet.domain.ledger.BalanceCheckpoint;
+import br.com.pix.wallet.domain.ledger.BalanceCheckpointGateway;
 import br.com.pix.wallet.domain.ledger.LedgerGateway;
+import br.com.pix.wallet.domain.wallet.BalanceCache;
+import br.com.pix.wallet.domain.wallet.BalanceSnapshot;
 import br.com.pix.wallet.domain.wallet.Wallet;
 import br.com.pix.wallet.domain.wallet.WalletGateway;
 import br.com.pix.wallet.domain.wallet.WalletID;
@@ -12,14 +16,17 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
@@ -35,68 +42,124 @@ class GetBalanceUseCaseImplTest extends UseCaseTest {
     @Mock
     private LedgerGateway ledgerGateway;
 
+    @Mock
+    private BalanceCheckpointGateway balanceCheckpointGateway;
+
+    @Mock
+    private BalanceCache balanceCache;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ApplicationMetrics applicationMetrics;
+
     @Override
     protected List<Object> getMocks() {
-        return List.of(walletGateway, ledgerGateway);
+        return List.of(walletGateway, ledgerGateway, balanceCheckpointGateway, balanceCache, transactionManager, applicationMetrics);
     }
 
     @Test
-    void givenExistingWalletAndNullInstant_whenCallsExecute_thenShouldReturnCurrentWalletBalance() {
+    void givenExistingWalletAndNullInstant_whenCallsExecute_thenShouldReturnCurrentWalletBalanceAndVersion() {
         // given
         final var expectedWalletId = UUID.randomUUID();
-        final var expectedAmount = BigDecimal.valueOf(150.00);
-        final var expectedMoney = Money.of(expectedAmount);
+        final var expectedAmount = new BigDecimal("150.00");
+        final var expectedVersion = 7L;
 
-        final var wallet = mock(Wallet.class);
-        when(wallet.getCurrentBalance()).thenReturn(expectedMoney);
-        when(walletGateway.findById(any(WalletID.class))).thenReturn(wallet);
+        when(walletGateway.findBalanceSnapshot(any(WalletID.class)))
+            .thenReturn(BalanceSnapshot.of(Money.of(expectedAmount), expectedVersion));
+        givenCacheMiss();
 
         // when
         final var actualOutput = useCase.execute(expectedWalletId, null);
 
         // then
         assertEquals(expectedAmount, actualOutput.currentBalance());
+        assertEquals(expectedVersion, actualOutput.version());
 
         verify(walletGateway, times(1))
-            .findById(argThat(id -> expectedWalletId.equals(id.getValue())));
+            .findBalanceSnapshot(argThat(id -> expectedWalletId.equals(id.getValue())));
 
         verifyNoInteractions(ledgerGateway);
     }
 
     @Test
-    void givenExistingWalletAndInstant_whenLedgerHasLastEntry_thenShouldReturnLastEntryBalance() {
+    void givenStripedWalletAndNullInstant_whenCallsExecute_thenShouldReturnBalanceWithoutVersion() {
+        // given
+        final var expectedWalletId = UUID.randomUUID();
+
+        when(walletGateway.findBalanceSnapshot(any(WalletID.class)))
+            .thenReturn(BalanceSnapshot.unversioned(Money.of(new BigDecimal("125.50"))));
+        givenCacheMiss();
+
+        // when
+        final var actualOutput = useCase.execute(expectedWalletId, null);
+
+        // then
+        assertEquals(0, new BigDecimal("125.50").compareTo(actualOutput.currentBalance()));
+        assertNull(actualOutput.version());
+        verifyNoInteractions(ledgerGateway);
+    }
+
+    @Test
+    void givenCachedBalanceAndNullInstant_whenCallsExecute_thenShouldNotTouchGateways() {
+        // given
+        final var expectedWalletId = UUID.randomUUID();
+        final var expectedAmount = new BigDecimal("42.00");
+
+        when(balanceCache.getOrLoad(any(WalletID.class), any()))
+            .thenReturn(BalanceSnapshot.of(Money.of(expectedAmount), 3L));
+
+        // when
+        final var actualOutput = useCase.execute(expectedWalletId, null);
+
+        // then
+        assertEquals(expectedAmount, actualOutput.currentBalance());
+        verify(balanceCache, times(1))
+            .getOrLoad(argThat(id -> expectedWalletId.equals(id.getValue())), any());
+        verifyNoInteractions(walletGateway, ledgerGateway, transactionManager);
+    }
+
+    @Test
+    void givenExistingWalletAndInstant_whenCheckpointExists_thenShouldSumCheckpointAndTail() {
         // given
         final var expectedWalletId = UUID.randomUUID();
         final var queryInstant = Instant.now();
-        final var expectedLedgerBalance = BigDecimal.valueOf(320.50);
-        final var ledgerBalanceMoney = Money.of(expectedLedgerBalance);
+        final var checkpointAt = queryInstant.minusSeconds(600);
+        final var checkpoint = BalanceCheckpoint.of(
+            WalletID.from(expectedWalletId),
+            checkpointAt,
+            Money.of(new BigDecimal("300.00")),
+            1_000
+        );
+        final var expectedBalance = new BigDecimal("320.50");
 
         final var wallet = mock(Wallet.class);
-        final var ledgerEntry = mock(LedgerEntry.class);
-
         when(wallet.getId()).thenReturn(WalletID.from(expectedWalletId));
         when(walletGateway.findById(any(WalletID.class))).thenReturn(wallet);
 
-        when(ledgerEntry.getBalanceAfterOperation()).thenReturn(ledgerBalanceMoney);
-
-        when(ledgerGateway.findLastEntryBefore(any(WalletID.class), eq(queryInstant)))
-            .thenReturn(Optional.of(ledgerEntry));
+        when(balanceCheckpointGateway.findLastAtOrBefore(any(WalletID.class), eq(queryInstant)))
+            .thenReturn(Optional.of(checkpoint));
+        when(ledgerGateway.sumBalanceDeltaBetween(any(WalletID.class), eq(checkpointAt), eq(queryInstant)))
+            .thenReturn(2_050L);
 
         // when
         final var actualOutput = useCase.execute(expectedWalletId, queryInstant);
 
         // then
-        assertEquals(expectedLedgerBalance, actualOutput.currentBalance());
+        assertEquals(0, expectedBalance.compareTo(actualOutput.currentBalance()));
+        assertNull(actualOutput.version());
 
         verify(walletGateway, times(1))
             .findById(argThat(id -> expectedWalletId.equals(id.getValue())));
 
         verify(ledgerGateway, times(1))
-            .findLastEntryBefore(any(WalletID.class), eq(queryInstant));
+            .sumBalanceDeltaBetween(any(WalletID.class), eq(checkpointAt), eq(queryInstant));
+        verify(ledgerGateway, never()).findLastEntryBefore(any(), any());
     }
 
     @Test
-    void givenExistingWalletAndInstant_whenLedgerHasNoEntry_thenShouldReturnZeroBalance() {
+    void givenExistingWalletAndInstant_whenNoCheckpointAndNoEntry_thenShouldReturnZeroBalance() {
         // given
         final var expectedWalletId = UUID.randomUUID();
         final var queryInstant = Instant.now();
@@ -106,19 +169,27 @@ class GetBalanceUseCaseImplTest extends UseCaseTest {
         when(wallet.getId()).thenReturn(WalletID.from(expectedWalletId));
         when(walletGateway.findById(any(WalletID.class))).thenReturn(wallet);
 
-        when(ledgerGateway.findLastEntryBefore(any(WalletID.class), eq(queryInstant)))
+        when(balanceCheckpointGateway.findLastAtOrBefore(any(WalletID.class), eq(queryInstant)))
             .thenReturn(Optional.empty());
+        when(ledgerGateway.sumBalanceDeltaBetween(any(WalletID.class), eq(Instant.EPOCH), eq(queryInstant)))
+            .thenReturn(0L);
 
         // when
         final var actualOutput = useCase.execute(expectedWalletId, queryInstant);
 
         // then
-        assertEquals(expectedBalance, actualOutput.currentBalance());
+        assertEquals(0, expectedBalance.compareTo(actualOutput.currentBalance()));
 
         verify(walletGateway, times(1))
             .findById(argThat(id -> expectedWalletId.equals(id.getValue())));
 
         verify(ledgerGateway, times(1))
-            .findLastEntryBefore(any(WalletID.class), eq(queryInstant));
+            .sumBalanceDeltaBetween(any(WalletID.class), eq(Instant.EPOCH), eq(queryInstant));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void givenCacheMiss() {
+        when(balanceCache.getOrLoad(any(WalletID.class), any()))
+            .thenAnswer(invocation -> ((Supplier<BalanceSnapshot>) invocation.getArgument(1)).get());
     }
 }
@@ -0,0 +1,90 @@
+package br.com.pix.wallet.application.wallet.balance;
+
+import br.com.pix.wallet.application.UseCaseTest;
+import br.com.pix.wallet.domain.common.Money;
+import br.com.pix.wallet.domain.wallet.BalanceCache;
+import br.com.pix.wallet.domain.wallet.BalanceSnapshot;
+import br.com.pix.wallet.domain.wallet.WalletGateway;
+import br.com.pix.wallet.domain.wallet.WalletID;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GetBalanceVersionUseCaseImplTest extends UseCaseTest {
+
+    @InjectMocks
+    private GetBalanceVersionUseCaseImpl useCase;
+
+    @Mock
+    private WalletGateway walletGateway;
+
+    @Mock
+    private BalanceCache balanceCache;
+
+    @Override
+    protected List<Object> getMocks() {
+        return List.of(walletGateway, balanceCache);
+    }
+
+    @Test
+    void givenCachedSnapshot_whenCallsExecute_thenShouldReturnCachedVersion() {
+        // given
+        final var expectedWalletId = UUID.randomUUID();
+
+        when(balanceCache.getIfPresent(any(WalletID.class)))
+            .thenReturn(Optional.of(BalanceSnapshot.of(Money.ofCents(1_000), 5L)));
+
+        // when
+        final var actual = useCase.execute(expectedWalletId);
+
+        // then
+        assertEquals(Optional.of(5L), actual);
+        verifyNoInteractions(walletGateway);
+    }
+
+    @Test
+    void givenCachedStripedSnapshot_whenCallsExecute_thenShouldReturnEmpty() {
+        // given
+        when(balanceCache.getIfPresent(any(WalletID.class)))
+            .thenReturn(Optional.of(BalanceSnapshot.unversioned(Money.ofCents(1_000))));
+
+        // when
+        final var actual = useCase.execute(UUID.randomUUID());
+
+        // then
+        assertTrue(actual.isEmpty());
+        verifyNoInteractions(walletGateway);
+    }
+
+    @Test
+    void givenCacheMiss_whenCallsExecute_thenShouldLookUpVersionOnly() {
+        // given
+        final var expectedWalletId = UUID.randomUUID();
+
+        when(balanceCache.getIfPresent(any(WalletID.class))).thenReturn(Optional.empty());
+        when(walletGateway.findBalanceVersion(any(WalletID.class))).thenReturn(Optional.of(9L));
+
+        // when
+        final var actual = useCase.execute(expectedWalletId);
+
+        // then
+        assertEquals(Optional.of(9L), actual);
+        verify(walletGateway, times(1))
+            .findBalanceVersion(argThat(id -> expectedWalletId.equals(id.getValue())));
+        verify(walletGateway, never()).findBalanceSnapshot(any());
+        verify(walletGateway, never()).findById(any());
+    }
+}
@@ -0,0 +1,134 @@
+package br.com.pix.wallet.application.wallet.balance;
+
+import br.com.pix.wallet.domain.exception.NotFoundException;
+import br.com.pix.wallet.domain.wallet.Wallet;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private static final int CALLERS = 16;
+
+    @Test
+    void givenCallsArrivingDuringAFlight_whenExecute_thenShouldShareOneNextExecutionInsteadOfTheRunningOne() throws Exception {
+        // given
+        final var executed = new AtomicInteger();
+        final var coalesced = new AtomicInteger();
+        final var singleFlight = new SingleFlight<String, Integer>(shared -> (shared ? coalesced : executed).incrementAndGet());
+        final var running = new CountDownLatch(1);
+        final var release = new CountDownLatch(1);
+        final var supplierCalls = new AtomicInteger();
+
+        try (final var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            final var leader = executor.submit(() -> singleFlight.execute("wallet", () -> {
+                supplierCalls.incrementAndGet();
+                running.countDown();
+                await(release);
+                return 42;
+            }));
+            assertTrue(running.await(5, TimeUnit.SECONDS));
+
+            // when
+            final var followers = new ArrayList<Future<Integer>>();
+            for (int i = 0; i < CALLERS; i++) {
+                followers.add(executor.submit(() -> singleFlight.execute("wallet", supplierCalls::incrementAndGet)));
+            }
+            while (executed.get() + coalesced.get() < CALLERS + 1) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            // then
+            assertEquals(42, leader.get(5, TimeUnit.SECONDS));
+            // A execução em andamento pode ser anterior ao commit de quem chegou depois: eles dividem a seguinte
+            for (final var follower : followers) {
+                assertEquals(2, follower.get(5, TimeUnit.SECONDS));
+            }
+        }
+        assertEquals(2, supplierCalls.get());
+        assertEquals(2, executed.get());
+        assertEquals(CALLERS - 1, coalesced.get());
+        assertEquals(0, singleFlight.inFlightCount());
+    }
+
+    @Test
+    void givenFailingNextExecution_whenFollowersWait_thenShouldRethrowSameException() throws Exception {
+        // given
+        final var calls = new AtomicInteger();
+        final var singleFlight = new SingleFlight<String, Integer>(shared -> calls.incrementAndGet());
+        final var running = new CountDownLatch(1);
+        final var release = new CountDownLatch(1);
+        final var failure = NotFoundException.with(Wallet.class, "missing");
+
+        try (final var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            final var leader = executor.submit(() -> singleFlight.execute("wallet", () -> {
+                running.countDown();
+                await(release);
+                return 42;
+            }));
+            assertTrue(running.await(5, TimeUnit.SECONDS));
+            final var first = executor.submit(() -> singleFlight.execute("wallet", () -> {
+                throw failure;
+            }));
+            final var second = executor.submit(() -> singleFlight.execute("wallet", () -> {
+                throw failure;
+            }));
+            while (calls.get() < 3) {
+                Thread.onSpinWait();
+            }
+
+            // when
+            release.countDown();
+
+            // then
+            assertEquals(42, leader.get(5, TimeUnit.SECONDS));
+            assertSame(failure, assertThrows(Exception.class, () -> first.get(5, TimeUnit.SECONDS)).getCause());
+            assertSame(failure, assertThrows(Exception.class, () -> second.get(5, TimeUnit.SECONDS)).getCause());
+        }
+    }
+
+    @Test
+    void givenCompletedFlight_whenExecuteAgain_thenShouldRunSupplierAgain() {
+        // given
+        final var singleFlight = new SingleFlight<String, Integer>(shared -> { });
+        final var calls = new AtomicInteger();
+
+        // when
+        singleFlight.execute("wallet", calls::incrementAndGet);
+        final var second = singleFlight.execute("wallet", calls::incrementAndGet);
+
+        // then
+        assertEquals(2, second);
+        assertEquals(0, singleFlight.inFlightCount());
+    }
+
+    @Test
+    void givenDifferentKeys_whenExecute_thenShouldNotShare() {
+        // given
+        final var singleFlight = new SingleFlight<String, String>(shared -> { });
+
+        // when
+        final var first = singleFlight.execute("wallet-a", () -> "a");
+        final var second = singleFlight.execute("wallet-b", () -> "b");
+
+        // then
+        assertEquals("a", first);
+        assertEquals("b", second);
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -6,6 +6,7 @@ import br.com.pix.wallet.domain.common.Money;
 import br.com.pix.wallet.domain.exception.DomainException;
 import br.com.pix.wallet.domain.ledger.LedgerEntry;
 import br.com.pix.wallet.domain.ledger.LedgerGateway;
+import br.com.pix.wallet.domain.outbox.OutboxGateway;
 import br.com.pix.wallet.domain.wallet.Wallet;
 import br.com.pix.wallet.domain.wallet.WalletGateway;
 import br.com.pix.wallet.domain.wallet.WalletID;
@@ -37,12 +38,15 @@ class DepositUseCaseImplTest extends UseCaseTest {
     @Mock
     private LedgerGateway ledgerGateway;
 
+    @Mock
+    private OutboxGateway outboxGateway;
+
     @Mock
     private ApplicationMetrics applicationMetrics;
 
     @Override
     protected List<Object> getMocks() {
-        return List.of(walletGateway, ledgerGateway, applicationMetrics);
+        return List.of(walletGateway, ledgerGateway, outboxGateway, applicationMetrics);
     }
 
 
@@ -50,7 +54,7 @@ class DepositUseCaseImplTest extends UseCaseTest {
     void givenValidCommand_whenCallsExecute_thenShouldDepositMoney() {
         // given
         final var expectedWalletId = UUID.randomUUID();
-        final var expectedAmount = BigDecimal.valueOf(100.00);
+        final var expectedAmount = new BigDecimal("100.00");
         final var command = DepositCommand.with(expectedWalletId.toString(), expectedAmount);
 
         final var wallet = mock(Wallet.class);
@@ -73,13 +77,14 @@ class DepositUseCaseImplTest extends UseCaseTest {
         verify(wallet, times(1)).deposit(argThat(money -> expectedAmount.equals(money.getAmount())));
         verify(walletGateway, times(1)).save(wallet);
         verify(ledgerGateway, times(1)).save(any(LedgerEntry.class));
+        verify(outboxGateway, times(1)).appendAll(argThat(entries -> entries.size() == 1));
     }
 
     @Test
     void givenInvalidAmount_whenCallsExecute_thenShouldThrowException() {
         // given
         final var expectedWalletId = UUID.randomUUID();
-        final var expectedAmount = BigDecimal.valueOf(-10.00);
+        final var expectedAmount = new BigDecimal("-10.00");
         final var command = DepositCommand.with(expectedWalletId.toString(), expectedAmount);
         final var expectedErrorMessage = "'amount' must be greater than zero";
 
@@ -92,13 +97,14 @@ class DepositUseCaseImplTest extends UseCaseTest {
         verify(walletGateway, times(0)).findByIdWithLock(any());
         verify(walletGateway, times(0)).save(any());
         verify(ledgerGateway, times(0)).save(any());
+        verify(outboxGateway, times(0)).appendAll(any());
     }
 
     @Test
     void givenNonExistingWallet_whenCallsExecute_thenShouldThrowException() {
         // given
         final var expectedWalletId = UUID.randomUUID();
-        final var expectedAmount = BigDecimal.valueOf(100.00);
+        final var expectedAmount = new BigDecimal("100.00");
         final var command = DepositCommand.with(expectedWalletId.toString(), expectedAmount);
         final var expectedErrorMessage = "Wallet with ID %s was not found" .formatted(expectedWalletId);
 
@@ -114,5 +120,6 @@ class DepositUseCaseImplTest extends UseCaseTest {
         verify(walletGateway, times(1)).findByIdWithLock(argThat(id -> expectedWalletId.equals(id.getValue())));
         verify(walletGateway, times(0)).save(any());
         verify(ledgerGateway, times(0)).save(any());
+        verify(outboxGateway, times(0)).appendAll(any());
     }
 }
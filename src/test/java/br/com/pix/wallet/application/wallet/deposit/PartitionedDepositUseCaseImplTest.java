@@ -0,0 +1,70 @@
+package br.com.pix.wallet.application.wallet.deposit;
+
+import br.com.pix.wallet.application.UseCaseTest;
+import br.com.pix.wallet.application.metrics.ApplicationMetrics;
+import br.com.pix.wallet.domain.common.Money;
+import br.com.pix.wallet.domain.exception.DomainException;
+import br.com.pix.wallet.domain.wallet.WalletEngine;
+import br.com.pix.wallet.domain.wallet.WalletID;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class PartitionedDepositUseCaseImplTest extends UseCaseTest {
+
+    @InjectMocks
+    private PartitionedDepositUseCaseImpl useCase;
+
+    @Mock
+    private WalletEngine walletEngine;
+
+    @Mock
+    private ApplicationMetrics applicationMetrics;
+
+    @Override
+    protected List<Object> getMocks() {
+        return List.of(walletEngine, applicationMetrics);
+    }
+
+    @Test
+    void givenValidCommand_whenCallsExecute_thenShouldDepositThroughEngine() {
+        // given
+        final var expectedWalletId = UUID.randomUUID();
+        final var expectedAmount = new BigDecimal("100.00");
+        final var expectedBalance = new BigDecimal("250.00");
+        final var command = DepositCommand.with(expectedWalletId.toString(), expectedAmount);
+
+        when(walletEngine.deposit(any(WalletID.class), any(Money.class))).thenReturn(Money.of(expectedBalance));
+
+        // when
+        final var actualOutput = useCase.execute(command);
+
+        // then
+        assertEquals(expectedWalletId, actualOutput.walletId());
+        assertEquals(expectedBalance, actualOutput.newBalance());
+        verify(applicationMetrics).recordDepositOperation(true, Money.of(expectedAmount));
+    }
+
+    @Test
+    void givenZeroAmount_whenCallsExecute_thenShouldThrowDomainException() {
+        // given
+        final var command = DepositCommand.with(UUID.randomUUID().toString(), BigDecimal.ZERO);
+
+        // when
+        final var exception = assertThrows(DomainException.class, () -> useCase.execute(command));
+
+        // then
+        assertEquals("'amount' must be greater than zero", exception.getErrors().get(0).message());
+        verify(walletEngine, never()).deposit(any(), any());
+        verify(applicationMetrics).recordDepositOperation(eq(false), any());
+    }
+}
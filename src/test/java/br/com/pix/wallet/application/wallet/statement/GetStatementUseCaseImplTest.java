@@ -0,0 +1,129 @@
+package br.com.pix.wallet.application.wallet.statement;
+
+import br.com.pix.wallet.application.UseCaseTest;
+import br.com.pix.wallet.domain.common.Money;
+import br.com.pix.wallet.domain.exception.DomainException;
+import br.com.pix.wallet.domain.ledger.LedgerCursor;
+import br.com.pix.wallet.domain.ledger.LedgerEntry;
+import br.com.pix.wallet.domain.ledger.LedgerGateway;
+import br.com.pix.wallet.domain.wallet.Wallet;
+import br.com.pix.wallet.domain.wallet.WalletGateway;
+import br.com.pix.wallet.domain.wallet.WalletID;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class GetStatementUseCaseImplTest extends UseCaseTest {
+
+    @InjectMocks
+    private GetStatementUseCaseImpl useCase;
+
+    @Mock
+    private WalletGateway walletGateway;
+
+    @Mock
+    private LedgerGateway ledgerGateway;
+
+    @Override
+    protected List<Object> getMocks() {
+        return List.of(walletGateway, ledgerGateway);
+    }
+
+    @Test
+    void givenMoreEntriesThanLimit_whenCallsExecute_thenShouldReturnPageAndNextCursor() {
+        // given
+        final var wallet = Wallet.newWallet("12345678900");
+        final var entries = List.of(deposit(wallet), deposit(wallet), deposit(wallet));
+        final var command = GetStatementCommand.with(wallet.getId().getValue(), null, null, null, 2);
+
+        when(walletGateway.findById(any(WalletID.class))).thenReturn(wallet);
+        when(ledgerGateway.findPageAfter(any(), any(), any(), eq(3))).thenReturn(entries);
+
+        // when
+        final var actualOutput = useCase.execute(command);
+
+        // then
+        assertEquals(2, actualOutput.entries().size());
+        assertEquals(entries.get(0).getId().getValue(), actualOutput.entries().get(0).entryId());
+        assertNotNull(actualOutput.nextCursor());
+
+        final var actualCursor = StatementCursor.decode(actualOutput.nextCursor());
+        assertEquals(entries.get(1).getOccurredAt(), actualCursor.getOccurredAt());
+        assertEquals(entries.get(1).getId().getValue(), actualCursor.getEntryId().getValue());
+        verify(ledgerGateway).findPageAfter(
+            any(),
+            argThat(cursor -> Instant.EPOCH.equals(cursor.getOccurredAt())),
+            any(),
+            eq(3)
+        );
+    }
+
+    @Test
+    void givenCursor_whenCallsExecute_thenShouldContinueAfterItAndReturnNoCursorOnLastPage() {
+        // given
+        final var wallet = Wallet.newWallet("12345678900");
+        final var last = deposit(wallet);
+        final var token = StatementCursor.encode(LedgerCursor.after(deposit(wallet)));
+        final var expectedCursor = StatementCursor.decode(token);
+        final var command = GetStatementCommand.with(wallet.getId().getValue(), null, null, token, null);
+
+        when(walletGateway.findById(any(WalletID.class))).thenReturn(wallet);
+        when(ledgerGateway.findPageAfter(any(), any(), any(), anyInt())).thenReturn(List.of(last));
+
+        // when
+        final var actualOutput = useCase.execute(command);
+
+        // then
+        assertEquals(1, actualOutput.entries().size());
+        assertNull(actualOutput.nextCursor());
+        verify(ledgerGateway).findPageAfter(
+            any(),
+            argThat(cursor -> expectedCursor.getOccurredAt().equals(cursor.getOccurredAt())
+                && expectedCursor.getEntryId().getValue().equals(cursor.getEntryId().getValue())),
+            any(),
+            eq(GetStatementUseCaseImpl.DEFAULT_LIMIT + 1)
+        );
+    }
+
+    @Test
+    void givenLimitAboveMaximum_whenCallsExecute_thenShouldThrowDomainException() {
+        // given
+        final var command = GetStatementCommand.with(UUID.randomUUID(), null, null, null, 501);
+
+        // when
+        final var exception = assertThrows(DomainException.class, () -> useCase.execute(command));
+
+        // then
+        assertEquals("'limit' must be between 1 and 500", exception.getErrors().get(0).message());
+        verifyNoInteractions(walletGateway, ledgerGateway);
+    }
+
+    @Test
+    void givenMalformedCursor_whenCallsExecute_thenShouldThrowDomainException() {
+        // given
+        final var wallet = Wallet.newWallet("12345678900");
+        final var command = GetStatementCommand.with(wallet.getId().getValue(), null, null, "not-a-cursor", null);
+
+        when(walletGateway.findById(any(WalletID.class))).thenReturn(wallet);
+
+        // when
+        final var exception = assertThrows(DomainException.class, () -> useCase.execute(command));
+
+        // then
+        assertEquals("'cursor' is invalid", exception.getErrors().get(0).message());
+        verify(ledgerGateway, never()).findPageAfter(any(), any(), any(), anyInt());
+    }
+
+    private static LedgerEntry deposit(final Wallet wallet) {
+        return LedgerEntry.deposit(wallet.getId(), Money.of(BigDecimal.TEN), Money.of(BigDecimal.TEN));
+    }
+}
@@ -0,0 +1,90 @@
+package br.com.pix.wallet.application.wallet.statement;
+
+import br.com.pix.wallet.application.UseCaseTest;
+import br.com.pix.wallet.domain.common.Money;
+import br.com.pix.wallet.domain.exception.NotFoundException;
+import br.com.pix.wallet.domain.ledger.LedgerEntry;
+import br.com.pix.wallet.domain.ledger.LedgerGateway;
+import br.com.pix.wallet.domain.wallet.Wallet;
+import br.com.pix.wallet.domain.wallet.WalletGateway;
+import br.com.pix.wallet.domain.wallet.WalletID;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class StreamStatementUseCaseImplTest extends UseCaseTest {
+
+    private static final int PAGE_SIZE = 2;
+
+    @Mock
+    private WalletGateway walletGateway;
+
+    @Mock
+    private LedgerGateway ledgerGateway;
+
+    @Override
+    protected List<Object> getMocks() {
+        return List.of(walletGateway, ledgerGateway);
+    }
+
+    @Test
+    void givenExistingWallet_whenConsumesStream_thenShouldEmitEveryLedgerEntryPageByPage() {
+        // given
+        final var wallet = Wallet.newWallet("12345678900");
+        final var first = LedgerEntry.deposit(wallet.getId(), Money.of(BigDecimal.TEN), Money.of(BigDecimal.TEN));
+        final var second = LedgerEntry.deposit(wallet.getId(), Money.of(BigDecimal.ONE), Money.of(BigDecimal.valueOf(11)));
+        final var third = LedgerEntry.withdraw(wallet.getId(), Money.of(BigDecimal.ONE), Money.of(BigDecimal.TEN));
+        final var command = StreamStatementCommand.with(wallet.getId().getValue(), null, null);
+
+        when(walletGateway.findById(any(WalletID.class))).thenReturn(wallet);
+        when(ledgerGateway.findPageAfter(any(), any(), any(), eq(PAGE_SIZE)))
+            .thenReturn(List.of(first, second))
+            .thenReturn(List.of(third));
+
+        // when
+        final var statement = useCase().execute(command);
+
+        // then
+        verify(ledgerGateway, never()).findPageAfter(any(), any(), any(), anyInt());
+
+        final var actualEntries = new ArrayList<StatementEntryOutput>();
+        statement.forEach(actualEntries::add);
+
+        assertEquals(3, actualEntries.size());
+        assertEquals(first.getId().getValue(), actualEntries.get(0).entryId());
+        assertEquals("WITHDRAW", actualEntries.get(2).operationType());
+        verify(ledgerGateway).findPageAfter(
+            any(),
+            argThat(cursor -> second.getId().getValue().equals(cursor.getEntryId().getValue())),
+            any(),
+            eq(PAGE_SIZE)
+        );
+        verify(ledgerGateway, times(2)).findPageAfter(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void givenUnknownWallet_whenCallsExecute_thenShouldThrowNotFoundBeforeStreaming() {
+        // given
+        final var walletId = UUID.randomUUID();
+        final var command = StreamStatementCommand.with(walletId, null, null);
+
+        when(walletGateway.findById(any(WalletID.class))).thenThrow(NotFoundException.with(Wallet.class, walletId));
+
+        // when / then
+        assertThrows(NotFoundException.class, () -> useCase().execute(command));
+        verifyNoInteractions(ledgerGateway);
+    }
+
+    private StreamStatementUseCaseImpl useCase() {
+        return new StreamStatementUseCaseImpl(walletGateway, ledgerGateway, PAGE_SIZE);
+    }
+}
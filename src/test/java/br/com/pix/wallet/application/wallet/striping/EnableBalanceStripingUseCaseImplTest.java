@@ -0,0 +1,85 @@
+package br.com.pix.wallet.application.wallet.striping;
+
+import br.com.pix.wallet.application.UseCaseTest;
+import br.com.pix.wallet.domain.common.Money;
+import br.com.pix.wallet.domain.exception.DomainException;
+import br.com.pix.wallet.domain.wallet.Wallet;
+import br.com.pix.wallet.domain.wallet.WalletGateway;
+import br.com.pix.wallet.domain.wallet.WalletID;
+import br.com.pix.wallet.domain.wallet.WalletStatus;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.AdditionalAnswers.returnsFirstArg;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+class EnableBalanceStripingUseCaseImplTest extends UseCaseTest {
+
+    @InjectMocks
+    private EnableBalanceStripingUseCaseImpl useCase;
+
+    @Mock
+    private WalletGateway walletGateway;
+
+    @Override
+    protected List<Object> getMocks() {
+        return List.of(walletGateway);
+    }
+
+    @Test
+    void givenValidSlotCount_whenCallsExecute_thenShouldEnableStriping() {
+        // given
+        final var wallet = Wallet.newWallet("12345678900");
+        final var command = EnableBalanceStripingCommand.with(wallet.getId().getValue(), 8);
+
+        when(walletGateway.findByIdWithLock(any(WalletID.class))).thenReturn(wallet);
+        when(walletGateway.save(any(Wallet.class))).thenAnswer(returnsFirstArg());
+
+        // when
+        final var actualOutput = useCase.execute(command);
+
+        // then
+        assertEquals(wallet.getId().getValue(), actualOutput.walletId());
+        assertEquals(8, actualOutput.balanceSlots());
+        verify(walletGateway).save(argThat(Wallet::isStriped));
+    }
+
+    @Test
+    void givenInvalidSlotCount_whenCallsExecute_thenShouldThrowDomainException() {
+        // given
+        final var wallet = Wallet.newWallet("12345678900");
+        final var command = EnableBalanceStripingCommand.with(wallet.getId().getValue(), 500);
+
+        when(walletGateway.findByIdWithLock(any(WalletID.class))).thenReturn(wallet);
+
+        // when
+        final var exception = assertThrows(DomainException.class, () -> useCase.execute(command));
+
+        // then
+        assertEquals("'balanceSlots' must be between 2 and 64", exception.getErrors().get(0).message());
+        verify(walletGateway, never()).save(any());
+    }
+
+    @Test
+    void givenFewerSlotsThanCurrent_whenCallsExecute_thenShouldThrowDomainException() {
+        // given
+        final var wallet = Wallet.with(WalletID.unique(), "12345678900", Money.of(BigDecimal.TEN), WalletStatus.ACTIVE, 8);
+        final var command = EnableBalanceStripingCommand.with(wallet.getId().getValue(), 4);
+
+        when(walletGateway.findByIdWithLock(any(WalletID.class))).thenReturn(wallet);
+
+        // when
+        final var exception = assertThrows(DomainException.class, () -> useCase.execute(command));
+
+        // then
+        assertEquals("'balanceSlots' cannot be decreased", exception.getErrors().get(0).message());
+        verify(walletGateway, never()).save(any());
+    }
+}
@@ -0,0 +1,73 @@
+package br.com.pix.wallet.application.wallet.withdraw;
+
+import br.com.pix.wallet.application.UseCaseTest;
+import br.com.pix.wallet.application.metrics.ApplicationMetrics;
+import br.com.pix.wallet.domain.common.Money;
+import br.com.pix.wallet.domain.exception.DomainException;
+import br.com.pix.wallet.domain.validation.Error;
+import br.com.pix.wallet.domain.wallet.WalletEngine;
+import br.com.pix.wallet.domain.wallet.WalletID;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class PartitionedWithdrawUseCaseImplTest extends UseCaseTest {
+
+    @InjectMocks
+    private PartitionedWithdrawUseCaseImpl useCase;
+
+    @Mock
+    private WalletEngine walletEngine;
+
+    @Mock
+    private ApplicationMetrics applicationMetrics;
+
+    @Override
+    protected List<Object> getMocks() {
+        return List.of(walletEngine, applicationMetrics);
+    }
+
+    @Test
+    void givenValidCommand_whenCallsExecute_thenShouldWithdrawThroughEngine() {
+        // given
+        final var expectedWalletId = UUID.randomUUID();
+        final var expectedAmount = new BigDecimal("100.00");
+        final var expectedBalance = new BigDecimal("50.00");
+        final var command = WithdrawCommand.with(expectedWalletId, expectedAmount);
+
+        when(walletEngine.withdraw(any(WalletID.class), any(Money.class))).thenReturn(Money.of(expectedBalance));
+
+        // when
+        final var actualOutput = useCase.execute(command);
+
+        // then
+        assertEquals(expectedWalletId, actualOutput.walletId());
+        assertEquals(expectedBalance, actualOutput.newBalance());
+        verify(applicationMetrics).recordWithdrawOperation(true, Money.of(expectedAmount));
+    }
+
+    @Test
+    void givenInsufficientBalance_whenCallsExecute_thenShouldThrowDomainException() {
+        // given
+        final var expectedAmount = new BigDecimal("100.00");
+        final var command = WithdrawCommand.with(UUID.randomUUID(), expectedAmount);
+
+        when(walletEngine.withdraw(any(WalletID.class), any(Money.class)))
+            .thenThrow(DomainException.with(Error.of("Insufficient balance")));
+
+        // when
+        final var exception = assertThrows(DomainException.class, () -> useCase.execute(command));
+
+        // then
+        assertEquals("Insufficient balance", exception.getErrors().get(0).message());
+        verify(applicationMetrics).recordWithdrawOperation(false, null);
+    }
+}
@@ -0,0 +1,102 @@
+package br.com.pix.wallet.domain.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoneyTest {
+
+    @Test
+    void givenValueWithAnyScale_whenCallsOf_thenShouldKeepCentsAndScaleTwo() {
+        // given
+        final var expectedCents = 1_050L;
+        final var expectedAmount = new BigDecimal("10.50");
+
+        // when
+        final var actualMoney = Money.of(new BigDecimal("10.5"));
+
+        // then
+        assertEquals(expectedCents, actualMoney.getCents());
+        assertEquals(expectedAmount, actualMoney.getAmount());
+        assertEquals(Money.of(new BigDecimal("10.500")), actualMoney);
+    }
+
+    @Test
+    void givenValueWithMoreThanTwoDecimals_whenCallsOf_thenShouldThrowException() {
+        // given
+        final var expectedErrorMessage = "'value' must have at most 2 decimal places";
+
+        // when
+        final var actualException = assertThrows(
+            IllegalArgumentException.class,
+            () -> Money.of(new BigDecimal("10.001"))
+        );
+
+        // then
+        assertEquals(expectedErrorMessage, actualException.getMessage());
+    }
+
+    @Test
+    void givenNegativeValue_whenCallsOf_thenShouldThrowException() {
+        // given
+        final var expectedErrorMessage = "'value' must be >= 0";
+
+        // when
+        final var actualException = assertThrows(
+            IllegalArgumentException.class,
+            () -> Money.of(new BigDecimal("-0.01"))
+        );
+
+        // then
+        assertEquals(expectedErrorMessage, actualException.getMessage());
+    }
+
+    @Test
+    void givenValueBeyondLongCents_whenCallsOf_thenShouldThrowException() {
+        // given
+        final var expectedErrorMessage = "'value' is too large";
+
+        // when
+        final var actualException = assertThrows(
+            IllegalArgumentException.class,
+            () -> Money.of(new BigDecimal("100000000000000000.00"))
+        );
+
+        // then
+        assertEquals(expectedErrorMessage, actualException.getMessage());
+    }
+
+    @Test
+    void givenMaxValue_whenCallsAdd_thenShouldThrowOverflow() {
+        // given
+        final var max = Money.ofCents(Long.MAX_VALUE);
+
+        // when / then
+        assertThrows(ArithmeticException.class, () -> max.add(Money.ofCents(1)));
+    }
+
+    @Test
+    void givenSmallerMinuend_whenCallsSubtract_thenShouldThrowException() {
+        // given
+        final var expectedErrorMessage = "Insufficient amount";
+
+        // when
+        final var actualException = assertThrows(
+            IllegalArgumentException.class,
+            () -> Money.ofCents(100).subtract(Money.ofCents(101))
+        );
+
+        // then
+        assertEquals(expectedErrorMessage, actualException.getMessage());
+    }
+
+    @Test
+    void givenSmallValues_whenCallsOfCents_thenShouldReuseCachedInstances() {
+        // when / then
+        assertSame(Money.ofCents(9_999), Money.of(new BigDecimal("99.99")));
+        assertSame(Money.zero(), Money.ofCents(50).subtract(Money.ofCents(50)));
+        assertNotSame(Money.ofCents(10_000), Money.ofCents(10_000));
+    }
+}
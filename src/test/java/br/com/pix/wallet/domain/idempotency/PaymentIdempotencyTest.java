@@ -27,10 +27,26 @@ class PaymentIdempotencyTest {
         assertEquals(expectedKey, actual.getKey());
         assertEquals(expectedStatus, actual.getStatus());
         assertNull(actual.getResponsePayload());
+        assertNotNull(actual.getOwnerToken());
         assertNotNull(actual.getCreatedAt());
         assertNotNull(actual.getUpdatedAt());
     }
 
+    @Test
+    void givenRequestHash_whenCallsStart_thenShouldMatchOnlyTheSameBody() {
+        // given
+        final var key = "f16a06e9-97b5-4655-b2f1-a60f23e40bea";
+
+        // when
+        final var actual = PaymentIdempotency.start(key, "abc");
+
+        // then
+        assertEquals("abc", actual.getRequestHash());
+        assertTrue(actual.matchesRequest("abc"));
+        assertFalse(actual.matchesRequest("def"));
+        assertNotEquals(actual.getOwnerToken(), PaymentIdempotency.start(key, "abc").getOwnerToken());
+    }
+
     @Test
     void givenValidParams_whenCallsWith_thenShouldCreatePaymentIdempotencyWithGivenData() {
         // given
@@ -87,6 +103,26 @@ class PaymentIdempotencyTest {
         assertNotNull(initial.getUpdatedAt());
     }
 
+    @Test
+    void givenInProgressPaymentIdempotency_whenCallsCompleteWithResponseStatus_thenShouldKeepResponseStatus() {
+        // given
+        final var initial = PaymentIdempotency.start("5b0d8a77-3a4c-4f7e-9f55-0b6f0b0f2c11");
+        final var expectedResponseStatus = 201;
+        final var expectedResponsePayload = "{\"status\":\"COMPLETED\"}";
+
+        assertFalse(initial.isCompleted());
+        assertNull(initial.getResponseStatus());
+
+        // when
+        initial.complete(expectedResponseStatus, expectedResponsePayload);
+
+        // then
+        assertTrue(initial.isCompleted());
+        assertEquals(PaymentIdempotencyStatus.COMPLETED, initial.getStatus());
+        assertEquals(expectedResponseStatus, initial.getResponseStatus());
+        assertEquals(expectedResponsePayload, initial.getResponsePayload());
+    }
+
     @Test
     void givenValidPaymentIdempotency_whenCallsValidate_thenShouldNotAppendErrors() {
         // given
@@ -387,6 +387,17 @@ class PixTransferTest {
         assertEquals("'endToEndId' must not be null or blank", notification.getErrors().get(0).message());
     }
 
+    @Test
+    void givenStatuses_whenCheckingTransitions_thenOnlyForwardMovesAreAllowed() {
+        assertTrue(PixTransferStatus.PENDING.canTransitionTo(PixTransferStatus.CONFIRMED));
+        assertTrue(PixTransferStatus.PENDING.canTransitionTo(PixTransferStatus.REFUNDED));
+        assertTrue(PixTransferStatus.CONFIRMED.canTransitionTo(PixTransferStatus.REFUNDED));
+        assertFalse(PixTransferStatus.CONFIRMED.canTransitionTo(PixTransferStatus.CONFIRMED));
+        assertFalse(PixTransferStatus.REFUNDED.canTransitionTo(PixTransferStatus.CONFIRMED));
+        assertFalse(PixTransferStatus.FAILED.canTransitionTo(PixTransferStatus.REFUNDED));
+        assertFalse(PixTransferStatus.CONFIRMED.canTransitionTo(PixTransferStatus.PENDING));
+    }
+
     private PixTransfer createTransfer(
         final WalletID fromWalletId,
         final WalletID toWalletId,
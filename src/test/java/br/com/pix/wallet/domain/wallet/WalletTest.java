@@ -114,4 +114,34 @@ class WalletTest {
         // then
         Mockito.verify(validationHandler, Mockito.times(0)).append(Mockito.any(Error.class));
     }
+
+    @Test
+    void givenValidSlotCount_whenCallsEnableBalanceStriping_thenShouldBeStriped() {
+        // given
+        final var wallet = Wallet.newWallet("da686494-cac2-4d2f-a454-5b5cdb9f6b35");
+        final var validationHandler = Mockito.mock(ValidationHandler.class);
+
+        // when
+        wallet.enableBalanceStriping(8);
+        wallet.validate(validationHandler);
+
+        // then
+        assertTrue(wallet.isStriped());
+        assertEquals(8, wallet.getBalanceSlots());
+        Mockito.verify(validationHandler, Mockito.times(0)).append(Mockito.any(Error.class));
+    }
+
+    @Test
+    void givenSingleSlot_whenCallsValidate_thenShouldAppendError() {
+        // given
+        final var wallet = Wallet.newWallet("da686494-cac2-4d2f-a454-5b5cdb9f6b35");
+        final var validationHandler = Mockito.mock(ValidationHandler.class);
+
+        // when
+        wallet.enableBalanceStriping(1);
+        wallet.validate(validationHandler);
+
+        // then
+        Mockito.verify(validationHandler).append(Error.of("'balanceSlots' must be between 2 and 64"));
+    }
 }
@@ -123,7 +123,7 @@ class WalletEndpointE2ETest {
             .andExpect(jsonPath("$.newBalance", equalTo(100.5)));
 
         final var wallet = walletJpaRepository.findById(UUID.fromString(walletId)).orElseThrow();
-        if (wallet.getCurrentBalance().compareTo(depositAmount) != 0) {
+        if (wallet.getCurrentBalance().getAmount().compareTo(depositAmount) != 0) {
             throw new AssertionError("Balance not updated correctly in database");
         }
     }
@@ -161,7 +161,7 @@ class WalletEndpointE2ETest {
             .andExpect(jsonPath("$.newBalance", equalTo(50.0)));
 
         final var wallet = walletJpaRepository.findById(UUID.fromString(walletId)).orElseThrow();
-        if (wallet.getCurrentBalance().compareTo(BigDecimal.valueOf(50.00)) != 0) {
+        if (wallet.getCurrentBalance().getAmount().compareTo(BigDecimal.valueOf(50.00)) != 0) {
             throw new AssertionError("Balance not updated correctly in database");
         }
     }
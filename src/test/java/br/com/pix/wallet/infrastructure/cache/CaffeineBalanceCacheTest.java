@@ -0,0 +1,180 @@
+package br.com.pix.wallet.infrastructure.cache;
+
+import br.com.pix.wallet.application.metrics.ApplicationMetrics;
+import br.com.pix.wallet.domain.common.Money;
+import br.com.pix.wallet.domain.wallet.BalanceSnapshot;
+import br.com.pix.wallet.domain.wallet.WalletID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+class CaffeineBalanceCacheTest {
+
+    @Mock
+    private ObjectProvider<PostgresBalanceInvalidationChannel> invalidationChannel;
+
+    @Mock
+    private ApplicationMetrics applicationMetrics;
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void givenMiss_whenGetOrLoad_thenShouldLoadOnceAndServeFromCache() {
+        // given
+        final var cache = cache(true);
+        final var id = WalletID.unique();
+        final var loads = new AtomicInteger();
+        final Supplier<BalanceSnapshot> loader = () -> {
+            loads.incrementAndGet();
+            return snapshot(1_000, 1);
+        };
+
+        // when
+        final var first = cache.getOrLoad(id, loader);
+        final var second = cache.getOrLoad(id, loader);
+
+        // then
+        assertEquals(snapshot(1_000, 1), first);
+        assertEquals(snapshot(1_000, 1), second);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void givenUpdateInsideTransaction_whenNotCommitted_thenShouldKeepPreviousBalance() {
+        // given
+        final var cache = cache(true);
+        final var id = WalletID.unique();
+        cache.getOrLoad(id, () -> snapshot(1_000, 1));
+
+        // when
+        final var synchronizations = inTransaction(() -> cache.update(id, () -> snapshot(2_000, 2)));
+
+        // then
+        assertEquals(snapshot(1_000, 1), cache.getOrLoad(id, this::failIfLoaded));
+        assertEquals(1L, cache.getIfPresent(id).orElseThrow().version());
+
+        // when
+        commit(synchronizations);
+
+        // then
+        assertEquals(snapshot(2_000, 2), cache.getOrLoad(id, this::failIfLoaded));
+        assertEquals(2L, cache.getIfPresent(id).orElseThrow().version());
+    }
+
+    @Test
+    void givenUpdateInsideTransaction_whenVersionChangesBeforeCommit_thenShouldCacheVersionSeenAfterCommit() {
+        // given
+        final var cache = cache(true);
+        final var id = WalletID.unique();
+        final var version = new AtomicLong(1);
+        final var synchronizations = inTransaction(() -> cache.update(id, () -> snapshot(2_000, version.get())));
+
+        // when
+        version.incrementAndGet();
+        commit(synchronizations);
+
+        // then
+        assertEquals(snapshot(2_000, 2), cache.getOrLoad(id, this::failIfLoaded));
+    }
+
+    @Test
+    void givenConcurrentCommits_whenAfterCommitRunsOutOfOrder_thenShouldKeepLastCommittedBalance() {
+        // given
+        final var cache = cache(true);
+        final var id = WalletID.unique();
+        final var first = inTransaction(() -> cache.update(id, () -> snapshot(1_000, 1)));
+        final var second = inTransaction(() -> cache.update(id, () -> snapshot(1_500, 2)));
+
+        // when
+        first.forEach(synchronization -> synchronization.beforeCommit(false));
+        second.forEach(synchronization -> synchronization.beforeCommit(false));
+        second.forEach(TransactionSynchronization::afterCommit);
+        first.forEach(TransactionSynchronization::afterCommit);
+
+        // then
+        assertEquals(snapshot(1_500, 2), cache.getOrLoad(id, this::failIfLoaded));
+    }
+
+    @Test
+    void givenInvalidationCommittedDuringLoad_whenLoadFinishes_thenShouldNotCacheStaleBalance() {
+        // given
+        final var cache = cache(true);
+        final var id = WalletID.unique();
+        final var invalidation = inTransaction(() -> cache.invalidate(id));
+        invalidation.forEach(synchronization -> synchronization.beforeCommit(false));
+
+        // when
+        final var stale = cache.getOrLoad(id, () -> {
+            invalidation.forEach(TransactionSynchronization::afterCommit);
+            return snapshot(1_000, 1);
+        });
+
+        // then
+        assertEquals(snapshot(1_000, 1), stale);
+        assertTrue(cache.getIfPresent(id).isEmpty());
+        assertEquals(snapshot(3_000, 2), cache.getOrLoad(id, () -> snapshot(3_000, 2)));
+        assertEquals(snapshot(3_000, 2), cache.getOrLoad(id, this::failIfLoaded));
+    }
+
+    @Test
+    void givenDisabledCache_whenGetOrLoad_thenShouldAlwaysLoad() {
+        // given
+        final var cache = cache(false);
+        final var id = WalletID.unique();
+        final var loads = new AtomicInteger();
+
+        // when
+        cache.update(id, () -> snapshot(500, 1));
+        cache.getOrLoad(id, () -> snapshot(loads.incrementAndGet(), 1));
+        cache.getOrLoad(id, () -> snapshot(loads.incrementAndGet(), 1));
+
+        // then
+        assertEquals(2, loads.get());
+        assertTrue(cache.getIfPresent(id).isEmpty());
+    }
+
+    private CaffeineBalanceCache cache(final boolean enabled) {
+        return new CaffeineBalanceCache(enabled, 1_000, 60_000, invalidationChannel, applicationMetrics);
+    }
+
+    private static BalanceSnapshot snapshot(final long cents, final long version) {
+        return BalanceSnapshot.of(Money.ofCents(cents), version);
+    }
+
+    private BalanceSnapshot failIfLoaded() {
+        return fail("balance should have been served from cache");
+    }
+
+    private static List<TransactionSynchronization> inTransaction(final Runnable work) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            work.run();
+            return TransactionSynchronizationManager.getSynchronizations();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static void commit(final List<TransactionSynchronization> synchronizations) {
+        synchronizations.forEach(synchronization -> synchronization.beforeCommit(false));
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+    }
+}
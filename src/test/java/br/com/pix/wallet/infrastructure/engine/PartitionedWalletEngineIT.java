@@ -0,0 +1,230 @@
+package br.com.pix.wallet.infrastructure.engine;
+
+import br.com.pix.wallet.IntegrationTest;
+import br.com.pix.wallet.domain.common.Money;
+import br.com.pix.wallet.domain.exception.DomainException;
+import br.com.pix.wallet.domain.ledger.LedgerCursor;
+import br.com.pix.wallet.domain.ledger.LedgerEntry;
+import br.com.pix.wallet.domain.ledger.LedgerGateway;
+import br.com.pix.wallet.domain.ledger.LedgerOperationType;
+import br.com.pix.wallet.domain.pix.transfer.PixTransfer;
+import br.com.pix.wallet.domain.pix.transfer.PixTransferGateway;
+import br.com.pix.wallet.domain.pix.transfer.PixTransferStatus;
+import br.com.pix.wallet.domain.wallet.Wallet;
+import br.com.pix.wallet.domain.wallet.WalletEngine;
+import br.com.pix.wallet.domain.wallet.WalletGateway;
+import br.com.pix.wallet.domain.wallet.WalletID;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@IntegrationTest
+@TestPropertySource(properties = {
+    "pix-wallet.write-mode=partitioned",
+    "pix-wallet.engine.partitions=4"
+})
+class PartitionedWalletEngineIT {
+
+    @Autowired
+    private WalletEngine walletEngine;
+
+    @Autowired
+    private WalletGateway walletGateway;
+
+    @Autowired
+    private LedgerGateway ledgerGateway;
+
+    @Autowired
+    private PixTransferGateway pixTransferGateway;
+
+    @Test
+    void givenConcurrentOppositeTransfers_whenEngineCommits_thenBalancesAreConservedAndDurable() throws Exception {
+        // given
+        final var first = createWallet(BigDecimal.valueOf(1000));
+        final var second = createWallet(BigDecimal.valueOf(1000));
+        final var futures = new ArrayList<CompletableFuture<PixTransfer>>();
+
+        // when
+        try (var executor = Executors.newFixedThreadPool(16)) {
+            for (int i = 0; i < 100; i++) {
+                final var from = i % 2 == 0 ? first : second;
+                final var to = i % 2 == 0 ? second : first;
+                futures.add(CompletableFuture.supplyAsync(() -> walletEngine.transfer(newTransfer(from, to, BigDecimal.TEN)), executor));
+            }
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        }
+
+        // then
+        final var firstBalance = walletGateway.findById(first).getCurrentBalance().getAmount();
+        final var secondBalance = walletGateway.findById(second).getCurrentBalance().getAmount();
+
+        assertEquals(0, BigDecimal.valueOf(1000).compareTo(firstBalance));
+        assertEquals(0, BigDecimal.valueOf(1000).compareTo(secondBalance));
+        assertEquals(100, entriesOf(first).size() - 1);
+        assertEquals(100, entriesOf(second).size() - 1);
+    }
+
+    @Test
+    void givenInsufficientBalance_whenTransfer_thenShouldRejectWithoutWriting() {
+        // given
+        final var from = createWallet(BigDecimal.valueOf(5));
+        final var to = createWallet(BigDecimal.ZERO);
+
+        // when
+        final var exception = assertThrows(
+            DomainException.class,
+            () -> walletEngine.transfer(newTransfer(from, to, BigDecimal.TEN))
+        );
+
+        // then
+        assertEquals("Insufficient balance in source wallet", exception.getErrors().get(0).message());
+        assertEquals(0, BigDecimal.valueOf(5).compareTo(walletGateway.findById(from).getCurrentBalance().getAmount()));
+    }
+
+    @Test
+    void givenDuplicatedEndToEndId_whenTransfer_thenOnlyOffendingTransferFailsAndIsRefunded() {
+        // given
+        final var from = createWallet(BigDecimal.valueOf(100));
+        final var to = createWallet(BigDecimal.ZERO);
+        final var endToEndId = "E" + UUID.randomUUID().toString().replace("-", "").substring(0, 28);
+
+        walletEngine.transfer(PixTransfer.newTransfer(from, to, Money.of(BigDecimal.TEN), UUID.randomUUID().toString(), endToEndId));
+
+        // when
+        assertThrows(
+            RuntimeException.class,
+            () -> walletEngine.transfer(PixTransfer.newTransfer(from, to, Money.of(BigDecimal.TEN), UUID.randomUUID().toString(), endToEndId))
+        );
+
+        // then
+        assertEquals(0, BigDecimal.valueOf(90).compareTo(walletGateway.findById(from).getCurrentBalance().getAmount()));
+        assertEquals(0, BigDecimal.TEN.compareTo(walletGateway.findById(to).getCurrentBalance().getAmount()));
+
+        // o débito reservado em memória foi devolvido: o saldo restante inteiro continua disponível
+        assertEquals(0, BigDecimal.ZERO.compareTo(walletEngine.withdraw(from, Money.of(BigDecimal.valueOf(90))).getAmount()));
+    }
+
+    @Test
+    void givenWalletChangedOutsideTheEngine_whenOperates_thenShouldReloadAndReturnExactBalance() {
+        // given
+        final var wallet = createWallet(BigDecimal.valueOf(100));
+        walletGateway.applyBalanceDelta(wallet, 5000);
+
+        // when
+        final var afterDeposit = walletEngine.deposit(wallet, Money.of(BigDecimal.ONE));
+        final var afterWithdraw = walletEngine.withdraw(wallet, Money.of(BigDecimal.valueOf(151)));
+
+        // then
+        assertEquals(0, BigDecimal.valueOf(151).compareTo(afterDeposit.getAmount()));
+        assertEquals(0, BigDecimal.ZERO.compareTo(afterWithdraw.getAmount()));
+        assertEquals(0, BigDecimal.ZERO.compareTo(walletGateway.findById(wallet).getCurrentBalance().getAmount()));
+    }
+
+    @Test
+    void givenIdleWalletCreditedOutsideTheEngine_whenWithdrawsMoreThanCached_thenShouldRevalidateAndAccept() {
+        // given
+        final var wallet = createWallet(BigDecimal.valueOf(10));
+        walletGateway.applyBalanceDelta(wallet, 2000);
+
+        // when
+        final var afterWithdraw = walletEngine.withdraw(wallet, Money.of(BigDecimal.valueOf(30)));
+
+        // then
+        assertEquals(0, BigDecimal.ZERO.compareTo(afterWithdraw.getAmount()));
+        assertEquals(0, BigDecimal.ZERO.compareTo(walletGateway.findById(wallet).getCurrentBalance().getAmount()));
+    }
+
+    @Test
+    void givenIdleWalletDebitedOutsideTheEngine_whenWriteIsRejected_thenShouldReloadOnNextOperation() {
+        // given
+        final var wallet = createWallet(BigDecimal.valueOf(100));
+        walletGateway.applyBalanceDelta(wallet, -6000);
+
+        // when
+        // o saldo em memória (100) ainda cobre o saque; a guarda do UPDATE recusa com a linha em 40
+        assertThrows(DomainException.class, () -> walletEngine.withdraw(wallet, Money.of(BigDecimal.valueOf(50))));
+        final var afterWithdraw = walletEngine.withdraw(wallet, Money.of(BigDecimal.valueOf(40)));
+
+        // then
+        assertEquals(0, BigDecimal.ZERO.compareTo(afterWithdraw.getAmount()));
+        assertEquals(0, BigDecimal.ZERO.compareTo(walletGateway.findById(wallet).getCurrentBalance().getAmount()));
+        assertThrows(DomainException.class, () -> walletEngine.withdraw(wallet, Money.of(BigDecimal.ONE)));
+    }
+
+    @Test
+    void givenCommittedTransfer_whenRefund_thenShouldMoveAmountBackOnceAndMarkRefunded() {
+        // given
+        final var payer = createWallet(BigDecimal.valueOf(100));
+        final var payee = createWallet(BigDecimal.ZERO);
+        final var transfer = walletEngine.transfer(newTransfer(payer, payee, BigDecimal.valueOf(30)));
+
+        // when
+        walletEngine.refund(transfer);
+        // O recebedor volta a ter saldo: só a guarda de status pode barrar a reentrega
+        walletEngine.deposit(payee, Money.of(BigDecimal.valueOf(30)));
+        final var redelivery = assertThrows(DomainException.class, () -> walletEngine.refund(transfer));
+
+        // then
+        assertEquals(
+            "Pix transfer %s can no longer be refunded".formatted(transfer.getEndToEndId()),
+            redelivery.getErrors().get(0).message()
+        );
+        assertEquals(PixTransferStatus.REFUNDED, pixTransferGateway.findByEndToEndId(transfer.getEndToEndId()).get().getStatus());
+        assertEquals(0, BigDecimal.valueOf(100).compareTo(walletGateway.findById(payer).getCurrentBalance().getAmount()));
+        assertEquals(0, BigDecimal.valueOf(30).compareTo(walletGateway.findById(payee).getCurrentBalance().getAmount()));
+        assertTrue(entriesOf(payer).stream()
+            .anyMatch(entry -> entry.getOperationType() == LedgerOperationType.REFUND
+                && transfer.getEndToEndId().equals(entry.getEndToEndId())));
+
+        // a reserva da segunda tentativa foi devolvida ao recebedor: o saldo inteiro continua disponível
+        assertEquals(0, BigDecimal.ZERO.compareTo(walletEngine.withdraw(payee, Money.of(BigDecimal.valueOf(30))).getAmount()));
+    }
+
+    @Test
+    void givenPayeeWithoutBalance_whenRefund_thenShouldRejectWithoutWriting() {
+        // given
+        final var payer = createWallet(BigDecimal.valueOf(100));
+        final var payee = createWallet(BigDecimal.ZERO);
+        final var transfer = walletEngine.transfer(newTransfer(payer, payee, BigDecimal.valueOf(30)));
+        walletEngine.withdraw(payee, Money.of(BigDecimal.valueOf(30)));
+
+        // when
+        final var exception = assertThrows(DomainException.class, () -> walletEngine.refund(transfer));
+
+        // then
+        assertEquals("Insufficient balance in payee wallet to refund", exception.getErrors().get(0).message());
+        assertNotEquals(PixTransferStatus.REFUNDED, pixTransferGateway.findByEndToEndId(transfer.getEndToEndId()).get().getStatus());
+        assertEquals(0, BigDecimal.valueOf(70).compareTo(walletGateway.findById(payer).getCurrentBalance().getAmount()));
+    }
+
+    private WalletID createWallet(final BigDecimal initialBalance) {
+        final var wallet = Wallet.newWallet(UUID.randomUUID().toString());
+        walletGateway.save(wallet);
+        walletEngine.deposit(wallet.getId(), Money.of(initialBalance));
+        return wallet.getId();
+    }
+
+    private static PixTransfer newTransfer(final WalletID from, final WalletID to, final BigDecimal amount) {
+        return PixTransfer.newTransfer(
+            from,
+            to,
+            Money.of(amount),
+            UUID.randomUUID().toString(),
+            "E" + UUID.randomUUID().toString().replace("-", "").substring(0, 28)
+        );
+    }
+
+    private List<LedgerEntry> entriesOf(final WalletID walletId) {
+        return ledgerGateway.findPageAfter(walletId, LedgerCursor.startingAt(Instant.EPOCH), Instant.now(), 1_000);
+    }
+}
@@ -0,0 +1,72 @@
+package br.com.pix.wallet.infrastructure.idempotency;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyKeyIndexTest {
+
+    private static final Duration WINDOW = Duration.ofHours(1);
+
+    @Test
+    void givenKeyRegisteredBeforeRotation_whenOneWindowPasses_thenShouldStillBeCovered() {
+        // given
+        final var index = warmedUpIndex();
+        index.register("key-1");
+
+        // when
+        index.rotateIfDue(Instant.now().plus(WINDOW));
+
+        // then
+        assertEquals(2, index.generationCount());
+        assertFalse(index.isDefinitelyAbsent("key-1"));
+    }
+
+    @Test
+    void givenKeyRegisteredBeforeRotation_whenTwoWindowsPass_thenShouldDropItsGeneration() {
+        // given
+        final var index = warmedUpIndex();
+        index.register("key-1");
+        final var now = Instant.now();
+
+        // when
+        index.rotateIfDue(now.plus(WINDOW));
+        index.rotateIfDue(now.plus(WINDOW.multipliedBy(2)).plusSeconds(1));
+
+        // then
+        assertEquals(2, index.generationCount());
+        assertTrue(index.isDefinitelyAbsent("key-1"));
+    }
+
+    @Test
+    void givenIndexIdleForMoreThanTwoWindows_whenRotates_thenShouldKeepOnlyANewGeneration() {
+        // given
+        final var index = warmedUpIndex();
+        index.register("key-1");
+
+        // when
+        index.rotateIfDue(Instant.now().plus(WINDOW.multipliedBy(3)));
+
+        // then
+        assertEquals(1, index.generationCount());
+        assertTrue(index.isDefinitelyAbsent("key-1"));
+    }
+
+    @Test
+    void givenIndexNotWarmedUp_whenCallsIsDefinitelyAbsent_thenShouldReturnFalse() {
+        // given
+        final var index = new IdempotencyKeyIndex(1_000, 0.01, 100, WINDOW);
+
+        // when / then
+        assertFalse(index.isDefinitelyAbsent("key-1"));
+    }
+
+    private static IdempotencyKeyIndex warmedUpIndex() {
+        final var index = new IdempotencyKeyIndex(1_000, 0.01, 100, WINDOW);
+        index.markWarmedUp();
+        return index;
+    }
+}
@@ -0,0 +1,56 @@
+package br.com.pix.wallet.infrastructure.idempotency;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScalableBloomFilterTest {
+
+    @Test
+    void givenInsertedKeys_whenCallsMightContain_thenShouldNeverReturnFalseNegative() {
+        // given
+        final var filter = new ScalableBloomFilter(1_000, 0.01);
+        final var keys = new ArrayList<String>();
+        for (int i = 0; i < 5_000; i++) {
+            final var key = UUID.randomUUID().toString();
+            keys.add(key);
+            filter.put(key);
+        }
+
+        // when / then
+        keys.forEach(key -> assertTrue(filter.mightContain(key)));
+    }
+
+    @Test
+    void givenFilterBeyondInitialCapacity_whenCallsPut_thenShouldGrowAndKeepFalsePositiveRateBounded() {
+        // given
+        final var expectedFalsePositiveRate = 0.01;
+        final var filter = new ScalableBloomFilter(1_000, expectedFalsePositiveRate);
+
+        // when
+        for (int i = 0; i < 10_000; i++) {
+            filter.put(UUID.randomUUID().toString());
+        }
+
+        // then
+        assertTrue(filter.layerCount() > 1);
+
+        int falsePositives = 0;
+        final int probes = 20_000;
+        for (int i = 0; i < probes; i++) {
+            if (filter.mightContain(UUID.randomUUID().toString())) {
+                falsePositives++;
+            }
+        }
+        assertTrue((double) falsePositives / probes <= expectedFalsePositiveRate * 1.5);
+    }
+
+    @Test
+    void givenInvalidFalsePositiveRate_whenCreatesFilter_thenShouldFail() {
+        assertThrows(IllegalArgumentException.class, () -> new ScalableBloomFilter(1_000, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> new ScalableBloomFilter(0, 0.01));
+    }
+}
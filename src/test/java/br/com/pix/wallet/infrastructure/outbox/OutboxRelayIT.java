@@ -0,0 +1,124 @@
+package br.com.pix.wallet.infrastructure.outbox;
+
+import br.com.pix.wallet.IntegrationTest;
+import br.com.pix.wallet.application.pix.transfer.CreatePixTransferCommand;
+import br.com.pix.wallet.application.pix.transfer.CreatePixTransferUseCase;
+import br.com.pix.wallet.application.wallet.deposit.DepositCommand;
+import br.com.pix.wallet.application.wallet.deposit.DepositUseCase;
+import br.com.pix.wallet.domain.wallet.Wallet;
+import br.com.pix.wallet.domain.wallet.WalletGateway;
+import br.com.pix.wallet.domain.wallet.WalletID;
+import br.com.pix.wallet.infrastructure.config.json.Json;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@IntegrationTest
+class OutboxRelayIT {
+
+    private static final Path EVENTS_FILE = createTempFile();
+
+    @Autowired
+    private DepositUseCase depositUseCase;
+
+    @Autowired
+    private CreatePixTransferUseCase createPixTransferUseCase;
+
+    @Autowired
+    private WalletGateway walletGateway;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void outboxProperties(final DynamicPropertyRegistry registry) {
+        registry.add("pix-wallet.outbox.relay.enabled", () -> "true");
+        registry.add("pix-wallet.outbox.relay.poll-interval-ms", () -> "20");
+        registry.add("pix-wallet.outbox.publisher", () -> "file");
+        registry.add("pix-wallet.outbox.file-path", EVENTS_FILE::toString);
+    }
+
+    @Test
+    void givenDepositAndTransfer_whenRelayRuns_thenShouldPublishOneEventPerLedgerEntry() throws Exception {
+        // given
+        final var payer = createWallet();
+        final var payee = createWallet();
+        final var endToEndId = UUID.randomUUID().toString();
+
+        // when
+        depositUseCase.execute(DepositCommand.with(payer.getValue().toString(), BigDecimal.valueOf(100)));
+        createPixTransferUseCase.execute(CreatePixTransferCommand.with(
+            payer.getValue().toString(),
+            payee.getValue().toString(),
+            BigDecimal.valueOf(30),
+            UUID.randomUUID().toString(),
+            endToEndId
+        ));
+
+        // then
+        await(() -> pendingCount() == 0 && publishedFor(payer, payee).size() == 3);
+
+        final var ledgerIds = jdbcTemplate.queryForList(
+            "SELECT id FROM ledger_entry WHERE wallet_id IN (?, ?)",
+            UUID.class,
+            payer.getValue(),
+            payee.getValue()
+        );
+        final var messages = publishedFor(payer, payee);
+        assertEquals(
+            ledgerIds.stream().sorted().toList(),
+            messages.stream().map(OutboxMessage::eventId).sorted().toList()
+        );
+        assertEquals(2, messages.stream().filter(message -> endToEndId.equals(message.endToEndId())).count());
+    }
+
+    private int pendingCount() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM outbox_event WHERE published_at IS NULL", Integer.class);
+    }
+
+    private static List<OutboxMessage> publishedFor(final WalletID payer, final WalletID payee) {
+        try {
+            return Files.readAllLines(EVENTS_FILE).stream()
+                .map(line -> Json.readValue(line, OutboxMessage.class))
+                .filter(message -> message.walletId().equals(payer.getValue()) || message.walletId().equals(payee.getValue()))
+                .toList();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private WalletID createWallet() {
+        return walletGateway.save(Wallet.newWallet(UUID.randomUUID().toString())).getId();
+    }
+
+    private static Path createTempFile() {
+        try {
+            final var file = Files.createTempFile("outbox-events", ".jsonl");
+            file.toFile().deleteOnExit();
+            return file;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static void await(final BooleanSupplier condition) throws InterruptedException {
+        final var deadline = System.nanoTime() + 5_000_000_000L;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "outbox events were not published in time");
+            Thread.sleep(20);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package br.com.pix.wallet.infrastructure.outbox;
+
+import br.com.pix.wallet.application.metrics.ApplicationMetrics;
+import br.com.pix.wallet.domain.common.Money;
+import br.com.pix.wallet.domain.ledger.LedgerEntry;
+import br.com.pix.wallet.domain.outbox.OutboxGateway;
+import br.com.pix.wallet.domain.outbox.OutboxPublisher;
+import br.com.pix.wallet.domain.wallet.WalletID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    private static final int BATCH_SIZE = 10;
+    private static final int MAX_ATTEMPTS = 5;
+
+    @Mock
+    private OutboxGateway outboxGateway;
+
+    @Mock
+    private OutboxPublisher publisher;
+
+    @Mock
+    private ApplicationMetrics applicationMetrics;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        relay = new OutboxRelay(outboxGateway, publisher, applicationMetrics, transactionManager, 1, BATCH_SIZE, MAX_ATTEMPTS, 10, 100);
+    }
+
+    @Test
+    void givenPendingEvents_whenRelayBatch_thenShouldPublishAndMarkPublished() {
+        // given
+        final var entries = List.of(deposit(), deposit());
+        when(outboxGateway.lockPending(MAX_ATTEMPTS, BATCH_SIZE)).thenReturn(entries);
+
+        // when
+        final var published = relay.relayBatch();
+
+        // then
+        assertEquals(2, published);
+        verify(publisher).publish(entries);
+        verify(outboxGateway).markPublished(argThat(ids -> ids.size() == 2), any());
+        verify(outboxGateway, never()).markFailed(any(), any());
+        verify(applicationMetrics).recordOutboxEvents(true, 2);
+        verify(applicationMetrics, times(2)).recordOutboxLag(any());
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void givenPublisherFailure_whenRelayBatch_thenShouldRecordFailureAndKeepEventsPending() {
+        // given
+        final var entries = List.of(deposit());
+        final var failure = new IllegalStateException("broker unavailable");
+        when(outboxGateway.lockPending(MAX_ATTEMPTS, BATCH_SIZE)).thenReturn(entries);
+        doThrow(failure).when(publisher).publish(entries);
+
+        // when
+        final var actual = assertThrows(IllegalStateException.class, relay::relayBatch);
+
+        // then
+        assertSame(failure, actual);
+        verify(outboxGateway).markFailed(argThat(ids -> ids.size() == 1), eq("broker unavailable"));
+        verify(outboxGateway, never()).markPublished(any(), any());
+        verify(applicationMetrics).recordOutboxEvents(false, 1);
+        // A contagem de tentativas precisa sobreviver: a transação é commitada, não desfeita
+        verify(transactionManager).commit(any());
+        verify(transactionManager, never()).rollback(any());
+    }
+
+    @Test
+    void givenPoisonEventInBatch_whenRelayBatch_thenShouldPublishTheOthersAndFailOnlyThePoisonEvent() {
+        // given
+        final var healthy = deposit();
+        final var poison = deposit();
+        final var entries = List.of(healthy, poison);
+        when(outboxGateway.lockPending(MAX_ATTEMPTS, BATCH_SIZE)).thenReturn(entries);
+        doThrow(new IllegalStateException("batch rejected")).when(publisher).publish(entries);
+        doThrow(new IllegalArgumentException("invalid payload")).when(publisher).publish(List.of(poison));
+        doNothing().when(publisher).publish(List.of(healthy));
+
+        // when
+        final var published = relay.relayBatch();
+
+        // then
+        assertEquals(1, published);
+        verify(outboxGateway).markFailed(eq(List.of(poison.getId())), eq("invalid payload"));
+        verify(outboxGateway).markPublished(eq(List.of(healthy.getId())), any());
+        verify(applicationMetrics).recordOutboxEvents(false, 1);
+        verify(applicationMetrics).recordOutboxEvents(true, 1);
+    }
+
+    @Test
+    void givenWholeBatchFailingOneByOne_whenRelayBatch_thenShouldThrowToBackOff() {
+        // given
+        final var entries = List.of(deposit(), deposit());
+        final var failure = new IllegalStateException("broker unavailable");
+        when(outboxGateway.lockPending(MAX_ATTEMPTS, BATCH_SIZE)).thenReturn(entries);
+        doThrow(failure).when(publisher).publish(any());
+
+        // when
+        final var actual = assertThrows(IllegalStateException.class, relay::relayBatch);
+
+        // then
+        assertSame(failure, actual);
+        verify(outboxGateway, times(2)).markFailed(argThat(ids -> ids.size() == 1), eq("broker unavailable"));
+        verify(applicationMetrics).recordOutboxEvents(false, 2);
+        verify(applicationMetrics, never()).recordOutboxEvents(eq(true), anyInt());
+    }
+
+    @Test
+    void givenNoPendingEvents_whenRelayBatch_thenShouldNotPublish() {
+        // given
+        when(outboxGateway.lockPending(MAX_ATTEMPTS, BATCH_SIZE)).thenReturn(List.of());
+
+        // when
+        final var published = relay.relayBatch();
+
+        // then
+        assertEquals(0, published);
+        verifyNoInteractions(publisher);
+        verify(outboxGateway, never()).markPublished(any(), any());
+    }
+
+    private static LedgerEntry deposit() {
+        return LedgerEntry.deposit(WalletID.unique(), Money.ofCents(1_000), Money.ofCents(1_000));
+    }
+}
@@ -0,0 +1,90 @@
+package br.com.pix.wallet.infrastructure.persistence.gateway;
+
+import br.com.pix.wallet.GatewayTest;
+import br.com.pix.wallet.domain.common.Money;
+import br.com.pix.wallet.domain.ledger.BalanceCheckpoint;
+import br.com.pix.wallet.domain.ledger.BalanceCheckpointGateway;
+import br.com.pix.wallet.domain.wallet.Wallet;
+import br.com.pix.wallet.domain.wallet.WalletGateway;
+import br.com.pix.wallet.domain.wallet.WalletID;
+import br.com.pix.wallet.infrastructure.persistence.repository.LedgerBalanceCheckpointJpaRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@GatewayTest
+class BalanceCheckpointGatewayIT {
+
+    @Autowired
+    private BalanceCheckpointGateway balanceCheckpointGateway;
+
+    @Autowired
+    private LedgerBalanceCheckpointJpaRepository ledgerBalanceCheckpointJpaRepository;
+
+    @Autowired
+    private WalletGateway walletGateway;
+
+    @Test
+    void givenValidCheckpoint_whenCallsSave_thenShouldPersistCheckpoint() {
+        // given
+        final var expectedWalletId = createWallet();
+        final var expectedCheckpointAt = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        final var expectedBalance = Money.of(BigDecimal.valueOf(150.25));
+
+        assertEquals(0, ledgerBalanceCheckpointJpaRepository.count());
+
+        // when
+        balanceCheckpointGateway.save(BalanceCheckpoint.of(expectedWalletId, expectedCheckpointAt, expectedBalance, 42));
+
+        // then
+        assertEquals(1, ledgerBalanceCheckpointJpaRepository.count());
+
+        final var actual = balanceCheckpointGateway.findLastAtOrBefore(expectedWalletId, expectedCheckpointAt).orElseThrow();
+        assertEquals(expectedWalletId.getValue(), actual.getWalletId().getValue());
+        assertEquals(expectedCheckpointAt, actual.getCheckpointAt());
+        assertEquals(0, expectedBalance.getAmount().compareTo(actual.getBalance().getAmount()));
+        assertEquals(42, actual.getEntryCount());
+    }
+
+    @Test
+    void givenSeveralCheckpoints_whenCallsFindLastAtOrBefore_thenShouldReturnNearestPreviousOne() {
+        // given
+        final var walletId = createWallet();
+        final var now = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        final var first = BalanceCheckpoint.of(walletId, now.minus(3, ChronoUnit.HOURS), Money.of(BigDecimal.TEN), 10);
+        final var second = first.next(now.minus(2, ChronoUnit.HOURS), 500, 3);
+        final var third = second.next(now.minus(1, ChronoUnit.HOURS), -700, 2);
+
+        balanceCheckpointGateway.save(first);
+        balanceCheckpointGateway.save(second);
+        balanceCheckpointGateway.save(third);
+
+        // when
+        final var actual = balanceCheckpointGateway.findLastAtOrBefore(walletId, now.minus(90, ChronoUnit.MINUTES));
+        final var beforeAll = balanceCheckpointGateway.findLastAtOrBefore(walletId, now.minus(4, ChronoUnit.HOURS));
+
+        // then
+        assertTrue(actual.isPresent());
+        assertEquals(second.getCheckpointAt(), actual.get().getCheckpointAt());
+        assertEquals(0, BigDecimal.valueOf(15).compareTo(actual.get().getBalance().getAmount()));
+        assertEquals(13, actual.get().getEntryCount());
+        assertTrue(beforeAll.isEmpty());
+        assertEquals(third.getCheckpointAt(), balanceCheckpointGateway.findLatestCheckpointAt().orElseThrow());
+    }
+
+    @Test
+    void givenNoCheckpoints_whenCallsFindLatestCheckpointAt_thenShouldReturnEmpty() {
+        assertTrue(balanceCheckpointGateway.findLatestCheckpointAt().isEmpty());
+    }
+
+    private WalletID createWallet() {
+        final var wallet = Wallet.newWallet(UUID.randomUUID().toString());
+        return walletGateway.save(wallet).getId();
+    }
+}
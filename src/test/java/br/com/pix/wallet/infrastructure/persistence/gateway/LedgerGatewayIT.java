@@ -2,7 +2,9 @@ package br.com.pix.wallet.infrastructure.persistence.gateway;
 
 import br.com.pix.wallet.GatewayTest;
 import br.com.pix.wallet.domain.common.Money;
+import br.com.pix.wallet.domain.ledger.LedgerCursor;
 import br.com.pix.wallet.domain.ledger.LedgerEntry;
+import br.com.pix.wallet.domain.ledger.LedgerEntryID;
 import br.com.pix.wallet.domain.ledger.LedgerGateway;
 import br.com.pix.wallet.domain.ledger.LedgerOperationType;
 import br.com.pix.wallet.domain.wallet.Wallet;
@@ -10,18 +12,25 @@ import br.com.pix.wallet.domain.wallet.WalletGateway;
 import br.com.pix.wallet.domain.wallet.WalletID;
 import br.com.pix.wallet.infrastructure.persistence.entity.LedgerEntryEntity;
 import br.com.pix.wallet.infrastructure.persistence.repository.LedgerEntryJpaRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.TestPropertySource;
 
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 @GatewayTest
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
 class LedgerGatewayIT {
 
     @Autowired
@@ -33,6 +42,12 @@ class LedgerGatewayIT {
     @Autowired
     private WalletGateway walletGateway;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
     @Test
     void givenAValidLedgerEntry_whenCallsSave_thenShouldPersistEntry() {
         // given
@@ -67,195 +82,265 @@ class LedgerGatewayIT {
 
         assertEquals(entry.getId().getValue(), actualEntity.getId());
         assertEquals(expectedWalletId.getValue(), actualEntity.getWalletId());
-        assertEquals(expectedAmount.getAmount(), actualEntity.getAmount());
+        assertEquals(expectedAmount, actualEntity.getAmount());
+    }
+
+    @Test
+    void givenEmptyLedger_whenCallsFindLastEntryBefore_thenShouldReturnEmpty() {
+        // given
+        final var expectedWalletId = WalletID.unique();
+
+        // when
+        final var actualEntry = ledgerGateway.findLastEntryBefore(expectedWalletId, Instant.now());
+
+        // then
+        assertTrue(actualEntry.isEmpty());
     }
 
     @Test
-    void givenPrePersistedEntries_whenCallsFindByWalletId_thenShouldReturnListOfEntries() {
+    void givenEntriesButNoneBeforeDate_whenCallsFindLastEntryBefore_thenShouldReturnEmpty() {
         // given
-        final var expectedWalletOne = createWallet();
-        final var expectedWalletTwo = createWallet();
+        final var expectedWalletId = createWallet();
+        final var now = Instant.now();
 
-        final var expectedLedgerOne = LedgerEntry.deposit(
-            expectedWalletOne,
+        final var entry = LedgerEntry.deposit(
+            expectedWalletId,
             Money.of(BigDecimal.TEN),
             Money.of(BigDecimal.TEN)
         );
 
-        final var expectedLedgerTwo = LedgerEntry.withdraw(
-            expectedWalletOne,
-            Money.of(BigDecimal.ONE),
-            Money.of(BigDecimal.valueOf(9))
-        );
+        final var entity = LedgerEntryEntity.from(entry);
 
-        final var expectedLedgerThree = LedgerEntry.deposit(
-            expectedWalletTwo,
-            Money.of(BigDecimal.valueOf(50)),
-            Money.of(BigDecimal.valueOf(50))
-        );
+        entity.setOccurredAt(now);
 
-        ledgerEntryJpaRepository.saveAll(List.of(
-            LedgerEntryEntity.from(expectedLedgerOne),
-            LedgerEntryEntity.from(expectedLedgerTwo),
-            LedgerEntryEntity.from(expectedLedgerThree)
-        ));
+        ledgerEntryJpaRepository.save(entity);
 
-        assertEquals(3, ledgerEntryJpaRepository.count());
+        final var searchBefore = now.minus(1, ChronoUnit.HOURS);
 
         // when
-        final var actualEntries = ledgerGateway.findByWalletId(expectedWalletOne);
+        final var actualEntry = ledgerGateway.findLastEntryBefore(expectedWalletId, searchBefore);
 
         // then
-        assertEquals(2, actualEntries.size());
+        assertTrue(actualEntry.isEmpty());
+    }
 
-        assertTrue(
-            actualEntries.stream()
-                .anyMatch(it -> it.getId().getValue().equals(expectedLedgerOne.getId().getValue())),
-            "Should contain entryOne in result list"
-        );
+    @Test
+    void givenPixTransactions_whenCallsSave_thenShouldPersistEndToEndIdAndType() {
+        // given
+        final var expectedWalletId = createWallet();
+        final var expectedEndToEndId = UUID.randomUUID().toString();
+        final var expectedAmount = Money.of(BigDecimal.valueOf(50.00));
+        final var expectedBalance = Money.of(BigDecimal.valueOf(150.00));
 
-        assertTrue(
-            actualEntries.stream()
-                .anyMatch(it -> it.getId().getValue().equals(expectedLedgerTwo.getId().getValue())),
-            "Should contain entryTwo in result list"
+        final var entry = LedgerEntry.creditPix(
+            expectedWalletId,
+            expectedEndToEndId,
+            expectedAmount,
+            expectedBalance
         );
+
+        // when
+        final var actualEntry = ledgerGateway.save(entry);
+
+        // then
+        assertNotNull(actualEntry.getId());
+        assertEquals(expectedEndToEndId, actualEntry.getEndToEndId());
+        assertEquals(LedgerOperationType.PIX_CREDIT, actualEntry.getOperationType());
+
+        final var entity = ledgerEntryJpaRepository.findById(actualEntry.getId().getValue()).get();
+        assertEquals(expectedEndToEndId, entity.getEndToEndId());
     }
 
     @Test
-    void givenUnknownWalletId_whenCallsFindByWalletId_thenShouldReturnEmptyList() {
+    void givenTransferEntries_whenCallsSaveAll_thenShouldInsertThemInASingleBatchedStatement() {
         // given
-        assertEquals(0, ledgerEntryJpaRepository.count());
+        final var fromWalletId = createWallet();
+        final var toWalletId = createWallet();
+        final var endToEndId = "E12345678202311261234567890AB";
+        final var amount = Money.of(BigDecimal.valueOf(25.00));
+
+        final var entries = List.of(
+            LedgerEntry.debitPix(fromWalletId, endToEndId, amount, Money.zero()),
+            LedgerEntry.creditPix(toWalletId, endToEndId, amount, amount)
+        );
+
+        testEntityManager.flush();
+        final var statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
 
         // when
-        final var actualEntries = ledgerGateway.findByWalletId(WalletID.unique());
+        ledgerGateway.saveAll(entries);
+        testEntityManager.flush();
 
         // then
-        assertTrue(actualEntries.isEmpty());
+        assertEquals(2, statistics.getEntityInsertCount());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(1, ledgerGateway.countBetween(fromWalletId, Instant.EPOCH, Instant.now()));
+        assertEquals(1, ledgerGateway.countBetween(toWalletId, Instant.EPOCH, Instant.now()));
     }
 
     @Test
-    void givenPrePersistedEntriesWithDifferentTimes_whenCallsFindByWalletIdAndOccurredAtBefore_thenShouldReturnCorrectEntries() {
+    void givenSeveralEntriesBeforeDate_whenCallsFindLastEntryBefore_thenShouldReturnMostRecentOne() {
+        // given
         final var expectedWalletId = createWallet();
         final var now = Instant.now();
 
-        final var entryOld = LedgerEntry.deposit(
-            expectedWalletId,
-            Money.of(BigDecimal.TEN),
-            Money.of(BigDecimal.TEN)
-        );
-        final var entityOld = LedgerEntryEntity.from(entryOld);
-        entityOld.setOccurredAt(now.minus(2, ChronoUnit.HOURS));
-
-        final var entryMid = LedgerEntry.deposit(
-            expectedWalletId,
-            Money.of(BigDecimal.TEN),
-            Money.of(BigDecimal.valueOf(20))
-        );
-        final var entityMid = LedgerEntryEntity.from(entryMid);
-        entityMid.setOccurredAt(now.minus(1, ChronoUnit.HOURS));
-
-        final var entryNew = LedgerEntry.deposit(
-            expectedWalletId,
-            Money.of(BigDecimal.TEN),
-            Money.of(BigDecimal.valueOf(30))
-        );
-        final var entityNew = LedgerEntryEntity.from(entryNew);
-        entityNew.setOccurredAt(now);
-
-        ledgerEntryJpaRepository.saveAll(List.of(entityOld, entityMid, entityNew));
+        final var older = LedgerEntryEntity.from(LedgerEntry.deposit(expectedWalletId, Money.of(BigDecimal.TEN), Money.of(BigDecimal.TEN)));
+        older.setOccurredAt(now.minus(2, ChronoUnit.HOURS));
+        final var newer = LedgerEntryEntity.from(LedgerEntry.deposit(expectedWalletId, Money.of(BigDecimal.TEN), Money.of(BigDecimal.valueOf(20))));
+        newer.setOccurredAt(now.minus(1, ChronoUnit.HOURS));
 
-        final var cutoffTime = now.minus(30, ChronoUnit.MINUTES);
+        ledgerEntryJpaRepository.saveAll(List.of(older, newer));
 
         // when
-        final var actualEntries = ledgerGateway.findByWalletIdAndOccurredAtBefore(expectedWalletId, cutoffTime);
+        final var actualEntry = ledgerGateway.findLastEntryBefore(expectedWalletId, now);
 
         // then
-        assertEquals(2, actualEntries.size());
-
-        assertTrue(
-            actualEntries.stream()
-                .anyMatch(e -> e.getId().getValue().equals(entryOld.getId().getValue())),
-            "Result list should contain entryOld"
-        );
-
-        assertTrue(
-            actualEntries.stream()
-                .anyMatch(e -> e.getId().getValue().equals(entryMid.getId().getValue())),
-            "Result list should contain entryMid"
-        );
-
-        assertFalse(
-            actualEntries.stream()
-                .anyMatch(e -> e.getId().getValue().equals(entryNew.getId().getValue())),
-            "Result list should not contain entryNew"
-        );
+        assertTrue(actualEntry.isPresent());
+        assertEquals(newer.getId(), actualEntry.get().getId().getValue());
     }
 
-
     @Test
-    void givenEmptyLedger_whenCallsFindLastEntryBefore_thenShouldReturnEmpty() {
+    void givenEntriesWithSameOccurredAt_whenCallsFindLastEntryBefore_thenShouldBreakTheTieById() {
         // given
-        final var expectedWalletId = WalletID.unique();
+        final var expectedWalletId = createWallet();
+        final var occurredAt = Instant.now().truncatedTo(ChronoUnit.MICROS).minus(1, ChronoUnit.HOURS);
+        final var lower = sameInstantEntry(expectedWalletId, "00000000-0000-4000-8000-000000000001", occurredAt);
+        final var higher = sameInstantEntry(expectedWalletId, "00000000-0000-4000-8000-000000000002", occurredAt);
+
+        ledgerEntryJpaRepository.saveAll(List.of(higher, lower));
 
         // when
         final var actualEntry = ledgerGateway.findLastEntryBefore(expectedWalletId, Instant.now());
 
         // then
-        assertTrue(actualEntry.isEmpty());
+        assertEquals(higher.getId(), actualEntry.orElseThrow().getId().getValue());
     }
 
     @Test
-    void givenEntriesButNoneBeforeDate_whenCallsFindLastEntryBefore_thenShouldReturnEmpty() {
+    void givenMixedEntries_whenCallsSumBalanceDeltaBetween_thenShouldSumSignedAmountsInsideRange() {
         // given
         final var expectedWalletId = createWallet();
-        final var now = Instant.now();
+        final var now = Instant.now().truncatedTo(ChronoUnit.MICROS);
 
-        final var entry = LedgerEntry.deposit(
-            expectedWalletId,
-            Money.of(BigDecimal.TEN),
-            Money.of(BigDecimal.TEN)
-        );
+        final var outside = entityAt(LedgerEntry.deposit(expectedWalletId, Money.of(BigDecimal.valueOf(500)), Money.of(BigDecimal.valueOf(500))), now.minus(3, ChronoUnit.HOURS));
+        final var deposit = entityAt(LedgerEntry.deposit(expectedWalletId, Money.of(BigDecimal.valueOf(100)), Money.of(BigDecimal.valueOf(600))), now.minus(2, ChronoUnit.HOURS));
+        final var withdraw = entityAt(LedgerEntry.withdraw(expectedWalletId, Money.of(BigDecimal.valueOf(30)), Money.of(BigDecimal.valueOf(570))), now.minus(90, ChronoUnit.MINUTES));
+        final var debit = entityAt(LedgerEntry.debitPix(expectedWalletId, "E1", Money.of(BigDecimal.valueOf(20)), Money.of(BigDecimal.valueOf(550))), now.minus(1, ChronoUnit.HOURS));
+        final var credit = entityAt(LedgerEntry.creditPix(expectedWalletId, "E2", Money.of(BigDecimal.valueOf(5.50)), Money.of(BigDecimal.valueOf(555.50))), now);
 
-        final var entity = LedgerEntryEntity.from(entry);
+        ledgerEntryJpaRepository.saveAll(List.of(outside, deposit, withdraw, debit, credit));
 
-        entity.setOccurredAt(now);
+        final var from = now.minus(3, ChronoUnit.HOURS);
 
-        ledgerEntryJpaRepository.save(entity);
+        // when
+        final var actualDelta = ledgerGateway.sumBalanceDeltaBetween(expectedWalletId, from, now);
+        final var actualCount = ledgerGateway.countBetween(expectedWalletId, from, now);
+        final var emptyDelta = ledgerGateway.sumBalanceDeltaBetween(expectedWalletId, now, now.plusSeconds(60));
 
-        final var searchBefore = now.minus(1, ChronoUnit.HOURS);
+        // then
+        assertEquals(5_550L, actualDelta);
+        assertEquals(4, actualCount);
+        assertEquals(0L, emptyDelta);
+    }
+
+    @Test
+    void givenEntriesOfSeveralWallets_whenCallsFindWalletIdsWithEntriesBetween_thenShouldReturnOnlyActiveWallets() {
+        // given
+        final var activeWallet = createWallet();
+        final var idleWallet = createWallet();
+        final var now = Instant.now().truncatedTo(ChronoUnit.MICROS);
+
+        ledgerEntryJpaRepository.saveAll(List.of(
+            entityAt(LedgerEntry.deposit(activeWallet, Money.of(BigDecimal.TEN), Money.of(BigDecimal.TEN)), now.minus(5, ChronoUnit.MINUTES)),
+            entityAt(LedgerEntry.deposit(activeWallet, Money.of(BigDecimal.TEN), Money.of(BigDecimal.valueOf(20))), now.minus(4, ChronoUnit.MINUTES)),
+            entityAt(LedgerEntry.deposit(idleWallet, Money.of(BigDecimal.TEN), Money.of(BigDecimal.TEN)), now.minus(2, ChronoUnit.HOURS))
+        ));
 
         // when
-        final var actualEntry = ledgerGateway.findLastEntryBefore(expectedWalletId, searchBefore);
+        final var actualWalletIds = ledgerGateway.findWalletIdsWithEntriesBetween(now.minus(1, ChronoUnit.HOURS), now);
 
         // then
-        assertTrue(actualEntry.isEmpty());
+        assertEquals(1, actualWalletIds.size());
+        assertEquals(activeWallet.getValue(), actualWalletIds.get(0).getValue());
     }
 
     @Test
-    void givenPixTransactions_whenCallsSave_thenShouldPersistEndToEndIdAndType() {
+    void givenEntriesSharingTimestamps_whenPagesWithKeyset_thenShouldVisitEveryEntryOnceInOrder() {
         // given
         final var expectedWalletId = createWallet();
-        final var expectedEndToEndId = UUID.randomUUID().toString();
-        final var expectedAmount = Money.of(BigDecimal.valueOf(50.00));
-        final var expectedBalance = Money.of(BigDecimal.valueOf(150.00));
+        final var otherWalletId = createWallet();
+        final var now = Instant.now().truncatedTo(ChronoUnit.MICROS);
+
+        final var entities = new ArrayList<LedgerEntryEntity>();
+        for (int i = 0; i < 7; i++) {
+            // pares de lançamentos no mesmo instante forçam o desempate pelo id
+            entities.add(entityAt(LedgerEntry.deposit(expectedWalletId, Money.of(BigDecimal.ONE), Money.of(BigDecimal.valueOf(i + 1))), now.minusSeconds(10 - i / 2)));
+        }
+        entities.add(entityAt(LedgerEntry.deposit(otherWalletId, Money.of(BigDecimal.ONE), Money.of(BigDecimal.ONE)), now.minusSeconds(9)));
+        entities.add(entityAt(LedgerEntry.deposit(expectedWalletId, Money.of(BigDecimal.ONE), Money.of(BigDecimal.TEN)), now.plusSeconds(60)));
+        ledgerEntryJpaRepository.saveAll(entities);
+
+        final var expectedOrder = entities.subList(0, 7).stream()
+            .sorted(Comparator.comparing(LedgerEntryEntity::getOccurredAt).thenComparing(entity -> entity.getId().toString()))
+            .map(LedgerEntryEntity::getId)
+            .toList();
 
-        final var entry = LedgerEntry.creditPix(
-            expectedWalletId,
-            expectedEndToEndId,
-            expectedAmount,
-            expectedBalance
-        );
+        // when
+        final var visited = new ArrayList<UUID>();
+        var cursor = LedgerCursor.startingAt(now.minus(1, ChronoUnit.HOURS));
+        List<LedgerEntry> page;
+        do {
+            page = ledgerGateway.findPageAfter(expectedWalletId, cursor, now, 3);
+            page.forEach(entry -> visited.add(entry.getId().getValue()));
+            if (!page.isEmpty()) {
+                cursor = LedgerCursor.after(page.get(page.size() - 1));
+            }
+        } while (page.size() == 3);
+
+        // then
+        assertEquals(expectedOrder, visited);
+    }
+
+    @Test
+    void givenEntriesInsideAndOutsidePeriod_whenPagesFromPeriodStart_thenShouldEmitOnlyPeriodInOrder() {
+        // given
+        final var expectedWalletId = createWallet();
+        final var now = Instant.now().truncatedTo(ChronoUnit.MICROS);
+
+        final var before = entityAt(LedgerEntry.deposit(expectedWalletId, Money.of(BigDecimal.TEN), Money.of(BigDecimal.TEN)), now.minus(2, ChronoUnit.HOURS));
+        final var first = entityAt(LedgerEntry.deposit(expectedWalletId, Money.of(BigDecimal.TEN), Money.of(BigDecimal.valueOf(20))), now.minus(1, ChronoUnit.HOURS));
+        final var second = entityAt(LedgerEntry.withdraw(expectedWalletId, Money.of(BigDecimal.ONE), Money.of(BigDecimal.valueOf(19))), now);
+        final var after = entityAt(LedgerEntry.deposit(expectedWalletId, Money.of(BigDecimal.TEN), Money.of(BigDecimal.valueOf(29))), now.plusSeconds(1));
+        ledgerEntryJpaRepository.saveAll(List.of(before, first, second, after));
 
         // when
-        final var actualEntry = ledgerGateway.save(entry);
+        final var actualEntries = ledgerGateway.findPageAfter(expectedWalletId, LedgerCursor.startingAt(first.getOccurredAt()), now, 10);
 
         // then
-        assertNotNull(actualEntry.getId());
-        assertEquals(expectedEndToEndId, actualEntry.getEndToEndId());
-        assertEquals(LedgerOperationType.PIX_CREDIT, actualEntry.getOperationType());
+        assertEquals(2, actualEntries.size());
+        assertEquals(first.getId(), actualEntries.get(0).getId().getValue());
+        assertEquals(second.getId(), actualEntries.get(1).getId().getValue());
+        assertEquals(LedgerOperationType.WITHDRAW, actualEntries.get(1).getOperationType());
+    }
 
-        final var entity = ledgerEntryJpaRepository.findById(actualEntry.getId().getValue()).get();
-        assertEquals(expectedEndToEndId, entity.getEndToEndId());
+    private static LedgerEntryEntity entityAt(final LedgerEntry entry, final Instant occurredAt) {
+        final var entity = LedgerEntryEntity.from(entry);
+        entity.setOccurredAt(occurredAt);
+        return entity;
+    }
+
+    private static LedgerEntryEntity sameInstantEntry(final WalletID walletId, final String id, final Instant occurredAt) {
+        return LedgerEntryEntity.from(LedgerEntry.with(
+            LedgerEntryID.from(UUID.fromString(id)),
+            walletId,
+            null,
+            LedgerOperationType.DEPOSIT,
+            Money.of(BigDecimal.TEN),
+            Money.of(BigDecimal.TEN),
+            occurredAt
+        ));
     }
 
     private WalletID createWallet() {
@@ -0,0 +1,139 @@
+package br.com.pix.wallet.infrastructure.persistence.gateway;
+
+import br.com.pix.wallet.GatewayTest;
+import br.com.pix.wallet.domain.common.Money;
+import br.com.pix.wallet.domain.ledger.LedgerEntry;
+import br.com.pix.wallet.domain.ledger.LedgerEntryID;
+import br.com.pix.wallet.domain.ledger.LedgerOperationType;
+import br.com.pix.wallet.domain.outbox.OutboxGateway;
+import br.com.pix.wallet.domain.wallet.WalletID;
+import br.com.pix.wallet.infrastructure.persistence.repository.OutboxEventJpaRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@GatewayTest
+// FOR UPDATE SKIP LOCKED exige o H2 em modo PostgreSQL configurado no profile de testes
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class OutboxGatewayIT {
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    @Autowired
+    private OutboxGateway outboxGateway;
+
+    @Autowired
+    private OutboxEventJpaRepository outboxEventJpaRepository;
+
+    @Test
+    void givenLedgerEntries_whenCallsAppendAll_thenShouldStoreOnePendingEventPerEntry() {
+        // given
+        final var now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        final var entries = List.of(
+            entry("E1", LedgerOperationType.PIX_DEBIT, now),
+            entry("E1", LedgerOperationType.PIX_CREDIT, now.plusMillis(1))
+        );
+
+        // when
+        outboxGateway.appendAll(entries);
+
+        // then
+        assertEquals(2, outboxEventJpaRepository.count());
+        final var pending = outboxGateway.lockPending(MAX_ATTEMPTS, 10);
+        assertEquals(
+            entries.stream().map(entry -> entry.getId().getValue()).toList(),
+            pending.stream().map(entry -> entry.getId().getValue()).toList()
+        );
+        assertEquals("E1", pending.get(0).getEndToEndId());
+        assertEquals(LedgerOperationType.PIX_DEBIT, pending.get(0).getOperationType());
+        assertEquals(0, Money.ofCents(1_000).compareTo(pending.get(0).getAmount()));
+        assertEquals(now, pending.get(0).getOccurredAt());
+    }
+
+    @Test
+    void givenPublishedAndFailedEvents_whenCallsLockPending_thenShouldReturnOnlyUnpublishedOldestFirst() {
+        // given
+        final var now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        final var published = entry(null, LedgerOperationType.DEPOSIT, now.minusSeconds(30));
+        final var failed = entry(null, LedgerOperationType.WITHDRAW, now.minusSeconds(20));
+        final var recent = entry(null, LedgerOperationType.DEPOSIT, now);
+        outboxGateway.appendAll(List.of(recent, published, failed));
+
+        outboxGateway.markPublished(List.of(published.getId()), now);
+        outboxGateway.markFailed(List.of(failed.getId()), "x".repeat(600));
+
+        // when
+        final var pending = outboxGateway.lockPending(MAX_ATTEMPTS, 1);
+
+        // then
+        assertEquals(1, pending.size());
+        assertEquals(failed.getId().getValue(), pending.get(0).getId().getValue());
+        assertEquals(failed.getOccurredAt(), outboxGateway.findOldestPendingOccurredAt(MAX_ATTEMPTS).orElseThrow());
+
+        final var failedEntity = outboxEventJpaRepository.findById(failed.getId().getValue()).orElseThrow();
+        assertEquals(1, failedEntity.getAttempts());
+        assertEquals(500, failedEntity.getLastError().length());
+        assertNull(failedEntity.getPublishedAt());
+    }
+
+    @Test
+    void givenEventThatExhaustedAttempts_whenCallsLockPending_thenShouldSkipItAndCountAsDeadLetter() {
+        // given
+        final var now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        final var poison = entry(null, LedgerOperationType.DEPOSIT, now.minusSeconds(60));
+        final var pending = entry(null, LedgerOperationType.DEPOSIT, now);
+        outboxGateway.appendAll(List.of(poison, pending));
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            outboxGateway.markFailed(List.of(poison.getId()), "invalid payload");
+        }
+
+        // when
+        final var locked = outboxGateway.lockPending(MAX_ATTEMPTS, 10);
+
+        // then
+        assertEquals(List.of(pending.getId().getValue()), locked.stream().map(entry -> entry.getId().getValue()).toList());
+        assertEquals(pending.getOccurredAt(), outboxGateway.findOldestPendingOccurredAt(MAX_ATTEMPTS).orElseThrow());
+        assertEquals(1, outboxGateway.countDeadLettered(MAX_ATTEMPTS));
+        // Com um limite maior o evento volta à fila
+        assertEquals(2, outboxGateway.lockPending(MAX_ATTEMPTS + 1, 10).size());
+    }
+
+    @Test
+    void givenPublishedEvents_whenCallsDeletePublishedBefore_thenShouldKeepPendingAndRecentEvents() {
+        // given
+        final var now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        final var old = entry(null, LedgerOperationType.DEPOSIT, now.minusSeconds(7_200));
+        final var recent = entry(null, LedgerOperationType.DEPOSIT, now);
+        final var pending = entry(null, LedgerOperationType.DEPOSIT, now.minusSeconds(7_200));
+        outboxGateway.appendAll(List.of(old, recent, pending));
+        outboxGateway.markPublished(List.of(old.getId()), now.minusSeconds(3_600));
+        outboxGateway.markPublished(List.of(recent.getId()), now);
+
+        // when
+        final var deleted = outboxGateway.deletePublishedBefore(now.minusSeconds(60));
+
+        // then
+        assertEquals(1, deleted);
+        assertFalse(outboxEventJpaRepository.existsById(old.getId().getValue()));
+        assertTrue(outboxEventJpaRepository.existsById(recent.getId().getValue()));
+        assertTrue(outboxEventJpaRepository.existsById(pending.getId().getValue()));
+    }
+
+    private static LedgerEntry entry(final String endToEndId, final LedgerOperationType type, final Instant occurredAt) {
+        return LedgerEntry.with(
+            LedgerEntryID.unique(),
+            WalletID.unique(),
+            endToEndId,
+            type,
+            Money.ofCents(1_000),
+            Money.ofCents(5_000),
+            occurredAt
+        );
+    }
+}
@@ -0,0 +1,190 @@
+package br.com.pix.wallet.infrastructure.persistence.gateway;
+
+import br.com.pix.wallet.GatewayTest;
+import br.com.pix.wallet.domain.idempotency.PaymentIdempotency;
+import br.com.pix.wallet.domain.idempotency.PaymentIdempotencyGateway;
+import br.com.pix.wallet.domain.idempotency.PaymentIdempotencyStatus;
+import br.com.pix.wallet.infrastructure.persistence.repository.IdempotencyJpaRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@GatewayTest
+// ON CONFLICT DO NOTHING exige o H2 em modo PostgreSQL configurado no profile de testes
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class PaymentIdempotencyGatewayIT {
+
+    private static final String SCOPE = "POST /pix/transfers";
+
+    @Autowired
+    private PaymentIdempotencyGateway paymentIdempotencyGateway;
+
+    @Autowired
+    private IdempotencyJpaRepository idempotencyJpaRepository;
+
+    @Test
+    void givenNewKey_whenCallsReserve_thenShouldInsertInProgressRecord() {
+        // given
+        final var expectedKey = UUID.randomUUID().toString();
+
+        assertEquals(0, idempotencyJpaRepository.count());
+
+        // when
+        final var reserved = paymentIdempotencyGateway.reserve(SCOPE, PaymentIdempotency.start(expectedKey), staleBefore());
+
+        // then
+        assertTrue(reserved);
+
+        final var actual = paymentIdempotencyGateway.findByKeyAndScope(expectedKey, SCOPE).orElseThrow();
+        assertNotNull(actual.getId().getValue());
+        assertEquals(expectedKey, actual.getKey());
+        assertEquals(PaymentIdempotencyStatus.IN_PROGRESS, actual.getStatus());
+        assertNull(actual.getResponseStatus());
+        assertNull(actual.getResponsePayload());
+    }
+
+    @Test
+    void givenReservedKey_whenCallsReserveAgain_thenShouldNotReserve() {
+        // given
+        final var key = UUID.randomUUID().toString();
+        paymentIdempotencyGateway.reserve(SCOPE, PaymentIdempotency.start(key), staleBefore());
+
+        // when
+        final var reservedAgain = paymentIdempotencyGateway.reserve(SCOPE, PaymentIdempotency.start(key), staleBefore());
+        final var reservedOtherScope = paymentIdempotencyGateway.reserve("POST /wallets/1/deposit", PaymentIdempotency.start(key), staleBefore());
+
+        // then
+        assertFalse(reservedAgain);
+        assertTrue(reservedOtherScope);
+        assertEquals(2, idempotencyJpaRepository.count());
+    }
+
+    @Test
+    void givenStaleReservation_whenCallsReserve_thenShouldTakeItOver() {
+        // given
+        final var key = UUID.randomUUID().toString();
+        paymentIdempotencyGateway.reserve(SCOPE, PaymentIdempotency.start(key), staleBefore());
+
+        // when
+        final var reserved = paymentIdempotencyGateway.reserve(
+            SCOPE,
+            PaymentIdempotency.start(key),
+            Instant.now().plus(1, ChronoUnit.MINUTES)
+        );
+
+        // then
+        assertTrue(reserved);
+        assertEquals(1, idempotencyJpaRepository.count());
+    }
+
+    @Test
+    void givenReservedKey_whenCallsComplete_thenShouldStoreResponse() {
+        // given
+        final var key = UUID.randomUUID().toString();
+        final var record = PaymentIdempotency.start(key);
+        final var expectedPayload = "{\"transferId\":\"1\"}";
+        paymentIdempotencyGateway.reserve(SCOPE, record, staleBefore());
+
+        // when
+        record.complete(201, expectedPayload);
+        final var completed = paymentIdempotencyGateway.complete(SCOPE, record);
+
+        // then
+        assertTrue(completed);
+        final var actual = paymentIdempotencyGateway.findByKeyAndScope(key, SCOPE).orElseThrow();
+        assertEquals(PaymentIdempotencyStatus.COMPLETED, actual.getStatus());
+        assertEquals(201, actual.getResponseStatus());
+        assertEquals(expectedPayload, actual.getResponsePayload());
+        assertFalse(paymentIdempotencyGateway.reserve(SCOPE, PaymentIdempotency.start(key), Instant.now().plusSeconds(60)));
+    }
+
+    @Test
+    void givenReservedKey_whenCallsRelease_thenShouldAllowNewReservation() {
+        // given
+        final var key = UUID.randomUUID().toString();
+        final var record = PaymentIdempotency.start(key);
+        paymentIdempotencyGateway.reserve(SCOPE, record, staleBefore());
+
+        // when
+        paymentIdempotencyGateway.release(SCOPE, record);
+
+        // then
+        assertTrue(paymentIdempotencyGateway.findByKeyAndScope(key, SCOPE).isEmpty());
+        assertTrue(paymentIdempotencyGateway.reserve(SCOPE, PaymentIdempotency.start(key), staleBefore()));
+    }
+
+    @Test
+    void givenKeyMarkedUnknown_whenCallsReleaseOrReserve_thenShouldKeepIt() {
+        // given
+        final var key = UUID.randomUUID().toString();
+        final var record = PaymentIdempotency.start(key);
+        paymentIdempotencyGateway.reserve(SCOPE, record, staleBefore());
+
+        // when
+        record.markUnknown();
+        paymentIdempotencyGateway.markUnknown(SCOPE, record);
+        paymentIdempotencyGateway.release(SCOPE, record);
+
+        // then
+        final var actual = paymentIdempotencyGateway.findByKeyAndScope(key, SCOPE).orElseThrow();
+        assertEquals(PaymentIdempotencyStatus.UNKNOWN, actual.getStatus());
+        assertFalse(paymentIdempotencyGateway.reserve(SCOPE, PaymentIdempotency.start(key), Instant.now().plusSeconds(60)));
+    }
+
+    @Test
+    void givenReservationTakenOver_whenPreviousOwnerCompletesOrReleases_thenShouldBeFenced() {
+        // given
+        final var key = UUID.randomUUID().toString();
+        final var previous = PaymentIdempotency.start(key, "hash");
+        final var current = PaymentIdempotency.start(key, "hash");
+        paymentIdempotencyGateway.reserve(SCOPE, previous, staleBefore());
+        assertTrue(paymentIdempotencyGateway.reserve(SCOPE, current, Instant.now().plus(1, ChronoUnit.MINUTES)));
+
+        // when
+        previous.complete(201, "{\"transferId\":\"previous\"}");
+        final var completedByPrevious = paymentIdempotencyGateway.complete(SCOPE, previous);
+        paymentIdempotencyGateway.release(SCOPE, previous);
+        paymentIdempotencyGateway.markUnknown(SCOPE, previous);
+
+        // then
+        assertFalse(completedByPrevious);
+        final var actual = paymentIdempotencyGateway.findByKeyAndScope(key, SCOPE).orElseThrow();
+        assertEquals(PaymentIdempotencyStatus.IN_PROGRESS, actual.getStatus());
+        assertEquals(current.getOwnerToken(), actual.getOwnerToken());
+
+        current.complete(201, "{\"transferId\":\"current\"}");
+        assertTrue(paymentIdempotencyGateway.complete(SCOPE, current));
+    }
+
+    @Test
+    void givenStaleReservationWithDifferentBody_whenCallsReserve_thenShouldNotTakeItOver() {
+        // given
+        final var key = UUID.randomUUID().toString();
+        final var original = PaymentIdempotency.start(key, "original");
+        paymentIdempotencyGateway.reserve(SCOPE, original, staleBefore());
+
+        // when
+        final var reserved = paymentIdempotencyGateway.reserve(
+            SCOPE,
+            PaymentIdempotency.start(key, "other"),
+            Instant.now().plus(1, ChronoUnit.MINUTES)
+        );
+
+        // then
+        assertFalse(reserved);
+        final var actual = paymentIdempotencyGateway.findByKeyAndScope(key, SCOPE).orElseThrow();
+        assertEquals(original.getOwnerToken(), actual.getOwnerToken());
+        assertEquals("original", actual.getRequestHash());
+        assertFalse(actual.matchesRequest("other"));
+    }
+
+    private static Instant staleBefore() {
+        return Instant.now().minus(30, ChronoUnit.SECONDS);
+    }
+}
@@ -0,0 +1,156 @@
+package br.com.pix.wallet.infrastructure.persistence.gateway;
+
+import br.com.pix.wallet.GatewayTest;
+import br.com.pix.wallet.domain.common.Money;
+import br.com.pix.wallet.domain.payout.PayoutJob;
+import br.com.pix.wallet.domain.payout.PayoutJobGateway;
+import br.com.pix.wallet.domain.payout.PayoutJobStatus;
+import br.com.pix.wallet.domain.payout.PayoutRejection;
+import br.com.pix.wallet.domain.wallet.Wallet;
+import br.com.pix.wallet.domain.wallet.WalletGateway;
+import br.com.pix.wallet.domain.wallet.WalletID;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@GatewayTest
+class PayoutJobGatewayIT {
+
+    @Autowired
+    private PayoutJobGateway payoutJobGateway;
+
+    @Autowired
+    private WalletGateway walletGateway;
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Test
+    void givenNewJob_whenCallsCreate_thenShouldPersistWithCursorAtZero() {
+        // given
+        final var expectedWalletId = createWallet();
+        final var job = PayoutJob.newJob(expectedWalletId, "payroll.csv");
+
+        // when
+        payoutJobGateway.create(job);
+        clear();
+
+        // then
+        final var actualJob = payoutJobGateway.findById(job.id()).orElseThrow();
+        assertEquals(expectedWalletId.getValue(), actualJob.fromWalletId().getValue());
+        assertEquals("payroll.csv", actualJob.fileName());
+        assertEquals(PayoutJobStatus.RUNNING, actualJob.status());
+        assertEquals(0, actualJob.processedLines());
+        assertEquals(0, actualJob.createdTransfers());
+        assertEquals(0, actualJob.rejectedLines());
+        assertNull(actualJob.lastError());
+    }
+
+    @Test
+    void givenCursorAtExpectedLine_whenCallsAdvance_thenShouldMoveCursorAndAccumulateCounters() {
+        // given
+        final var job = payoutJobGateway.create(PayoutJob.newJob(createWallet(), "payroll.csv"));
+
+        // when
+        final var first = payoutJobGateway.advance(job.id(), 0, 3, 2, 1, List.of(
+            PayoutRejection.of(2, "payroll-2", "Pix key not found")
+        ));
+        final var second = payoutJobGateway.advance(job.id(), 3, 5, 1, 1, List.of(
+            PayoutRejection.of(5, "payroll-5", "x".repeat(600))
+        ));
+        clear();
+
+        // then
+        assertTrue(first);
+        assertTrue(second);
+
+        final var actualJob = payoutJobGateway.findById(job.id()).orElseThrow();
+        assertEquals(5, actualJob.processedLines());
+        assertEquals(3, actualJob.createdTransfers());
+        assertEquals(2, actualJob.rejectedLines());
+
+        final var rejections = payoutJobGateway.findRejections(job.id(), 0, 10);
+        assertEquals(List.of(2L, 5L), rejections.stream().map(PayoutRejection::lineNumber).toList());
+        assertEquals("Pix key not found", rejections.get(0).message());
+        assertEquals(500, rejections.get(1).message().length());
+    }
+
+    @Test
+    void givenCursorMovedByAnotherUpload_whenCallsAdvance_thenShouldNotApplyChunk() {
+        // given
+        final var job = payoutJobGateway.create(PayoutJob.newJob(createWallet(), "payroll.csv"));
+        payoutJobGateway.advance(job.id(), 0, 2, 2, 0, List.of());
+
+        // when
+        final var actualResult = payoutJobGateway.advance(job.id(), 0, 2, 1, 1, List.of(
+            PayoutRejection.of(1, "payroll-1", "Pix key not found")
+        ));
+        clear();
+
+        // then
+        assertFalse(actualResult);
+
+        final var actualJob = payoutJobGateway.findById(job.id()).orElseThrow();
+        assertEquals(2, actualJob.processedLines());
+        assertEquals(2, actualJob.createdTransfers());
+        assertEquals(0, actualJob.rejectedLines());
+        assertTrue(payoutJobGateway.findRejections(job.id(), 0, 10).isEmpty());
+    }
+
+    @Test
+    void givenManyRejections_whenCallsFindRejectionsAfterLine_thenShouldPageByLineNumber() {
+        // given
+        final var job = payoutJobGateway.create(PayoutJob.newJob(createWallet(), "payroll.csv"));
+        payoutJobGateway.advance(job.id(), 0, 10, 5, 5, List.of(
+            PayoutRejection.of(9, "payroll-9", "Pix key not found"),
+            PayoutRejection.of(1, "payroll-1", "Pix key not found"),
+            PayoutRejection.of(4, "payroll-4", "Pix key not found"),
+            PayoutRejection.of(6, "payroll-6", "Pix key not found"),
+            PayoutRejection.of(7, "payroll-7", "Pix key not found")
+        ));
+
+        // when
+        final var firstPage = payoutJobGateway.findRejections(job.id(), 0, 2);
+        final var secondPage = payoutJobGateway.findRejections(job.id(), 4, 2);
+        final var lastPage = payoutJobGateway.findRejections(job.id(), 7, 2);
+
+        // then
+        assertEquals(List.of(1L, 4L), firstPage.stream().map(PayoutRejection::lineNumber).toList());
+        assertEquals(List.of(6L, 7L), secondPage.stream().map(PayoutRejection::lineNumber).toList());
+        assertEquals(List.of(9L), lastPage.stream().map(PayoutRejection::lineNumber).toList());
+    }
+
+    @Test
+    void givenFailedImport_whenCallsUpdateStatus_thenShouldKeepCursorAndStoreError() {
+        // given
+        final var job = payoutJobGateway.create(PayoutJob.newJob(createWallet(), "payroll.csv"));
+        payoutJobGateway.advance(job.id(), 0, 4, 4, 0, List.of());
+
+        // when
+        payoutJobGateway.updateStatus(job.id(), PayoutJobStatus.FAILED, "Malformed payout file at line 6: Too many entries");
+        clear();
+
+        // then
+        final var actualJob = payoutJobGateway.findById(job.id()).orElseThrow();
+        assertEquals(PayoutJobStatus.FAILED, actualJob.status());
+        assertEquals("Malformed payout file at line 6: Too many entries", actualJob.lastError());
+        assertEquals(4, actualJob.processedLines());
+    }
+
+    private void clear() {
+        testEntityManager.flush();
+        testEntityManager.clear();
+    }
+
+    private WalletID createWallet() {
+        final var wallet = Wallet.newWallet(UUID.randomUUID().toString());
+        wallet.deposit(Money.of(BigDecimal.ZERO));
+        return walletGateway.save(wallet).getId();
+    }
+}
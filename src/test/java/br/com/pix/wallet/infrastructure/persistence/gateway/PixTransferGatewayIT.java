@@ -8,11 +8,15 @@ import br.com.pix.wallet.domain.pix.transfer.PixTransferStatus;
 import br.com.pix.wallet.domain.wallet.Wallet;
 import br.com.pix.wallet.domain.wallet.WalletGateway;
 import br.com.pix.wallet.domain.wallet.WalletID;
+import br.com.pix.wallet.infrastructure.persistence.entity.PixTransferEntity;
 import br.com.pix.wallet.infrastructure.persistence.repository.PixTransferJpaRepository;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 
 import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -26,6 +30,9 @@ class PixTransferGatewayIT {
     @Autowired
     private PixTransferJpaRepository pixTransferJpaRepository;
 
+    @Autowired
+    private PixTransferGatewayImpl pixTransferGatewayImpl;
+
     @Autowired
     private WalletGateway walletGateway;
 
@@ -69,7 +76,7 @@ class PixTransferGatewayIT {
         assertEquals(actualTransfer.getId().getValue(), actualEntity.getId());
         assertEquals(expectedFromWallet.getValue(), actualEntity.getFromWalletId());
         assertEquals(expectedToWallet.getValue(), actualEntity.getToWalletId());
-        assertEquals(expectedAmount.getAmount(), actualEntity.getAmount());
+        assertEquals(expectedAmount, actualEntity.getAmount());
         assertEquals(expectedStatus, actualEntity.getStatus());
         assertEquals(expectedEndToEndId, actualEntity.getEndToEndId());
         assertEquals(expectedIdempotencyKey, actualEntity.getIdempotencyKey());
@@ -123,7 +130,7 @@ class PixTransferGatewayIT {
         assertEquals(expectedId.getValue(), actualEntity.getId());
         assertEquals(expectedWalletFrom.getValue(), actualEntity.getFromWalletId());
         assertEquals(expectedWalletTo.getValue(), actualEntity.getToWalletId());
-        assertEquals(updatedAmount.getAmount(), actualEntity.getAmount());
+        assertEquals(updatedAmount, actualEntity.getAmount());
         assertEquals(updatedStatus, actualEntity.getStatus());
         assertEquals(expectedOriginalEndToEndId, actualEntity.getEndToEndId());
         assertEquals(updatedIdempotencyKey, actualEntity.getIdempotencyKey());
@@ -179,6 +186,30 @@ class PixTransferGatewayIT {
         assertTrue(actualResult.isEmpty());
     }
 
+    @Test
+    void givenExistingPixTransfer_whenCallsExistsByEndToEndId_thenShouldReturnTrueOnlyForItsEndToEndId() {
+        // given
+        final var expectedEndToEndId = UUID.randomUUID().toString();
+
+        final var transfer = PixTransfer.newTransfer(
+            createWallet(),
+            createWallet(),
+            Money.of(BigDecimal.valueOf(40.00)),
+            UUID.randomUUID().toString(),
+            expectedEndToEndId
+        );
+
+        pixTransferGateway.save(transfer);
+
+        // when
+        final var exists = pixTransferGateway.existsByEndToEndId(expectedEndToEndId);
+        final var unknownExists = pixTransferGateway.existsByEndToEndId(UUID.randomUUID().toString());
+
+        // then
+        assertTrue(exists);
+        assertFalse(unknownExists);
+    }
+
     @Test
     void givenExistingPixTransfer_whenCallsExistsByIdempotencyKey_thenShouldReturnTrue() {
         // given
@@ -221,6 +252,148 @@ class PixTransferGatewayIT {
         assertFalse(exists);
     }
 
+    @Test
+    void givenKeyPersistedBeforeWarmUp_whenCallsExistsByIdempotencyKey_thenShouldReturnTrue() {
+        // given
+        final var expectedIdempotencyKey = UUID.randomUUID().toString();
+        final var transfer = PixTransfer.newTransfer(
+            createWallet(),
+            createWallet(),
+            Money.of(BigDecimal.valueOf(10.00)),
+            expectedIdempotencyKey,
+            UUID.randomUUID().toString()
+        );
+
+        pixTransferJpaRepository.saveAndFlush(PixTransferEntity.newEntity(transfer));
+
+        // when
+        pixTransferGatewayImpl.warmUpIdempotencyKeys();
+
+        // then
+        assertTrue(pixTransferGateway.existsByIdempotencyKey(expectedIdempotencyKey));
+        assertFalse(pixTransferGateway.existsByIdempotencyKey(UUID.randomUUID().toString()));
+    }
+
+    @Test
+    void givenTransfersCreatedInBatch_whenCallsFindExistingIdempotencyKeys_thenShouldReturnOnlyPersistedKeys() {
+        // given
+        final var fromWallet = createWallet();
+        final var toWallet = createWallet();
+        final var amount = Money.of(BigDecimal.valueOf(10.00));
+        final var transfers = List.of(
+            PixTransfer.newTransfer(fromWallet, toWallet, amount, UUID.randomUUID().toString(), UUID.randomUUID().toString()),
+            PixTransfer.newTransfer(fromWallet, toWallet, amount, UUID.randomUUID().toString(), UUID.randomUUID().toString())
+        );
+        final var unknownKey = UUID.randomUUID().toString();
+
+        // when
+        pixTransferGateway.createAll(transfers);
+        pixTransferJpaRepository.flush();
+
+        final var existingKeys = pixTransferGateway.findExistingIdempotencyKeys(List.of(
+            transfers.get(0).getIdempotencyKey(),
+            transfers.get(1).getIdempotencyKey(),
+            unknownKey
+        ));
+
+        // then
+        assertEquals(2, pixTransferJpaRepository.count());
+        assertEquals(Set.of(transfers.get(0).getIdempotencyKey(), transfers.get(1).getIdempotencyKey()), existingKeys);
+        assertTrue(pixTransferGateway.existsByIdempotencyKey(transfers.get(1).getIdempotencyKey()));
+        assertTrue(pixTransferGateway.findExistingIdempotencyKeys(List.of()).isEmpty());
+    }
+
+    @Test
+    void givenKeyPersistedAfterWarmUpOutsideThisInstance_whenCallsFindExistingIdempotencyKeys_thenShouldReturnIt() {
+        // given
+        pixTransferGatewayImpl.warmUpIdempotencyKeys();
+
+        final var expectedIdempotencyKey = UUID.randomUUID().toString();
+        final var transfer = PixTransfer.newTransfer(
+            createWallet(),
+            createWallet(),
+            Money.of(BigDecimal.valueOf(10.00)),
+            expectedIdempotencyKey,
+            UUID.randomUUID().toString()
+        );
+
+        // Gravada direto no repositório, como faria outra instância: o filtro local não a conhece
+        pixTransferJpaRepository.saveAndFlush(PixTransferEntity.newEntity(transfer));
+
+        // when
+        final var existingKeys = pixTransferGateway.findExistingIdempotencyKeys(List.of(
+            expectedIdempotencyKey,
+            UUID.randomUUID().toString()
+        ));
+
+        // then
+        assertEquals(Set.of(expectedIdempotencyKey), existingKeys);
+    }
+
+    @Test
+    void givenDuplicatedIdempotencyKey_whenCallsCreate_thenShouldBeRejectedByUniqueConstraint() {
+        // given
+        final var fromWallet = createWallet();
+        final var toWallet = createWallet();
+        final var duplicatedIdempotencyKey = UUID.randomUUID().toString();
+        final var amount = Money.of(BigDecimal.valueOf(10.00));
+
+        pixTransferGateway.create(PixTransfer.newTransfer(
+            fromWallet, toWallet, amount, duplicatedIdempotencyKey, UUID.randomUUID().toString()
+        ));
+        pixTransferJpaRepository.flush();
+
+        // when
+        pixTransferGateway.create(PixTransfer.newTransfer(
+            fromWallet, toWallet, amount, duplicatedIdempotencyKey, UUID.randomUUID().toString()
+        ));
+
+        // then
+        assertThrows(DataIntegrityViolationException.class, () -> pixTransferJpaRepository.flush());
+    }
+
+    @Test
+    void givenTransfersInDifferentStatuses_whenCallsUpdateStatus_thenShouldOnlyMoveAllowedSources() {
+        // given
+        final var first = saveTransfer();
+        final var second = saveTransfer();
+        final var both = List.of(first.getEndToEndId(), second.getEndToEndId());
+
+        // when
+        final var confirmed = pixTransferGateway.updateStatus(both, PixTransferStatus.CONFIRMED.allowedSources(), PixTransferStatus.CONFIRMED);
+        final var confirmedAgain = pixTransferGateway.updateStatus(both, PixTransferStatus.CONFIRMED.allowedSources(), PixTransferStatus.CONFIRMED);
+        final var refunded = pixTransferGateway.updateStatus(
+            List.of(first.getEndToEndId()),
+            PixTransferStatus.REFUNDED.allowedSources(),
+            PixTransferStatus.REFUNDED
+        );
+        final var confirmedAfterRefund = pixTransferGateway.updateStatus(
+            List.of(first.getEndToEndId()),
+            PixTransferStatus.CONFIRMED.allowedSources(),
+            PixTransferStatus.CONFIRMED
+        );
+
+        // then
+        assertEquals(2, confirmed);
+        assertEquals(0, confirmedAgain);
+        assertEquals(1, refunded);
+        assertEquals(0, confirmedAfterRefund);
+
+        final var stillRefundable = pixTransferGateway.lockByEndToEndIds(both, PixTransferStatus.REFUNDED.allowedSources());
+        assertEquals(1, stillRefundable.size());
+        assertEquals(second.getEndToEndId(), stillRefundable.get(0).getEndToEndId());
+    }
+
+    private PixTransfer saveTransfer() {
+        return pixTransferGateway.save(PixTransfer.newTransfer(
+            createWallet(),
+            createWallet(),
+            Money.of(BigDecimal.valueOf(10.00)),
+            UUID.randomUUID().toString(),
+            UUID.randomUUID().toString()
+        ));
+    }
+
     private WalletID createWallet() {
         final var wallet = Wallet.newWallet(UUID.randomUUID().toString());
         wallet.deposit(Money.of(BigDecimal.ZERO));
@@ -8,13 +8,18 @@ import br.com.pix.wallet.infrastructure.persistence.entity.PixWebhookEventEntity
 import br.com.pix.wallet.infrastructure.persistence.repository.PixWebhookEventJpaRepository;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 
 import java.time.Instant;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 @GatewayTest
+// ON CONFLICT DO NOTHING exige o H2 em modo PostgreSQL configurado no profile de testes
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
 class PixWebhookEventGatewayIT {
 
     @Autowired
@@ -228,4 +233,57 @@ class PixWebhookEventGatewayIT {
         assertEquals(expectedOccurredAt, aggregate.getOccurredAt());
         assertEquals(expectedProcessedAt, aggregate.getProcessedAt());
     }
+
+    @Test
+    void givenAlreadyStoredEventId_whenCallsSaveAllIgnoringDuplicates_thenShouldInsertOnlyNewEvents() {
+        // given
+        final var stored = PixWebhookEvent.newEvent(
+            PixWebhookEventType.CREDIT_CONFIRMED,
+            UUID.randomUUID().toString(),
+            UUID.randomUUID().toString(),
+            Instant.now()
+        );
+        pixWebhookEventJpaRepository.saveAndFlush(PixWebhookEventEntity.from(stored));
+        final var redelivered = PixWebhookEvent.newEvent(
+            PixWebhookEventType.CREDIT_CONFIRMED,
+            stored.getEventId(),
+            stored.getEndToEndId(),
+            stored.getOccurredAt()
+        );
+        final var expectedEventId = UUID.randomUUID().toString();
+        final var newEvent = PixWebhookEvent.newEvent(
+            PixWebhookEventType.DEBIT_CONFIRMED,
+            expectedEventId,
+            UUID.randomUUID().toString(),
+            Instant.now()
+        );
+
+        // when
+        pixWebhookEventGateway.saveAllIgnoringDuplicates(List.of(redelivered, newEvent));
+
+        // then
+        assertEquals(2, pixWebhookEventJpaRepository.count());
+        assertEquals(stored.getId().getValue(), pixWebhookEventGateway.findByEventId(stored.getEventId()).get().getId().getValue());
+        assertTrue(pixWebhookEventGateway.existsByEventId(expectedEventId));
+    }
+
+    @Test
+    void givenStoredAndUnknownEventIds_whenCallsFindExistingEventIds_thenShouldReturnOnlyStoredOnes() {
+        // given
+        final var stored = PixWebhookEvent.newEvent(
+            PixWebhookEventType.CREDIT_CONFIRMED,
+            UUID.randomUUID().toString(),
+            UUID.randomUUID().toString(),
+            Instant.now()
+        );
+        pixWebhookEventJpaRepository.saveAndFlush(PixWebhookEventEntity.from(stored));
+        final var unknownEventId = UUID.randomUUID().toString();
+
+        // when
+        final var existing = pixWebhookEventGateway.findExistingEventIds(List.of(stored.getEventId(), unknownEventId));
+
+        // then
+        assertEquals(Set.of(stored.getEventId()), existing);
+        assertTrue(pixWebhookEventGateway.findExistingEventIds(List.of()).isEmpty());
+    }
 }
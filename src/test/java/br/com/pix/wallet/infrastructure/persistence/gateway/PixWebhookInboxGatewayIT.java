@@ -0,0 +1,123 @@
+package br.com.pix.wallet.infrastructure.persistence.gateway;
+
+import br.com.pix.wallet.GatewayTest;
+import br.com.pix.wallet.domain.pix.webhook.PixWebhookEvent;
+import br.com.pix.wallet.domain.pix.webhook.PixWebhookEventType;
+import br.com.pix.wallet.domain.pix.webhook.PixWebhookInboxEntry;
+import br.com.pix.wallet.domain.pix.webhook.PixWebhookInboxGateway;
+import br.com.pix.wallet.infrastructure.persistence.repository.PixWebhookInboxJpaRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@GatewayTest
+// ON CONFLICT DO NOTHING exige o H2 em modo PostgreSQL configurado no profile de testes
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class PixWebhookInboxGatewayIT {
+
+    @Autowired
+    private PixWebhookInboxGateway pixWebhookInboxGateway;
+
+    @Autowired
+    private PixWebhookInboxJpaRepository pixWebhookInboxJpaRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void givenRedeliveredEvents_whenCallsAppendAll_thenShouldKeepFirstDelivery() {
+        // given
+        final var receivedAt = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        final var first = entry(UUID.randomUUID().toString(), receivedAt);
+        final var second = entry(UUID.randomUUID().toString(), receivedAt);
+        final var redelivered = entry(first.event().getEventId(), receivedAt.plusSeconds(1));
+
+        pixWebhookInboxGateway.appendAll(List.of(first));
+
+        // when
+        pixWebhookInboxGateway.appendAll(List.of(redelivered, second));
+
+        // then
+        assertEquals(2, pixWebhookInboxJpaRepository.count());
+        assertEquals(
+            first.event().getId().getValue(),
+            jdbcTemplate.queryForObject(
+                "SELECT webhook_event_id FROM webhook_inbox WHERE event_id = ?",
+                UUID.class,
+                first.event().getEventId()
+            )
+        );
+    }
+
+    @Test
+    void givenPendingEntries_whenCallsLockPending_thenShouldReturnOnlyOldUnprocessedEntriesUnderMaxAttempts() {
+        // given
+        final var now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        final var old = entry(UUID.randomUUID().toString(), now.minusSeconds(60));
+        final var processed = entry(UUID.randomUUID().toString(), now.minusSeconds(50));
+        final var exhausted = entry(UUID.randomUUID().toString(), now.minusSeconds(40));
+        final var recent = entry(UUID.randomUUID().toString(), now);
+
+        pixWebhookInboxGateway.appendAll(List.of(old, processed, exhausted, recent));
+        pixWebhookInboxGateway.markProcessed(List.of(processed.event().getEventId()), now);
+        pixWebhookInboxGateway.markFailed(List.of(exhausted.event().getEventId()), "first failure");
+        pixWebhookInboxGateway.markFailed(List.of(exhausted.event().getEventId()), "second failure");
+
+        // when
+        final var pending = pixWebhookInboxGateway.lockPending(now.minusSeconds(10), 2, 10);
+
+        // then
+        assertEquals(1, pending.size());
+        assertEquals(old.event().getEventId(), pending.get(0).event().getEventId());
+        assertEquals(old.event().getEndToEndId(), pending.get(0).event().getEndToEndId());
+        assertEquals(old.receivedAt(), pending.get(0).receivedAt());
+        assertEquals(
+            "second failure",
+            jdbcTemplate.queryForObject(
+                "SELECT last_error FROM webhook_inbox WHERE event_id = ?",
+                String.class,
+                exhausted.event().getEventId()
+            )
+        );
+    }
+
+    @Test
+    void givenProcessedEntries_whenCallsDeleteProcessedBefore_thenShouldKeepPendingAndRecentEntries() {
+        // given
+        final var now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        final var expired = entry(UUID.randomUUID().toString(), now.minusSeconds(7200));
+        final var recent = entry(UUID.randomUUID().toString(), now.minusSeconds(60));
+        final var pending = entry(UUID.randomUUID().toString(), now.minusSeconds(7200));
+
+        pixWebhookInboxGateway.appendAll(List.of(expired, recent, pending));
+        pixWebhookInboxGateway.markProcessed(List.of(expired.event().getEventId()), now.minusSeconds(7000));
+        pixWebhookInboxGateway.markProcessed(List.of(recent.event().getEventId()), now.minusSeconds(30));
+
+        // when
+        final var deleted = pixWebhookInboxGateway.deleteProcessedBefore(now.minusSeconds(3600));
+
+        // then
+        assertEquals(1, deleted);
+        assertFalse(pixWebhookInboxJpaRepository.existsById(expired.event().getEventId()));
+        assertTrue(pixWebhookInboxJpaRepository.existsById(recent.event().getEventId()));
+        assertTrue(pixWebhookInboxJpaRepository.existsById(pending.event().getEventId()));
+    }
+
+    private static PixWebhookInboxEntry entry(final String eventId, final Instant receivedAt) {
+        final var event = PixWebhookEvent.newEvent(
+            PixWebhookEventType.CREDIT_CONFIRMED,
+            eventId,
+            UUID.randomUUID().toString(),
+            receivedAt.minusSeconds(1)
+        );
+        return PixWebhookInboxEntry.of(event, receivedAt);
+    }
+}
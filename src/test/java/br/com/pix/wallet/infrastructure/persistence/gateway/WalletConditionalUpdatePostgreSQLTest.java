@@ -0,0 +1,206 @@
+package br.com.pix.wallet.infrastructure.persistence.gateway;
+
+import br.com.pix.wallet.GatewayTest;
+import br.com.pix.wallet.domain.common.Money;
+import br.com.pix.wallet.domain.wallet.Wallet;
+import br.com.pix.wallet.domain.wallet.WalletGateway;
+import br.com.pix.wallet.domain.wallet.WalletID;
+import br.com.pix.wallet.domain.wallet.WalletStatus;
+import br.com.pix.wallet.infrastructure.persistence.repository.WalletJpaRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// UPDATE ... RETURNING não roda no H2: as consultas do modo conditional-update são exercitadas no PostgreSQL real
+@GatewayTest
+@Testcontainers
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class WalletConditionalUpdatePostgreSQLTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES_CONTAINER = new PostgreSQLContainer<>("postgres:16-alpine")
+        .withDatabaseName("pix_wallet_db")
+        .withUsername("pix_user")
+        .withPassword("pix_password");
+
+    @DynamicPropertySource
+    static void setDatasourceProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES_CONTAINER::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES_CONTAINER::getUsername);
+        registry.add("spring.datasource.password", POSTGRES_CONTAINER::getPassword);
+        registry.add("spring.datasource.driver-class-name", POSTGRES_CONTAINER::getDriverClassName);
+        registry.add("spring.flyway.url", POSTGRES_CONTAINER::getJdbcUrl);
+        registry.add("spring.flyway.user", POSTGRES_CONTAINER::getUsername);
+        registry.add("spring.flyway.password", POSTGRES_CONTAINER::getPassword);
+    }
+
+    @Autowired
+    private WalletGateway walletGateway;
+
+    @Autowired
+    private WalletJpaRepository walletJpaRepository;
+
+    @Test
+    void givenSufficientBalance_whenCallsDebitIfSufficient_thenShouldReturnNewBalanceAndBumpVersion() {
+        // given
+        final var wallet = newWallet(BigDecimal.valueOf(100), 0);
+        final var initialVersion = versionOf(wallet);
+
+        // when
+        final var actualUpdate = walletJpaRepository.debitIfSufficient(wallet.getId().getValue(), new BigDecimal("30.25"));
+
+        // then
+        assertTrue(actualUpdate.isPresent());
+        assertEquals(0, new BigDecimal("69.75").compareTo(actualUpdate.get().getCurrentBalance()));
+        assertEquals(0, actualUpdate.get().getBalanceSlots());
+        assertEquals(initialVersion + 1, actualUpdate.get().getVersion());
+        assertEquals(0, new BigDecimal("69.75").compareTo(currentBalanceOf(wallet)));
+    }
+
+    @Test
+    void givenInsufficientBalance_whenCallsDebitIfSufficient_thenShouldReturnEmptyAndKeepRow() {
+        // given
+        final var wallet = newWallet(BigDecimal.valueOf(10), 0);
+        final var initialVersion = versionOf(wallet);
+
+        // when
+        final var actualUpdate = walletJpaRepository.debitIfSufficient(wallet.getId().getValue(), new BigDecimal("10.01"));
+
+        // then
+        assertTrue(actualUpdate.isEmpty());
+        assertEquals(0, BigDecimal.valueOf(10).compareTo(currentBalanceOf(wallet)));
+        assertEquals(initialVersion, versionOf(wallet));
+    }
+
+    @Test
+    void givenNonExistingWallet_whenCallsDebitIfSufficientOrCredit_thenShouldReturnEmpty() {
+        assertTrue(walletJpaRepository.debitIfSufficient(UUID.randomUUID(), BigDecimal.ONE).isEmpty());
+        assertTrue(walletJpaRepository.credit(UUID.randomUUID(), BigDecimal.ONE).isEmpty());
+    }
+
+    @Test
+    void givenUnstripedWallet_whenCallsCredit_thenShouldReturnNewBalanceAndBumpVersion() {
+        // given
+        final var wallet = newWallet(BigDecimal.valueOf(5), 0);
+        final var initialVersion = versionOf(wallet);
+
+        // when
+        final var actualUpdate = walletJpaRepository.credit(wallet.getId().getValue(), new BigDecimal("0.10"));
+
+        // then
+        assertTrue(actualUpdate.isPresent());
+        assertEquals(0, new BigDecimal("5.10").compareTo(actualUpdate.get().getCurrentBalance()));
+        assertEquals(initialVersion + 1, actualUpdate.get().getVersion());
+        assertEquals(0, new BigDecimal("5.10").compareTo(currentBalanceOf(wallet)));
+    }
+
+    @Test
+    void givenStripedWallet_whenCallsCredit_thenShouldNotTouchWalletRow() {
+        // given
+        final var wallet = newWallet(BigDecimal.valueOf(5), 2);
+        final var initialVersion = versionOf(wallet);
+
+        // when
+        final var actualUpdate = walletJpaRepository.credit(wallet.getId().getValue(), BigDecimal.ONE);
+
+        // then
+        assertTrue(actualUpdate.isEmpty());
+        assertEquals(0, BigDecimal.valueOf(5).compareTo(currentBalanceOf(wallet)));
+        assertEquals(initialVersion, versionOf(wallet));
+    }
+
+    @Test
+    void givenUnstripedWallet_whenCallsGatewayDebitAndCredit_thenShouldReturnBalancesFromReturning() {
+        // given
+        final var wallet = newWallet(BigDecimal.valueOf(50), 0);
+
+        // when
+        final var afterDebit = walletGateway.debitIfSufficient(wallet.getId(), Money.of(BigDecimal.valueOf(20)));
+        final var rejected = walletGateway.debitIfSufficient(wallet.getId(), Money.of(BigDecimal.valueOf(31)));
+        final var afterCredit = walletGateway.credit(wallet.getId(), Money.of(BigDecimal.valueOf(1)));
+
+        // then
+        assertEquals(Money.of(BigDecimal.valueOf(30)), afterDebit.orElseThrow());
+        assertTrue(rejected.isEmpty());
+        assertEquals(Money.of(BigDecimal.valueOf(31)), afterCredit.orElseThrow());
+    }
+
+    @Test
+    void givenStripedWallet_whenCallsGatewayCredit_thenShouldReturnSettledBalancePlusCreditedSlot() {
+        // given
+        final var wallet = newWallet(BigDecimal.valueOf(40), 2);
+        final var initialVersion = versionOf(wallet);
+
+        // when
+        final var actualBalance = walletGateway.credit(wallet.getId(), Money.of(new BigDecimal("2.50")));
+
+        // then
+        assertEquals(Money.of(new BigDecimal("42.50")), actualBalance.orElseThrow());
+        assertEquals(0, BigDecimal.valueOf(40).compareTo(currentBalanceOf(wallet)));
+        assertEquals(initialVersion, versionOf(wallet));
+        assertEquals(Money.of(new BigDecimal("2.50")), walletGateway.pendingSlotBalance(wallet.getId()));
+    }
+
+    // Cada débito roda na própria transação: a condição do UPDATE precisa segurar a corrida sem lock explícito
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void givenConcurrentDebits_whenCallsDebitIfSufficient_thenShouldNeverOverdraw() throws Exception {
+        // given
+        final var wallet = newWallet(BigDecimal.valueOf(50), 0);
+        final var amount = Money.of(BigDecimal.valueOf(10));
+        final var attempts = 12;
+
+        // when
+        final long succeeded;
+        try (final var executor = Executors.newFixedThreadPool(attempts)) {
+            final var tasks = IntStream.range(0, attempts)
+                .mapToObj(i -> (Callable<Boolean>) () -> walletGateway.debitIfSufficient(wallet.getId(), amount).isPresent())
+                .toList();
+            succeeded = executor.invokeAll(tasks).stream()
+                .filter(future -> {
+                    try {
+                        return future.get();
+                    } catch (Exception ex) {
+                        throw new AssertionError(ex);
+                    }
+                })
+                .count();
+        }
+
+        // then
+        assertEquals(5, succeeded);
+        assertEquals(0, BigDecimal.ZERO.compareTo(currentBalanceOf(wallet)));
+    }
+
+    private Wallet newWallet(final BigDecimal balance, final int slots) {
+        final var wallet = Wallet.with(WalletID.unique(), UUID.randomUUID().toString(), Money.of(balance), WalletStatus.ACTIVE, slots);
+        walletGateway.save(wallet);
+        walletJpaRepository.flush();
+        return wallet;
+    }
+
+    private long versionOf(final Wallet wallet) {
+        walletJpaRepository.flush();
+        return walletJpaRepository.findVersionById(wallet.getId().getValue())
+            .orElseGet(() -> walletJpaRepository.findById(wallet.getId().getValue()).orElseThrow().getVersion());
+    }
+
+    private BigDecimal currentBalanceOf(final Wallet wallet) {
+        return walletJpaRepository.findCurrentBalanceById(wallet.getId().getValue()).orElseThrow().getAmount();
+    }
+}
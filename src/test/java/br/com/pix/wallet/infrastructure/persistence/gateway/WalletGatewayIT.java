@@ -7,12 +7,18 @@ import br.com.pix.wallet.domain.wallet.Wallet;
 import br.com.pix.wallet.domain.wallet.WalletGateway;
 import br.com.pix.wallet.domain.wallet.WalletID;
 import br.com.pix.wallet.domain.wallet.WalletStatus;
+import br.com.pix.wallet.infrastructure.persistence.entity.WalletBalanceSlotEntity;
+import br.com.pix.wallet.infrastructure.persistence.repository.WalletBalanceSlotJpaRepository;
 import br.com.pix.wallet.infrastructure.persistence.repository.WalletJpaRepository;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -25,6 +31,9 @@ class WalletGatewayIT {
     @Autowired
     private WalletJpaRepository walletJpaRepository;
 
+    @Autowired
+    private WalletBalanceSlotJpaRepository walletBalanceSlotJpaRepository;
+
     @Test
     void givenValidWallet_whenCallsSave_thenShouldPersistNewWallet() {
         // given
@@ -51,7 +60,7 @@ class WalletGatewayIT {
 
         assertEquals(actualWallet.getId().getValue(), entity.getId());
         assertEquals(expectedOwnerId, entity.getOwnerId());
-        assertEquals(expectedBalance.getAmount(), entity.getCurrentBalance());
+        assertEquals(expectedBalance, entity.getCurrentBalance());
         assertEquals(expectedStatus, entity.getStatus());
         assertNotNull(entity.getCreatedAt());
         assertNotNull(entity.getUpdatedAt());
@@ -94,7 +103,7 @@ class WalletGatewayIT {
 
         assertEquals(expectedId.getValue(), entity.getId());
         assertEquals(expectedOwnerId, entity.getOwnerId());
-        assertEquals(expectedBalance.getAmount(), entity.getCurrentBalance());
+        assertEquals(expectedBalance, entity.getCurrentBalance());
         assertEquals(expectedStatus, entity.getStatus());
     }
 
@@ -219,7 +228,190 @@ class WalletGatewayIT {
 
         final var entity = walletJpaRepository.findById(expectedWalletId.getValue()).orElseThrow();
 
-        assertEquals(BigDecimal.valueOf(100), entity.getCurrentBalance());
+        assertEquals(Money.of(BigDecimal.valueOf(100)), entity.getCurrentBalance());
+    }
+
+    @Test
+    void givenExistingWallets_whenCallsLockAll_thenShouldReturnWalletsOrderedById() {
+        // given
+        final var first = walletGateway.save(Wallet.newWallet(UUID.randomUUID().toString()));
+        final var second = walletGateway.save(Wallet.newWallet(UUID.randomUUID().toString()));
+
+        final var expectedIds = Stream.of(first.getId().getValue(), second.getId().getValue())
+            .sorted(Comparator.comparing(UUID::toString))
+            .toList();
+
+        // when
+        final var actualWallets = walletGateway.lockAll(List.of(second.getId(), first.getId(), second.getId()));
+
+        // then
+        assertEquals(2, actualWallets.size());
+        assertEquals(expectedIds, actualWallets.stream().map(wallet -> wallet.getId().getValue()).toList());
+    }
+
+    @Test
+    void givenOneNonExistingWallet_whenCallsLockAll_thenShouldThrowNotFoundException() {
+        // given
+        final var existing = walletGateway.save(Wallet.newWallet(UUID.randomUUID().toString()));
+        final var nonExistingId = WalletID.unique();
+
+        // when
+        final var actualException = assertThrows(
+            NotFoundException.class,
+            () -> walletGateway.lockAll(List.of(existing.getId(), nonExistingId))
+        );
+
+        // then
+        assertTrue(actualException.getMessage().contains(nonExistingId.getValue().toString()));
     }
 
+    @Test
+    void givenSomeNonExistingWallets_whenCallsLockExisting_thenShouldReturnOnlyExistingOrderedById() {
+        // given
+        final var first = walletGateway.save(Wallet.newWallet(UUID.randomUUID().toString()));
+        final var second = walletGateway.save(Wallet.newWallet(UUID.randomUUID().toString()));
+
+        final var expectedIds = Stream.of(first.getId().getValue(), second.getId().getValue())
+            .sorted(Comparator.comparing(UUID::toString))
+            .toList();
+
+        // when
+        final var actualWallets = walletGateway.lockExisting(
+            List.of(second.getId(), WalletID.unique(), first.getId(), second.getId())
+        );
+
+        // then
+        assertEquals(expectedIds, actualWallets.stream().map(wallet -> wallet.getId().getValue()).toList());
+        assertTrue(walletGateway.lockExisting(List.of()).isEmpty());
+    }
+
+    @Test
+    void givenStripedWallet_whenCallsSave_thenShouldCreateBalanceSlots() {
+        // given
+        final var wallet = Wallet.newWallet(UUID.randomUUID().toString());
+        wallet.enableBalanceStriping(4);
+
+        // when
+        final var actualWallet = walletGateway.save(wallet);
+
+        // then
+        assertTrue(actualWallet.isStriped());
+        assertEquals(4, actualWallet.getBalanceSlots());
+        assertEquals(4, walletBalanceSlotJpaRepository.countByWalletId(actualWallet.getId().getValue()));
+        assertEquals(actualWallet.getId().getValue(), walletGateway.findStripedWalletIds().getFirst().getValue());
+    }
+
+    @Test
+    void givenStripedWalletWithPendingCredits_whenCallsFindByIdWithLock_thenShouldLeaveSlotsUntouched() {
+        // given
+        final var wallet = Wallet.with(WalletID.unique(), UUID.randomUUID().toString(), Money.of(BigDecimal.valueOf(100)), WalletStatus.ACTIVE, 2);
+        walletGateway.save(wallet);
+        creditSlot(wallet.getId(), 0, BigDecimal.valueOf(10));
+        creditSlot(wallet.getId(), 1, BigDecimal.valueOf(5));
+
+        // when
+        final var actualWallet = walletGateway.findByIdWithLock(wallet.getId());
+
+        // then
+        assertEquals(0, BigDecimal.valueOf(100).compareTo(actualWallet.getCurrentBalance().getAmount()));
+        assertEquals(0, BigDecimal.valueOf(15).compareTo(walletGateway.pendingSlotBalance(wallet.getId()).getAmount()));
+    }
+
+    @Test
+    void givenLockedStripedWalletShortOfFunds_whenCallsCoverDebit_thenShouldSweepSlotsUntilCovered() {
+        // given
+        final var wallet = Wallet.with(WalletID.unique(), UUID.randomUUID().toString(), Money.of(BigDecimal.valueOf(100)), WalletStatus.ACTIVE, 2);
+        walletGateway.save(wallet);
+        creditSlot(wallet.getId(), 0, BigDecimal.valueOf(10));
+        creditSlot(wallet.getId(), 1, BigDecimal.valueOf(5));
+        final var lockedWallet = walletGateway.findByIdWithLock(wallet.getId());
+
+        // when
+        walletGateway.coverDebit(lockedWallet, Money.of(BigDecimal.valueOf(105)));
+
+        // then
+        assertEquals(0, BigDecimal.valueOf(110).compareTo(lockedWallet.getCurrentBalance().getAmount()));
+        assertEquals(0, BigDecimal.valueOf(5).compareTo(walletGateway.pendingSlotBalance(wallet.getId()).getAmount()));
+    }
+
+    @Test
+    void givenLockedStripedWalletWithEnoughFunds_whenCallsCoverDebit_thenShouldNotTouchSlots() {
+        // given
+        final var wallet = Wallet.with(WalletID.unique(), UUID.randomUUID().toString(), Money.of(BigDecimal.valueOf(100)), WalletStatus.ACTIVE, 2);
+        walletGateway.save(wallet);
+        creditSlot(wallet.getId(), 0, BigDecimal.valueOf(10));
+        final var lockedWallet = walletGateway.findByIdWithLock(wallet.getId());
+
+        // when
+        walletGateway.coverDebit(lockedWallet, Money.of(BigDecimal.valueOf(100)));
+
+        // then
+        assertEquals(0, BigDecimal.valueOf(100).compareTo(lockedWallet.getCurrentBalance().getAmount()));
+        assertEquals(0, BigDecimal.valueOf(10).compareTo(walletGateway.pendingSlotBalance(wallet.getId()).getAmount()));
+    }
+
+    @Test
+    void givenStripedWalletWithPendingCredits_whenCallsFoldBalanceSlots_thenShouldMoveEverySlotIntoBalance() {
+        // given
+        final var wallet = Wallet.with(WalletID.unique(), UUID.randomUUID().toString(), Money.of(BigDecimal.valueOf(100)), WalletStatus.ACTIVE, 2);
+        walletGateway.save(wallet);
+        creditSlot(wallet.getId(), 0, BigDecimal.valueOf(10));
+        creditSlot(wallet.getId(), 1, BigDecimal.valueOf(5));
+
+        // when
+        walletGateway.foldBalanceSlots(wallet.getId());
+
+        // then
+        assertEquals(0, BigDecimal.valueOf(115).compareTo(walletGateway.findById(wallet.getId()).getCurrentBalance().getAmount()));
+        assertEquals(0, BigDecimal.ZERO.compareTo(walletGateway.pendingSlotBalance(wallet.getId()).getAmount()));
+    }
+
+    @Test
+    void givenExistingWallet_whenCallsFindBalanceSnapshot_thenShouldCarryRowVersion() {
+        // given
+        final var wallet = Wallet.with(WalletID.unique(), UUID.randomUUID().toString(), Money.of(BigDecimal.valueOf(80)), WalletStatus.ACTIVE, 0);
+        walletGateway.save(wallet);
+        walletJpaRepository.flush();
+        final var expectedVersion = walletJpaRepository.findById(wallet.getId().getValue()).orElseThrow().getVersion();
+
+        // when
+        final var actualSnapshot = walletGateway.findBalanceSnapshot(wallet.getId());
+        final var actualVersion = walletGateway.findBalanceVersion(wallet.getId());
+
+        // then
+        assertEquals(0, BigDecimal.valueOf(80).compareTo(actualSnapshot.balance().getAmount()));
+        assertEquals(expectedVersion, actualSnapshot.version());
+        assertEquals(Optional.of(expectedVersion), actualVersion);
+    }
+
+    @Test
+    void givenStripedWallet_whenCallsFindBalanceSnapshot_thenShouldSumSlotsWithoutVersion() {
+        // given
+        final var wallet = Wallet.with(WalletID.unique(), UUID.randomUUID().toString(), Money.of(BigDecimal.valueOf(100)), WalletStatus.ACTIVE, 2);
+        walletGateway.save(wallet);
+        creditSlot(wallet.getId(), 1, BigDecimal.valueOf(25.5));
+
+        // when
+        final var actualSnapshot = walletGateway.findBalanceSnapshot(wallet.getId());
+        final var actualVersion = walletGateway.findBalanceVersion(wallet.getId());
+
+        // then
+        assertEquals(0, new BigDecimal("125.50").compareTo(actualSnapshot.balance().getAmount()));
+        assertNull(actualSnapshot.version());
+        assertTrue(actualVersion.isEmpty());
+    }
+
+    @Test
+    void givenNonExistingWalletId_whenCallsFindBalanceVersion_thenShouldReturnEmpty() {
+        assertTrue(walletGateway.findBalanceVersion(WalletID.unique()).isEmpty());
+        assertThrows(NotFoundException.class, () -> walletGateway.findBalanceSnapshot(WalletID.unique()));
+    }
+
+    private void creditSlot(final WalletID walletId, final int slot, final BigDecimal amount) {
+        final var entity = walletBalanceSlotJpaRepository
+            .findById(new WalletBalanceSlotEntity.Key(walletId.getValue(), slot))
+            .orElseThrow();
+        entity.setBalance(entity.getBalance().add(Money.of(amount)));
+        walletBalanceSlotJpaRepository.saveAndFlush(entity);
+    }
 }
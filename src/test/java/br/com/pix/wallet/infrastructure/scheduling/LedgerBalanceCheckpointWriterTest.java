@@ -0,0 +1,134 @@
+package br.com.pix.wallet.infrastructure.scheduling;
+
+import br.com.pix.wallet.domain.common.Money;
+import br.com.pix.wallet.domain.ledger.BalanceCheckpoint;
+import br.com.pix.wallet.domain.ledger.BalanceCheckpointGateway;
+import br.com.pix.wallet.domain.ledger.LedgerGateway;
+import br.com.pix.wallet.domain.wallet.WalletID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LedgerBalanceCheckpointWriterTest {
+
+    private static final long EVERY_ENTRIES = 100;
+
+    @Mock
+    private LedgerGateway ledgerGateway;
+
+    @Mock
+    private BalanceCheckpointGateway balanceCheckpointGateway;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private LedgerBalanceCheckpointWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        writer = new LedgerBalanceCheckpointWriter(
+            ledgerGateway,
+            balanceCheckpointGateway,
+            transactionManager,
+            EVERY_ENTRIES,
+            60,
+            0
+        );
+    }
+
+    @Test
+    void givenWalletWithoutCheckpoint_whenWritesCheckpoints_thenShouldFoldWholeLedgerIntoFirstCheckpoint() {
+        // given
+        final var walletId = WalletID.unique();
+
+        when(balanceCheckpointGateway.findLatestCheckpointAt()).thenReturn(Optional.empty());
+        when(ledgerGateway.findWalletIdsWithEntriesBetween(eq(Instant.EPOCH), any())).thenReturn(List.of(walletId));
+        when(balanceCheckpointGateway.findLastAtOrBefore(eq(walletId), any())).thenReturn(Optional.empty());
+        when(ledgerGateway.countBetween(eq(walletId), eq(Instant.EPOCH), any())).thenReturn(3L);
+        when(ledgerGateway.sumBalanceDeltaBetween(eq(walletId), eq(Instant.EPOCH), any())).thenReturn(7_000L);
+
+        // when
+        writer.writeCheckpoints();
+
+        // then
+        verify(balanceCheckpointGateway).save(argThat(checkpoint ->
+            checkpoint.getWalletId().getValue().equals(walletId.getValue())
+                && checkpoint.getBalance().getAmount().compareTo(BigDecimal.valueOf(70)) == 0
+                && checkpoint.getEntryCount() == 3
+        ));
+    }
+
+    @Test
+    void givenRecentCheckpointAndFewEntries_whenWritesCheckpoints_thenShouldSkipWallet() {
+        // given
+        final var walletId = WalletID.unique();
+        final var recent = BalanceCheckpoint.of(walletId, Instant.now().minus(5, ChronoUnit.MINUTES), Money.of(BigDecimal.TEN), 10);
+
+        when(balanceCheckpointGateway.findLatestCheckpointAt()).thenReturn(Optional.of(recent.getCheckpointAt()));
+        when(ledgerGateway.findWalletIdsWithEntriesBetween(eq(recent.getCheckpointAt()), any())).thenReturn(List.of(walletId));
+        when(balanceCheckpointGateway.findLastAtOrBefore(eq(walletId), any())).thenReturn(Optional.of(recent));
+        when(ledgerGateway.countBetween(eq(walletId), eq(recent.getCheckpointAt()), any())).thenReturn(EVERY_ENTRIES - 1);
+
+        // when
+        writer.writeCheckpoints();
+
+        // then
+        verify(balanceCheckpointGateway, never()).save(any());
+        verify(ledgerGateway, never()).sumBalanceDeltaBetween(any(), any(), any());
+    }
+
+    @Test
+    void givenRecentCheckpointAndManyEntries_whenWritesCheckpoints_thenShouldWriteNextCheckpoint() {
+        // given
+        final var walletId = WalletID.unique();
+        final var recent = BalanceCheckpoint.of(walletId, Instant.now().minus(5, ChronoUnit.MINUTES), Money.of(BigDecimal.TEN), 10);
+
+        when(balanceCheckpointGateway.findLatestCheckpointAt()).thenReturn(Optional.of(recent.getCheckpointAt()));
+        when(ledgerGateway.findWalletIdsWithEntriesBetween(eq(recent.getCheckpointAt()), any())).thenReturn(List.of(walletId));
+        when(balanceCheckpointGateway.findLastAtOrBefore(eq(walletId), any())).thenReturn(Optional.of(recent));
+        when(ledgerGateway.countBetween(eq(walletId), eq(recent.getCheckpointAt()), any())).thenReturn(EVERY_ENTRIES);
+        when(ledgerGateway.sumBalanceDeltaBetween(eq(walletId), eq(recent.getCheckpointAt()), any())).thenReturn(-400L);
+
+        // when
+        writer.writeCheckpoints();
+
+        // then
+        verify(balanceCheckpointGateway).save(argThat(checkpoint ->
+            checkpoint.getBalance().getAmount().compareTo(BigDecimal.valueOf(6)) == 0
+                && checkpoint.getEntryCount() == 10 + EVERY_ENTRIES
+                && checkpoint.getCheckpointAt().isAfter(recent.getCheckpointAt())
+        ));
+    }
+
+    @Test
+    void givenConsecutiveRuns_whenWritesCheckpoints_thenShouldOnlyScanEntriesSincePreviousRun() {
+        // given
+        when(balanceCheckpointGateway.findLatestCheckpointAt()).thenReturn(Optional.empty());
+        when(ledgerGateway.findWalletIdsWithEntriesBetween(any(), any())).thenReturn(List.of());
+
+        // when
+        writer.writeCheckpoints();
+        writer.writeCheckpoints();
+
+        // then
+        verify(balanceCheckpointGateway, times(1)).findLatestCheckpointAt();
+        verify(ledgerGateway).findWalletIdsWithEntriesBetween(eq(Instant.EPOCH), any());
+        verify(ledgerGateway).findWalletIdsWithEntriesBetween(argThat(from -> from.isAfter(Instant.EPOCH)), any());
+        assertEquals(2, mockingDetails(ledgerGateway).getInvocations().size());
+    }
+}
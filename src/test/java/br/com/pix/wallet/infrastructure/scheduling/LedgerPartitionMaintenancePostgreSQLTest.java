@@ -0,0 +1,125 @@
+package br.com.pix.wallet.infrastructure.scheduling;
+
+import br.com.pix.wallet.GatewayTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Timestamp;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// DETACH PARTITION e a partição DEFAULT da V008 só existem no PostgreSQL real
+@GatewayTest
+@Testcontainers
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class LedgerPartitionMaintenancePostgreSQLTest {
+
+    private static final DateTimeFormatter PARTITION_MONTH = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private static final String IS_ATTACHED = """
+        SELECT EXISTS (
+            SELECT 1
+            FROM pg_inherits i
+            JOIN pg_class c ON c.oid = i.inhrelid
+            WHERE i.inhparent = 'ledger_entry'::regclass
+              AND c.relname = ?
+        )
+        """;
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES_CONTAINER = new PostgreSQLContainer<>("postgres:16-alpine")
+        .withDatabaseName("pix_wallet_db")
+        .withUsername("pix_user")
+        .withPassword("pix_password");
+
+    @DynamicPropertySource
+    static void setDatasourceProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES_CONTAINER::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES_CONTAINER::getUsername);
+        registry.add("spring.datasource.password", POSTGRES_CONTAINER::getPassword);
+        registry.add("spring.datasource.driver-class-name", POSTGRES_CONTAINER::getDriverClassName);
+        registry.add("spring.flyway.url", POSTGRES_CONTAINER::getJdbcUrl);
+        registry.add("spring.flyway.user", POSTGRES_CONTAINER::getUsername);
+        registry.add("spring.flyway.password", POSTGRES_CONTAINER::getPassword);
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void givenDefaultPartitionAndExpiredMonth_whenApplyRetention_thenShouldDetachAndArchiveOnlyThatMonth() {
+        // given
+        // A V008 cria os meses à frente do corrente; o primeiro deles faz o papel do mês expirado
+        final var expiredMonth = YearMonth.now().plusMonths(1);
+        final var expired = "ledger_entry_p" + expiredMonth.format(PARTITION_MONTH);
+        final var kept = "ledger_entry_p" + expiredMonth.plusMonths(1).format(PARTITION_MONTH);
+        final var walletId = newWallet();
+        insertEntry(walletId, expiredMonth);
+
+        final var maintenance = new LedgerPartitionMaintenance(jdbcTemplate, transactionManager, 3, 1, "archive", 2000);
+
+        // when
+        maintenance.applyRetention(expiredMonth.plusMonths(1));
+
+        // then
+        assertFalse(isAttached(expired));
+        assertTrue(isAttached(kept));
+        assertTrue(isAttached("ledger_entry_default"));
+        assertTrue(isAttached("ledger_entry_legacy"));
+        assertEquals(1, jdbcTemplate.queryForObject(
+            "SELECT count(*) FROM ledger_archive." + expired + " WHERE wallet_id = ?", Integer.class, walletId
+        ));
+        assertEquals(0, jdbcTemplate.queryForObject(
+            "SELECT count(*) FROM ledger_entry WHERE wallet_id = ?", Integer.class, walletId
+        ));
+
+        // Um lançamento atrasado do mês desanexado cai na DEFAULT em vez de falhar
+        insertEntry(walletId, expiredMonth);
+        assertEquals(1, jdbcTemplate.queryForObject(
+            "SELECT count(*) FROM ledger_entry_default WHERE wallet_id = ?", Integer.class, walletId
+        ));
+    }
+
+    private UUID newWallet() {
+        final var walletId = UUID.randomUUID();
+        jdbcTemplate.update(
+            "INSERT INTO wallet (id, owner_id, current_balance, status, created_at) VALUES (?, ?, 0, 'ACTIVE', now())",
+            walletId,
+            UUID.randomUUID().toString()
+        );
+        return walletId;
+    }
+
+    private void insertEntry(final UUID walletId, final YearMonth month) {
+        jdbcTemplate.update(
+            """
+                INSERT INTO ledger_entry (id, wallet_id, operation_type, amount, balance_after_operation, occurred_at)
+                VALUES (?, ?, 'DEPOSIT', 10, 10, ?)
+                """,
+            UUID.randomUUID(),
+            walletId,
+            Timestamp.valueOf(month.atDay(15).atStartOfDay())
+        );
+    }
+
+    private boolean isAttached(final String partition) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(IS_ATTACHED, Boolean.class, partition));
+    }
+}
@@ -0,0 +1,108 @@
+package br.com.pix.wallet.infrastructure.scheduling;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.Date;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LedgerPartitionMaintenanceTest {
+
+    private static final DateTimeFormatter PARTITION_MONTH = DateTimeFormatter.ofPattern("yyyyMM");
+
+    @Mock
+    private JdbcOperations jdbcOperations;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void givenPremakeMonths_whenMaintains_thenShouldEnsurePartitionsFromPreviousMonthAhead() {
+        // given
+        final var maintenance = new LedgerPartitionMaintenance(jdbcOperations, transactionManager, 2, 0, "archive", 2000);
+        final var currentMonth = YearMonth.now();
+
+        // when
+        maintenance.maintain();
+
+        // then
+        for (int offset = -1; offset <= 2; offset++) {
+            final var month = Date.valueOf(currentMonth.plusMonths(offset).atDay(1));
+            verify(jdbcOperations).queryForObject("SELECT ledger_entry_ensure_partition(?)", String.class, month);
+        }
+        verify(jdbcOperations, never()).queryForList(anyString(), eq(String.class));
+    }
+
+    @Test
+    void givenExpiredPartitions_whenMaintains_thenShouldDetachAndArchiveOnlyThemUnderLockTimeout() {
+        // given
+        final var maintenance = new LedgerPartitionMaintenance(jdbcOperations, transactionManager, 0, 12, "archive", 1500);
+        final var currentMonth = YearMonth.now();
+        final var expired = partitionOf(currentMonth.minusMonths(13));
+        final var older = partitionOf(currentMonth.minusMonths(14));
+        final var kept = partitionOf(currentMonth.minusMonths(12));
+
+        givenPartitions(List.of(expired, older, kept, "ledger_entry_legacy", "ledger_entry_default"));
+        final var executed = givenExecutedStatements();
+
+        // when
+        maintenance.maintain();
+
+        // then
+        assertEquals(List.of(
+            "SET LOCAL lock_timeout = 1500",
+            "ALTER TABLE ledger_entry DETACH PARTITION " + expired,
+            "ALTER TABLE " + expired + " SET SCHEMA ledger_archive",
+            "SET LOCAL lock_timeout = 1500",
+            "ALTER TABLE ledger_entry DETACH PARTITION " + older,
+            "ALTER TABLE " + older + " SET SCHEMA ledger_archive"
+        ), executed);
+        // Cada partição na sua transação, para o lock em ledger_entry durar só o DETACH dela
+        verify(transactionManager, times(4)).commit(any());
+    }
+
+    @Test
+    void givenDetachAction_whenMaintains_thenShouldKeepDetachedPartitionInPlace() {
+        // given
+        final var maintenance = new LedgerPartitionMaintenance(jdbcOperations, transactionManager, 0, 1, "detach", 2000);
+        final var expired = partitionOf(YearMonth.now().minusMonths(2));
+
+        givenPartitions(List.of(expired));
+        final var executed = givenExecutedStatements();
+
+        // when
+        maintenance.maintain();
+
+        // then
+        assertEquals(List.of(
+            "SET LOCAL lock_timeout = 2000",
+            "ALTER TABLE ledger_entry DETACH PARTITION " + expired
+        ), executed);
+    }
+
+    private static String partitionOf(final YearMonth month) {
+        return "ledger_entry_p" + month.format(PARTITION_MONTH);
+    }
+
+    private void givenPartitions(final List<String> names) {
+        when(jdbcOperations.queryForList(anyString(), eq(String.class))).thenReturn(names);
+    }
+
+    private List<String> givenExecutedStatements() {
+        final var executed = new ArrayList<String>();
+        doAnswer(invocation -> executed.add(invocation.getArgument(0))).when(jdbcOperations).execute(anyString());
+        return executed;
+    }
+}
@@ -0,0 +1,108 @@
+package br.com.pix.wallet.infrastructure.webhook;
+
+import br.com.pix.wallet.application.metrics.ApplicationMetrics;
+import br.com.pix.wallet.domain.exception.ServiceUnavailableException;
+import br.com.pix.wallet.domain.pix.webhook.PixWebhookEvent;
+import br.com.pix.wallet.domain.pix.webhook.PixWebhookEventType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BufferedPixWebhookInboxTest {
+
+    @Mock
+    private PixWebhookInboxWriter writer;
+
+    @Mock
+    private ApplicationMetrics applicationMetrics;
+
+    private BufferedPixWebhookInbox inbox;
+
+    @BeforeEach
+    void setUp() {
+        inbox = new BufferedPixWebhookInbox(writer, applicationMetrics, 100, 1, 50, 5_000);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        inbox.destroy();
+    }
+
+    @Test
+    void givenBatchBeingWritten_whenEnqueue_thenShouldCompleteOnlyAfterInboxCommit() throws Exception {
+        // given
+        final var writing = new CountDownLatch(1);
+        final var commit = new CountDownLatch(1);
+        when(writer.append(anyList())).thenAnswer(invocation -> {
+            writing.countDown();
+            commit.await(5, TimeUnit.SECONDS);
+            return invocation.getArgument(0);
+        });
+
+        // when
+        final var stored = inbox.enqueue(event());
+
+        // then
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+        assertFalse(stored.isDone());
+
+        commit.countDown();
+        stored.get(5, TimeUnit.SECONDS);
+        verify(writer, timeout(5_000)).promoteAppended(anyList());
+    }
+
+    @Test
+    void givenInboxWriteFailing_whenShutsDown_thenShouldRejectEventsInsteadOfDroppingThem() throws Exception {
+        // given
+        final var failed = new CountDownLatch(1);
+        when(writer.append(anyList())).thenAnswer(invocation -> {
+            failed.countDown();
+            throw new IllegalStateException("database down");
+        });
+        final var stored = inbox.enqueue(event());
+        assertTrue(failed.await(5, TimeUnit.SECONDS));
+
+        // when
+        inbox.destroy();
+
+        // then
+        final var exception = assertThrows(ExecutionException.class, () -> stored.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(ServiceUnavailableException.class, exception.getCause());
+        verify(writer, never()).promoteAppended(any());
+    }
+
+    @Test
+    void givenStoppedInbox_whenEnqueue_thenShouldThrowServiceUnavailable() throws Exception {
+        // given
+        inbox.destroy();
+
+        // when / then
+        assertThrows(ServiceUnavailableException.class, () -> inbox.enqueue(event()));
+        verify(writer, never()).append(List.of());
+    }
+
+    private static PixWebhookEvent event() {
+        return PixWebhookEvent.newEvent(
+            PixWebhookEventType.CREDIT_CONFIRMED,
+            UUID.randomUUID().toString(),
+            "E12345678202311261234567890AB",
+            Instant.now()
+        );
+    }
+}
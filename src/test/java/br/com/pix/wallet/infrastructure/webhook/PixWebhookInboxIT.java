@@ -0,0 +1,209 @@
+package br.com.pix.wallet.infrastructure.webhook;
+
+import br.com.pix.wallet.IntegrationTest;
+import br.com.pix.wallet.application.pix.transfer.CreatePixTransferCommand;
+import br.com.pix.wallet.application.pix.transfer.CreatePixTransferUseCase;
+import br.com.pix.wallet.application.pix.webhook.HandlePixWebhookCommand;
+import br.com.pix.wallet.application.pix.webhook.HandlePixWebhookUseCase;
+import br.com.pix.wallet.domain.common.Money;
+import br.com.pix.wallet.domain.pix.transfer.PixTransfer;
+import br.com.pix.wallet.domain.ledger.LedgerCursor;
+import br.com.pix.wallet.domain.ledger.LedgerEntry;
+import br.com.pix.wallet.domain.ledger.LedgerGateway;
+import br.com.pix.wallet.domain.ledger.LedgerOperationType;
+import br.com.pix.wallet.domain.pix.transfer.PixTransferGateway;
+import br.com.pix.wallet.domain.pix.transfer.PixTransferStatus;
+import br.com.pix.wallet.domain.pix.webhook.PixWebhookEventGateway;
+import br.com.pix.wallet.domain.wallet.Wallet;
+import br.com.pix.wallet.domain.wallet.WalletGateway;
+import br.com.pix.wallet.domain.wallet.WalletID;
+import br.com.pix.wallet.infrastructure.persistence.repository.PixWebhookEventJpaRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@IntegrationTest
+@TestPropertySource(properties = "pix-wallet.webhook-ingest.mode=async")
+class PixWebhookInboxIT {
+
+    @Autowired
+    private HandlePixWebhookUseCase handlePixWebhookUseCase;
+
+    @Autowired
+    private PixWebhookEventGateway pixWebhookEventGateway;
+
+    @Autowired
+    private PixWebhookEventJpaRepository pixWebhookEventJpaRepository;
+
+    @Autowired
+    private PixTransferGateway pixTransferGateway;
+
+    @Autowired
+    private WalletGateway walletGateway;
+
+    @Autowired
+    private CreatePixTransferUseCase createPixTransferUseCase;
+
+    @Autowired
+    private LedgerGateway ledgerGateway;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PixWebhookInboxWriter pixWebhookInboxWriter;
+
+    @Test
+    void givenAcceptedEvents_whenWorkerDrainsInbox_thenShouldPromoteOnlyKnownTransfersOnce() throws Exception {
+        // given
+        final var transfer = pixTransferGateway.save(PixTransfer.newTransfer(
+            createWallet(),
+            createWallet(),
+            Money.of(BigDecimal.TEN),
+            UUID.randomUUID().toString(),
+            UUID.randomUUID().toString()
+        ));
+        final var knownEventId = UUID.randomUUID().toString();
+        final var unknownEventId = UUID.randomUUID().toString();
+
+        // when
+        final var accepted = handlePixWebhookUseCase.execute(command(knownEventId, transfer.getEndToEndId()));
+        handlePixWebhookUseCase.execute(command(knownEventId, transfer.getEndToEndId()));
+        handlePixWebhookUseCase.execute(command(unknownEventId, UUID.randomUUID().toString()));
+
+        // then
+        assertNull(accepted.processedAt());
+        await(() -> pixWebhookEventGateway.existsByEventId(knownEventId) && attemptsOf(unknownEventId) > 0);
+
+        assertEquals(1, pixWebhookEventJpaRepository.count());
+        assertEquals(
+            accepted.webhookEventId(),
+            pixWebhookEventGateway.findByEventId(knownEventId).get().getId().getValue().toString()
+        );
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM webhook_inbox", Integer.class));
+        assertEquals(
+            1,
+            jdbcTemplate.queryForObject("SELECT COUNT(*) FROM webhook_inbox WHERE processed_at IS NULL", Integer.class)
+        );
+    }
+
+    @Test
+    void givenConfirmationAndRefund_whenWorkerDrainsInbox_thenShouldRefundTransferAndPostLedgerEntries() throws Exception {
+        // given
+        final var payer = createWallet();
+        final var payee = createWallet();
+        final var payerWallet = walletGateway.findById(payer);
+        payerWallet.deposit(Money.of(BigDecimal.valueOf(100)));
+        walletGateway.save(payerWallet);
+
+        final var endToEndId = UUID.randomUUID().toString();
+        createPixTransferUseCase.execute(CreatePixTransferCommand.with(
+            payer.getValue().toString(),
+            payee.getValue().toString(),
+            BigDecimal.valueOf(30),
+            UUID.randomUUID().toString(),
+            endToEndId
+        ));
+
+        // when
+        handlePixWebhookUseCase.execute(command(UUID.randomUUID().toString(), endToEndId));
+        handlePixWebhookUseCase.execute(HandlePixWebhookCommand.with(
+            UUID.randomUUID().toString(),
+            endToEndId,
+            "REFUND_PROCESSED",
+            Instant.now()
+        ));
+
+        // then
+        await(() -> pixTransferGateway.findByEndToEndId(endToEndId).get().getStatus() == PixTransferStatus.REFUNDED);
+
+        assertEquals(0, BigDecimal.valueOf(100).compareTo(walletGateway.findById(payer).getCurrentBalance().getAmount()));
+        assertEquals(0, BigDecimal.ZERO.compareTo(walletGateway.findById(payee).getCurrentBalance().getAmount()));
+        assertTrue(entriesOf(payer).stream()
+            .anyMatch(entry -> entry.getOperationType() == LedgerOperationType.REFUND && endToEndId.equals(entry.getEndToEndId())));
+        assertEquals(2, entriesOf(payee).stream()
+            .filter(entry -> endToEndId.equals(entry.getEndToEndId()))
+            .count());
+    }
+
+    @Test
+    void givenPayeeWithoutBalance_whenWorkerDrainsInbox_thenShouldKeepRefundPendingUntilItCanBeApplied() throws Exception {
+        // given
+        final var payer = createWallet();
+        final var payee = createWallet();
+        final var payerWallet = walletGateway.findById(payer);
+        payerWallet.deposit(Money.of(BigDecimal.valueOf(100)));
+        walletGateway.save(payerWallet);
+
+        final var endToEndId = UUID.randomUUID().toString();
+        createPixTransferUseCase.execute(CreatePixTransferCommand.with(
+            payer.getValue().toString(),
+            payee.getValue().toString(),
+            BigDecimal.valueOf(30),
+            UUID.randomUUID().toString(),
+            endToEndId
+        ));
+        final var payeeWallet = walletGateway.findById(payee);
+        payeeWallet.withdraw(Money.of(BigDecimal.valueOf(30)));
+        walletGateway.save(payeeWallet);
+
+        final var refundEventId = UUID.randomUUID().toString();
+
+        // when
+        handlePixWebhookUseCase.execute(HandlePixWebhookCommand.with(refundEventId, endToEndId, "REFUND_PROCESSED", Instant.now()));
+
+        // then
+        await(() -> attemptsOf(refundEventId) > 0);
+        assertNotEquals(PixTransferStatus.REFUNDED, pixTransferGateway.findByEndToEndId(endToEndId).get().getStatus());
+        assertFalse(pixWebhookEventGateway.existsByEventId(refundEventId));
+        assertEquals(0, BigDecimal.valueOf(70).compareTo(walletGateway.findById(payer).getCurrentBalance().getAmount()));
+
+        // when: o recebedor volta a ter saldo e o sweeper retoma o evento
+        final var fundedPayee = walletGateway.findById(payee);
+        fundedPayee.deposit(Money.of(BigDecimal.valueOf(30)));
+        walletGateway.save(fundedPayee);
+        pixWebhookInboxWriter.promotePending(Instant.now().plusSeconds(1), 10, 100);
+
+        // then
+        assertEquals(PixTransferStatus.REFUNDED, pixTransferGateway.findByEndToEndId(endToEndId).get().getStatus());
+        assertTrue(pixWebhookEventGateway.existsByEventId(refundEventId));
+        assertEquals(0, BigDecimal.valueOf(100).compareTo(walletGateway.findById(payer).getCurrentBalance().getAmount()));
+        assertEquals(0, BigDecimal.ZERO.compareTo(walletGateway.findById(payee).getCurrentBalance().getAmount()));
+    }
+
+    private int attemptsOf(final String eventId) {
+        return jdbcTemplate.queryForList("SELECT attempts FROM webhook_inbox WHERE event_id = ?", Integer.class, eventId)
+            .stream()
+            .findFirst()
+            .orElse(0);
+    }
+
+    private WalletID createWallet() {
+        return walletGateway.save(Wallet.newWallet(UUID.randomUUID().toString())).getId();
+    }
+
+    private static HandlePixWebhookCommand command(final String eventId, final String endToEndId) {
+        return HandlePixWebhookCommand.with(eventId, endToEndId, "CREDIT_CONFIRMED", Instant.now());
+    }
+
+    private static void await(final BooleanSupplier condition) throws InterruptedException {
+        final var deadline = System.nanoTime() + 5_000_000_000L;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "webhook inbox was not drained in time");
+            Thread.sleep(20);
+        }
+    }
+
+    private List<LedgerEntry> entriesOf(final WalletID walletId) {
+        return ledgerGateway.findPageAfter(walletId, LedgerCursor.startingAt(Instant.EPOCH), Instant.now(), 1_000);
+    }
+}
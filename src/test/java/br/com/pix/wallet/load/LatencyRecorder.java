@@ -0,0 +1,91 @@
+package br.com.pix.wallet.load;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+// Uma instância por virtual thread: nada é compartilhado durante a carga, só na consolidação.
+final class LatencyRecorder {
+
+    enum Operation { TRANSFER, DEPOSIT, WITHDRAW, BALANCE }
+
+    enum Outcome { OK, REJECTED, FAILED }
+
+    private final Map<Operation, Samples> samples = new EnumMap<>(Operation.class);
+
+    void record(final Operation operation, final Outcome outcome, final long latencyNanos) {
+        samples.computeIfAbsent(operation, op -> new Samples()).add(outcome, latencyNanos);
+    }
+
+    static Map<Operation, Summary> summarize(final List<LatencyRecorder> recorders) {
+        final var summaries = new EnumMap<Operation, Summary>(Operation.class);
+        for (final var operation : Operation.values()) {
+            final var merged = new Samples();
+            recorders.forEach(recorder -> {
+                final var own = recorder.samples.get(operation);
+                if (own != null) {
+                    merged.addAll(own);
+                }
+            });
+            summaries.put(operation, merged.summary());
+        }
+        return summaries;
+    }
+
+    record Summary(long ok, long rejected, long failed, long p50Nanos, long p99Nanos, long p999Nanos, long maxNanos) {
+
+        long total() {
+            return ok + rejected + failed;
+        }
+    }
+
+    private static final class Samples {
+
+        private long[] latencies = new long[1024];
+        private int size;
+        private final long[] outcomes = new long[Outcome.values().length];
+
+        void add(final Outcome outcome, final long latencyNanos) {
+            if (size == latencies.length) {
+                latencies = Arrays.copyOf(latencies, size * 2);
+            }
+            latencies[size++] = latencyNanos;
+            outcomes[outcome.ordinal()]++;
+        }
+
+        void addAll(final Samples other) {
+            if (size + other.size > latencies.length) {
+                latencies = Arrays.copyOf(latencies, Math.max(latencies.length * 2, size + other.size));
+            }
+            System.arraycopy(other.latencies, 0, latencies, size, other.size);
+            size += other.size;
+            for (int i = 0; i < outcomes.length; i++) {
+                outcomes[i] += other.outcomes[i];
+            }
+        }
+
+        Summary summary() {
+            final var sorted = Arrays.copyOf(latencies, size);
+            Arrays.sort(sorted);
+            return new Summary(
+                outcomes[Outcome.OK.ordinal()],
+                outcomes[Outcome.REJECTED.ordinal()],
+                outcomes[Outcome.FAILED.ordinal()],
+                percentile(sorted, 0.50),
+                percentile(sorted, 0.99),
+                percentile(sorted, 0.999),
+                size == 0 ? 0 : sorted[size - 1]
+            );
+        }
+
+        // nearest-rank
+        private static long percentile(final long[] sorted, final double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            final var rank = (int) Math.ceil(quantile * sorted.length);
+            return sorted[Math.max(0, rank - 1)];
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package br.com.pix.wallet.load;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+
+// Parâmetros do teste de carga, lidos de -Dload.* (ex.: mvn verify -Pload -Dload.hotWalletSkew=0.9).
+record LoadSettings(
+    int wallets,
+    int hotWallets,
+    double hotWalletSkew,
+    int virtualThreads,
+    Duration warmup,
+    Duration duration,
+    BigDecimal initialBalance,
+    int transferWeight,
+    int depositWeight,
+    int withdrawWeight,
+    int balanceWeight,
+    boolean idempotencyHeader,
+    double maxFailureRate,
+    String reportFile
+) {
+
+    static LoadSettings fromSystemProperties() {
+        final var settings = new LoadSettings(
+            Integer.getInteger("load.wallets", 50),
+            Integer.getInteger("load.hotWallets", 2),
+            Double.parseDouble(System.getProperty("load.hotWalletSkew", "0.8")),
+            Integer.getInteger("load.virtualThreads", 32),
+            Duration.ofSeconds(Long.getLong("load.warmupSeconds", 5L)),
+            Duration.ofSeconds(Long.getLong("load.durationSeconds", 30L)),
+            new BigDecimal(System.getProperty("load.initialBalance", "100000.00")),
+            Integer.getInteger("load.mix.transfer", 50),
+            Integer.getInteger("load.mix.deposit", 20),
+            Integer.getInteger("load.mix.withdraw", 15),
+            Integer.getInteger("load.mix.balance", 15),
+            Boolean.parseBoolean(System.getProperty("load.idempotencyHeader", "true")),
+            Double.parseDouble(System.getProperty("load.maxFailureRate", "0.01")),
+            System.getProperty("load.reportFile", "target/load-report.txt")
+        );
+        settings.validate();
+        return settings;
+    }
+
+    int totalWeight() {
+        return transferWeight + depositWeight + withdrawWeight + balanceWeight;
+    }
+
+    private void validate() {
+        if (wallets < 2) {
+            throw new IllegalArgumentException("'load.wallets' must be >= 2");
+        }
+        if (hotWallets < 1 || hotWallets > wallets) {
+            throw new IllegalArgumentException("'load.hotWallets' must be between 1 and 'load.wallets'");
+        }
+        if (hotWalletSkew < 0 || hotWalletSkew > 1) {
+            throw new IllegalArgumentException("'load.hotWalletSkew' must be between 0 and 1");
+        }
+        if (virtualThreads < 1) {
+            throw new IllegalArgumentException("'load.virtualThreads' must be >= 1");
+        }
+        if (totalWeight() <= 0) {
+            throw new IllegalArgumentException("'load.mix.*' must add up to a positive weight");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "wallets=%d hotWallets=%d hotWalletSkew=%.2f virtualThreads=%d warmup=%ss duration=%ss mix(transfer/deposit/withdraw/balance)=%d/%d/%d/%d idempotencyHeader=%s"
+            .formatted(
+                wallets, hotWallets, hotWalletSkew, virtualThreads, warmup.toSeconds(), duration.toSeconds(),
+                transferWeight, depositWeight, withdrawWeight, balanceWeight, idempotencyHeader
+            );
+    }
+}
@@ -0,0 +1,348 @@
+package br.com.pix.wallet.load;
+
+import br.com.pix.wallet.infrastructure.config.WebServerConfig;
+import br.com.pix.wallet.infrastructure.config.json.Json;
+import br.com.pix.wallet.load.LatencyRecorder.Operation;
+import br.com.pix.wallet.load.LatencyRecorder.Outcome;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Carga concorrente de ponta a ponta: mvn verify -Pload (parâmetros em LoadSettings).
+// Por padrão usa o H2 em modo PostgreSQL do perfil test-integration; para um PostgreSQL real basta
+// passar -Dspring.datasource.url/-Dspring.datasource.username/-Dspring.datasource.password/-Dspring.datasource.driver-class-name.
+@ActiveProfiles("test-integration")
+@SpringBootTest(classes = WebServerConfig.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@EnabledIfSystemProperty(named = "load.enabled", matches = "true")
+class WalletLoadIT {
+
+    private static final Logger log = LoggerFactory.getLogger(WalletLoadIT.class);
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    private final HttpClient client = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .executor(Executors.newVirtualThreadPerTaskExecutor())
+        .connectTimeout(Duration.ofSeconds(5))
+        .build();
+
+    @Test
+    void givenConcurrentTraffic_whenRunsLoad_thenLedgerInvariantsShouldHold() throws Exception {
+        final var settings = LoadSettings.fromSystemProperties();
+        final var runId = UUID.randomUUID().toString().substring(0, 8);
+        final var walletIds = createFundedWallets(settings, runId);
+
+        final var startedAt = System.nanoTime();
+        final var measureFrom = startedAt + settings.warmup().toNanos();
+        final var deadline = measureFrom + settings.duration().toNanos();
+
+        final var workers = new ArrayList<Worker>(settings.virtualThreads());
+        try (final var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < settings.virtualThreads(); i++) {
+                final var worker = new Worker(settings, walletIds, runId + "-" + i, measureFrom, deadline);
+                workers.add(worker);
+                executor.submit(worker::run);
+            }
+        }
+
+        final var elapsedSeconds = settings.duration().toNanos() / 1e9;
+        final var summaries = LatencyRecorder.summarize(workers.stream().map(worker -> worker.recorder).toList());
+        final var violations = checkInvariants(settings, walletIds, workers, runId);
+
+        final var report = report(settings, summaries, elapsedSeconds, violations, workers);
+        log.info("\n{}", report);
+        final var reportFile = Path.of(settings.reportFile());
+        Files.createDirectories(reportFile.toAbsolutePath().getParent());
+        Files.writeString(reportFile, report);
+
+        final var total = summaries.values().stream().mapToLong(LatencyRecorder.Summary::total).sum();
+        final var failed = summaries.values().stream().mapToLong(LatencyRecorder.Summary::failed).sum();
+        assertTrue(violations.isEmpty(), () -> "Ledger invariant violations:\n" + String.join("\n", violations));
+        assertTrue(
+            total > 0 && (double) failed / total <= settings.maxFailureRate(),
+            () -> "Failure rate above %.4f: %d of %d requests".formatted(settings.maxFailureRate(), failed, total)
+        );
+    }
+
+    private List<String> createFundedWallets(final LoadSettings settings, final String runId) throws Exception {
+        final var walletIds = new ArrayList<String>(settings.wallets());
+        for (int i = 0; i < settings.wallets(); i++) {
+            final var response = post("/wallets", Map.of("ownerId", "load-" + runId + "-" + i), null);
+            if (response.statusCode() != 201) {
+                throw new IllegalStateException("Wallet creation failed: %d %s".formatted(response.statusCode(), response.body()));
+            }
+            final var walletId = (String) Json.readValue(response.body(), Map.class).get("walletId");
+            final var deposit = post("/wallets/" + walletId + "/deposit", Map.of("amount", settings.initialBalance()), null);
+            if (deposit.statusCode() != 200) {
+                throw new IllegalStateException("Initial deposit failed: %d %s".formatted(deposit.statusCode(), deposit.body()));
+            }
+            walletIds.add(walletId);
+        }
+        return List.copyOf(walletIds);
+    }
+
+    private List<String> checkInvariants(
+        final LoadSettings settings,
+        final List<String> walletIds,
+        final List<Worker> workers,
+        final String runId
+    ) {
+        final var violations = new ArrayList<String>();
+        final var ids = walletIds.stream().map(UUID::fromString).toList();
+        final var params = Map.of("ids", ids, "e2e", "E2E-LOAD-" + runId + "-%");
+
+        // Saldo materializado (carteira + slots) precisa bater com a soma do ledger de cada carteira.
+        final var rows = jdbcTemplate.queryForList("""
+            SELECT w.id AS wallet_id,
+                   w.current_balance + COALESCE((SELECT SUM(s.balance) FROM wallet_balance_slot s WHERE s.wallet_id = w.id), 0) AS balance,
+                   COALESCE((SELECT SUM(CASE WHEN e.operation_type IN ('DEPOSIT', 'PIX_CREDIT', 'REFUND') THEN e.amount ELSE -e.amount END)
+                             FROM ledger_entry e WHERE e.wallet_id = w.id), 0) AS ledger_sum
+            FROM wallet w
+            WHERE w.id IN (:ids)
+            """, params);
+
+        var totalBalance = BigDecimal.ZERO;
+        for (final var row : rows) {
+            final var balance = (BigDecimal) row.get("balance");
+            final var ledgerSum = (BigDecimal) row.get("ledger_sum");
+            totalBalance = totalBalance.add(balance);
+            if (balance.signum() < 0) {
+                violations.add("wallet %s has negative balance %s".formatted(row.get("wallet_id"), balance));
+            }
+            if (balance.compareTo(ledgerSum) != 0) {
+                violations.add("wallet %s balance %s != ledger sum %s".formatted(row.get("wallet_id"), balance, ledgerSum));
+            }
+        }
+
+        // Toda transferência confirmada tem exatamente um débito e um crédito.
+        jdbcTemplate.queryForList("""
+            SELECT end_to_end_id, COUNT(*) AS entries
+            FROM ledger_entry
+            WHERE end_to_end_id LIKE :e2e
+            GROUP BY end_to_end_id
+            HAVING COUNT(*) <> 2
+               OR SUM(CASE WHEN operation_type = 'PIX_DEBIT' THEN amount ELSE 0 END)
+                  <> SUM(CASE WHEN operation_type = 'PIX_CREDIT' THEN amount ELSE 0 END)
+            """, params).forEach(row -> violations.add(
+            "transfer %s has unbalanced ledger entries (%s)".formatted(row.get("end_to_end_id"), row.get("entries"))
+        ));
+
+        // Conservação: transferências não criam nem destroem dinheiro. Só é exata sem respostas indeterminadas.
+        final var indeterminate = workers.stream().mapToLong(worker -> worker.indeterminate).sum();
+        if (indeterminate == 0) {
+            final var depositedCents = workers.stream().mapToLong(worker -> worker.depositedCents).sum();
+            final var withdrawnCents = workers.stream().mapToLong(worker -> worker.withdrawnCents).sum();
+            final var expected = settings.initialBalance().multiply(BigDecimal.valueOf(walletIds.size()))
+                .add(BigDecimal.valueOf(depositedCents - withdrawnCents, 2));
+            if (expected.compareTo(totalBalance) != 0) {
+                violations.add("total balance %s != expected %s".formatted(totalBalance, expected));
+            }
+        }
+
+        return violations;
+    }
+
+    private static String report(
+        final LoadSettings settings,
+        final Map<Operation, LatencyRecorder.Summary> summaries,
+        final double elapsedSeconds,
+        final List<String> violations,
+        final List<Worker> workers
+    ) {
+        final var report = new StringBuilder()
+            .append("Load test: ").append(settings).append('\n')
+            .append("%-9s %9s %9s %7s %10s %9s %9s %9s %9s%n".formatted(
+                "operation", "ok", "rejected", "failed", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms"));
+
+        long total = 0;
+        for (final var entry : summaries.entrySet()) {
+            final var summary = entry.getValue();
+            total += summary.total();
+            report.append("%-9s %9d %9d %7d %10.1f %9.2f %9.2f %9.2f %9.2f%n".formatted(
+                entry.getKey(),
+                summary.ok(),
+                summary.rejected(),
+                summary.failed(),
+                summary.total() / elapsedSeconds,
+                summary.p50Nanos() / 1e6,
+                summary.p99Nanos() / 1e6,
+                summary.p999Nanos() / 1e6,
+                summary.maxNanos() / 1e6
+            ));
+        }
+
+        final var indeterminate = workers.stream().mapToLong(worker -> worker.indeterminate).sum();
+        report.append("%-9s %9d requests, %.1f req/s%n".formatted("total", total, total / elapsedSeconds));
+        report.append("indeterminate money movements: ").append(indeterminate)
+            .append(indeterminate == 0 ? "" : " (global conservation check skipped)").append('\n');
+        report.append("invariant violations: ").append(violations.size()).append('\n');
+        violations.forEach(violation -> report.append("  ").append(violation).append('\n'));
+        return report.toString();
+    }
+
+    private HttpResponse<String> post(final String path, final Object body, final String idempotencyKey)
+        throws IOException, InterruptedException {
+        final var request = HttpRequest.newBuilder(uri(path))
+            .timeout(REQUEST_TIMEOUT)
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(Json.writeValueAsString(body)));
+        if (idempotencyKey != null) {
+            request.header("Idempotency-Key", idempotencyKey);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> get(final String path) throws IOException, InterruptedException {
+        final var request = HttpRequest.newBuilder(uri(path)).timeout(REQUEST_TIMEOUT).GET().build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(final String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private final class Worker {
+
+        private final LoadSettings settings;
+        private final List<String> walletIds;
+        private final String workerId;
+        private final long measureFrom;
+        private final long deadline;
+        private final LatencyRecorder recorder = new LatencyRecorder();
+
+        private long depositedCents;
+        private long withdrawnCents;
+        private long indeterminate;
+        private long sequence;
+
+        Worker(
+            final LoadSettings settings,
+            final List<String> walletIds,
+            final String workerId,
+            final long measureFrom,
+            final long deadline
+        ) {
+            this.settings = settings;
+            this.walletIds = walletIds;
+            this.workerId = workerId;
+            this.measureFrom = measureFrom;
+            this.deadline = deadline;
+        }
+
+        void run() {
+            final var random = ThreadLocalRandom.current();
+            while (System.nanoTime() < deadline) {
+                final var operation = nextOperation(random);
+                final var cents = switch (operation) {
+                    case DEPOSIT -> random.nextLong(100, 10_001);
+                    case WITHDRAW -> random.nextLong(100, 5_001);
+                    case TRANSFER -> random.nextLong(1, 2_001);
+                    case BALANCE -> 0L;
+                };
+
+                final var start = System.nanoTime();
+                var outcome = Outcome.FAILED;
+                try {
+                    final var status = execute(operation, random, cents);
+                    outcome = status / 100 == 2 ? Outcome.OK : status / 100 == 4 ? Outcome.REJECTED : Outcome.FAILED;
+                } catch (IOException ex) {
+                    log.debug("Request failed: {}", ex.toString());
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                final var latency = System.nanoTime() - start;
+
+                if (outcome == Outcome.OK && operation == Operation.DEPOSIT) {
+                    depositedCents += cents;
+                } else if (outcome == Outcome.OK && operation == Operation.WITHDRAW) {
+                    withdrawnCents += cents;
+                } else if (outcome == Outcome.FAILED && operation != Operation.BALANCE) {
+                    indeterminate++;
+                }
+                if (start >= measureFrom) {
+                    recorder.record(operation, outcome, latency);
+                }
+            }
+        }
+
+        private int execute(final Operation operation, final ThreadLocalRandom random, final long cents)
+            throws IOException, InterruptedException {
+            final var key = "load-" + workerId + "-" + (++sequence);
+            final var idempotencyKey = settings.idempotencyHeader() ? key : null;
+            final var amount = BigDecimal.valueOf(cents, 2);
+            return switch (operation) {
+                case TRANSFER -> {
+                    final var from = pickWallet(random);
+                    var to = pickWallet(random);
+                    while (to.equals(from)) {
+                        to = walletIds.get(random.nextInt(walletIds.size()));
+                    }
+                    yield post("/pix/transfers", Map.of(
+                        "fromWalletId", from,
+                        "toWalletId", to,
+                        "amount", amount,
+                        "idempotencyKey", key,
+                        "endToEndId", "E2E-LOAD-" + key.substring("load-".length())
+                    ), idempotencyKey).statusCode();
+                }
+                case DEPOSIT -> post("/wallets/" + pickWallet(random) + "/deposit", Map.of("amount", amount), idempotencyKey)
+                    .statusCode();
+                case WITHDRAW -> post("/wallets/" + pickWallet(random) + "/withdraw", Map.of("amount", amount), idempotencyKey)
+                    .statusCode();
+                case BALANCE -> get("/wallets/" + pickWallet(random) + "/balance").statusCode();
+            };
+        }
+
+        private Operation nextOperation(final ThreadLocalRandom random) {
+            var roll = random.nextInt(settings.totalWeight());
+            if ((roll -= settings.transferWeight()) < 0) {
+                return Operation.TRANSFER;
+            }
+            if ((roll -= settings.depositWeight()) < 0) {
+                return Operation.DEPOSIT;
+            }
+            if (roll - settings.withdrawWeight() < 0) {
+                return Operation.WITHDRAW;
+            }
+            return Operation.BALANCE;
+        }
+
+        // As primeiras 'hotWallets' carteiras recebem a fração 'hotWalletSkew' do tráfego.
+        private String pickWallet(final ThreadLocalRandom random) {
+            return random.nextDouble() < settings.hotWalletSkew()
+                ? walletIds.get(random.nextInt(settings.hotWallets()))
+                : walletIds.get(random.nextInt(walletIds.size()));
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package br.com.pix.wallet.presentation.rest.controller.pix;
+
+import br.com.pix.wallet.ControllerTest;
+import br.com.pix.wallet.application.pix.payout.CreatePayoutJobUseCase;
+import br.com.pix.wallet.application.pix.payout.GetPayoutJobUseCase;
+import br.com.pix.wallet.application.pix.payout.ImportPayoutFileCommand;
+import br.com.pix.wallet.application.pix.payout.ImportPayoutFileUseCase;
+import br.com.pix.wallet.application.pix.payout.ListPayoutRejectionsUseCase;
+import br.com.pix.wallet.application.pix.payout.PayoutFileLine;
+import br.com.pix.wallet.application.pix.payout.PayoutJobOutput;
+import br.com.pix.wallet.domain.exception.DomainException;
+import br.com.pix.wallet.domain.payout.PayoutJobStatus;
+import br.com.pix.wallet.domain.validation.Error;
+import br.com.pix.wallet.presentation.rest.controller.pix.request.CreatePayoutJobRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ControllerTest(controllers = PixPayoutController.class)
+class PixPayoutControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper mapper;
+
+    @MockitoBean
+    private CreatePayoutJobUseCase createPayoutJobUseCase;
+
+    @MockitoBean
+    private ImportPayoutFileUseCase importPayoutFileUseCase;
+
+    @MockitoBean
+    private GetPayoutJobUseCase getPayoutJobUseCase;
+
+    @MockitoBean
+    private ListPayoutRejectionsUseCase listPayoutRejectionsUseCase;
+
+    @Test
+    void givenAValidRequest_whenCallsCreatePayoutJob_thenShouldReturnJobLocation() throws Exception {
+        // given
+        final var expectedFromWalletId = UUID.randomUUID().toString();
+        final var expectedFileName = "payroll-2026-10.csv";
+        final var expectedOutput = output(expectedFromWalletId, expectedFileName, 0);
+
+        when(createPayoutJobUseCase.execute(any())).thenReturn(expectedOutput);
+
+        // when
+        final var request = post("/pix/payouts/jobs")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(this.mapper.writeValueAsString(new CreatePayoutJobRequest(expectedFromWalletId, expectedFileName)));
+
+        final var response = this.mockMvc.perform(request).andDo(print());
+
+        // then
+        response.andExpect(status().isCreated())
+            .andExpect(header().string("Location", containsString("/pix/payouts/jobs/" + expectedOutput.jobId())))
+            .andExpect(jsonPath("$.jobId", equalTo(expectedOutput.jobId().toString())))
+            .andExpect(jsonPath("$.status", equalTo(PayoutJobStatus.RUNNING.name())))
+            .andExpect(jsonPath("$.processedLines", equalTo(0)));
+
+        verify(createPayoutJobUseCase, times(1)).execute(argThat(command ->
+            Objects.equals(expectedFromWalletId, command.fromWalletId())
+                && Objects.equals(expectedFileName, command.fileName())
+        ));
+    }
+
+    @Test
+    void givenACsvFile_whenCallsImportPayoutFile_thenShouldStreamParsedLinesToUseCase() throws Exception {
+        // given
+        final var jobId = UUID.randomUUID();
+        final var expectedOutput = output(UUID.randomUUID().toString(), "payroll.csv", 2);
+        final var consumedLines = new ArrayList<PayoutFileLine>();
+        final var body = """
+            keyType,keyValue,amount,idempotencyKey,endToEndId
+            EMAIL, ana@example.com ,10.50,payroll-1,E1
+
+            CPF,52998224725,20,payroll-2,E2
+            """;
+
+        when(importPayoutFileUseCase.execute(any())).thenAnswer(invocation -> {
+            final ImportPayoutFileCommand command = invocation.getArgument(0);
+            command.lines().forEachRemaining(consumedLines::add);
+            return expectedOutput;
+        });
+
+        // when
+        final var request = put("/pix/payouts/jobs/{id}/file", jobId)
+            .contentType("text/csv")
+            .content(body);
+
+        final var response = this.mockMvc.perform(request).andDo(print());
+
+        // then
+        response.andExpect(status().isOk())
+            .andExpect(jsonPath("$.processedLines", equalTo(2)));
+
+        assertEquals(List.of(
+            new PayoutFileLine(1, "EMAIL", "ana@example.com", "10.50", "payroll-1", "E1"),
+            new PayoutFileLine(2, "CPF", "52998224725", "20", "payroll-2", "E2")
+        ), consumedLines);
+        verify(importPayoutFileUseCase, times(1)).execute(argThat(command -> jobId.equals(command.jobId())));
+    }
+
+    @Test
+    void givenAFileWithoutRequiredColumns_whenCallsImportPayoutFile_thenShouldReturnUnprocessableEntity() throws Exception {
+        // given
+        final var body = """
+            keyType,keyValue,amount
+            EMAIL,ana@example.com,10.50
+            """;
+
+        // when
+        final var request = put("/pix/payouts/jobs/{id}/file", UUID.randomUUID())
+            .contentType("text/csv")
+            .content(body);
+
+        final var response = this.mockMvc.perform(request).andDo(print());
+
+        // then
+        response.andExpect(status().isUnprocessableEntity())
+            .andExpect(jsonPath("$.message",
+                equalTo("Payout file header is missing columns: idempotencyKey, endToEndId")));
+
+        verify(importPayoutFileUseCase, never()).execute(any());
+    }
+
+    @Test
+    void givenAFileMalformedMidway_whenCallsImportPayoutFile_thenShouldReturnUnprocessableEntity() throws Exception {
+        // given
+        final var expectedError = "Malformed payout file at line 3: Too many entries";
+        final var body = """
+            keyType,keyValue,amount,idempotencyKey,endToEndId
+            EMAIL,ana@example.com,10.50,payroll-1,E1
+            """;
+
+        when(importPayoutFileUseCase.execute(any())).thenThrow(DomainException.with(Error.of(expectedError)));
+
+        // when
+        final var request = put("/pix/payouts/jobs/{id}/file", UUID.randomUUID())
+            .contentType("text/csv")
+            .content(body);
+
+        final var response = this.mockMvc.perform(request).andDo(print());
+
+        // then
+        response.andExpect(status().isUnprocessableEntity())
+            .andExpect(jsonPath("$.message", equalTo(expectedError)));
+    }
+
+    private static PayoutJobOutput output(final String fromWalletId, final String fileName, final long processedLines) {
+        final var now = Instant.now();
+        return new PayoutJobOutput(
+            UUID.randomUUID(),
+            fromWalletId,
+            fileName,
+            processedLines == 0 ? PayoutJobStatus.RUNNING : PayoutJobStatus.COMPLETED,
+            processedLines,
+            processedLines,
+            0,
+            null,
+            now,
+            now
+        );
+    }
+}
@@ -1,30 +1,42 @@
 package br.com.pix.wallet.presentation.rest.controller.pix;
 
 import br.com.pix.wallet.ControllerTest;
+import br.com.pix.wallet.application.pix.transfer.CreatePixTransferBatchCommand;
+import br.com.pix.wallet.application.pix.transfer.CreatePixTransferBatchOutput;
+import br.com.pix.wallet.application.pix.transfer.CreatePixTransferBatchUseCase;
 import br.com.pix.wallet.application.pix.transfer.CreatePixTransferCommand;
 import br.com.pix.wallet.application.pix.transfer.CreatePixTransferOutput;
 import br.com.pix.wallet.application.pix.transfer.CreatePixTransferUseCase;
+import br.com.pix.wallet.application.pix.transfer.PixTransferBatchFailureMode;
 import br.com.pix.wallet.domain.exception.DomainException;
 import br.com.pix.wallet.domain.exception.NotFoundException;
 import br.com.pix.wallet.domain.pix.transfer.PixTransferStatus;
 import br.com.pix.wallet.domain.validation.Error;
 import br.com.pix.wallet.domain.wallet.Wallet;
+import br.com.pix.wallet.presentation.rest.controller.pix.request.CreatePixTransferBatchItemRequest;
+import br.com.pix.wallet.presentation.rest.controller.pix.request.CreatePixTransferBatchRequest;
 import br.com.pix.wallet.presentation.rest.controller.pix.request.CreatePixTransferRequest;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
 
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -41,6 +53,9 @@ class PixTransferControllerTest {
     @MockitoBean
     private CreatePixTransferUseCase createPixTransferUseCase;
 
+    @MockitoBean
+    private CreatePixTransferBatchUseCase createPixTransferBatchUseCase;
+
     @Test
     void givenAValidCommand_whenCallsCreatePixTransfer_thenShouldReturnTransferId() throws Exception {
         // given
@@ -166,4 +181,170 @@ class PixTransferControllerTest {
 
         verify(createPixTransferUseCase, times(1)).execute(any());
     }
+
+    @Test
+    void givenDuplicatedEndToEndId_whenCallsCreatePixTransfer_thenShouldReturnConflict() throws Exception {
+        // given
+        final var requestBody = new CreatePixTransferRequest(
+            UUID.randomUUID().toString(),
+            UUID.randomUUID().toString(),
+            BigDecimal.TEN,
+            UUID.randomUUID().toString(),
+            UUID.randomUUID().toString());
+
+        when(createPixTransferUseCase.execute(any(CreatePixTransferCommand.class)))
+            .thenThrow(integrityViolation("uk_pix_transfer_end_to_end_id"));
+
+        // when
+        final var request = post("/pix/transfers")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(this.mapper.writeValueAsString(requestBody));
+
+        final var response = this.mockMvc.perform(request).andDo(print());
+
+        // then
+        response.andExpect(status().isConflict())
+            .andExpect(jsonPath("$.errors[0].message", equalTo("Duplicate request")));
+    }
+
+    @Test
+    void givenOtherIntegrityViolation_whenCallsCreatePixTransfer_thenShouldNotReportDuplicate() throws Exception {
+        // given
+        final var requestBody = new CreatePixTransferRequest(
+            UUID.randomUUID().toString(),
+            UUID.randomUUID().toString(),
+            BigDecimal.TEN,
+            UUID.randomUUID().toString(),
+            UUID.randomUUID().toString());
+
+        when(createPixTransferUseCase.execute(any(CreatePixTransferCommand.class)))
+            .thenThrow(integrityViolation("fk_pix_transfer_to_wallet"));
+
+        // when
+        final var request = post("/pix/transfers")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(this.mapper.writeValueAsString(requestBody));
+
+        final var response = this.mockMvc.perform(request).andDo(print());
+
+        // then
+        response.andExpect(status().isInternalServerError());
+    }
+
+    @Test
+    void givenAValidBatch_whenCallsCreatePixTransferBatch_thenShouldReturnOutcomePerTransfer() throws Exception {
+        // given
+        final var expectedFromWalletId = UUID.randomUUID().toString();
+        final var expectedToWalletId = UUID.randomUUID().toString();
+        final var expectedTransferId = UUID.randomUUID().toString();
+        final var requestBody = batchRequest(expectedFromWalletId, expectedToWalletId);
+
+        when(createPixTransferBatchUseCase.execute(any(CreatePixTransferBatchCommand.class)))
+            .thenReturn(batchOutput(expectedFromWalletId, expectedToWalletId, expectedTransferId));
+
+        // when
+        final var request = post("/pix/transfers/batch")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(this.mapper.writeValueAsString(requestBody));
+
+        final var response = this.mockMvc.perform(request).andDo(print());
+
+        // then
+        response.andExpect(status().isOk())
+            .andExpect(header().string("Content-Type", MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.failureMode", equalTo("PARTIAL")))
+            .andExpect(jsonPath("$.created", equalTo(1)))
+            .andExpect(jsonPath("$.rejected", equalTo(1)))
+            .andExpect(jsonPath("$.transfers", hasSize(2)))
+            .andExpect(jsonPath("$.transfers[0].outcome", equalTo("CREATED")))
+            .andExpect(jsonPath("$.transfers[0].transfer.transferId", equalTo(expectedTransferId)))
+            .andExpect(jsonPath("$.transfers[1].outcome", equalTo("REJECTED")))
+            .andExpect(jsonPath("$.transfers[1].errors[0].message", equalTo("Insufficient balance in source wallet")));
+
+        verify(createPixTransferBatchUseCase, times(1))
+            .execute(argThat(command -> Objects.equals(expectedFromWalletId, command.fromWalletId())
+                && Objects.equals("PARTIAL", command.failureMode())
+                && command.transfers().size() == 2
+                && Objects.equals(expectedToWalletId, command.transfers().get(0).toWalletId())
+                && Objects.equals("E2", command.transfers().get(1).endToEndId())));
+    }
+
+    @Test
+    void givenNdjsonAccept_whenCallsCreatePixTransferBatch_thenShouldStreamOneTransferPerLine() throws Exception {
+        // given
+        final var expectedFromWalletId = UUID.randomUUID().toString();
+        final var expectedToWalletId = UUID.randomUUID().toString();
+        final var requestBody = batchRequest(expectedFromWalletId, expectedToWalletId);
+
+        when(createPixTransferBatchUseCase.execute(any(CreatePixTransferBatchCommand.class)))
+            .thenReturn(batchOutput(expectedFromWalletId, expectedToWalletId, UUID.randomUUID().toString()));
+
+        // when
+        final var request = post("/pix/transfers/batch")
+            .contentType(MediaType.APPLICATION_JSON)
+            .accept(MediaType.APPLICATION_NDJSON)
+            .content(this.mapper.writeValueAsString(requestBody));
+
+        final var result = this.mockMvc.perform(request)
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        final var response = this.mockMvc.perform(asyncDispatch(result)).andDo(print());
+
+        // then
+        response.andExpect(status().isOk())
+            .andExpect(header().string("Content-Type", MediaType.APPLICATION_NDJSON_VALUE));
+
+        final var lines = result.getResponse().getContentAsString().split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("CREATED", this.mapper.readTree(lines[0]).get("outcome").asText());
+        assertEquals("REJECTED", this.mapper.readTree(lines[1]).get("outcome").asText());
+    }
+
+    @Test
+    void givenEmptyTransfers_whenCallsCreatePixTransferBatch_thenShouldReturnUnprocessableEntity() throws Exception {
+        // given
+        final var requestBody = new CreatePixTransferBatchRequest(UUID.randomUUID().toString(), null, List.of());
+
+        // when
+        final var request = post("/pix/transfers/batch")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(this.mapper.writeValueAsString(requestBody));
+
+        final var response = this.mockMvc.perform(request).andDo(print());
+
+        // then
+        response.andExpect(status().isUnprocessableEntity())
+            .andExpect(jsonPath("$.message", equalTo("'transfers' must not be empty")));
+
+        verifyNoInteractions(createPixTransferBatchUseCase);
+    }
+
+    private static CreatePixTransferBatchRequest batchRequest(final String fromWalletId, final String toWalletId) {
+        return new CreatePixTransferBatchRequest(fromWalletId, "PARTIAL", List.of(
+            new CreatePixTransferBatchItemRequest(toWalletId, BigDecimal.TEN, "payout-1", "E1"),
+            new CreatePixTransferBatchItemRequest(toWalletId, BigDecimal.TEN, "payout-2", "E2")
+        ));
+    }
+
+    private static CreatePixTransferBatchOutput batchOutput(
+        final String fromWalletId,
+        final String toWalletId,
+        final String transferId
+    ) {
+        return CreatePixTransferBatchOutput.of(fromWalletId, PixTransferBatchFailureMode.PARTIAL, List.of(
+            CreatePixTransferBatchOutput.Item.created(
+                "payout-1",
+                new CreatePixTransferOutput(transferId, "E1", fromWalletId, toWalletId, BigDecimal.TEN, PixTransferStatus.PENDING)
+            ),
+            CreatePixTransferBatchOutput.Item.rejected("payout-2", "E2", List.of(Error.of("Insufficient balance in source wallet")))
+        ));
+    }
+
+    private static DataIntegrityViolationException integrityViolation(final String constraintName) {
+        return new DataIntegrityViolationException(
+            "could not execute statement",
+            new ConstraintViolationException("constraint violated", new SQLException(), constraintName)
+        );
+    }
 }
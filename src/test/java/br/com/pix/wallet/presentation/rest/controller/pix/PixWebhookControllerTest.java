@@ -1,10 +1,14 @@
 package br.com.pix.wallet.presentation.rest.controller.pix;
 
 import br.com.pix.wallet.ControllerTest;
+import br.com.pix.wallet.application.pix.webhook.HandlePixWebhookBatchCommand;
+import br.com.pix.wallet.application.pix.webhook.HandlePixWebhookBatchOutput;
+import br.com.pix.wallet.application.pix.webhook.HandlePixWebhookBatchUseCase;
 import br.com.pix.wallet.application.pix.webhook.HandlePixWebhookCommand;
 import br.com.pix.wallet.application.pix.webhook.HandlePixWebhookOutput;
 import br.com.pix.wallet.application.pix.webhook.HandlePixWebhookUseCase;
 import br.com.pix.wallet.domain.exception.DomainException;
+import br.com.pix.wallet.domain.exception.ServiceUnavailableException;
 import br.com.pix.wallet.domain.validation.Error;
 import br.com.pix.wallet.presentation.rest.controller.pix.request.HandlePixWebhookRequest;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -15,6 +19,7 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
 
@@ -38,6 +43,9 @@ class PixWebhookControllerTest {
     @MockitoBean
     private HandlePixWebhookUseCase handlePixWebhookUseCase;
 
+    @MockitoBean
+    private HandlePixWebhookBatchUseCase handlePixWebhookBatchUseCase;
+
     @Test
     void givenAValidCommand_whenCallsHandleWebhook_thenShouldReturnOk() throws Exception {
         // given
@@ -123,4 +131,123 @@ class PixWebhookControllerTest {
 
         verify(handlePixWebhookUseCase, times(1)).execute(any());
     }
+
+    @Test
+    void givenAsyncIngest_whenCallsHandleWebhook_thenShouldReturnAccepted() throws Exception {
+        // given
+        final var expectedEventId = UUID.randomUUID().toString();
+        final var expectedEndToEndId = UUID.randomUUID().toString();
+        final var expectedEventType = "CREDIT_CONFIRMED";
+        final var expectedOccurredAt = Instant.now();
+
+        final var requestBody = new HandlePixWebhookRequest(
+            expectedEventId,
+            expectedEndToEndId,
+            expectedEventType,
+            expectedOccurredAt
+        );
+
+        final var expectedOutput = new HandlePixWebhookOutput(
+            UUID.randomUUID().toString(),
+            expectedEventId,
+            expectedEndToEndId,
+            expectedEventType,
+            expectedOccurredAt,
+            null
+        );
+
+        when(handlePixWebhookUseCase.execute(any(HandlePixWebhookCommand.class))).thenReturn(expectedOutput);
+
+        // when
+        final var request = post("/pix/webhooks")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(this.mapper.writeValueAsString(requestBody));
+
+        final var response = this.mockMvc.perform(request).andDo(print());
+
+        // then
+        response.andExpect(status().isAccepted())
+            .andExpect(jsonPath("$.eventId", equalTo(expectedEventId)))
+            .andExpect(jsonPath("$.processedAt", nullValue()));
+    }
+
+    @Test
+    void givenFullInbox_whenCallsHandleWebhook_thenShouldReturnServiceUnavailable() throws Exception {
+        // given
+        final var requestBody = new HandlePixWebhookRequest(
+            UUID.randomUUID().toString(),
+            UUID.randomUUID().toString(),
+            "CREDIT_CONFIRMED",
+            Instant.now()
+        );
+
+        when(handlePixWebhookUseCase.execute(any(HandlePixWebhookCommand.class)))
+            .thenThrow(ServiceUnavailableException.with("Webhook inbox is full, retry later"));
+
+        // when
+        final var request = post("/pix/webhooks")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(this.mapper.writeValueAsString(requestBody));
+
+        final var response = this.mockMvc.perform(request).andDo(print());
+
+        // then
+        response.andExpect(status().isServiceUnavailable())
+            .andExpect(header().string("Retry-After", "1"))
+            .andExpect(jsonPath("$.message", equalTo("Webhook inbox is full, retry later")));
+    }
+
+    @Test
+    void givenJsonArray_whenCallsHandleWebhookBatch_thenShouldReturnOutcomePerEvent() throws Exception {
+        // given
+        final var expectedWebhookEventId = UUID.randomUUID().toString();
+        final var requestBody = List.of(
+            new HandlePixWebhookRequest("evt-1", "E1", "CREDIT_CONFIRMED", Instant.now()),
+            new HandlePixWebhookRequest("evt-2", "E2", "REFUND_PROCESSED", Instant.now())
+        );
+
+        when(handlePixWebhookBatchUseCase.execute(any(HandlePixWebhookBatchCommand.class)))
+            .thenReturn(HandlePixWebhookBatchOutput.of(List.of(
+                new HandlePixWebhookBatchOutput.Item("evt-1", HandlePixWebhookBatchOutput.Outcome.STORED, expectedWebhookEventId, List.of()),
+                HandlePixWebhookBatchOutput.Item.duplicate("evt-2")
+            )));
+
+        // when
+        final var request = post("/pix/webhooks/batch")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(this.mapper.writeValueAsString(requestBody));
+
+        final var response = this.mockMvc.perform(request).andDo(print());
+
+        // then
+        response.andExpect(status().isOk())
+            .andExpect(jsonPath("$.events", hasSize(2)))
+            .andExpect(jsonPath("$.events[0].outcome", equalTo("STORED")))
+            .andExpect(jsonPath("$.events[0].webhookEventId", equalTo(expectedWebhookEventId)))
+            .andExpect(jsonPath("$.events[1].outcome", equalTo("DUPLICATE")));
+
+        verify(handlePixWebhookBatchUseCase, times(1))
+            .execute(argThat(command -> command.events().size() == 2
+                && Objects.equals("evt-1", command.events().get(0).eventId())
+                && Objects.equals("REFUND_PROCESSED", command.events().get(1).eventType())));
+    }
+
+    @Test
+    void givenBodyThatIsNotAnArray_whenCallsHandleWebhookBatch_thenShouldReturnUnprocessableEntity() throws Exception {
+        // given
+        final var requestBody = new HandlePixWebhookRequest("evt-1", "E1", "CREDIT_CONFIRMED", Instant.now());
+
+        // when
+        final var request = post("/pix/webhooks/batch")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(this.mapper.writeValueAsString(requestBody));
+
+        final var response = this.mockMvc.perform(request).andDo(print());
+
+        // then
+        response.andExpect(status().isUnprocessableEntity())
+            .andExpect(jsonPath("$.message", equalTo("Webhook batch must be a JSON array")));
+
+        verifyNoInteractions(handlePixWebhookBatchUseCase);
+    }
 }
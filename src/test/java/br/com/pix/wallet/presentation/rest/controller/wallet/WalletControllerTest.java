@@ -1,12 +1,16 @@
 package br.com.pix.wallet.presentation.rest.controller.wallet;
 
 import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.UUID;
 
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import org.junit.jupiter.api.Test;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
@@ -14,15 +18,20 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -31,12 +40,22 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import br.com.pix.wallet.ControllerTest;
 import br.com.pix.wallet.application.wallet.balance.GetBalanceOutput;
 import br.com.pix.wallet.application.wallet.balance.GetBalanceUseCase;
+import br.com.pix.wallet.application.wallet.balance.GetBalanceVersionUseCase;
 import br.com.pix.wallet.application.wallet.create.CreateWalletCommand;
 import br.com.pix.wallet.application.wallet.create.CreateWalletOutput;
 import br.com.pix.wallet.application.wallet.create.CreateWalletUseCase;
 import br.com.pix.wallet.application.wallet.deposit.DepositCommand;
 import br.com.pix.wallet.application.wallet.deposit.DepositOutput;
 import br.com.pix.wallet.application.wallet.deposit.DepositUseCase;
+import br.com.pix.wallet.application.wallet.statement.GetStatementCommand;
+import br.com.pix.wallet.application.wallet.statement.GetStatementOutput;
+import br.com.pix.wallet.application.wallet.statement.GetStatementUseCase;
+import br.com.pix.wallet.application.wallet.statement.StatementEntryOutput;
+import br.com.pix.wallet.application.wallet.statement.StreamStatementCommand;
+import br.com.pix.wallet.application.wallet.statement.StreamStatementUseCase;
+import br.com.pix.wallet.application.wallet.striping.EnableBalanceStripingCommand;
+import br.com.pix.wallet.application.wallet.striping.EnableBalanceStripingOutput;
+import br.com.pix.wallet.application.wallet.striping.EnableBalanceStripingUseCase;
 import br.com.pix.wallet.application.wallet.withdraw.WithdrawCommand;
 import br.com.pix.wallet.application.wallet.withdraw.WithdrawOutput;
 import br.com.pix.wallet.application.wallet.withdraw.WithdrawUseCase;
@@ -46,6 +65,7 @@ import br.com.pix.wallet.domain.validation.Error;
 import br.com.pix.wallet.domain.wallet.Wallet;
 import br.com.pix.wallet.presentation.rest.controller.wallet.request.CreateWalletRequest;
 import br.com.pix.wallet.presentation.rest.controller.wallet.request.DepositRequest;
+import br.com.pix.wallet.presentation.rest.controller.wallet.request.EnableBalanceStripingRequest;
 import br.com.pix.wallet.presentation.rest.controller.wallet.request.WithdrawRequest;
 
 @ControllerTest(controllers = WalletController.class)
@@ -63,12 +83,24 @@ class WalletControllerTest {
     @MockitoBean
     private GetBalanceUseCase getBalanceUseCase;
 
+    @MockitoBean
+    private GetBalanceVersionUseCase getBalanceVersionUseCase;
+
     @MockitoBean
     private DepositUseCase depositUseCase;
 
     @MockitoBean
     private WithdrawUseCase withdrawUseCase;
 
+    @MockitoBean
+    private EnableBalanceStripingUseCase enableBalanceStripingUseCase;
+
+    @MockitoBean
+    private GetStatementUseCase getStatementUseCase;
+
+    @MockitoBean
+    private StreamStatementUseCase streamStatementUseCase;
+
     @Test
     void givenAValidCommand_whenCallsCreateWallet_thenShouldWalletOutput() throws Exception {
         // given
@@ -178,6 +210,75 @@ class WalletControllerTest {
         verify(getBalanceUseCase, times(1)).execute(eq(expectedWalletId), any());
     }
 
+    @Test
+    void givenMatchingIfNoneMatch_whenCallsGetBalance_thenReturnNotModifiedWithoutReadingBalance() throws Exception {
+        // given
+        final var expectedWalletId = UUID.randomUUID();
+
+        when(getBalanceVersionUseCase.execute(expectedWalletId)).thenReturn(Optional.of(7L));
+
+        // when
+        final var request = get("/wallets/{id}/balance", expectedWalletId)
+            .header("If-None-Match", "\"7\"")
+            .accept(MediaType.APPLICATION_JSON);
+
+        final var response = this.mockMvc.perform(request).andDo(print());
+
+        // then
+        response.andExpect(status().isNotModified())
+            .andExpect(header().string("ETag", "\"7\""))
+            .andExpect(content().string(""));
+
+        verifyNoInteractions(getBalanceUseCase);
+    }
+
+    @Test
+    void givenStaleIfNoneMatch_whenCallsGetBalance_thenReturnBalanceWithCurrentETag() throws Exception {
+        // given
+        final var expectedWalletId = UUID.randomUUID();
+        final var expectedBalance = BigDecimal.TEN;
+
+        when(getBalanceVersionUseCase.execute(expectedWalletId)).thenReturn(Optional.of(8L));
+        when(getBalanceUseCase.execute(eq(expectedWalletId), any()))
+            .thenReturn(GetBalanceOutput.from(expectedBalance, 8L));
+
+        // when
+        final var request = get("/wallets/{id}/balance", expectedWalletId)
+            .header("If-None-Match", "\"7\"")
+            .accept(MediaType.APPLICATION_JSON);
+
+        final var response = this.mockMvc.perform(request).andDo(print());
+
+        // then
+        response.andExpect(status().isOk())
+            .andExpect(header().string("ETag", "\"8\""))
+            .andExpect(jsonPath("$.currentBalance", equalTo(expectedBalance.intValue())))
+            .andExpect(jsonPath("$.version").doesNotExist());
+    }
+
+    @Test
+    void givenBalanceAtInstant_whenCallsGetBalance_thenShouldNotCheckVersion() throws Exception {
+        // given
+        final var expectedWalletId = UUID.randomUUID();
+
+        when(getBalanceUseCase.execute(eq(expectedWalletId), any()))
+            .thenReturn(GetBalanceOutput.from(BigDecimal.ONE));
+
+        // when
+        final var request = get("/wallets/{id}/balance", expectedWalletId)
+            .param("at", "2023-10-27T10:00:00Z")
+            .header("If-None-Match", "\"7\"")
+            .accept(MediaType.APPLICATION_JSON);
+
+        final var response = this.mockMvc.perform(request).andDo(print());
+
+        // then
+        response.andExpect(status().isOk())
+            .andExpect(header().doesNotExist("ETag"));
+
+        verifyNoInteractions(getBalanceVersionUseCase);
+    }
+
     @Test
     void givenAInvalidId_whenCallsGetBalance_thenReturnNotFound() throws Exception {
         // given
@@ -404,4 +505,166 @@ class WalletControllerTest {
 
         verify(withdrawUseCase, times(1)).execute(any());
     }
+
+    @Test
+    void givenAValidCommand_whenCallsEnableBalanceStriping_thenShouldReturnSlots() throws Exception {
+        // given
+        final var expectedWalletId = UUID.randomUUID();
+        final var expectedSlots = 8;
+        final var requestBody = new EnableBalanceStripingRequest(expectedSlots);
+
+        when(enableBalanceStripingUseCase.execute(any(EnableBalanceStripingCommand.class)))
+            .thenReturn(EnableBalanceStripingOutput.from(expectedWalletId, expectedSlots));
+
+        // when
+        final var request = put("/wallets/{id}/balance-slots", expectedWalletId)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(this.mapper.writeValueAsString(requestBody));
+
+        final var response = this.mockMvc.perform(request).andDo(print());
+
+        // then
+        response.andExpect(status().isOk())
+            .andExpect(jsonPath("$.walletId", equalTo(expectedWalletId.toString())))
+            .andExpect(jsonPath("$.balanceSlots", equalTo(expectedSlots)));
+
+        verify(enableBalanceStripingUseCase, times(1))
+            .execute(argThat(command -> Objects.equals(expectedWalletId, command.walletId())
+                && command.slots() == expectedSlots));
+    }
+
+    @Test
+    void givenAValidId_whenCallsGetStatement_thenShouldReturnPageWithNextCursor() throws Exception {
+        // given
+        final var expectedWalletId = UUID.randomUUID();
+        final var expectedEntry = statementEntry("DEPOSIT", BigDecimal.TEN);
+        final var expectedCursor = "next-page";
+
+        when(getStatementUseCase.execute(any(GetStatementCommand.class)))
+            .thenReturn(GetStatementOutput.from(expectedWalletId, List.of(expectedEntry), expectedCursor));
+
+        // when
+        final var request = get("/wallets/{id}/statement", expectedWalletId)
+            .param("limit", "1")
+            .accept(MediaType.APPLICATION_JSON);
+
+        final var response = this.mockMvc.perform(request).andDo(print());
+
+        // then
+        response.andExpect(status().isOk())
+            .andExpect(jsonPath("$.walletId", equalTo(expectedWalletId.toString())))
+            .andExpect(jsonPath("$.entries", hasSize(1)))
+            .andExpect(jsonPath("$.entries[0].operationType", equalTo("DEPOSIT")))
+            .andExpect(jsonPath("$.nextCursor", equalTo(expectedCursor)));
+
+        verify(getStatementUseCase, times(1))
+            .execute(argThat(command -> Objects.equals(expectedWalletId, command.walletId())
+                && command.limit() == 1
+                && command.cursor() == null));
+    }
+
+    @Test
+    void givenMatchingIfNoneMatch_whenCallsGetStatement_thenReturnNotModified() throws Exception {
+        // given
+        final var expectedWalletId = UUID.randomUUID();
+
+        when(getBalanceVersionUseCase.execute(expectedWalletId)).thenReturn(Optional.of(3L));
+
+        // when
+        final var request = get("/wallets/{id}/statement", expectedWalletId)
+            .header("If-None-Match", "W/\"3\"")
+            .accept(MediaType.APPLICATION_JSON);
+
+        final var response = this.mockMvc.perform(request).andDo(print());
+
+        // then
+        response.andExpect(status().isNotModified())
+            .andExpect(header().string("ETag", "\"3\""));
+
+        verifyNoInteractions(getStatementUseCase);
+    }
+
+    @Test
+    void givenNdjsonAccept_whenCallsGetStatement_thenShouldStreamOneEntryPerLine() throws Exception {
+        // given
+        final var expectedWalletId = UUID.randomUUID();
+        final var entries = List.of(statementEntry("DEPOSIT", BigDecimal.TEN), statementEntry("WITHDRAW", BigDecimal.ONE));
+
+        when(streamStatementUseCase.execute(any(StreamStatementCommand.class)))
+            .thenReturn(entries::forEach);
+
+        // when
+        final var request = get("/wallets/{id}/statement", expectedWalletId)
+            .accept(MediaType.APPLICATION_NDJSON);
+
+        final var result = this.mockMvc.perform(request)
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        final var response = this.mockMvc.perform(asyncDispatch(result)).andDo(print());
+
+        // then
+        response.andExpect(status().isOk())
+            .andExpect(header().string("Content-Type", MediaType.APPLICATION_NDJSON_VALUE));
+
+        final var lines = result.getResponse().getContentAsString().split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("DEPOSIT", this.mapper.readTree(lines[0]).get("operationType").asText());
+        assertEquals("WITHDRAW", this.mapper.readTree(lines[1]).get("operationType").asText());
+    }
+
+    @Test
+    void givenCsvAccept_whenCallsGetStatement_thenShouldStreamCsvWithHeader() throws Exception {
+        // given
+        final var expectedWalletId = UUID.randomUUID();
+        final var entry = statementEntry("DEPOSIT", BigDecimal.TEN);
+
+        when(streamStatementUseCase.execute(any(StreamStatementCommand.class)))
+            .thenReturn(consumer -> consumer.accept(entry));
+
+        // when
+        final var request = get("/wallets/{id}/statement", expectedWalletId)
+            .accept("text/csv");
+
+        final var result = this.mockMvc.perform(request)
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        final var response = this.mockMvc.perform(asyncDispatch(result)).andDo(print());
+
+        // then
+        response.andExpect(status().isOk())
+            .andExpect(header().string("Content-Disposition", containsString("statement-" + expectedWalletId + ".csv")))
+            .andExpect(content().string(containsString("entryId,operationType,amount,balanceAfterOperation,endToEndId,occurredAt")))
+            .andExpect(content().string(containsString(entry.entryId() + ",DEPOSIT,10,10,,2023-10-27T10:00:00Z")));
+    }
+
+    @Test
+    void givenAInvalidId_whenCallsStreamStatement_thenShouldReturnNotFoundBeforeStreaming() throws Exception {
+        // given
+        final var expectedWalletId = UUID.randomUUID();
+
+        when(streamStatementUseCase.execute(any(StreamStatementCommand.class)))
+            .thenThrow(NotFoundException.with(Wallet.class, expectedWalletId));
+
+        // when
+        final var request = get("/wallets/{id}/statement", expectedWalletId)
+            .accept(MediaType.APPLICATION_NDJSON, MediaType.APPLICATION_JSON);
+
+        final var response = this.mockMvc.perform(request).andDo(print());
+
+        // then
+        response.andExpect(status().isNotFound());
+    }
+
+    private static StatementEntryOutput statementEntry(final String operationType, final BigDecimal amount) {
+        return new StatementEntryOutput(
+            UUID.randomUUID(),
+            operationType,
+            amount,
+            amount,
+            null,
+            Instant.parse("2023-10-27T10:00:00Z")
+        );
+    }
 }
\ No newline at end of file
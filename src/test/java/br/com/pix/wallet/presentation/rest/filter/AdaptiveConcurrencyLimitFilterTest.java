@@ -0,0 +1,133 @@
+package br.com.pix.wallet.presentation.rest.filter;
+
+import br.com.pix.wallet.application.metrics.ApplicationMetrics;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AdaptiveConcurrencyLimitFilterTest {
+
+    @Mock
+    private ApplicationMetrics applicationMetrics;
+
+    @Test
+    void givenFilter_whenCreates_thenShouldRegisterGaugesPerController() {
+        // when
+        filter(1);
+
+        // then
+        verify(applicationMetrics).registerConcurrencyLimitGauges(eq("pix-transfers"), any(), any());
+        verify(applicationMetrics).registerConcurrencyLimitGauges(eq("pix-webhooks"), any(), any());
+        verify(applicationMetrics).registerConcurrencyLimitGauges(eq("wallets"), any(), any());
+    }
+
+    @Test
+    void givenLimitReached_whenFilters_thenShouldAnswer503WithRetryAfter() throws Exception {
+        // given
+        final var filter = filter(1);
+        final var asyncRequest = request("/pix/transfers");
+        asyncRequest.setAsyncSupported(true);
+        filter.doFilter(asyncRequest, new MockHttpServletResponse(), (request, response) -> request.startAsync());
+
+        // when
+        final var response = new MockHttpServletResponse();
+        final var executions = new AtomicInteger();
+        filter.doFilter(request("/pix/transfers"), response, (request, ignored) -> executions.incrementAndGet());
+
+        // then
+        assertEquals(0, executions.get());
+        assertEquals(503, response.getStatus());
+        assertEquals("1", response.getHeader("Retry-After"));
+        verify(applicationMetrics).recordConcurrencyLimitRejection("pix-transfers");
+    }
+
+    @Test
+    void givenOneControllerSaturated_whenOtherControllerIsCalled_thenShouldAdmit() throws Exception {
+        // given
+        final var filter = filter(1);
+        final var asyncRequest = request("/pix/transfers");
+        asyncRequest.setAsyncSupported(true);
+        filter.doFilter(asyncRequest, new MockHttpServletResponse(), (request, response) -> request.startAsync());
+
+        // when
+        final var walletResponse = new MockHttpServletResponse();
+        final var webhookResponse = new MockHttpServletResponse();
+        filter.doFilter(request("/wallets/0b3d7c8e-2a4b-4c1e-9f8a-1d2c3b4a5e6f/deposit"), walletResponse, (request, response) -> { });
+        filter.doFilter(request("/pix/webhooks"), webhookResponse, (request, response) -> { });
+
+        // then
+        assertEquals(200, walletResponse.getStatus());
+        assertEquals(200, webhookResponse.getStatus());
+        verify(applicationMetrics, never()).recordConcurrencyLimitRejection(any());
+    }
+
+    @Test
+    void givenAsyncRequest_whenCompletes_thenShouldReleaseSlot() throws Exception {
+        // given
+        final var filter = filter(1);
+        final var asyncRequest = request("/wallets/0b3d7c8e-2a4b-4c1e-9f8a-1d2c3b4a5e6f/statement");
+        asyncRequest.setAsyncSupported(true);
+        filter.doFilter(asyncRequest, new MockHttpServletResponse(), (request, response) -> request.startAsync());
+
+        // when
+        asyncRequest.getAsyncContext().complete();
+        final var response = new MockHttpServletResponse();
+        filter.doFilter(request("/wallets"), response, (request, ignored) -> { });
+
+        // then
+        assertEquals(200, response.getStatus());
+    }
+
+    @Test
+    void givenServerError_whenFilters_thenShouldReleaseSlotAndBackOff() throws Exception {
+        // given
+        final var limiter = new AdaptiveConcurrencyLimiter(10, 2, 200, 0.2, 1.5, 0.5, 600);
+        final var filter = new AdaptiveConcurrencyLimitFilter(() -> limiter, applicationMetrics);
+        final FilterChain failing = (request, response) -> ((MockHttpServletResponse) response).setStatus(500);
+
+        // when
+        filter.doFilter(request("/pix/transfers"), new MockHttpServletResponse(), failing);
+
+        // then
+        assertEquals(5, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void givenPathOutsideControllers_whenFilters_thenShouldNotLimit() throws Exception {
+        // given
+        final var filter = filter(1);
+        final var executions = new AtomicInteger();
+
+        // when
+        filter.doFilter(request("/pix/transfers-report"), new MockHttpServletResponse(), (request, response) -> executions.incrementAndGet());
+        filter.doFilter(request("/actuator/health"), new MockHttpServletResponse(), (request, response) -> executions.incrementAndGet());
+
+        // then
+        assertEquals(2, executions.get());
+        verify(applicationMetrics, never()).recordConcurrencyLimitRejection(any());
+    }
+
+    private AdaptiveConcurrencyLimitFilter filter(final int limit) {
+        return new AdaptiveConcurrencyLimitFilter(
+            () -> new AdaptiveConcurrencyLimiter(limit, 1, 200, 0.2, 1.5, 0.9, 600),
+            applicationMetrics
+        );
+    }
+
+    private static MockHttpServletRequest request(final String uri) {
+        return new MockHttpServletRequest("POST", uri);
+    }
+}
@@ -0,0 +1,109 @@
+package br.com.pix.wallet.presentation.rest.filter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long BASELINE_RTT = TimeUnit.MILLISECONDS.toNanos(10);
+
+    @Test
+    void givenLimitReached_whenTryAcquire_thenShouldReject() {
+        // given
+        final var limiter = limiter(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(limiter.tryAcquire());
+        }
+
+        // when
+        final var admitted = limiter.tryAcquire();
+
+        // then
+        assertFalse(admitted);
+        assertEquals(4, limiter.getInFlight());
+    }
+
+    @Test
+    void givenStableLatencyUnderLoad_whenSamples_thenShouldGrowLimit() {
+        // given
+        final var limiter = limiter(10);
+
+        // when
+        saturateAndComplete(limiter, BASELINE_RTT, 20);
+
+        // then
+        assertTrue(limiter.getLimit() > 10);
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void givenLatencyRisingAboveTolerance_whenSamples_thenShouldShrinkLimit() {
+        // given
+        final var limiter = limiter(40);
+        saturateAndComplete(limiter, BASELINE_RTT, 5);
+        final var limitBeforeDegradation = limiter.getLimit();
+
+        // when
+        saturateAndComplete(limiter, BASELINE_RTT * 10, 5);
+
+        // then
+        assertTrue(limiter.getLimit() < limitBeforeDegradation);
+    }
+
+    @Test
+    void givenLowUtilization_whenSamples_thenShouldNotGrowLimit() {
+        // given
+        final var limiter = limiter(10);
+
+        // when
+        for (int i = 0; i < 50; i++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.onSuccess(BASELINE_RTT);
+        }
+
+        // then
+        assertEquals(10, limiter.getLimit());
+    }
+
+    @Test
+    void givenDroppedRequests_whenReleases_thenShouldBackOffDownToMinLimit() {
+        // given
+        final var limiter = limiter(10);
+
+        // when
+        for (int i = 0; i < 100; i++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.onDropped();
+        }
+
+        // then
+        assertEquals(2, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void givenInvalidBounds_whenCreates_thenShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimiter(1, 2, 100, 0.2, 1.5, 0.9, 600));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimiter(10, 2, 100, 0.2, 0.5, 0.9, 600));
+    }
+
+    private static AdaptiveConcurrencyLimiter limiter(final int initialLimit) {
+        return new AdaptiveConcurrencyLimiter(initialLimit, 2, 200, 0.2, 1.5, 0.9, 600);
+    }
+
+    // preenche o limite atual e conclui todas as requisições com a mesma latência
+    private static void saturateAndComplete(final AdaptiveConcurrencyLimiter limiter, final long rttNanos, final int rounds) {
+        for (int round = 0; round < rounds; round++) {
+            var acquired = 0;
+            while (limiter.tryAcquire()) {
+                acquired++;
+            }
+            for (int i = 0; i < acquired; i++) {
+                limiter.onSuccess(rttNanos);
+            }
+        }
+    }
+}
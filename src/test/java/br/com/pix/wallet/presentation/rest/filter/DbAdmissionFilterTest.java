@@ -0,0 +1,146 @@
+package br.com.pix.wallet.presentation.rest.filter;
+
+import br.com.pix.wallet.application.metrics.ApplicationMetrics;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DbAdmissionFilterTest {
+
+    @Mock
+    private ApplicationMetrics applicationMetrics;
+
+    @Test
+    void givenFreePermit_whenFilters_thenShouldRunChainAndReleasePermit() throws Exception {
+        // given
+        final var filter = new DbAdmissionFilter(1, Duration.ofMillis(100), applicationMetrics);
+        final var executions = new AtomicInteger();
+        final FilterChain chain = (request, response) -> executions.incrementAndGet();
+
+        // when
+        final var first = new MockHttpServletResponse();
+        final var second = new MockHttpServletResponse();
+        filter.doFilter(request(), first, chain);
+        filter.doFilter(request(), second, chain);
+
+        // then
+        assertEquals(2, executions.get());
+        assertEquals(200, first.getStatus());
+        assertEquals(200, second.getStatus());
+        verify(applicationMetrics).registerDbAdmissionGauges(any(), any());
+        verify(applicationMetrics, times(2)).recordDbAdmissionWait(any(Duration.class), eq(true));
+    }
+
+    @Test
+    void givenNoPermitUntilDeadline_whenFilters_thenShouldAnswer503WithRetryAfter() throws Exception {
+        // given
+        final var filter = new DbAdmissionFilter(1, Duration.ofMillis(50), applicationMetrics);
+        final var holding = new CountDownLatch(1);
+        final var finish = new CountDownLatch(1);
+
+        try (final var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            executor.submit(() -> {
+                filter.doFilter(request(), new MockHttpServletResponse(), (request, response) -> {
+                    holding.countDown();
+                    await(finish);
+                });
+                return null;
+            });
+            assertTrue(holding.await(5, TimeUnit.SECONDS));
+
+            // when
+            final var response = new MockHttpServletResponse();
+            final var executions = new AtomicInteger();
+            filter.doFilter(request(), response, (request, ignored) -> executions.incrementAndGet());
+            finish.countDown();
+
+            // then
+            assertEquals(0, executions.get());
+            assertEquals(503, response.getStatus());
+            assertEquals("1", response.getHeader("Retry-After"));
+            verify(applicationMetrics).recordDbAdmissionWait(any(Duration.class), eq(false));
+        }
+    }
+
+    @Test
+    void givenPermitFreedBeforeDeadline_whenFilters_thenShouldQueueInsteadOfRejecting() throws Exception {
+        // given
+        final var filter = new DbAdmissionFilter(1, Duration.ofSeconds(5), applicationMetrics);
+        final var holding = new CountDownLatch(1);
+        final var finish = new CountDownLatch(1);
+        final var executions = new AtomicInteger();
+
+        try (final var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            executor.submit(() -> {
+                filter.doFilter(request(), new MockHttpServletResponse(), (request, response) -> {
+                    holding.countDown();
+                    await(finish);
+                });
+                return null;
+            });
+            assertTrue(holding.await(5, TimeUnit.SECONDS));
+
+            // when
+            final var waiting = executor.submit(() -> {
+                final var response = new MockHttpServletResponse();
+                filter.doFilter(request(), response, (request, ignored) -> executions.incrementAndGet());
+                return response;
+            });
+            Thread.sleep(50);
+            finish.countDown();
+
+            // then
+            assertEquals(200, waiting.get(5, TimeUnit.SECONDS).getStatus());
+            assertEquals(1, executions.get());
+            verify(applicationMetrics, never()).recordDbAdmissionWait(any(Duration.class), eq(false));
+        }
+    }
+
+    @Test
+    void givenAsyncRequest_whenChainReturns_thenShouldHoldPermitUntilAsyncCompletes() throws Exception {
+        // given
+        final var filter = new DbAdmissionFilter(1, Duration.ofMillis(50), applicationMetrics);
+        final var asyncRequest = request();
+        asyncRequest.setAsyncSupported(true);
+        filter.doFilter(asyncRequest, new MockHttpServletResponse(), (request, response) -> request.startAsync());
+
+        // when
+        final var whileStreaming = new MockHttpServletResponse();
+        filter.doFilter(request(), whileStreaming, (request, response) -> { });
+        asyncRequest.getAsyncContext().complete();
+        final var afterCompletion = new MockHttpServletResponse();
+        filter.doFilter(request(), afterCompletion, (request, response) -> { });
+
+        // then
+        assertEquals(503, whileStreaming.getStatus());
+        assertEquals(200, afterCompletion.getStatus());
+    }
+
+    private static MockHttpServletRequest request() {
+        return new MockHttpServletRequest("POST", "/pix/transfers");
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,427 @@
+package br.com.pix.wallet.presentation.rest.filter;
+
+import br.com.pix.wallet.domain.idempotency.PaymentIdempotency;
+import br.com.pix.wallet.domain.idempotency.PaymentIdempotencyGateway;
+import br.com.pix.wallet.domain.idempotency.PaymentIdempotencyID;
+import br.com.pix.wallet.domain.idempotency.PaymentIdempotencyStatus;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyKeyFilterTest {
+
+    private static final String TRANSFER_SCOPE = "POST /pix/transfers";
+    private static final String TRANSFER_RESPONSE = "{\"transferId\":\"1\",\"status\":\"COMPLETED\"}";
+
+    @Mock
+    private PaymentIdempotencyGateway paymentIdempotencyGateway;
+
+    private IdempotencyKeyFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new IdempotencyKeyFilter(
+            paymentIdempotencyGateway,
+            1_000,
+            Duration.ofMinutes(10),
+            Duration.ofSeconds(5),
+            Duration.ofSeconds(30)
+        );
+    }
+
+    @Test
+    void givenNewKey_whenFilters_thenShouldRunChainAndStoreResponse() throws Exception {
+        // given
+        final var key = UUID.randomUUID().toString();
+        final var executions = new AtomicInteger();
+
+        when(paymentIdempotencyGateway.reserve(eq(TRANSFER_SCOPE), any(), any())).thenReturn(true);
+        when(paymentIdempotencyGateway.complete(eq(TRANSFER_SCOPE), any())).thenReturn(true);
+
+        // when
+        final var response = new MockHttpServletResponse();
+        filter.doFilter(transferRequest(key), response, createdChain(executions));
+
+        // then
+        assertEquals(1, executions.get());
+        assertEquals(201, response.getStatus());
+        assertEquals(TRANSFER_RESPONSE, response.getContentAsString());
+        assertNull(response.getHeader(IdempotencyKeyFilter.REPLAYED_HEADER));
+
+        verify(paymentIdempotencyGateway).complete(eq(TRANSFER_SCOPE), argThat(record ->
+            record.isCompleted()
+                && record.getResponseStatus() == 201
+                && TRANSFER_RESPONSE.equals(record.getResponsePayload())
+        ));
+        verify(paymentIdempotencyGateway, never()).release(any(), any());
+    }
+
+    @Test
+    void givenCompletedKey_whenFiltersAgain_thenShouldReplayFromLocalCacheWithoutChainOrDatabase() throws Exception {
+        // given
+        final var key = UUID.randomUUID().toString();
+        final var executions = new AtomicInteger();
+
+        when(paymentIdempotencyGateway.reserve(eq(TRANSFER_SCOPE), any(), any())).thenReturn(true);
+        when(paymentIdempotencyGateway.complete(eq(TRANSFER_SCOPE), any())).thenReturn(true);
+        filter.doFilter(transferRequest(key), new MockHttpServletResponse(), createdChain(executions));
+
+        // when
+        final var response = new MockHttpServletResponse();
+        filter.doFilter(transferRequest(key), response, createdChain(executions));
+
+        // then
+        assertEquals(1, executions.get());
+        assertEquals(201, response.getStatus());
+        assertEquals(TRANSFER_RESPONSE, response.getContentAsString());
+        assertEquals("true", response.getHeader(IdempotencyKeyFilter.REPLAYED_HEADER));
+        verify(paymentIdempotencyGateway, times(1)).reserve(any(), any(), any());
+    }
+
+    @Test
+    void givenKeyCompletedByAnotherInstance_whenFilters_thenShouldReplayStoredResponse() throws Exception {
+        // given
+        final var key = UUID.randomUUID().toString();
+        final var executions = new AtomicInteger();
+        final var stored = PaymentIdempotency.with(
+            PaymentIdempotencyID.from(1L),
+            key,
+            PaymentIdempotencyStatus.COMPLETED,
+            201,
+            TRANSFER_RESPONSE,
+            Instant.now(),
+            Instant.now()
+        );
+
+        when(paymentIdempotencyGateway.reserve(eq(TRANSFER_SCOPE), any(), any())).thenReturn(false);
+        when(paymentIdempotencyGateway.findByKeyAndScope(key, TRANSFER_SCOPE)).thenReturn(Optional.of(stored));
+
+        // when
+        final var response = new MockHttpServletResponse();
+        filter.doFilter(transferRequest(key), response, createdChain(executions));
+
+        // then
+        assertEquals(0, executions.get());
+        assertEquals(201, response.getStatus());
+        assertEquals(TRANSFER_RESPONSE, response.getContentAsString());
+    }
+
+    @Test
+    void givenKeyInProgressOnAnotherInstance_whenFilters_thenShouldReturnConflict() throws Exception {
+        // given
+        final var key = UUID.randomUUID().toString();
+        final var executions = new AtomicInteger();
+
+        when(paymentIdempotencyGateway.reserve(eq(TRANSFER_SCOPE), any(), any())).thenReturn(false);
+        when(paymentIdempotencyGateway.findByKeyAndScope(key, TRANSFER_SCOPE))
+            .thenReturn(Optional.of(PaymentIdempotency.start(key)));
+
+        // when
+        final var response = new MockHttpServletResponse();
+        filter.doFilter(transferRequest(key), response, createdChain(executions));
+
+        // then
+        assertEquals(0, executions.get());
+        assertEquals(409, response.getStatus());
+    }
+
+    @Test
+    void givenServerError_whenFilters_thenShouldReleaseKeyAndRunAgainOnRetry() throws Exception {
+        // given
+        final var key = UUID.randomUUID().toString();
+        final var executions = new AtomicInteger();
+        final FilterChain failingChain = (request, response) -> {
+            executions.incrementAndGet();
+            ((HttpServletResponse) response).setStatus(503);
+        };
+
+        when(paymentIdempotencyGateway.reserve(eq(TRANSFER_SCOPE), any(), any())).thenReturn(true);
+
+        // when
+        filter.doFilter(transferRequest(key), new MockHttpServletResponse(), failingChain);
+        filter.doFilter(transferRequest(key), new MockHttpServletResponse(), failingChain);
+
+        // then
+        assertEquals(2, executions.get());
+        verify(paymentIdempotencyGateway, times(2)).release(eq(TRANSFER_SCOPE), argThat(record -> key.equals(record.getKey())));
+        verify(paymentIdempotencyGateway, never()).complete(any(), any());
+    }
+
+    @Test
+    void givenOutcomeUnknown_whenFilters_thenShouldMarkKeyUnknownInsteadOfReleasing() throws Exception {
+        // given
+        final var key = UUID.randomUUID().toString();
+        final FilterChain timedOutChain = (request, response) -> ((HttpServletResponse) response).setStatus(504);
+
+        when(paymentIdempotencyGateway.reserve(eq(TRANSFER_SCOPE), any(), any())).thenReturn(true);
+
+        // when
+        final var response = new MockHttpServletResponse();
+        filter.doFilter(transferRequest(key), response, timedOutChain);
+
+        // then
+        assertEquals(504, response.getStatus());
+        verify(paymentIdempotencyGateway).markUnknown(eq(TRANSFER_SCOPE), argThat(PaymentIdempotency::isUnknown));
+        verify(paymentIdempotencyGateway, never()).release(any(), any());
+        verify(paymentIdempotencyGateway, never()).complete(any(), any());
+    }
+
+    @Test
+    void givenCommittedRequestWhoseResponseCannotBeStored_whenFilters_thenShouldMarkKeyUnknown() throws Exception {
+        // given
+        final var key = UUID.randomUUID().toString();
+        final var executions = new AtomicInteger();
+
+        when(paymentIdempotencyGateway.reserve(eq(TRANSFER_SCOPE), any(), any())).thenReturn(true);
+        doThrow(new IllegalStateException("connection lost")).when(paymentIdempotencyGateway).complete(any(), any());
+
+        // when
+        final var response = new MockHttpServletResponse();
+        filter.doFilter(transferRequest(key), response, createdChain(executions));
+
+        // then
+        assertEquals(201, response.getStatus());
+        assertEquals(TRANSFER_RESPONSE, response.getContentAsString());
+        verify(paymentIdempotencyGateway).markUnknown(eq(TRANSFER_SCOPE), any());
+        verify(paymentIdempotencyGateway, never()).release(any(), any());
+    }
+
+    @Test
+    void givenUnhandledServerError_whenFilters_thenShouldMarkKeyUnknown() throws Exception {
+        // given
+        final var key = UUID.randomUUID().toString();
+        final FilterChain failingChain = (request, response) -> ((HttpServletResponse) response).setStatus(500);
+
+        when(paymentIdempotencyGateway.reserve(eq(TRANSFER_SCOPE), any(), any())).thenReturn(true);
+
+        // when
+        filter.doFilter(transferRequest(key), new MockHttpServletResponse(), failingChain);
+
+        // then
+        verify(paymentIdempotencyGateway).markUnknown(eq(TRANSFER_SCOPE), any());
+        verify(paymentIdempotencyGateway, never()).release(any(), any());
+    }
+
+    @Test
+    void givenKeyWithUnknownOutcome_whenFiltersAgain_thenShouldReturnConflictWithoutRunningChain() throws Exception {
+        // given
+        final var key = UUID.randomUUID().toString();
+        final var executions = new AtomicInteger();
+        final var unknown = PaymentIdempotency.with(
+            PaymentIdempotencyID.from(1L),
+            key,
+            PaymentIdempotencyStatus.UNKNOWN,
+            null,
+            Instant.now(),
+            Instant.now()
+        );
+
+        when(paymentIdempotencyGateway.reserve(eq(TRANSFER_SCOPE), any(), any())).thenReturn(false);
+        when(paymentIdempotencyGateway.findByKeyAndScope(key, TRANSFER_SCOPE)).thenReturn(Optional.of(unknown));
+
+        // when
+        final var response = new MockHttpServletResponse();
+        filter.doFilter(transferRequest(key), response, createdChain(executions));
+
+        // then
+        assertEquals(0, executions.get());
+        assertEquals(409, response.getStatus());
+        assertTrue(response.getContentAsString().contains("outcome of the request"));
+    }
+
+    @Test
+    void givenConcurrentDuplicates_whenFirstIsInProgress_thenOthersShouldWaitAndReplay() throws Exception {
+        // given
+        final var key = UUID.randomUUID().toString();
+        final var executions = new AtomicInteger();
+        final var started = new CountDownLatch(1);
+        final var release = new CountDownLatch(1);
+        final FilterChain slowChain = (request, response) -> {
+            executions.incrementAndGet();
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            writeCreated((HttpServletResponse) response);
+        };
+
+        when(paymentIdempotencyGateway.reserve(eq(TRANSFER_SCOPE), any(), any())).thenReturn(true);
+        when(paymentIdempotencyGateway.complete(eq(TRANSFER_SCOPE), any())).thenReturn(true);
+
+        final var duplicates = 4;
+        final var responses = new MockHttpServletResponse[duplicates + 1];
+        try (final var executor = Executors.newFixedThreadPool(duplicates + 1)) {
+            responses[0] = new MockHttpServletResponse();
+            final var first = executor.submit(() -> {
+                filter.doFilter(transferRequest(key), responses[0], slowChain);
+                return null;
+            });
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            // when
+            final var others = new ArrayList<Future<?>>();
+            for (int i = 1; i <= duplicates; i++) {
+                final var index = i;
+                responses[index] = new MockHttpServletResponse();
+                others.add(executor.submit(() -> {
+                    filter.doFilter(transferRequest(key), responses[index], slowChain);
+                    return null;
+                }));
+            }
+            Thread.sleep(100);
+            release.countDown();
+
+            first.get(5, TimeUnit.SECONDS);
+            for (final var other : others) {
+                other.get(5, TimeUnit.SECONDS);
+            }
+        }
+
+        // then
+        assertEquals(1, executions.get());
+        verify(paymentIdempotencyGateway, times(1)).reserve(any(), any(), any());
+        for (final var response : responses) {
+            assertEquals(201, response.getStatus());
+            assertEquals(TRANSFER_RESPONSE, response.getContentAsString());
+        }
+    }
+
+    @Test
+    void givenCompletedKey_whenFiltersWithDifferentBody_thenShouldReturnUnprocessableEntity() throws Exception {
+        // given
+        final var key = UUID.randomUUID().toString();
+        final var executions = new AtomicInteger();
+
+        when(paymentIdempotencyGateway.reserve(eq(TRANSFER_SCOPE), any(), any())).thenReturn(true);
+        when(paymentIdempotencyGateway.complete(eq(TRANSFER_SCOPE), any())).thenReturn(true);
+        filter.doFilter(transferRequest(key, "{\"amount\":10}"), new MockHttpServletResponse(), createdChain(executions));
+
+        // when
+        final var response = new MockHttpServletResponse();
+        filter.doFilter(transferRequest(key, "{\"amount\":99}"), response, createdChain(executions));
+
+        // then
+        assertEquals(1, executions.get());
+        assertEquals(422, response.getStatus());
+        assertTrue(response.getContentAsString().contains("different request body"));
+        assertNull(response.getHeader(IdempotencyKeyFilter.REPLAYED_HEADER));
+    }
+
+    @Test
+    void givenKeyStoredWithDifferentBody_whenFilters_thenShouldReturnUnprocessableEntity() throws Exception {
+        // given
+        final var key = UUID.randomUUID().toString();
+        final var executions = new AtomicInteger();
+        final var stored = PaymentIdempotency.with(
+            PaymentIdempotencyID.from(1L),
+            key,
+            PaymentIdempotencyStatus.COMPLETED,
+            201,
+            TRANSFER_RESPONSE,
+            UUID.randomUUID().toString(),
+            "hash-of-another-body",
+            Instant.now(),
+            Instant.now()
+        );
+
+        when(paymentIdempotencyGateway.reserve(eq(TRANSFER_SCOPE), any(), any())).thenReturn(false);
+        when(paymentIdempotencyGateway.findByKeyAndScope(key, TRANSFER_SCOPE)).thenReturn(Optional.of(stored));
+
+        // when
+        final var response = new MockHttpServletResponse();
+        filter.doFilter(transferRequest(key, "{\"amount\":10}"), response, createdChain(executions));
+
+        // then
+        assertEquals(0, executions.get());
+        assertEquals(422, response.getStatus());
+    }
+
+    @Test
+    void givenReservationTakenOverWhileRunning_whenFilters_thenShouldNotCacheResponse() throws Exception {
+        // given
+        final var key = UUID.randomUUID().toString();
+        final var executions = new AtomicInteger();
+
+        when(paymentIdempotencyGateway.reserve(eq(TRANSFER_SCOPE), any(), any())).thenReturn(true);
+        when(paymentIdempotencyGateway.complete(eq(TRANSFER_SCOPE), any())).thenReturn(false);
+
+        // when
+        final var response = new MockHttpServletResponse();
+        filter.doFilter(transferRequest(key), response, createdChain(executions));
+        filter.doFilter(transferRequest(key), new MockHttpServletResponse(), createdChain(executions));
+
+        // then
+        assertEquals(201, response.getStatus());
+        assertEquals(2, executions.get());
+        verify(paymentIdempotencyGateway, times(2)).reserve(any(), any(), any());
+        verify(paymentIdempotencyGateway, times(2)).markUnknown(eq(TRANSFER_SCOPE), any());
+    }
+
+    @Test
+    void givenRequestWithoutKeyOrOutsideScope_whenFilters_thenShouldOnlyRunChain() throws Exception {
+        // given
+        final var executions = new AtomicInteger();
+        final var withoutKey = new MockHttpServletRequest("POST", "/pix/transfers");
+        final var balance = new MockHttpServletRequest("GET", "/wallets/" + UUID.randomUUID() + "/balance");
+        balance.addHeader(IdempotencyKeyFilter.IDEMPOTENCY_KEY_HEADER, UUID.randomUUID().toString());
+
+        // when
+        filter.doFilter(withoutKey, new MockHttpServletResponse(), createdChain(executions));
+        filter.doFilter(balance, new MockHttpServletResponse(), createdChain(executions));
+
+        // then
+        assertEquals(2, executions.get());
+        verifyNoInteractions(paymentIdempotencyGateway);
+    }
+
+    private static MockHttpServletRequest transferRequest(final String key) {
+        return transferRequest(key, "");
+    }
+
+    private static MockHttpServletRequest transferRequest(final String key, final String body) {
+        final var request = new MockHttpServletRequest("POST", "/pix/transfers");
+        request.addHeader(IdempotencyKeyFilter.IDEMPOTENCY_KEY_HEADER, key);
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    private static FilterChain createdChain(final AtomicInteger executions) {
+        return (request, response) -> {
+            executions.incrementAndGet();
+            writeCreated((HttpServletResponse) response);
+        };
+    }
+
+    private static void writeCreated(final HttpServletResponse response) throws IOException {
+        response.setStatus(201);
+        response.setContentType("application/json");
+        response.getWriter().write(TRANSFER_RESPONSE);
+    }
+}